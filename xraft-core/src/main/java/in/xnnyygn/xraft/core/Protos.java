@@ -1,5 +1,5 @@
 // Generated by the protocol buffer compiler.  DO NOT EDIT!
-// source: xraft-core/src/proto/core.proto
+// source: src/proto/core.proto
 
 package in.xnnyygn.xraft.core;
 
@@ -42,6 +42,11 @@ public final class Protos {
      * <code>int32 port = 3;</code>
      */
     int getPort();
+
+    /**
+     * <code>bool learner = 4;</code>
+     */
+    boolean getLearner();
   }
   /**
    * Protobuf type {@code NodeEndpoint}
@@ -59,6 +64,7 @@ public final class Protos {
       id_ = "";
       host_ = "";
       port_ = 0;
+      learner_ = false;
     }
 
     @java.lang.Override
@@ -102,6 +108,11 @@ public final class Protos {
               port_ = input.readInt32();
               break;
             }
+            case 32: {
+
+              learner_ = input.readBool();
+              break;
+            }
             default: {
               if (!parseUnknownFieldProto3(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -211,6 +222,15 @@ public final class Protos {
       return port_;
     }
 
+    public static final int LEARNER_FIELD_NUMBER = 4;
+    private boolean learner_;
+    /**
+     * <code>bool learner = 4;</code>
+     */
+    public boolean getLearner() {
+      return learner_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -234,6 +254,9 @@ public final class Protos {
       if (port_ != 0) {
         output.writeInt32(3, port_);
       }
+      if (learner_ != false) {
+        output.writeBool(4, learner_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -253,6 +276,10 @@ public final class Protos {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(3, port_);
       }
+      if (learner_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(4, learner_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -275,6 +302,8 @@ public final class Protos {
           .equals(other.getHost());
       result = result && (getPort()
           == other.getPort());
+      result = result && (getLearner()
+          == other.getLearner());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -292,6 +321,9 @@ public final class Protos {
       hash = (53 * hash) + getHost().hashCode();
       hash = (37 * hash) + PORT_FIELD_NUMBER;
       hash = (53 * hash) + getPort();
+      hash = (37 * hash) + LEARNER_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getLearner());
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -431,6 +463,8 @@ public final class Protos {
 
         port_ = 0;
 
+        learner_ = false;
+
         return this;
       }
 
@@ -460,6 +494,7 @@ public final class Protos {
         result.id_ = id_;
         result.host_ = host_;
         result.port_ = port_;
+        result.learner_ = learner_;
         onBuilt();
         return result;
       }
@@ -519,6 +554,9 @@ public final class Protos {
         if (other.getPort() != 0) {
           setPort(other.getPort());
         }
+        if (other.getLearner() != false) {
+          setLearner(other.getLearner());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -711,6 +749,32 @@ public final class Protos {
         onChanged();
         return this;
       }
+
+      private boolean learner_ ;
+      /**
+       * <code>bool learner = 4;</code>
+       */
+      public boolean getLearner() {
+        return learner_;
+      }
+      /**
+       * <code>bool learner = 4;</code>
+       */
+      public Builder setLearner(boolean value) {
+        
+        learner_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>bool learner = 4;</code>
+       */
+      public Builder clearLearner() {
+        
+        learner_ = false;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -792,6 +856,11 @@ public final class Protos {
      * <code>int32 last_log_term = 4;</code>
      */
     int getLastLogTerm();
+
+    /**
+     * <code>bool leadership_transfer = 5;</code>
+     */
+    boolean getLeadershipTransfer();
   }
   /**
    * Protobuf type {@code RequestVoteRpc}
@@ -810,6 +879,7 @@ public final class Protos {
       candidateId_ = "";
       lastLogIndex_ = 0;
       lastLogTerm_ = 0;
+      leadershipTransfer_ = false;
     }
 
     @java.lang.Override
@@ -857,6 +927,11 @@ public final class Protos {
               lastLogTerm_ = input.readInt32();
               break;
             }
+            case 40: {
+
+              leadershipTransfer_ = input.readBool();
+              break;
+            }
             default: {
               if (!parseUnknownFieldProto3(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -950,6 +1025,15 @@ public final class Protos {
       return lastLogTerm_;
     }
 
+    public static final int LEADERSHIP_TRANSFER_FIELD_NUMBER = 5;
+    private boolean leadershipTransfer_;
+    /**
+     * <code>bool leadership_transfer = 5;</code>
+     */
+    public boolean getLeadershipTransfer() {
+      return leadershipTransfer_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -976,6 +1060,9 @@ public final class Protos {
       if (lastLogTerm_ != 0) {
         output.writeInt32(4, lastLogTerm_);
       }
+      if (leadershipTransfer_ != false) {
+        output.writeBool(5, leadershipTransfer_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -1000,6 +1087,10 @@ public final class Protos {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(4, lastLogTerm_);
       }
+      if (leadershipTransfer_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(5, leadershipTransfer_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -1024,6 +1115,8 @@ public final class Protos {
           == other.getLastLogIndex());
       result = result && (getLastLogTerm()
           == other.getLastLogTerm());
+      result = result && (getLeadershipTransfer()
+          == other.getLeadershipTransfer());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -1043,6 +1136,9 @@ public final class Protos {
       hash = (53 * hash) + getLastLogIndex();
       hash = (37 * hash) + LAST_LOG_TERM_FIELD_NUMBER;
       hash = (53 * hash) + getLastLogTerm();
+      hash = (37 * hash) + LEADERSHIP_TRANSFER_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getLeadershipTransfer());
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1184,6 +1280,8 @@ public final class Protos {
 
         lastLogTerm_ = 0;
 
+        leadershipTransfer_ = false;
+
         return this;
       }
 
@@ -1214,6 +1312,7 @@ public final class Protos {
         result.candidateId_ = candidateId_;
         result.lastLogIndex_ = lastLogIndex_;
         result.lastLogTerm_ = lastLogTerm_;
+        result.leadershipTransfer_ = leadershipTransfer_;
         onBuilt();
         return result;
       }
@@ -1275,6 +1374,9 @@ public final class Protos {
         if (other.getLastLogTerm() != 0) {
           setLastLogTerm(other.getLastLogTerm());
         }
+        if (other.getLeadershipTransfer() != false) {
+          setLeadershipTransfer(other.getLeadershipTransfer());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -1450,6 +1552,32 @@ public final class Protos {
         onChanged();
         return this;
       }
+
+      private boolean leadershipTransfer_ ;
+      /**
+       * <code>bool leadership_transfer = 5;</code>
+       */
+      public boolean getLeadershipTransfer() {
+        return leadershipTransfer_;
+      }
+      /**
+       * <code>bool leadership_transfer = 5;</code>
+       */
+      public Builder setLeadershipTransfer(boolean value) {
+        
+        leadershipTransfer_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>bool leadership_transfer = 5;</code>
+       */
+      public Builder clearLeadershipTransfer() {
+        
+        leadershipTransfer_ = false;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -4045,6 +4173,16 @@ public final class Protos {
      * <code>bool success = 3;</code>
      */
     boolean getSuccess();
+
+    /**
+     * <code>int32 conflict_term = 4;</code>
+     */
+    int getConflictTerm();
+
+    /**
+     * <code>int32 conflict_index = 5;</code>
+     */
+    int getConflictIndex();
   }
   /**
    * Protobuf type {@code AppendEntriesResult}
@@ -4062,6 +4200,8 @@ public final class Protos {
       rpcMessageId_ = "";
       term_ = 0;
       success_ = false;
+      conflictTerm_ = 0;
+      conflictIndex_ = 0;
     }
 
     @java.lang.Override
@@ -4104,6 +4244,16 @@ public final class Protos {
               success_ = input.readBool();
               break;
             }
+            case 32: {
+
+              conflictTerm_ = input.readInt32();
+              break;
+            }
+            case 40: {
+
+              conflictIndex_ = input.readInt32();
+              break;
+            }
             default: {
               if (!parseUnknownFieldProto3(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -4188,6 +4338,24 @@ public final class Protos {
       return success_;
     }
 
+    public static final int CONFLICT_TERM_FIELD_NUMBER = 4;
+    private int conflictTerm_;
+    /**
+     * <code>int32 conflict_term = 4;</code>
+     */
+    public int getConflictTerm() {
+      return conflictTerm_;
+    }
+
+    public static final int CONFLICT_INDEX_FIELD_NUMBER = 5;
+    private int conflictIndex_;
+    /**
+     * <code>int32 conflict_index = 5;</code>
+     */
+    public int getConflictIndex() {
+      return conflictIndex_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -4211,6 +4379,12 @@ public final class Protos {
       if (success_ != false) {
         output.writeBool(3, success_);
       }
+      if (conflictTerm_ != 0) {
+        output.writeInt32(4, conflictTerm_);
+      }
+      if (conflictIndex_ != 0) {
+        output.writeInt32(5, conflictIndex_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -4231,6 +4405,14 @@ public final class Protos {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(3, success_);
       }
+      if (conflictTerm_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, conflictTerm_);
+      }
+      if (conflictIndex_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(5, conflictIndex_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -4253,6 +4435,10 @@ public final class Protos {
           == other.getTerm());
       result = result && (getSuccess()
           == other.getSuccess());
+      result = result && (getConflictTerm()
+          == other.getConflictTerm());
+      result = result && (getConflictIndex()
+          == other.getConflictIndex());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -4271,6 +4457,10 @@ public final class Protos {
       hash = (37 * hash) + SUCCESS_FIELD_NUMBER;
       hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
           getSuccess());
+      hash = (37 * hash) + CONFLICT_TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getConflictTerm();
+      hash = (37 * hash) + CONFLICT_INDEX_FIELD_NUMBER;
+      hash = (53 * hash) + getConflictIndex();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -4410,6 +4600,10 @@ public final class Protos {
 
         success_ = false;
 
+        conflictTerm_ = 0;
+
+        conflictIndex_ = 0;
+
         return this;
       }
 
@@ -4439,6 +4633,8 @@ public final class Protos {
         result.rpcMessageId_ = rpcMessageId_;
         result.term_ = term_;
         result.success_ = success_;
+        result.conflictTerm_ = conflictTerm_;
+        result.conflictIndex_ = conflictIndex_;
         onBuilt();
         return result;
       }
@@ -4497,6 +4693,12 @@ public final class Protos {
         if (other.getSuccess() != false) {
           setSuccess(other.getSuccess());
         }
+        if (other.getConflictTerm() != 0) {
+          setConflictTerm(other.getConflictTerm());
+        }
+        if (other.getConflictIndex() != 0) {
+          setConflictIndex(other.getConflictIndex());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -4646,6 +4848,58 @@ public final class Protos {
         onChanged();
         return this;
       }
+
+      private int conflictTerm_ ;
+      /**
+       * <code>int32 conflict_term = 4;</code>
+       */
+      public int getConflictTerm() {
+        return conflictTerm_;
+      }
+      /**
+       * <code>int32 conflict_term = 4;</code>
+       */
+      public Builder setConflictTerm(int value) {
+        
+        conflictTerm_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 conflict_term = 4;</code>
+       */
+      public Builder clearConflictTerm() {
+        
+        conflictTerm_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int conflictIndex_ ;
+      /**
+       * <code>int32 conflict_index = 5;</code>
+       */
+      public int getConflictIndex() {
+        return conflictIndex_;
+      }
+      /**
+       * <code>int32 conflict_index = 5;</code>
+       */
+      public Builder setConflictIndex(int value) {
+        
+        conflictIndex_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 conflict_index = 5;</code>
+       */
+      public Builder clearConflictIndex() {
+        
+        conflictIndex_ = 0;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -4766,6 +5020,29 @@ public final class Protos {
      * <code>bool done = 8;</code>
      */
     boolean getDone();
+
+    /**
+     * <code>repeated int64 partition_data_sizes = 9;</code>
+     */
+    java.util.List<java.lang.Long> getPartitionDataSizesList();
+    /**
+     * <code>repeated int64 partition_data_sizes = 9;</code>
+     */
+    int getPartitionDataSizesCount();
+    /**
+     * <code>repeated int64 partition_data_sizes = 9;</code>
+     */
+    long getPartitionDataSizes(int index);
+
+    /**
+     * <code>string codec = 10;</code>
+     */
+    java.lang.String getCodec();
+    /**
+     * <code>string codec = 10;</code>
+     */
+    com.google.protobuf.ByteString
+        getCodecBytes();
   }
   /**
    * Protobuf type {@code InstallSnapshotRpc}
@@ -4788,6 +5065,8 @@ public final class Protos {
       offset_ = 0;
       data_ = com.google.protobuf.ByteString.EMPTY;
       done_ = false;
+      partitionDataSizes_ = java.util.Collections.emptyList();
+      codec_ = "";
     }
 
     @java.lang.Override
@@ -4859,6 +5138,33 @@ public final class Protos {
               done_ = input.readBool();
               break;
             }
+            case 72: {
+              if (!((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+                partitionDataSizes_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              partitionDataSizes_.add(input.readInt64());
+              break;
+            }
+            case 74: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000100) == 0x00000100) && input.getBytesUntilLimit() > 0) {
+                partitionDataSizes_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                partitionDataSizes_.add(input.readInt64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 82: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              codec_ = s;
+              break;
+            }
             default: {
               if (!parseUnknownFieldProto3(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -4877,6 +5183,9 @@ public final class Protos {
         if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
           lastConfig_ = java.util.Collections.unmodifiableList(lastConfig_);
         }
+        if (((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+          partitionDataSizes_ = java.util.Collections.unmodifiableList(partitionDataSizes_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -5018,6 +5327,63 @@ public final class Protos {
       return done_;
     }
 
+    public static final int PARTITION_DATA_SIZES_FIELD_NUMBER = 9;
+    private java.util.List<java.lang.Long> partitionDataSizes_;
+    /**
+     * <code>repeated int64 partition_data_sizes = 9;</code>
+     */
+    public java.util.List<java.lang.Long>
+        getPartitionDataSizesList() {
+      return partitionDataSizes_;
+    }
+    /**
+     * <code>repeated int64 partition_data_sizes = 9;</code>
+     */
+    public int getPartitionDataSizesCount() {
+      return partitionDataSizes_.size();
+    }
+    /**
+     * <code>repeated int64 partition_data_sizes = 9;</code>
+     */
+    public long getPartitionDataSizes(int index) {
+      return partitionDataSizes_.get(index);
+    }
+    private int partitionDataSizesMemoizedSerializedSize = -1;
+
+    public static final int CODEC_FIELD_NUMBER = 10;
+    private volatile java.lang.Object codec_;
+    /**
+     * <code>string codec = 10;</code>
+     */
+    public java.lang.String getCodec() {
+      java.lang.Object ref = codec_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        codec_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string codec = 10;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCodecBytes() {
+      java.lang.Object ref = codec_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        codec_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -5032,6 +5398,7 @@ public final class Protos {
     @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
+      getSerializedSize();
       if (term_ != 0) {
         output.writeInt32(1, term_);
       }
@@ -5056,6 +5423,16 @@ public final class Protos {
       if (done_ != false) {
         output.writeBool(8, done_);
       }
+      if (getPartitionDataSizesList().size() > 0) {
+        output.writeUInt32NoTag(74);
+        output.writeUInt32NoTag(partitionDataSizesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < partitionDataSizes_.size(); i++) {
+        output.writeInt64NoTag(partitionDataSizes_.get(i));
+      }
+      if (!getCodecBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 10, codec_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -5096,6 +5473,23 @@ public final class Protos {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(8, done_);
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < partitionDataSizes_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt64SizeNoTag(partitionDataSizes_.get(i));
+        }
+        size += dataSize;
+        if (!getPartitionDataSizesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        partitionDataSizesMemoizedSerializedSize = dataSize;
+      }
+      if (!getCodecBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(10, codec_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -5128,6 +5522,10 @@ public final class Protos {
           .equals(other.getData());
       result = result && (getDone()
           == other.getDone());
+      result = result && getPartitionDataSizesList()
+          .equals(other.getPartitionDataSizesList());
+      result = result && getCodec()
+          .equals(other.getCodec());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -5158,6 +5556,12 @@ public final class Protos {
       hash = (37 * hash) + DONE_FIELD_NUMBER;
       hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
           getDone());
+      if (getPartitionDataSizesCount() > 0) {
+        hash = (37 * hash) + PARTITION_DATA_SIZES_FIELD_NUMBER;
+        hash = (53 * hash) + getPartitionDataSizesList().hashCode();
+      }
+      hash = (37 * hash) + CODEC_FIELD_NUMBER;
+      hash = (53 * hash) + getCodec().hashCode();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -5312,6 +5716,10 @@ public final class Protos {
 
         done_ = false;
 
+        partitionDataSizes_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000100);
+        codec_ = "";
+
         return this;
       }
 
@@ -5356,6 +5764,12 @@ public final class Protos {
         result.offset_ = offset_;
         result.data_ = data_;
         result.done_ = done_;
+        if (((bitField0_ & 0x00000100) == 0x00000100)) {
+          partitionDataSizes_ = java.util.Collections.unmodifiableList(partitionDataSizes_);
+          bitField0_ = (bitField0_ & ~0x00000100);
+        }
+        result.partitionDataSizes_ = partitionDataSizes_;
+        result.codec_ = codec_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -5453,6 +5867,20 @@ public final class Protos {
         if (other.getDone() != false) {
           setDone(other.getDone());
         }
+        if (!other.partitionDataSizes_.isEmpty()) {
+          if (partitionDataSizes_.isEmpty()) {
+            partitionDataSizes_ = other.partitionDataSizes_;
+            bitField0_ = (bitField0_ & ~0x00000100);
+          } else {
+            ensurePartitionDataSizesIsMutable();
+            partitionDataSizes_.addAll(other.partitionDataSizes_);
+          }
+          onChanged();
+        }
+        if (!other.getCodec().isEmpty()) {
+          codec_ = other.codec_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -5950,56 +6378,191 @@ public final class Protos {
         onChanged();
         return this;
       }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFieldsProto3(unknownFields);
-      }
 
-      @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
+      private java.util.List<java.lang.Long> partitionDataSizes_ = java.util.Collections.emptyList();
+      private void ensurePartitionDataSizesIsMutable() {
+        if (!((bitField0_ & 0x00000100) == 0x00000100)) {
+          partitionDataSizes_ = new java.util.ArrayList<java.lang.Long>(partitionDataSizes_);
+          bitField0_ |= 0x00000100;
+         }
       }
-
-
-      // @@protoc_insertion_point(builder_scope:InstallSnapshotRpc)
-    }
-
-    // @@protoc_insertion_point(class_scope:InstallSnapshotRpc)
-    private static final in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc();
-    }
-
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    private static final com.google.protobuf.Parser<InstallSnapshotRpc>
-        PARSER = new com.google.protobuf.AbstractParser<InstallSnapshotRpc>() {
-      @java.lang.Override
-      public InstallSnapshotRpc parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        return new InstallSnapshotRpc(input, extensionRegistry);
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public java.util.List<java.lang.Long>
+          getPartitionDataSizesList() {
+        return java.util.Collections.unmodifiableList(partitionDataSizes_);
       }
-    };
-
-    public static com.google.protobuf.Parser<InstallSnapshotRpc> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<InstallSnapshotRpc> getParserForType() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public int getPartitionDataSizesCount() {
+        return partitionDataSizes_.size();
+      }
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public long getPartitionDataSizes(int index) {
+        return partitionDataSizes_.get(index);
+      }
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public Builder setPartitionDataSizes(
+          int index, long value) {
+        ensurePartitionDataSizesIsMutable();
+        partitionDataSizes_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public Builder addPartitionDataSizes(long value) {
+        ensurePartitionDataSizesIsMutable();
+        partitionDataSizes_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public Builder addAllPartitionDataSizes(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensurePartitionDataSizesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, partitionDataSizes_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int64 partition_data_sizes = 9;</code>
+       */
+      public Builder clearPartitionDataSizes() {
+        partitionDataSizes_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000100);
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object codec_ = "";
+      /**
+       * <code>string codec = 10;</code>
+       */
+      public java.lang.String getCodec() {
+        java.lang.Object ref = codec_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          codec_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string codec = 10;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCodecBytes() {
+        java.lang.Object ref = codec_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          codec_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string codec = 10;</code>
+       */
+      public Builder setCodec(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        codec_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string codec = 10;</code>
+       */
+      public Builder clearCodec() {
+        
+        codec_ = getDefaultInstance().getCodec();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string codec = 10;</code>
+       */
+      public Builder setCodecBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        codec_ = value;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:InstallSnapshotRpc)
+    }
+
+    // @@protoc_insertion_point(class_scope:InstallSnapshotRpc)
+    private static final in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<InstallSnapshotRpc>
+        PARSER = new com.google.protobuf.AbstractParser<InstallSnapshotRpc>() {
+      @java.lang.Override
+      public InstallSnapshotRpc parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new InstallSnapshotRpc(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<InstallSnapshotRpc> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<InstallSnapshotRpc> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.InstallSnapshotRpc getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
 
   }
 
@@ -6054,7 +6617,4770 @@ public final class Protos {
               break;
             case 8: {
 
-              term_ = input.readInt32();
+              term_ = input.readInt32();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.class, in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.Builder.class);
+    }
+
+    public static final int TERM_FIELD_NUMBER = 1;
+    private int term_;
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (term_ != 0) {
+        output.writeInt32(1, term_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, term_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.InstallSnapshotResult)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.InstallSnapshotResult other = (in.xnnyygn.xraft.core.Protos.InstallSnapshotResult) obj;
+
+      boolean result = true;
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.InstallSnapshotResult prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code InstallSnapshotResult}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:InstallSnapshotResult)
+        in.xnnyygn.xraft.core.Protos.InstallSnapshotResultOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.class, in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        term_ = 0;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult build() {
+        in.xnnyygn.xraft.core.Protos.InstallSnapshotResult result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult buildPartial() {
+        in.xnnyygn.xraft.core.Protos.InstallSnapshotResult result = new in.xnnyygn.xraft.core.Protos.InstallSnapshotResult(this);
+        result.term_ = term_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.InstallSnapshotResult) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.InstallSnapshotResult)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.InstallSnapshotResult other) {
+        if (other == in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.getDefaultInstance()) return this;
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.InstallSnapshotResult) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:InstallSnapshotResult)
+    }
+
+    // @@protoc_insertion_point(class_scope:InstallSnapshotResult)
+    private static final in.xnnyygn.xraft.core.Protos.InstallSnapshotResult DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.InstallSnapshotResult();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<InstallSnapshotResult>
+        PARSER = new com.google.protobuf.AbstractParser<InstallSnapshotResult>() {
+      @java.lang.Override
+      public InstallSnapshotResult parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new InstallSnapshotResult(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<InstallSnapshotResult> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<InstallSnapshotResult> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface TransferSnapshotRpcOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:TransferSnapshotRpc)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    int getTerm();
+
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    java.lang.String getLeaderId();
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getLeaderIdBytes();
+
+    /**
+     * <code>.NodeEndpoint target = 3;</code>
+     */
+    boolean hasTarget();
+    /**
+     * <code>.NodeEndpoint target = 3;</code>
+     */
+    in.xnnyygn.xraft.core.Protos.NodeEndpoint getTarget();
+    /**
+     * <code>.NodeEndpoint target = 3;</code>
+     */
+    in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder getTargetOrBuilder();
+
+    /**
+     * <code>int32 min_last_index = 4;</code>
+     */
+    int getMinLastIndex();
+  }
+  /**
+   * <pre>
+   * leader directs follower to transfer snapshot to target node
+   * </pre>
+   *
+   * Protobuf type {@code TransferSnapshotRpc}
+   */
+  public  static final class TransferSnapshotRpc extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:TransferSnapshotRpc)
+      TransferSnapshotRpcOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use TransferSnapshotRpc.newBuilder() to construct.
+    private TransferSnapshotRpc(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private TransferSnapshotRpc() {
+      term_ = 0;
+      leaderId_ = "";
+      minLastIndex_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private TransferSnapshotRpc(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              leaderId_ = s;
+              break;
+            }
+            case 26: {
+              in.xnnyygn.xraft.core.Protos.NodeEndpoint.Builder subBuilder = null;
+              if (target_ != null) {
+                subBuilder = target_.toBuilder();
+              }
+              target_ = input.readMessage(in.xnnyygn.xraft.core.Protos.NodeEndpoint.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(target_);
+                target_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
+            case 32: {
+
+              minLastIndex_ = input.readInt32();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotRpc_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotRpc_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.class, in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.Builder.class);
+    }
+
+    public static final int TERM_FIELD_NUMBER = 1;
+    private int term_;
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    public static final int LEADER_ID_FIELD_NUMBER = 2;
+    private volatile java.lang.Object leaderId_;
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    public java.lang.String getLeaderId() {
+      java.lang.Object ref = leaderId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        leaderId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getLeaderIdBytes() {
+      java.lang.Object ref = leaderId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        leaderId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TARGET_FIELD_NUMBER = 3;
+    private in.xnnyygn.xraft.core.Protos.NodeEndpoint target_;
+    /**
+     * <code>.NodeEndpoint target = 3;</code>
+     */
+    public boolean hasTarget() {
+      return target_ != null;
+    }
+    /**
+     * <code>.NodeEndpoint target = 3;</code>
+     */
+    public in.xnnyygn.xraft.core.Protos.NodeEndpoint getTarget() {
+      return target_ == null ? in.xnnyygn.xraft.core.Protos.NodeEndpoint.getDefaultInstance() : target_;
+    }
+    /**
+     * <code>.NodeEndpoint target = 3;</code>
+     */
+    public in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder getTargetOrBuilder() {
+      return getTarget();
+    }
+
+    public static final int MIN_LAST_INDEX_FIELD_NUMBER = 4;
+    private int minLastIndex_;
+    /**
+     * <code>int32 min_last_index = 4;</code>
+     */
+    public int getMinLastIndex() {
+      return minLastIndex_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (term_ != 0) {
+        output.writeInt32(1, term_);
+      }
+      if (!getLeaderIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, leaderId_);
+      }
+      if (target_ != null) {
+        output.writeMessage(3, getTarget());
+      }
+      if (minLastIndex_ != 0) {
+        output.writeInt32(4, minLastIndex_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, term_);
+      }
+      if (!getLeaderIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, leaderId_);
+      }
+      if (target_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, getTarget());
+      }
+      if (minLastIndex_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, minLastIndex_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc other = (in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc) obj;
+
+      boolean result = true;
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && getLeaderId()
+          .equals(other.getLeaderId());
+      result = result && (hasTarget() == other.hasTarget());
+      if (hasTarget()) {
+        result = result && getTarget()
+            .equals(other.getTarget());
+      }
+      result = result && (getMinLastIndex()
+          == other.getMinLastIndex());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (37 * hash) + LEADER_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getLeaderId().hashCode();
+      if (hasTarget()) {
+        hash = (37 * hash) + TARGET_FIELD_NUMBER;
+        hash = (53 * hash) + getTarget().hashCode();
+      }
+      hash = (37 * hash) + MIN_LAST_INDEX_FIELD_NUMBER;
+      hash = (53 * hash) + getMinLastIndex();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * leader directs follower to transfer snapshot to target node
+     * </pre>
+     *
+     * Protobuf type {@code TransferSnapshotRpc}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:TransferSnapshotRpc)
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotRpcOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotRpc_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotRpc_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.class, in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        term_ = 0;
+
+        leaderId_ = "";
+
+        if (targetBuilder_ == null) {
+          target_ = null;
+        } else {
+          target_ = null;
+          targetBuilder_ = null;
+        }
+        minLastIndex_ = 0;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotRpc_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc build() {
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc buildPartial() {
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc result = new in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc(this);
+        result.term_ = term_;
+        result.leaderId_ = leaderId_;
+        if (targetBuilder_ == null) {
+          result.target_ = target_;
+        } else {
+          result.target_ = targetBuilder_.build();
+        }
+        result.minLastIndex_ = minLastIndex_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc other) {
+        if (other == in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc.getDefaultInstance()) return this;
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        if (!other.getLeaderId().isEmpty()) {
+          leaderId_ = other.leaderId_;
+          onChanged();
+        }
+        if (other.hasTarget()) {
+          mergeTarget(other.getTarget());
+        }
+        if (other.getMinLastIndex() != 0) {
+          setMinLastIndex(other.getMinLastIndex());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object leaderId_ = "";
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public java.lang.String getLeaderId() {
+        java.lang.Object ref = leaderId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          leaderId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getLeaderIdBytes() {
+        java.lang.Object ref = leaderId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          leaderId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public Builder setLeaderId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        leaderId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public Builder clearLeaderId() {
+        
+        leaderId_ = getDefaultInstance().getLeaderId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public Builder setLeaderIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        leaderId_ = value;
+        onChanged();
+        return this;
+      }
+
+      private in.xnnyygn.xraft.core.Protos.NodeEndpoint target_ = null;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          in.xnnyygn.xraft.core.Protos.NodeEndpoint, in.xnnyygn.xraft.core.Protos.NodeEndpoint.Builder, in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder> targetBuilder_;
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public boolean hasTarget() {
+        return targetBuilder_ != null || target_ != null;
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public in.xnnyygn.xraft.core.Protos.NodeEndpoint getTarget() {
+        if (targetBuilder_ == null) {
+          return target_ == null ? in.xnnyygn.xraft.core.Protos.NodeEndpoint.getDefaultInstance() : target_;
+        } else {
+          return targetBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public Builder setTarget(in.xnnyygn.xraft.core.Protos.NodeEndpoint value) {
+        if (targetBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          target_ = value;
+          onChanged();
+        } else {
+          targetBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public Builder setTarget(
+          in.xnnyygn.xraft.core.Protos.NodeEndpoint.Builder builderForValue) {
+        if (targetBuilder_ == null) {
+          target_ = builderForValue.build();
+          onChanged();
+        } else {
+          targetBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public Builder mergeTarget(in.xnnyygn.xraft.core.Protos.NodeEndpoint value) {
+        if (targetBuilder_ == null) {
+          if (target_ != null) {
+            target_ =
+              in.xnnyygn.xraft.core.Protos.NodeEndpoint.newBuilder(target_).mergeFrom(value).buildPartial();
+          } else {
+            target_ = value;
+          }
+          onChanged();
+        } else {
+          targetBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public Builder clearTarget() {
+        if (targetBuilder_ == null) {
+          target_ = null;
+          onChanged();
+        } else {
+          target_ = null;
+          targetBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public in.xnnyygn.xraft.core.Protos.NodeEndpoint.Builder getTargetBuilder() {
+        
+        onChanged();
+        return getTargetFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      public in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder getTargetOrBuilder() {
+        if (targetBuilder_ != null) {
+          return targetBuilder_.getMessageOrBuilder();
+        } else {
+          return target_ == null ?
+              in.xnnyygn.xraft.core.Protos.NodeEndpoint.getDefaultInstance() : target_;
+        }
+      }
+      /**
+       * <code>.NodeEndpoint target = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          in.xnnyygn.xraft.core.Protos.NodeEndpoint, in.xnnyygn.xraft.core.Protos.NodeEndpoint.Builder, in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder> 
+          getTargetFieldBuilder() {
+        if (targetBuilder_ == null) {
+          targetBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              in.xnnyygn.xraft.core.Protos.NodeEndpoint, in.xnnyygn.xraft.core.Protos.NodeEndpoint.Builder, in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder>(
+                  getTarget(),
+                  getParentForChildren(),
+                  isClean());
+          target_ = null;
+        }
+        return targetBuilder_;
+      }
+
+      private int minLastIndex_ ;
+      /**
+       * <code>int32 min_last_index = 4;</code>
+       */
+      public int getMinLastIndex() {
+        return minLastIndex_;
+      }
+      /**
+       * <code>int32 min_last_index = 4;</code>
+       */
+      public Builder setMinLastIndex(int value) {
+        
+        minLastIndex_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 min_last_index = 4;</code>
+       */
+      public Builder clearMinLastIndex() {
+        
+        minLastIndex_ = 0;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:TransferSnapshotRpc)
+    }
+
+    // @@protoc_insertion_point(class_scope:TransferSnapshotRpc)
+    private static final in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<TransferSnapshotRpc>
+        PARSER = new com.google.protobuf.AbstractParser<TransferSnapshotRpc>() {
+      @java.lang.Override
+      public TransferSnapshotRpc parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new TransferSnapshotRpc(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<TransferSnapshotRpc> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<TransferSnapshotRpc> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.TransferSnapshotRpc getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface TransferSnapshotResultOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:TransferSnapshotResult)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    int getTerm();
+
+    /**
+     * <code>string target_id = 2;</code>
+     */
+    java.lang.String getTargetId();
+    /**
+     * <code>string target_id = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getTargetIdBytes();
+
+    /**
+     * <code>bool success = 3;</code>
+     */
+    boolean getSuccess();
+
+    /**
+     * <code>int32 last_index = 4;</code>
+     */
+    int getLastIndex();
+  }
+  /**
+   * Protobuf type {@code TransferSnapshotResult}
+   */
+  public  static final class TransferSnapshotResult extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:TransferSnapshotResult)
+      TransferSnapshotResultOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use TransferSnapshotResult.newBuilder() to construct.
+    private TransferSnapshotResult(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private TransferSnapshotResult() {
+      term_ = 0;
+      targetId_ = "";
+      success_ = false;
+      lastIndex_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private TransferSnapshotResult(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              targetId_ = s;
+              break;
+            }
+            case 24: {
+
+              success_ = input.readBool();
+              break;
+            }
+            case 32: {
+
+              lastIndex_ = input.readInt32();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotResult_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotResult_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.class, in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.Builder.class);
+    }
+
+    public static final int TERM_FIELD_NUMBER = 1;
+    private int term_;
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    public static final int TARGET_ID_FIELD_NUMBER = 2;
+    private volatile java.lang.Object targetId_;
+    /**
+     * <code>string target_id = 2;</code>
+     */
+    public java.lang.String getTargetId() {
+      java.lang.Object ref = targetId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        targetId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string target_id = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getTargetIdBytes() {
+      java.lang.Object ref = targetId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        targetId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int SUCCESS_FIELD_NUMBER = 3;
+    private boolean success_;
+    /**
+     * <code>bool success = 3;</code>
+     */
+    public boolean getSuccess() {
+      return success_;
+    }
+
+    public static final int LAST_INDEX_FIELD_NUMBER = 4;
+    private int lastIndex_;
+    /**
+     * <code>int32 last_index = 4;</code>
+     */
+    public int getLastIndex() {
+      return lastIndex_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (term_ != 0) {
+        output.writeInt32(1, term_);
+      }
+      if (!getTargetIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, targetId_);
+      }
+      if (success_ != false) {
+        output.writeBool(3, success_);
+      }
+      if (lastIndex_ != 0) {
+        output.writeInt32(4, lastIndex_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, term_);
+      }
+      if (!getTargetIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, targetId_);
+      }
+      if (success_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(3, success_);
+      }
+      if (lastIndex_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, lastIndex_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.TransferSnapshotResult)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.TransferSnapshotResult other = (in.xnnyygn.xraft.core.Protos.TransferSnapshotResult) obj;
+
+      boolean result = true;
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && getTargetId()
+          .equals(other.getTargetId());
+      result = result && (getSuccess()
+          == other.getSuccess());
+      result = result && (getLastIndex()
+          == other.getLastIndex());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (37 * hash) + TARGET_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getTargetId().hashCode();
+      hash = (37 * hash) + SUCCESS_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getSuccess());
+      hash = (37 * hash) + LAST_INDEX_FIELD_NUMBER;
+      hash = (53 * hash) + getLastIndex();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.TransferSnapshotResult prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code TransferSnapshotResult}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:TransferSnapshotResult)
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotResultOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotResult_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotResult_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.class, in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        term_ = 0;
+
+        targetId_ = "";
+
+        success_ = false;
+
+        lastIndex_ = 0;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_TransferSnapshotResult_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.TransferSnapshotResult getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.TransferSnapshotResult build() {
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotResult result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.TransferSnapshotResult buildPartial() {
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotResult result = new in.xnnyygn.xraft.core.Protos.TransferSnapshotResult(this);
+        result.term_ = term_;
+        result.targetId_ = targetId_;
+        result.success_ = success_;
+        result.lastIndex_ = lastIndex_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.TransferSnapshotResult) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.TransferSnapshotResult)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.TransferSnapshotResult other) {
+        if (other == in.xnnyygn.xraft.core.Protos.TransferSnapshotResult.getDefaultInstance()) return this;
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        if (!other.getTargetId().isEmpty()) {
+          targetId_ = other.targetId_;
+          onChanged();
+        }
+        if (other.getSuccess() != false) {
+          setSuccess(other.getSuccess());
+        }
+        if (other.getLastIndex() != 0) {
+          setLastIndex(other.getLastIndex());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.TransferSnapshotResult parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.TransferSnapshotResult) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object targetId_ = "";
+      /**
+       * <code>string target_id = 2;</code>
+       */
+      public java.lang.String getTargetId() {
+        java.lang.Object ref = targetId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          targetId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string target_id = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getTargetIdBytes() {
+        java.lang.Object ref = targetId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          targetId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string target_id = 2;</code>
+       */
+      public Builder setTargetId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        targetId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string target_id = 2;</code>
+       */
+      public Builder clearTargetId() {
+        
+        targetId_ = getDefaultInstance().getTargetId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string target_id = 2;</code>
+       */
+      public Builder setTargetIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        targetId_ = value;
+        onChanged();
+        return this;
+      }
+
+      private boolean success_ ;
+      /**
+       * <code>bool success = 3;</code>
+       */
+      public boolean getSuccess() {
+        return success_;
+      }
+      /**
+       * <code>bool success = 3;</code>
+       */
+      public Builder setSuccess(boolean value) {
+        
+        success_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>bool success = 3;</code>
+       */
+      public Builder clearSuccess() {
+        
+        success_ = false;
+        onChanged();
+        return this;
+      }
+
+      private int lastIndex_ ;
+      /**
+       * <code>int32 last_index = 4;</code>
+       */
+      public int getLastIndex() {
+        return lastIndex_;
+      }
+      /**
+       * <code>int32 last_index = 4;</code>
+       */
+      public Builder setLastIndex(int value) {
+        
+        lastIndex_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 last_index = 4;</code>
+       */
+      public Builder clearLastIndex() {
+        
+        lastIndex_ = 0;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:TransferSnapshotResult)
+    }
+
+    // @@protoc_insertion_point(class_scope:TransferSnapshotResult)
+    private static final in.xnnyygn.xraft.core.Protos.TransferSnapshotResult DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.TransferSnapshotResult();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.TransferSnapshotResult getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<TransferSnapshotResult>
+        PARSER = new com.google.protobuf.AbstractParser<TransferSnapshotResult>() {
+      @java.lang.Override
+      public TransferSnapshotResult parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new TransferSnapshotResult(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<TransferSnapshotResult> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<TransferSnapshotResult> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.TransferSnapshotResult getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ReadIndexRpcOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ReadIndexRpc)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>string message_id = 1;</code>
+     */
+    java.lang.String getMessageId();
+    /**
+     * <code>string message_id = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getMessageIdBytes();
+
+    /**
+     * <code>int32 term = 2;</code>
+     */
+    int getTerm();
+  }
+  /**
+   * <pre>
+   * follower asks leader for read index
+   * </pre>
+   *
+   * Protobuf type {@code ReadIndexRpc}
+   */
+  public  static final class ReadIndexRpc extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:ReadIndexRpc)
+      ReadIndexRpcOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use ReadIndexRpc.newBuilder() to construct.
+    private ReadIndexRpc(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private ReadIndexRpc() {
+      messageId_ = "";
+      term_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ReadIndexRpc(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              messageId_ = s;
+              break;
+            }
+            case 16: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexRpc_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexRpc_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.ReadIndexRpc.class, in.xnnyygn.xraft.core.Protos.ReadIndexRpc.Builder.class);
+    }
+
+    public static final int MESSAGE_ID_FIELD_NUMBER = 1;
+    private volatile java.lang.Object messageId_;
+    /**
+     * <code>string message_id = 1;</code>
+     */
+    public java.lang.String getMessageId() {
+      java.lang.Object ref = messageId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        messageId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string message_id = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getMessageIdBytes() {
+      java.lang.Object ref = messageId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        messageId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TERM_FIELD_NUMBER = 2;
+    private int term_;
+    /**
+     * <code>int32 term = 2;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!getMessageIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, messageId_);
+      }
+      if (term_ != 0) {
+        output.writeInt32(2, term_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!getMessageIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, messageId_);
+      }
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, term_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.ReadIndexRpc)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.ReadIndexRpc other = (in.xnnyygn.xraft.core.Protos.ReadIndexRpc) obj;
+
+      boolean result = true;
+      result = result && getMessageId()
+          .equals(other.getMessageId());
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + MESSAGE_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getMessageId().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.ReadIndexRpc prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * follower asks leader for read index
+     * </pre>
+     *
+     * Protobuf type {@code ReadIndexRpc}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ReadIndexRpc)
+        in.xnnyygn.xraft.core.Protos.ReadIndexRpcOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexRpc_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexRpc_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.ReadIndexRpc.class, in.xnnyygn.xraft.core.Protos.ReadIndexRpc.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.ReadIndexRpc.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        messageId_ = "";
+
+        term_ = 0;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexRpc_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.ReadIndexRpc getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.ReadIndexRpc.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.ReadIndexRpc build() {
+        in.xnnyygn.xraft.core.Protos.ReadIndexRpc result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.ReadIndexRpc buildPartial() {
+        in.xnnyygn.xraft.core.Protos.ReadIndexRpc result = new in.xnnyygn.xraft.core.Protos.ReadIndexRpc(this);
+        result.messageId_ = messageId_;
+        result.term_ = term_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.ReadIndexRpc) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.ReadIndexRpc)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.ReadIndexRpc other) {
+        if (other == in.xnnyygn.xraft.core.Protos.ReadIndexRpc.getDefaultInstance()) return this;
+        if (!other.getMessageId().isEmpty()) {
+          messageId_ = other.messageId_;
+          onChanged();
+        }
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.ReadIndexRpc parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.ReadIndexRpc) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private java.lang.Object messageId_ = "";
+      /**
+       * <code>string message_id = 1;</code>
+       */
+      public java.lang.String getMessageId() {
+        java.lang.Object ref = messageId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          messageId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string message_id = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getMessageIdBytes() {
+        java.lang.Object ref = messageId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          messageId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string message_id = 1;</code>
+       */
+      public Builder setMessageId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        messageId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string message_id = 1;</code>
+       */
+      public Builder clearMessageId() {
+        
+        messageId_ = getDefaultInstance().getMessageId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string message_id = 1;</code>
+       */
+      public Builder setMessageIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        messageId_ = value;
+        onChanged();
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 2;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 2;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 2;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:ReadIndexRpc)
+    }
+
+    // @@protoc_insertion_point(class_scope:ReadIndexRpc)
+    private static final in.xnnyygn.xraft.core.Protos.ReadIndexRpc DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.ReadIndexRpc();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexRpc getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<ReadIndexRpc>
+        PARSER = new com.google.protobuf.AbstractParser<ReadIndexRpc>() {
+      @java.lang.Override
+      public ReadIndexRpc parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ReadIndexRpc(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ReadIndexRpc> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ReadIndexRpc> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.ReadIndexRpc getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ReadIndexResultOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ReadIndexResult)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>string rpc_message_id = 1;</code>
+     */
+    java.lang.String getRpcMessageId();
+    /**
+     * <code>string rpc_message_id = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getRpcMessageIdBytes();
+
+    /**
+     * <code>int32 term = 2;</code>
+     */
+    int getTerm();
+
+    /**
+     * <code>bool success = 3;</code>
+     */
+    boolean getSuccess();
+
+    /**
+     * <code>int32 read_index = 4;</code>
+     */
+    int getReadIndex();
+  }
+  /**
+   * Protobuf type {@code ReadIndexResult}
+   */
+  public  static final class ReadIndexResult extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:ReadIndexResult)
+      ReadIndexResultOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use ReadIndexResult.newBuilder() to construct.
+    private ReadIndexResult(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private ReadIndexResult() {
+      rpcMessageId_ = "";
+      term_ = 0;
+      success_ = false;
+      readIndex_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ReadIndexResult(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              rpcMessageId_ = s;
+              break;
+            }
+            case 16: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            case 24: {
+
+              success_ = input.readBool();
+              break;
+            }
+            case 32: {
+
+              readIndex_ = input.readInt32();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexResult_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexResult_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.ReadIndexResult.class, in.xnnyygn.xraft.core.Protos.ReadIndexResult.Builder.class);
+    }
+
+    public static final int RPC_MESSAGE_ID_FIELD_NUMBER = 1;
+    private volatile java.lang.Object rpcMessageId_;
+    /**
+     * <code>string rpc_message_id = 1;</code>
+     */
+    public java.lang.String getRpcMessageId() {
+      java.lang.Object ref = rpcMessageId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        rpcMessageId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string rpc_message_id = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getRpcMessageIdBytes() {
+      java.lang.Object ref = rpcMessageId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        rpcMessageId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TERM_FIELD_NUMBER = 2;
+    private int term_;
+    /**
+     * <code>int32 term = 2;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    public static final int SUCCESS_FIELD_NUMBER = 3;
+    private boolean success_;
+    /**
+     * <code>bool success = 3;</code>
+     */
+    public boolean getSuccess() {
+      return success_;
+    }
+
+    public static final int READ_INDEX_FIELD_NUMBER = 4;
+    private int readIndex_;
+    /**
+     * <code>int32 read_index = 4;</code>
+     */
+    public int getReadIndex() {
+      return readIndex_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!getRpcMessageIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, rpcMessageId_);
+      }
+      if (term_ != 0) {
+        output.writeInt32(2, term_);
+      }
+      if (success_ != false) {
+        output.writeBool(3, success_);
+      }
+      if (readIndex_ != 0) {
+        output.writeInt32(4, readIndex_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!getRpcMessageIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, rpcMessageId_);
+      }
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, term_);
+      }
+      if (success_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(3, success_);
+      }
+      if (readIndex_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, readIndex_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.ReadIndexResult)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.ReadIndexResult other = (in.xnnyygn.xraft.core.Protos.ReadIndexResult) obj;
+
+      boolean result = true;
+      result = result && getRpcMessageId()
+          .equals(other.getRpcMessageId());
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && (getSuccess()
+          == other.getSuccess());
+      result = result && (getReadIndex()
+          == other.getReadIndex());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + RPC_MESSAGE_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getRpcMessageId().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (37 * hash) + SUCCESS_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getSuccess());
+      hash = (37 * hash) + READ_INDEX_FIELD_NUMBER;
+      hash = (53 * hash) + getReadIndex();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.ReadIndexResult prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ReadIndexResult}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ReadIndexResult)
+        in.xnnyygn.xraft.core.Protos.ReadIndexResultOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexResult_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexResult_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.ReadIndexResult.class, in.xnnyygn.xraft.core.Protos.ReadIndexResult.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.ReadIndexResult.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        rpcMessageId_ = "";
+
+        term_ = 0;
+
+        success_ = false;
+
+        readIndex_ = 0;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_ReadIndexResult_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.ReadIndexResult getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.ReadIndexResult.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.ReadIndexResult build() {
+        in.xnnyygn.xraft.core.Protos.ReadIndexResult result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.ReadIndexResult buildPartial() {
+        in.xnnyygn.xraft.core.Protos.ReadIndexResult result = new in.xnnyygn.xraft.core.Protos.ReadIndexResult(this);
+        result.rpcMessageId_ = rpcMessageId_;
+        result.term_ = term_;
+        result.success_ = success_;
+        result.readIndex_ = readIndex_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.ReadIndexResult) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.ReadIndexResult)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.ReadIndexResult other) {
+        if (other == in.xnnyygn.xraft.core.Protos.ReadIndexResult.getDefaultInstance()) return this;
+        if (!other.getRpcMessageId().isEmpty()) {
+          rpcMessageId_ = other.rpcMessageId_;
+          onChanged();
+        }
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        if (other.getSuccess() != false) {
+          setSuccess(other.getSuccess());
+        }
+        if (other.getReadIndex() != 0) {
+          setReadIndex(other.getReadIndex());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.ReadIndexResult parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.ReadIndexResult) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private java.lang.Object rpcMessageId_ = "";
+      /**
+       * <code>string rpc_message_id = 1;</code>
+       */
+      public java.lang.String getRpcMessageId() {
+        java.lang.Object ref = rpcMessageId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          rpcMessageId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string rpc_message_id = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRpcMessageIdBytes() {
+        java.lang.Object ref = rpcMessageId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          rpcMessageId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string rpc_message_id = 1;</code>
+       */
+      public Builder setRpcMessageId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        rpcMessageId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string rpc_message_id = 1;</code>
+       */
+      public Builder clearRpcMessageId() {
+        
+        rpcMessageId_ = getDefaultInstance().getRpcMessageId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string rpc_message_id = 1;</code>
+       */
+      public Builder setRpcMessageIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        rpcMessageId_ = value;
+        onChanged();
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 2;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 2;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 2;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private boolean success_ ;
+      /**
+       * <code>bool success = 3;</code>
+       */
+      public boolean getSuccess() {
+        return success_;
+      }
+      /**
+       * <code>bool success = 3;</code>
+       */
+      public Builder setSuccess(boolean value) {
+        
+        success_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>bool success = 3;</code>
+       */
+      public Builder clearSuccess() {
+        
+        success_ = false;
+        onChanged();
+        return this;
+      }
+
+      private int readIndex_ ;
+      /**
+       * <code>int32 read_index = 4;</code>
+       */
+      public int getReadIndex() {
+        return readIndex_;
+      }
+      /**
+       * <code>int32 read_index = 4;</code>
+       */
+      public Builder setReadIndex(int value) {
+        
+        readIndex_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 read_index = 4;</code>
+       */
+      public Builder clearReadIndex() {
+        
+        readIndex_ = 0;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:ReadIndexResult)
+    }
+
+    // @@protoc_insertion_point(class_scope:ReadIndexResult)
+    private static final in.xnnyygn.xraft.core.Protos.ReadIndexResult DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.ReadIndexResult();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.ReadIndexResult getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<ReadIndexResult>
+        PARSER = new com.google.protobuf.AbstractParser<ReadIndexResult>() {
+      @java.lang.Override
+      public ReadIndexResult parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ReadIndexResult(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ReadIndexResult> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ReadIndexResult> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.ReadIndexResult getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PreVoteRpcOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PreVoteRpc)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    int getTerm();
+
+    /**
+     * <code>string candidate_id = 2;</code>
+     */
+    java.lang.String getCandidateId();
+    /**
+     * <code>string candidate_id = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getCandidateIdBytes();
+
+    /**
+     * <code>int32 last_log_index = 3;</code>
+     */
+    int getLastLogIndex();
+
+    /**
+     * <code>int32 last_log_term = 4;</code>
+     */
+    int getLastLogTerm();
+  }
+  /**
+   * <pre>
+   * ask whether node would vote before starting election
+   * </pre>
+   *
+   * Protobuf type {@code PreVoteRpc}
+   */
+  public  static final class PreVoteRpc extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PreVoteRpc)
+      PreVoteRpcOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PreVoteRpc.newBuilder() to construct.
+    private PreVoteRpc(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PreVoteRpc() {
+      term_ = 0;
+      candidateId_ = "";
+      lastLogIndex_ = 0;
+      lastLogTerm_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private PreVoteRpc(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              candidateId_ = s;
+              break;
+            }
+            case 24: {
+
+              lastLogIndex_ = input.readInt32();
+              break;
+            }
+            case 32: {
+
+              lastLogTerm_ = input.readInt32();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteRpc_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteRpc_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.PreVoteRpc.class, in.xnnyygn.xraft.core.Protos.PreVoteRpc.Builder.class);
+    }
+
+    public static final int TERM_FIELD_NUMBER = 1;
+    private int term_;
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    public static final int CANDIDATE_ID_FIELD_NUMBER = 2;
+    private volatile java.lang.Object candidateId_;
+    /**
+     * <code>string candidate_id = 2;</code>
+     */
+    public java.lang.String getCandidateId() {
+      java.lang.Object ref = candidateId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        candidateId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string candidate_id = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCandidateIdBytes() {
+      java.lang.Object ref = candidateId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        candidateId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int LAST_LOG_INDEX_FIELD_NUMBER = 3;
+    private int lastLogIndex_;
+    /**
+     * <code>int32 last_log_index = 3;</code>
+     */
+    public int getLastLogIndex() {
+      return lastLogIndex_;
+    }
+
+    public static final int LAST_LOG_TERM_FIELD_NUMBER = 4;
+    private int lastLogTerm_;
+    /**
+     * <code>int32 last_log_term = 4;</code>
+     */
+    public int getLastLogTerm() {
+      return lastLogTerm_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (term_ != 0) {
+        output.writeInt32(1, term_);
+      }
+      if (!getCandidateIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, candidateId_);
+      }
+      if (lastLogIndex_ != 0) {
+        output.writeInt32(3, lastLogIndex_);
+      }
+      if (lastLogTerm_ != 0) {
+        output.writeInt32(4, lastLogTerm_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, term_);
+      }
+      if (!getCandidateIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, candidateId_);
+      }
+      if (lastLogIndex_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(3, lastLogIndex_);
+      }
+      if (lastLogTerm_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, lastLogTerm_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.PreVoteRpc)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.PreVoteRpc other = (in.xnnyygn.xraft.core.Protos.PreVoteRpc) obj;
+
+      boolean result = true;
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && getCandidateId()
+          .equals(other.getCandidateId());
+      result = result && (getLastLogIndex()
+          == other.getLastLogIndex());
+      result = result && (getLastLogTerm()
+          == other.getLastLogTerm());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (37 * hash) + CANDIDATE_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getCandidateId().hashCode();
+      hash = (37 * hash) + LAST_LOG_INDEX_FIELD_NUMBER;
+      hash = (53 * hash) + getLastLogIndex();
+      hash = (37 * hash) + LAST_LOG_TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getLastLogTerm();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.PreVoteRpc prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * ask whether node would vote before starting election
+     * </pre>
+     *
+     * Protobuf type {@code PreVoteRpc}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PreVoteRpc)
+        in.xnnyygn.xraft.core.Protos.PreVoteRpcOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteRpc_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteRpc_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.PreVoteRpc.class, in.xnnyygn.xraft.core.Protos.PreVoteRpc.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.PreVoteRpc.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        term_ = 0;
+
+        candidateId_ = "";
+
+        lastLogIndex_ = 0;
+
+        lastLogTerm_ = 0;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteRpc_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.PreVoteRpc getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.PreVoteRpc.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.PreVoteRpc build() {
+        in.xnnyygn.xraft.core.Protos.PreVoteRpc result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.PreVoteRpc buildPartial() {
+        in.xnnyygn.xraft.core.Protos.PreVoteRpc result = new in.xnnyygn.xraft.core.Protos.PreVoteRpc(this);
+        result.term_ = term_;
+        result.candidateId_ = candidateId_;
+        result.lastLogIndex_ = lastLogIndex_;
+        result.lastLogTerm_ = lastLogTerm_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.PreVoteRpc) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.PreVoteRpc)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.PreVoteRpc other) {
+        if (other == in.xnnyygn.xraft.core.Protos.PreVoteRpc.getDefaultInstance()) return this;
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        if (!other.getCandidateId().isEmpty()) {
+          candidateId_ = other.candidateId_;
+          onChanged();
+        }
+        if (other.getLastLogIndex() != 0) {
+          setLastLogIndex(other.getLastLogIndex());
+        }
+        if (other.getLastLogTerm() != 0) {
+          setLastLogTerm(other.getLastLogTerm());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.PreVoteRpc parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.PreVoteRpc) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object candidateId_ = "";
+      /**
+       * <code>string candidate_id = 2;</code>
+       */
+      public java.lang.String getCandidateId() {
+        java.lang.Object ref = candidateId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          candidateId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string candidate_id = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCandidateIdBytes() {
+        java.lang.Object ref = candidateId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          candidateId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string candidate_id = 2;</code>
+       */
+      public Builder setCandidateId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        candidateId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string candidate_id = 2;</code>
+       */
+      public Builder clearCandidateId() {
+        
+        candidateId_ = getDefaultInstance().getCandidateId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string candidate_id = 2;</code>
+       */
+      public Builder setCandidateIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        candidateId_ = value;
+        onChanged();
+        return this;
+      }
+
+      private int lastLogIndex_ ;
+      /**
+       * <code>int32 last_log_index = 3;</code>
+       */
+      public int getLastLogIndex() {
+        return lastLogIndex_;
+      }
+      /**
+       * <code>int32 last_log_index = 3;</code>
+       */
+      public Builder setLastLogIndex(int value) {
+        
+        lastLogIndex_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 last_log_index = 3;</code>
+       */
+      public Builder clearLastLogIndex() {
+        
+        lastLogIndex_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int lastLogTerm_ ;
+      /**
+       * <code>int32 last_log_term = 4;</code>
+       */
+      public int getLastLogTerm() {
+        return lastLogTerm_;
+      }
+      /**
+       * <code>int32 last_log_term = 4;</code>
+       */
+      public Builder setLastLogTerm(int value) {
+        
+        lastLogTerm_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 last_log_term = 4;</code>
+       */
+      public Builder clearLastLogTerm() {
+        
+        lastLogTerm_ = 0;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PreVoteRpc)
+    }
+
+    // @@protoc_insertion_point(class_scope:PreVoteRpc)
+    private static final in.xnnyygn.xraft.core.Protos.PreVoteRpc DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.PreVoteRpc();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.PreVoteRpc getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PreVoteRpc>
+        PARSER = new com.google.protobuf.AbstractParser<PreVoteRpc>() {
+      @java.lang.Override
+      public PreVoteRpc parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new PreVoteRpc(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<PreVoteRpc> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PreVoteRpc> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.PreVoteRpc getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PreVoteResultOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PreVoteResult)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    int getTerm();
+
+    /**
+     * <code>bool vote_granted = 2;</code>
+     */
+    boolean getVoteGranted();
+  }
+  /**
+   * Protobuf type {@code PreVoteResult}
+   */
+  public  static final class PreVoteResult extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PreVoteResult)
+      PreVoteResultOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PreVoteResult.newBuilder() to construct.
+    private PreVoteResult(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PreVoteResult() {
+      term_ = 0;
+      voteGranted_ = false;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private PreVoteResult(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            case 16: {
+
+              voteGranted_ = input.readBool();
+              break;
+            }
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteResult_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteResult_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              in.xnnyygn.xraft.core.Protos.PreVoteResult.class, in.xnnyygn.xraft.core.Protos.PreVoteResult.Builder.class);
+    }
+
+    public static final int TERM_FIELD_NUMBER = 1;
+    private int term_;
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    public int getTerm() {
+      return term_;
+    }
+
+    public static final int VOTE_GRANTED_FIELD_NUMBER = 2;
+    private boolean voteGranted_;
+    /**
+     * <code>bool vote_granted = 2;</code>
+     */
+    public boolean getVoteGranted() {
+      return voteGranted_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (term_ != 0) {
+        output.writeInt32(1, term_);
+      }
+      if (voteGranted_ != false) {
+        output.writeBool(2, voteGranted_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (term_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, term_);
+      }
+      if (voteGranted_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(2, voteGranted_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.PreVoteResult)) {
+        return super.equals(obj);
+      }
+      in.xnnyygn.xraft.core.Protos.PreVoteResult other = (in.xnnyygn.xraft.core.Protos.PreVoteResult) obj;
+
+      boolean result = true;
+      result = result && (getTerm()
+          == other.getTerm());
+      result = result && (getVoteGranted()
+          == other.getVoteGranted());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TERM_FIELD_NUMBER;
+      hash = (53 * hash) + getTerm();
+      hash = (37 * hash) + VOTE_GRANTED_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getVoteGranted());
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.PreVoteResult prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code PreVoteResult}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PreVoteResult)
+        in.xnnyygn.xraft.core.Protos.PreVoteResultOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteResult_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteResult_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                in.xnnyygn.xraft.core.Protos.PreVoteResult.class, in.xnnyygn.xraft.core.Protos.PreVoteResult.Builder.class);
+      }
+
+      // Construct using in.xnnyygn.xraft.core.Protos.PreVoteResult.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        term_ = 0;
+
+        voteGranted_ = false;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return in.xnnyygn.xraft.core.Protos.internal_static_PreVoteResult_descriptor;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.PreVoteResult getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.PreVoteResult.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.PreVoteResult build() {
+        in.xnnyygn.xraft.core.Protos.PreVoteResult result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public in.xnnyygn.xraft.core.Protos.PreVoteResult buildPartial() {
+        in.xnnyygn.xraft.core.Protos.PreVoteResult result = new in.xnnyygn.xraft.core.Protos.PreVoteResult(this);
+        result.term_ = term_;
+        result.voteGranted_ = voteGranted_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof in.xnnyygn.xraft.core.Protos.PreVoteResult) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.PreVoteResult)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.PreVoteResult other) {
+        if (other == in.xnnyygn.xraft.core.Protos.PreVoteResult.getDefaultInstance()) return this;
+        if (other.getTerm() != 0) {
+          setTerm(other.getTerm());
+        }
+        if (other.getVoteGranted() != false) {
+          setVoteGranted(other.getVoteGranted());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        in.xnnyygn.xraft.core.Protos.PreVoteResult parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.PreVoteResult) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private int term_ ;
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public int getTerm() {
+        return term_;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder setTerm(int value) {
+        
+        term_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 term = 1;</code>
+       */
+      public Builder clearTerm() {
+        
+        term_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private boolean voteGranted_ ;
+      /**
+       * <code>bool vote_granted = 2;</code>
+       */
+      public boolean getVoteGranted() {
+        return voteGranted_;
+      }
+      /**
+       * <code>bool vote_granted = 2;</code>
+       */
+      public Builder setVoteGranted(boolean value) {
+        
+        voteGranted_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>bool vote_granted = 2;</code>
+       */
+      public Builder clearVoteGranted() {
+        
+        voteGranted_ = false;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PreVoteResult)
+    }
+
+    // @@protoc_insertion_point(class_scope:PreVoteResult)
+    private static final in.xnnyygn.xraft.core.Protos.PreVoteResult DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.PreVoteResult();
+    }
+
+    public static in.xnnyygn.xraft.core.Protos.PreVoteResult getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PreVoteResult>
+        PARSER = new com.google.protobuf.AbstractParser<PreVoteResult>() {
+      @java.lang.Override
+      public PreVoteResult parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new PreVoteResult(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<PreVoteResult> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PreVoteResult> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public in.xnnyygn.xraft.core.Protos.PreVoteResult getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface TimeoutNowRpcOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:TimeoutNowRpc)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int32 term = 1;</code>
+     */
+    int getTerm();
+
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    java.lang.String getLeaderId();
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getLeaderIdBytes();
+  }
+  /**
+   * <pre>
+   * leader lets follower start election immediately
+   * </pre>
+   *
+   * Protobuf type {@code TimeoutNowRpc}
+   */
+  public  static final class TimeoutNowRpc extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:TimeoutNowRpc)
+      TimeoutNowRpcOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use TimeoutNowRpc.newBuilder() to construct.
+    private TimeoutNowRpc(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private TimeoutNowRpc() {
+      term_ = 0;
+      leaderId_ = "";
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private TimeoutNowRpc(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              term_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              leaderId_ = s;
               break;
             }
             default: {
@@ -6078,15 +11404,15 @@ public final class Protos {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_descriptor;
+      return in.xnnyygn.xraft.core.Protos.internal_static_TimeoutNowRpc_descriptor;
     }
 
     @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_fieldAccessorTable
+      return in.xnnyygn.xraft.core.Protos.internal_static_TimeoutNowRpc_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.class, in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.Builder.class);
+              in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.class, in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.Builder.class);
     }
 
     public static final int TERM_FIELD_NUMBER = 1;
@@ -6098,6 +11424,40 @@ public final class Protos {
       return term_;
     }
 
+    public static final int LEADER_ID_FIELD_NUMBER = 2;
+    private volatile java.lang.Object leaderId_;
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    public java.lang.String getLeaderId() {
+      java.lang.Object ref = leaderId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        leaderId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string leader_id = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getLeaderIdBytes() {
+      java.lang.Object ref = leaderId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        leaderId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -6115,6 +11475,9 @@ public final class Protos {
       if (term_ != 0) {
         output.writeInt32(1, term_);
       }
+      if (!getLeaderIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, leaderId_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -6128,6 +11491,9 @@ public final class Protos {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(1, term_);
       }
+      if (!getLeaderIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, leaderId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -6138,14 +11504,16 @@ public final class Protos {
       if (obj == this) {
        return true;
       }
-      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.InstallSnapshotResult)) {
+      if (!(obj instanceof in.xnnyygn.xraft.core.Protos.TimeoutNowRpc)) {
         return super.equals(obj);
       }
-      in.xnnyygn.xraft.core.Protos.InstallSnapshotResult other = (in.xnnyygn.xraft.core.Protos.InstallSnapshotResult) obj;
+      in.xnnyygn.xraft.core.Protos.TimeoutNowRpc other = (in.xnnyygn.xraft.core.Protos.TimeoutNowRpc) obj;
 
       boolean result = true;
       result = result && (getTerm()
           == other.getTerm());
+      result = result && getLeaderId()
+          .equals(other.getLeaderId());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -6159,74 +11527,76 @@ public final class Protos {
       hash = (19 * hash) + getDescriptor().hashCode();
       hash = (37 * hash) + TERM_FIELD_NUMBER;
       hash = (53 * hash) + getTerm();
+      hash = (37 * hash) + LEADER_ID_FIELD_NUMBER;
+      hash = (53 * hash) + getLeaderId().hashCode();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
     }
 
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         java.nio.ByteBuffer data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         java.nio.ByteBuffer data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(byte[] data)
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(java.io.InputStream input)
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseDelimitedFrom(java.io.InputStream input)
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseDelimitedWithIOException(PARSER, input);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseDelimitedFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input);
     }
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parseFrom(
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -6239,7 +11609,7 @@ public final class Protos {
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
     }
-    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.InstallSnapshotResult prototype) {
+    public static Builder newBuilder(in.xnnyygn.xraft.core.Protos.TimeoutNowRpc prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
     @java.lang.Override
@@ -6255,26 +11625,30 @@ public final class Protos {
       return builder;
     }
     /**
-     * Protobuf type {@code InstallSnapshotResult}
+     * <pre>
+     * leader lets follower start election immediately
+     * </pre>
+     *
+     * Protobuf type {@code TimeoutNowRpc}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:InstallSnapshotResult)
-        in.xnnyygn.xraft.core.Protos.InstallSnapshotResultOrBuilder {
+        // @@protoc_insertion_point(builder_implements:TimeoutNowRpc)
+        in.xnnyygn.xraft.core.Protos.TimeoutNowRpcOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_descriptor;
+        return in.xnnyygn.xraft.core.Protos.internal_static_TimeoutNowRpc_descriptor;
       }
 
       @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_fieldAccessorTable
+        return in.xnnyygn.xraft.core.Protos.internal_static_TimeoutNowRpc_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.class, in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.Builder.class);
+                in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.class, in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.Builder.class);
       }
 
-      // Construct using in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.newBuilder()
+      // Construct using in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -6294,23 +11668,25 @@ public final class Protos {
         super.clear();
         term_ = 0;
 
+        leaderId_ = "";
+
         return this;
       }
 
       @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return in.xnnyygn.xraft.core.Protos.internal_static_InstallSnapshotResult_descriptor;
+        return in.xnnyygn.xraft.core.Protos.internal_static_TimeoutNowRpc_descriptor;
       }
 
       @java.lang.Override
-      public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult getDefaultInstanceForType() {
-        return in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.getDefaultInstance();
+      public in.xnnyygn.xraft.core.Protos.TimeoutNowRpc getDefaultInstanceForType() {
+        return in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.getDefaultInstance();
       }
 
       @java.lang.Override
-      public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult build() {
-        in.xnnyygn.xraft.core.Protos.InstallSnapshotResult result = buildPartial();
+      public in.xnnyygn.xraft.core.Protos.TimeoutNowRpc build() {
+        in.xnnyygn.xraft.core.Protos.TimeoutNowRpc result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
@@ -6318,9 +11694,10 @@ public final class Protos {
       }
 
       @java.lang.Override
-      public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult buildPartial() {
-        in.xnnyygn.xraft.core.Protos.InstallSnapshotResult result = new in.xnnyygn.xraft.core.Protos.InstallSnapshotResult(this);
+      public in.xnnyygn.xraft.core.Protos.TimeoutNowRpc buildPartial() {
+        in.xnnyygn.xraft.core.Protos.TimeoutNowRpc result = new in.xnnyygn.xraft.core.Protos.TimeoutNowRpc(this);
         result.term_ = term_;
+        result.leaderId_ = leaderId_;
         onBuilt();
         return result;
       }
@@ -6359,19 +11736,23 @@ public final class Protos {
       }
       @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof in.xnnyygn.xraft.core.Protos.InstallSnapshotResult) {
-          return mergeFrom((in.xnnyygn.xraft.core.Protos.InstallSnapshotResult)other);
+        if (other instanceof in.xnnyygn.xraft.core.Protos.TimeoutNowRpc) {
+          return mergeFrom((in.xnnyygn.xraft.core.Protos.TimeoutNowRpc)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.InstallSnapshotResult other) {
-        if (other == in.xnnyygn.xraft.core.Protos.InstallSnapshotResult.getDefaultInstance()) return this;
+      public Builder mergeFrom(in.xnnyygn.xraft.core.Protos.TimeoutNowRpc other) {
+        if (other == in.xnnyygn.xraft.core.Protos.TimeoutNowRpc.getDefaultInstance()) return this;
         if (other.getTerm() != 0) {
           setTerm(other.getTerm());
         }
+        if (!other.getLeaderId().isEmpty()) {
+          leaderId_ = other.leaderId_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -6387,11 +11768,11 @@ public final class Protos {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        in.xnnyygn.xraft.core.Protos.InstallSnapshotResult parsedMessage = null;
+        in.xnnyygn.xraft.core.Protos.TimeoutNowRpc parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (in.xnnyygn.xraft.core.Protos.InstallSnapshotResult) e.getUnfinishedMessage();
+          parsedMessage = (in.xnnyygn.xraft.core.Protos.TimeoutNowRpc) e.getUnfinishedMessage();
           throw e.unwrapIOException();
         } finally {
           if (parsedMessage != null) {
@@ -6426,6 +11807,75 @@ public final class Protos {
         onChanged();
         return this;
       }
+
+      private java.lang.Object leaderId_ = "";
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public java.lang.String getLeaderId() {
+        java.lang.Object ref = leaderId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          leaderId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getLeaderIdBytes() {
+        java.lang.Object ref = leaderId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          leaderId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public Builder setLeaderId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        leaderId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public Builder clearLeaderId() {
+        
+        leaderId_ = getDefaultInstance().getLeaderId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string leader_id = 2;</code>
+       */
+      public Builder setLeaderIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        leaderId_ = value;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -6439,41 +11889,41 @@ public final class Protos {
       }
 
 
-      // @@protoc_insertion_point(builder_scope:InstallSnapshotResult)
+      // @@protoc_insertion_point(builder_scope:TimeoutNowRpc)
     }
 
-    // @@protoc_insertion_point(class_scope:InstallSnapshotResult)
-    private static final in.xnnyygn.xraft.core.Protos.InstallSnapshotResult DEFAULT_INSTANCE;
+    // @@protoc_insertion_point(class_scope:TimeoutNowRpc)
+    private static final in.xnnyygn.xraft.core.Protos.TimeoutNowRpc DEFAULT_INSTANCE;
     static {
-      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.InstallSnapshotResult();
+      DEFAULT_INSTANCE = new in.xnnyygn.xraft.core.Protos.TimeoutNowRpc();
     }
 
-    public static in.xnnyygn.xraft.core.Protos.InstallSnapshotResult getDefaultInstance() {
+    public static in.xnnyygn.xraft.core.Protos.TimeoutNowRpc getDefaultInstance() {
       return DEFAULT_INSTANCE;
     }
 
-    private static final com.google.protobuf.Parser<InstallSnapshotResult>
-        PARSER = new com.google.protobuf.AbstractParser<InstallSnapshotResult>() {
+    private static final com.google.protobuf.Parser<TimeoutNowRpc>
+        PARSER = new com.google.protobuf.AbstractParser<TimeoutNowRpc>() {
       @java.lang.Override
-      public InstallSnapshotResult parsePartialFrom(
+      public TimeoutNowRpc parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new InstallSnapshotResult(input, extensionRegistry);
+        return new TimeoutNowRpc(input, extensionRegistry);
       }
     };
 
-    public static com.google.protobuf.Parser<InstallSnapshotResult> parser() {
+    public static com.google.protobuf.Parser<TimeoutNowRpc> parser() {
       return PARSER;
     }
 
     @java.lang.Override
-    public com.google.protobuf.Parser<InstallSnapshotResult> getParserForType() {
+    public com.google.protobuf.Parser<TimeoutNowRpc> getParserForType() {
       return PARSER;
     }
 
     @java.lang.Override
-    public in.xnnyygn.xraft.core.Protos.InstallSnapshotResult getDefaultInstanceForType() {
+    public in.xnnyygn.xraft.core.Protos.TimeoutNowRpc getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
 
@@ -11119,6 +16569,94 @@ public final class Protos {
      */
     in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder getLastConfigOrBuilder(
         int index);
+
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    java.util.List<java.lang.String>
+        getBaseFilesList();
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    int getBaseFilesCount();
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    java.lang.String getBaseFiles(int index);
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    com.google.protobuf.ByteString
+        getBaseFilesBytes(int index);
+
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    java.util.List<java.lang.String>
+        getPartitionFilesList();
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    int getPartitionFilesCount();
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    java.lang.String getPartitionFiles(int index);
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getPartitionFilesBytes(int index);
+
+    /**
+     * <pre>
+     * codec of data, empty if not compressed
+     * </pre>
+     *
+     * <code>string codec = 6;</code>
+     */
+    java.lang.String getCodec();
+    /**
+     * <pre>
+     * codec of data, empty if not compressed
+     * </pre>
+     *
+     * <code>string codec = 6;</code>
+     */
+    com.google.protobuf.ByteString
+        getCodecBytes();
   }
   /**
    * Protobuf type {@code SnapshotHeader}
@@ -11136,6 +16674,9 @@ public final class Protos {
       lastIndex_ = 0;
       lastTerm_ = 0;
       lastConfig_ = java.util.Collections.emptyList();
+      baseFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      partitionFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      codec_ = "";
     }
 
     @java.lang.Override
@@ -11181,6 +16722,30 @@ public final class Protos {
                   input.readMessage(in.xnnyygn.xraft.core.Protos.NodeEndpoint.parser(), extensionRegistry));
               break;
             }
+            case 34: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                baseFiles_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              baseFiles_.add(s);
+              break;
+            }
+            case 42: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                partitionFiles_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              partitionFiles_.add(s);
+              break;
+            }
+            case 50: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              codec_ = s;
+              break;
+            }
             default: {
               if (!parseUnknownFieldProto3(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -11199,6 +16764,12 @@ public final class Protos {
         if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
           lastConfig_ = java.util.Collections.unmodifiableList(lastConfig_);
         }
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          baseFiles_ = baseFiles_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          partitionFiles_ = partitionFiles_.getUnmodifiableView();
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -11257,17 +16828,149 @@ public final class Protos {
       return lastConfig_.size();
     }
     /**
-     * <code>repeated .NodeEndpoint last_config = 3;</code>
+     * <code>repeated .NodeEndpoint last_config = 3;</code>
+     */
+    public in.xnnyygn.xraft.core.Protos.NodeEndpoint getLastConfig(int index) {
+      return lastConfig_.get(index);
+    }
+    /**
+     * <code>repeated .NodeEndpoint last_config = 3;</code>
+     */
+    public in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder getLastConfigOrBuilder(
+        int index) {
+      return lastConfig_.get(index);
+    }
+
+    public static final int BASE_FILES_FIELD_NUMBER = 4;
+    private com.google.protobuf.LazyStringList baseFiles_;
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getBaseFilesList() {
+      return baseFiles_;
+    }
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    public int getBaseFilesCount() {
+      return baseFiles_.size();
+    }
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    public java.lang.String getBaseFiles(int index) {
+      return baseFiles_.get(index);
+    }
+    /**
+     * <pre>
+     * snapshot files in the same directory before this one, full snapshot first, empty if full
+     * </pre>
+     *
+     * <code>repeated string base_files = 4;</code>
+     */
+    public com.google.protobuf.ByteString
+        getBaseFilesBytes(int index) {
+      return baseFiles_.getByteString(index);
+    }
+
+    public static final int PARTITION_FILES_FIELD_NUMBER = 5;
+    private com.google.protobuf.LazyStringList partitionFiles_;
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getPartitionFilesList() {
+      return partitionFiles_;
+    }
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    public int getPartitionFilesCount() {
+      return partitionFiles_.size();
+    }
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    public java.lang.String getPartitionFiles(int index) {
+      return partitionFiles_.get(index);
+    }
+    /**
+     * <pre>
+     * partition files in the same directory, empty if not partitioned
+     * </pre>
+     *
+     * <code>repeated string partition_files = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getPartitionFilesBytes(int index) {
+      return partitionFiles_.getByteString(index);
+    }
+
+    public static final int CODEC_FIELD_NUMBER = 6;
+    private volatile java.lang.Object codec_;
+    /**
+     * <pre>
+     * codec of data, empty if not compressed
+     * </pre>
+     *
+     * <code>string codec = 6;</code>
      */
-    public in.xnnyygn.xraft.core.Protos.NodeEndpoint getLastConfig(int index) {
-      return lastConfig_.get(index);
+    public java.lang.String getCodec() {
+      java.lang.Object ref = codec_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        codec_ = s;
+        return s;
+      }
     }
     /**
-     * <code>repeated .NodeEndpoint last_config = 3;</code>
+     * <pre>
+     * codec of data, empty if not compressed
+     * </pre>
+     *
+     * <code>string codec = 6;</code>
      */
-    public in.xnnyygn.xraft.core.Protos.NodeEndpointOrBuilder getLastConfigOrBuilder(
-        int index) {
-      return lastConfig_.get(index);
+    public com.google.protobuf.ByteString
+        getCodecBytes() {
+      java.lang.Object ref = codec_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        codec_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
     }
 
     private byte memoizedIsInitialized = -1;
@@ -11293,6 +16996,15 @@ public final class Protos {
       for (int i = 0; i < lastConfig_.size(); i++) {
         output.writeMessage(3, lastConfig_.get(i));
       }
+      for (int i = 0; i < baseFiles_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, baseFiles_.getRaw(i));
+      }
+      for (int i = 0; i < partitionFiles_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, partitionFiles_.getRaw(i));
+      }
+      if (!getCodecBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 6, codec_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -11314,6 +17026,25 @@ public final class Protos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(3, lastConfig_.get(i));
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < baseFiles_.size(); i++) {
+          dataSize += computeStringSizeNoTag(baseFiles_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getBaseFilesList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < partitionFiles_.size(); i++) {
+          dataSize += computeStringSizeNoTag(partitionFiles_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getPartitionFilesList().size();
+      }
+      if (!getCodecBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, codec_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -11336,6 +17067,12 @@ public final class Protos {
           == other.getLastTerm());
       result = result && getLastConfigList()
           .equals(other.getLastConfigList());
+      result = result && getBaseFilesList()
+          .equals(other.getBaseFilesList());
+      result = result && getPartitionFilesList()
+          .equals(other.getPartitionFilesList());
+      result = result && getCodec()
+          .equals(other.getCodec());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -11355,6 +17092,16 @@ public final class Protos {
         hash = (37 * hash) + LAST_CONFIG_FIELD_NUMBER;
         hash = (53 * hash) + getLastConfigList().hashCode();
       }
+      if (getBaseFilesCount() > 0) {
+        hash = (37 * hash) + BASE_FILES_FIELD_NUMBER;
+        hash = (53 * hash) + getBaseFilesList().hashCode();
+      }
+      if (getPartitionFilesCount() > 0) {
+        hash = (37 * hash) + PARTITION_FILES_FIELD_NUMBER;
+        hash = (53 * hash) + getPartitionFilesList().hashCode();
+      }
+      hash = (37 * hash) + CODEC_FIELD_NUMBER;
+      hash = (53 * hash) + getCodec().hashCode();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -11499,6 +17246,12 @@ public final class Protos {
         } else {
           lastConfigBuilder_.clear();
         }
+        baseFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        partitionFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        codec_ = "";
+
         return this;
       }
 
@@ -11538,6 +17291,17 @@ public final class Protos {
         } else {
           result.lastConfig_ = lastConfigBuilder_.build();
         }
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          baseFiles_ = baseFiles_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.baseFiles_ = baseFiles_;
+        if (((bitField0_ & 0x00000010) == 0x00000010)) {
+          partitionFiles_ = partitionFiles_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.partitionFiles_ = partitionFiles_;
+        result.codec_ = codec_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -11619,6 +17383,30 @@ public final class Protos {
             }
           }
         }
+        if (!other.baseFiles_.isEmpty()) {
+          if (baseFiles_.isEmpty()) {
+            baseFiles_ = other.baseFiles_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureBaseFilesIsMutable();
+            baseFiles_.addAll(other.baseFiles_);
+          }
+          onChanged();
+        }
+        if (!other.partitionFiles_.isEmpty()) {
+          if (partitionFiles_.isEmpty()) {
+            partitionFiles_ = other.partitionFiles_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensurePartitionFilesIsMutable();
+            partitionFiles_.addAll(other.partitionFiles_);
+          }
+          onChanged();
+        }
+        if (!other.getCodec().isEmpty()) {
+          codec_ = other.codec_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -11940,6 +17728,355 @@ public final class Protos {
         }
         return lastConfigBuilder_;
       }
+
+      private com.google.protobuf.LazyStringList baseFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureBaseFilesIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          baseFiles_ = new com.google.protobuf.LazyStringArrayList(baseFiles_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getBaseFilesList() {
+        return baseFiles_.getUnmodifiableView();
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public int getBaseFilesCount() {
+        return baseFiles_.size();
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public java.lang.String getBaseFiles(int index) {
+        return baseFiles_.get(index);
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public com.google.protobuf.ByteString
+          getBaseFilesBytes(int index) {
+        return baseFiles_.getByteString(index);
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public Builder setBaseFiles(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureBaseFilesIsMutable();
+        baseFiles_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public Builder addBaseFiles(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureBaseFilesIsMutable();
+        baseFiles_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public Builder addAllBaseFiles(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureBaseFilesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, baseFiles_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public Builder clearBaseFiles() {
+        baseFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * snapshot files in the same directory before this one, full snapshot first, empty if full
+       * </pre>
+       *
+       * <code>repeated string base_files = 4;</code>
+       */
+      public Builder addBaseFilesBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureBaseFilesIsMutable();
+        baseFiles_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList partitionFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensurePartitionFilesIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          partitionFiles_ = new com.google.protobuf.LazyStringArrayList(partitionFiles_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getPartitionFilesList() {
+        return partitionFiles_.getUnmodifiableView();
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public int getPartitionFilesCount() {
+        return partitionFiles_.size();
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public java.lang.String getPartitionFiles(int index) {
+        return partitionFiles_.get(index);
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getPartitionFilesBytes(int index) {
+        return partitionFiles_.getByteString(index);
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public Builder setPartitionFiles(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensurePartitionFilesIsMutable();
+        partitionFiles_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public Builder addPartitionFiles(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensurePartitionFilesIsMutable();
+        partitionFiles_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public Builder addAllPartitionFiles(
+          java.lang.Iterable<java.lang.String> values) {
+        ensurePartitionFilesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, partitionFiles_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public Builder clearPartitionFiles() {
+        partitionFiles_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * partition files in the same directory, empty if not partitioned
+       * </pre>
+       *
+       * <code>repeated string partition_files = 5;</code>
+       */
+      public Builder addPartitionFilesBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensurePartitionFilesIsMutable();
+        partitionFiles_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object codec_ = "";
+      /**
+       * <pre>
+       * codec of data, empty if not compressed
+       * </pre>
+       *
+       * <code>string codec = 6;</code>
+       */
+      public java.lang.String getCodec() {
+        java.lang.Object ref = codec_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          codec_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * codec of data, empty if not compressed
+       * </pre>
+       *
+       * <code>string codec = 6;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCodecBytes() {
+        java.lang.Object ref = codec_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          codec_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * codec of data, empty if not compressed
+       * </pre>
+       *
+       * <code>string codec = 6;</code>
+       */
+      public Builder setCodec(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        codec_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * codec of data, empty if not compressed
+       * </pre>
+       *
+       * <code>string codec = 6;</code>
+       */
+      public Builder clearCodec() {
+        
+        codec_ = getDefaultInstance().getCodec();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * codec of data, empty if not compressed
+       * </pre>
+       *
+       * <code>string codec = 6;</code>
+       */
+      public Builder setCodecBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        codec_ = value;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -12033,6 +18170,41 @@ public final class Protos {
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_InstallSnapshotResult_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_TransferSnapshotRpc_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_TransferSnapshotRpc_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_TransferSnapshotResult_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_TransferSnapshotResult_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ReadIndexRpc_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_ReadIndexRpc_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ReadIndexResult_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_ReadIndexResult_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PreVoteRpc_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PreVoteRpc_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PreVoteResult_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PreVoteResult_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_TimeoutNowRpc_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_TimeoutNowRpc_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_AddServerRpc_descriptor;
   private static final 
@@ -12077,41 +18249,59 @@ public final class Protos {
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\037xraft-core/src/proto/core.proto\"6\n\014Nod" +
-      "eEndpoint\022\n\n\002id\030\001 \001(\t\022\014\n\004host\030\002 \001(\t\022\014\n\004p" +
-      "ort\030\003 \001(\005\"c\n\016RequestVoteRpc\022\014\n\004term\030\001 \001(" +
-      "\005\022\024\n\014candidate_id\030\002 \001(\t\022\026\n\016last_log_inde" +
-      "x\030\003 \001(\005\022\025\n\rlast_log_term\030\004 \001(\005\"7\n\021Reques" +
-      "tVoteResult\022\014\n\004term\030\001 \001(\005\022\024\n\014vote_grante" +
-      "d\030\002 \001(\010\"\374\001\n\020AppendEntriesRpc\022\022\n\nmessage_" +
-      "id\030\001 \001(\t\022\014\n\004term\030\002 \001(\005\022\021\n\tleader_id\030\003 \001(" +
-      "\t\022\026\n\016prev_log_index\030\004 \001(\005\022\025\n\rprev_log_te" +
-      "rm\030\005 \001(\005\022\025\n\rleader_commit\030\006 \001(\005\022(\n\007entri" +
-      "es\030\007 \003(\0132\027.AppendEntriesRpc.Entry\032C\n\005Ent" +
-      "ry\022\014\n\004kind\030\001 \001(\005\022\r\n\005index\030\002 \001(\005\022\014\n\004term\030" +
-      "\003 \001(\005\022\017\n\007command\030\004 \001(\014\"L\n\023AppendEntriesR" +
-      "esult\022\026\n\016rpc_message_id\030\001 \001(\t\022\014\n\004term\030\002 " +
-      "\001(\005\022\017\n\007success\030\003 \001(\010\"\254\001\n\022InstallSnapshot" +
-      "Rpc\022\014\n\004term\030\001 \001(\005\022\021\n\tleader_id\030\002 \001(\t\022\022\n\n" +
-      "last_index\030\003 \001(\005\022\021\n\tlast_term\030\004 \001(\005\022\"\n\013l" +
-      "ast_config\030\005 \003(\0132\r.NodeEndpoint\022\016\n\006offse" +
-      "t\030\006 \001(\005\022\014\n\004data\030\007 \001(\014\022\014\n\004done\030\010 \001(\010\"%\n\025I" +
-      "nstallSnapshotResult\022\014\n\004term\030\001 \001(\005\"1\n\014Ad" +
-      "dServerRpc\022!\n\nnew_server\030\001 \001(\0132\r.NodeEnd" +
-      "point\"E\n\017AddServerResult\022\016\n\006status\030\001 \001(\t" +
-      "\022\"\n\013leader_hint\030\002 \001(\0132\r.NodeEndpoint\"4\n\017" +
-      "RemoveServerRpc\022!\n\nold_server\030\001 \001(\0132\r.No" +
-      "deEndpoint\"H\n\022RemoveServerResult\022\016\n\006stat" +
-      "us\030\001 \001(\t\022\"\n\013leader_hint\030\002 \001(\0132\r.NodeEndp" +
-      "oint\"a\n\016AddNodeCommand\022%\n\016node_endpoints" +
-      "\030\001 \003(\0132\r.NodeEndpoint\022(\n\021new_node_endpoi" +
-      "nt\030\002 \001(\0132\r.NodeEndpoint\"R\n\021RemoveNodeCom" +
-      "mand\022%\n\016node_endpoints\030\001 \003(\0132\r.NodeEndpo" +
-      "int\022\026\n\016node_to_remove\030\002 \001(\t\"[\n\016SnapshotH" +
+      "\n\024src/proto/core.proto\"G\n\014NodeEndpoint\022\n" +
+      "\n\002id\030\001 \001(\t\022\014\n\004host\030\002 \001(\t\022\014\n\004port\030\003 \001(\005\022\017" +
+      "\n\007learner\030\004 \001(\010\"\200\001\n\016RequestVoteRpc\022\014\n\004te" +
+      "rm\030\001 \001(\005\022\024\n\014candidate_id\030\002 \001(\t\022\026\n\016last_l" +
+      "og_index\030\003 \001(\005\022\025\n\rlast_log_term\030\004 \001(\005\022\033\n" +
+      "\023leadership_transfer\030\005 \001(\010\"7\n\021RequestVot" +
+      "eResult\022\014\n\004term\030\001 \001(\005\022\024\n\014vote_granted\030\002 " +
+      "\001(\010\"\374\001\n\020AppendEntriesRpc\022\022\n\nmessage_id\030\001" +
+      " \001(\t\022\014\n\004term\030\002 \001(\005\022\021\n\tleader_id\030\003 \001(\t\022\026\n" +
+      "\016prev_log_index\030\004 \001(\005\022\025\n\rprev_log_term\030\005" +
+      " \001(\005\022\025\n\rleader_commit\030\006 \001(\005\022(\n\007entries\030\007" +
+      " \003(\0132\027.AppendEntriesRpc.Entry\032C\n\005Entry\022\014" +
+      "\n\004kind\030\001 \001(\005\022\r\n\005index\030\002 \001(\005\022\014\n\004term\030\003 \001(" +
+      "\005\022\017\n\007command\030\004 \001(\014\"{\n\023AppendEntriesResul" +
+      "t\022\026\n\016rpc_message_id\030\001 \001(\t\022\014\n\004term\030\002 \001(\005\022" +
+      "\017\n\007success\030\003 \001(\010\022\025\n\rconflict_term\030\004 \001(\005\022" +
+      "\026\n\016conflict_index\030\005 \001(\005\"\331\001\n\022InstallSnaps" +
+      "hotRpc\022\014\n\004term\030\001 \001(\005\022\021\n\tleader_id\030\002 \001(\t\022" +
+      "\022\n\nlast_index\030\003 \001(\005\022\021\n\tlast_term\030\004 \001(\005\022\"" +
+      "\n\013last_config\030\005 \003(\0132\r.NodeEndpoint\022\016\n\006of" +
+      "fset\030\006 \001(\005\022\014\n\004data\030\007 \001(\014\022\014\n\004done\030\010 \001(\010\022\034" +
+      "\n\024partition_data_sizes\030\t \003(\003\022\r\n\005codec\030\n " +
+      "\001(\t\"%\n\025InstallSnapshotResult\022\014\n\004term\030\001 \001" +
+      "(\005\"m\n\023TransferSnapshotRpc\022\014\n\004term\030\001 \001(\005\022" +
+      "\021\n\tleader_id\030\002 \001(\t\022\035\n\006target\030\003 \001(\0132\r.Nod" +
+      "eEndpoint\022\026\n\016min_last_index\030\004 \001(\005\"^\n\026Tra" +
+      "nsferSnapshotResult\022\014\n\004term\030\001 \001(\005\022\021\n\ttar" +
+      "get_id\030\002 \001(\t\022\017\n\007success\030\003 \001(\010\022\022\n\nlast_in" +
+      "dex\030\004 \001(\005\"0\n\014ReadIndexRpc\022\022\n\nmessage_id\030" +
+      "\001 \001(\t\022\014\n\004term\030\002 \001(\005\"\\\n\017ReadIndexResult\022\026" +
+      "\n\016rpc_message_id\030\001 \001(\t\022\014\n\004term\030\002 \001(\005\022\017\n\007" +
+      "success\030\003 \001(\010\022\022\n\nread_index\030\004 \001(\005\"_\n\nPre" +
+      "VoteRpc\022\014\n\004term\030\001 \001(\005\022\024\n\014candidate_id\030\002 " +
+      "\001(\t\022\026\n\016last_log_index\030\003 \001(\005\022\025\n\rlast_log_" +
+      "term\030\004 \001(\005\"3\n\rPreVoteResult\022\014\n\004term\030\001 \001(" +
+      "\005\022\024\n\014vote_granted\030\002 \001(\010\"0\n\rTimeoutNowRpc" +
+      "\022\014\n\004term\030\001 \001(\005\022\021\n\tleader_id\030\002 \001(\t\"1\n\014Add" +
+      "ServerRpc\022!\n\nnew_server\030\001 \001(\0132\r.NodeEndp" +
+      "oint\"E\n\017AddServerResult\022\016\n\006status\030\001 \001(\t\022" +
+      "\"\n\013leader_hint\030\002 \001(\0132\r.NodeEndpoint\"4\n\017R" +
+      "emoveServerRpc\022!\n\nold_server\030\001 \001(\0132\r.Nod" +
+      "eEndpoint\"H\n\022RemoveServerResult\022\016\n\006statu" +
+      "s\030\001 \001(\t\022\"\n\013leader_hint\030\002 \001(\0132\r.NodeEndpo" +
+      "int\"a\n\016AddNodeCommand\022%\n\016node_endpoints\030" +
+      "\001 \003(\0132\r.NodeEndpoint\022(\n\021new_node_endpoin" +
+      "t\030\002 \001(\0132\r.NodeEndpoint\"R\n\021RemoveNodeComm" +
+      "and\022%\n\016node_endpoints\030\001 \003(\0132\r.NodeEndpoi" +
+      "nt\022\026\n\016node_to_remove\030\002 \001(\t\"\227\001\n\016SnapshotH" +
       "eader\022\022\n\nlast_index\030\001 \001(\005\022\021\n\tlast_term\030\002" +
       " \001(\005\022\"\n\013last_config\030\003 \003(\0132\r.NodeEndpoint" +
-      "B\037\n\025in.xnnyygn.xraft.coreB\006Protosb\006proto" +
-      "3"
+      "\022\022\n\nbase_files\030\004 \003(\t\022\027\n\017partition_files\030" +
+      "\005 \003(\t\022\r\n\005codec\030\006 \001(\tB\037\n\025in.xnnyygn.xraft" +
+      ".coreB\006Protosb\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -12130,13 +18320,13 @@ public final class Protos {
     internal_static_NodeEndpoint_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_NodeEndpoint_descriptor,
-        new java.lang.String[] { "Id", "Host", "Port", });
+        new java.lang.String[] { "Id", "Host", "Port", "Learner", });
     internal_static_RequestVoteRpc_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_RequestVoteRpc_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_RequestVoteRpc_descriptor,
-        new java.lang.String[] { "Term", "CandidateId", "LastLogIndex", "LastLogTerm", });
+        new java.lang.String[] { "Term", "CandidateId", "LastLogIndex", "LastLogTerm", "LeadershipTransfer", });
     internal_static_RequestVoteResult_descriptor =
       getDescriptor().getMessageTypes().get(2);
     internal_static_RequestVoteResult_fieldAccessorTable = new
@@ -12160,61 +18350,103 @@ public final class Protos {
     internal_static_AppendEntriesResult_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_AppendEntriesResult_descriptor,
-        new java.lang.String[] { "RpcMessageId", "Term", "Success", });
+        new java.lang.String[] { "RpcMessageId", "Term", "Success", "ConflictTerm", "ConflictIndex", });
     internal_static_InstallSnapshotRpc_descriptor =
       getDescriptor().getMessageTypes().get(5);
     internal_static_InstallSnapshotRpc_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_InstallSnapshotRpc_descriptor,
-        new java.lang.String[] { "Term", "LeaderId", "LastIndex", "LastTerm", "LastConfig", "Offset", "Data", "Done", });
+        new java.lang.String[] { "Term", "LeaderId", "LastIndex", "LastTerm", "LastConfig", "Offset", "Data", "Done", "PartitionDataSizes", "Codec", });
     internal_static_InstallSnapshotResult_descriptor =
       getDescriptor().getMessageTypes().get(6);
     internal_static_InstallSnapshotResult_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_InstallSnapshotResult_descriptor,
         new java.lang.String[] { "Term", });
-    internal_static_AddServerRpc_descriptor =
+    internal_static_TransferSnapshotRpc_descriptor =
       getDescriptor().getMessageTypes().get(7);
+    internal_static_TransferSnapshotRpc_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_TransferSnapshotRpc_descriptor,
+        new java.lang.String[] { "Term", "LeaderId", "Target", "MinLastIndex", });
+    internal_static_TransferSnapshotResult_descriptor =
+      getDescriptor().getMessageTypes().get(8);
+    internal_static_TransferSnapshotResult_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_TransferSnapshotResult_descriptor,
+        new java.lang.String[] { "Term", "TargetId", "Success", "LastIndex", });
+    internal_static_ReadIndexRpc_descriptor =
+      getDescriptor().getMessageTypes().get(9);
+    internal_static_ReadIndexRpc_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_ReadIndexRpc_descriptor,
+        new java.lang.String[] { "MessageId", "Term", });
+    internal_static_ReadIndexResult_descriptor =
+      getDescriptor().getMessageTypes().get(10);
+    internal_static_ReadIndexResult_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_ReadIndexResult_descriptor,
+        new java.lang.String[] { "RpcMessageId", "Term", "Success", "ReadIndex", });
+    internal_static_PreVoteRpc_descriptor =
+      getDescriptor().getMessageTypes().get(11);
+    internal_static_PreVoteRpc_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PreVoteRpc_descriptor,
+        new java.lang.String[] { "Term", "CandidateId", "LastLogIndex", "LastLogTerm", });
+    internal_static_PreVoteResult_descriptor =
+      getDescriptor().getMessageTypes().get(12);
+    internal_static_PreVoteResult_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PreVoteResult_descriptor,
+        new java.lang.String[] { "Term", "VoteGranted", });
+    internal_static_TimeoutNowRpc_descriptor =
+      getDescriptor().getMessageTypes().get(13);
+    internal_static_TimeoutNowRpc_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_TimeoutNowRpc_descriptor,
+        new java.lang.String[] { "Term", "LeaderId", });
+    internal_static_AddServerRpc_descriptor =
+      getDescriptor().getMessageTypes().get(14);
     internal_static_AddServerRpc_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_AddServerRpc_descriptor,
         new java.lang.String[] { "NewServer", });
     internal_static_AddServerResult_descriptor =
-      getDescriptor().getMessageTypes().get(8);
+      getDescriptor().getMessageTypes().get(15);
     internal_static_AddServerResult_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_AddServerResult_descriptor,
         new java.lang.String[] { "Status", "LeaderHint", });
     internal_static_RemoveServerRpc_descriptor =
-      getDescriptor().getMessageTypes().get(9);
+      getDescriptor().getMessageTypes().get(16);
     internal_static_RemoveServerRpc_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_RemoveServerRpc_descriptor,
         new java.lang.String[] { "OldServer", });
     internal_static_RemoveServerResult_descriptor =
-      getDescriptor().getMessageTypes().get(10);
+      getDescriptor().getMessageTypes().get(17);
     internal_static_RemoveServerResult_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_RemoveServerResult_descriptor,
         new java.lang.String[] { "Status", "LeaderHint", });
     internal_static_AddNodeCommand_descriptor =
-      getDescriptor().getMessageTypes().get(11);
+      getDescriptor().getMessageTypes().get(18);
     internal_static_AddNodeCommand_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_AddNodeCommand_descriptor,
         new java.lang.String[] { "NodeEndpoints", "NewNodeEndpoint", });
     internal_static_RemoveNodeCommand_descriptor =
-      getDescriptor().getMessageTypes().get(12);
+      getDescriptor().getMessageTypes().get(19);
     internal_static_RemoveNodeCommand_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_RemoveNodeCommand_descriptor,
         new java.lang.String[] { "NodeEndpoints", "NodeToRemove", });
     internal_static_SnapshotHeader_descriptor =
-      getDescriptor().getMessageTypes().get(13);
+      getDescriptor().getMessageTypes().get(20);
     internal_static_SnapshotHeader_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_SnapshotHeader_descriptor,
-        new java.lang.String[] { "LastIndex", "LastTerm", "LastConfig", });
+        new java.lang.String[] { "LastIndex", "LastTerm", "LastConfig", "BaseFiles", "PartitionFiles", "Codec", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -1,14 +1,16 @@
 package in.xnnyygn.xraft.core.log;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.log.entry.*;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryBatchRemovedEvent;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryCommittedEvent;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryFromLeaderAppendEvent;
+import in.xnnyygn.xraft.core.log.event.LogEventListener;
+import in.xnnyygn.xraft.core.log.event.NullLogEventListener;
 import in.xnnyygn.xraft.core.log.event.SnapshotGenerateEvent;
 import in.xnnyygn.xraft.core.log.sequence.EntrySequence;
 import in.xnnyygn.xraft.core.log.sequence.GroupConfigEntryList;
 import in.xnnyygn.xraft.core.log.snapshot.*;
+import in.xnnyygn.xraft.core.log.statemachine.AppliedListener;
 import in.xnnyygn.xraft.core.log.statemachine.EmptyStateMachine;
 import in.xnnyygn.xraft.core.log.statemachine.StateMachine;
 import in.xnnyygn.xraft.core.log.statemachine.StateMachineContext;
@@ -20,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.*;
 
@@ -27,7 +30,6 @@ abstract class AbstractLog implements Log {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractLog.class);
 
-    protected final EventBus eventBus;
     protected Snapshot snapshot;
     protected EntrySequence entrySequence;
 
@@ -35,11 +37,21 @@ abstract class AbstractLog implements Log {
     protected GroupConfigEntryList groupConfigEntryList = new GroupConfigEntryList();
     private final StateMachineContext stateMachineContext = new StateMachineContextImpl();
     protected StateMachine stateMachine = new EmptyStateMachine();
+    private volatile AppliedListener appliedListener = (index, result) -> {
+    };
+    private volatile LogEventListener eventListener = new NullLogEventListener();
+    protected SnapshotPolicy snapshotPolicy = new NullSnapshotPolicy();
     protected int commitIndex = 0;
 
-    AbstractLog(EventBus eventBus) {
-        this.eventBus = eventBus;
-    }
+    /**
+     * Bytes of entries applied since last snapshot, written in node thread.
+     */
+    private volatile long appliedEntryBytes = 0;
+
+    /**
+     * Index of last entry passed to state machine, which may apply entries asynchronously, in node thread.
+     */
+    private int lastSubmittedIndex = 0;
 
     @Override
     @Nonnull
@@ -52,6 +64,11 @@ abstract class AbstractLog implements Log {
 
     @Override
     public AppendEntriesRpc createAppendEntriesRpc(int term, NodeId selfId, int nextIndex, int maxEntries) {
+        return createAppendEntriesRpc(term, selfId, nextIndex, maxEntries, 0);
+    }
+
+    @Override
+    public AppendEntriesRpc createAppendEntriesRpc(int term, NodeId selfId, int nextIndex, int maxEntries, int maxBytes) {
         int nextLogIndex = entrySequence.getNextLogIndex();
         if (nextIndex > nextLogIndex) {
             throw new IllegalArgumentException("illegal next index " + nextIndex);
@@ -80,18 +97,33 @@ abstract class AbstractLog implements Log {
             //      firstLogIndex + 1 <= nextIndex <= lastLogIndex + 1
             //      firstLogIndex <= nextIndex - 1 <= lastLogIndex
             // it is ok to get entry without null check
-            Entry entry = entrySequence.getEntry(nextIndex - 1);
-            assert entry != null;
-            rpc.setPrevLogIndex(entry.getIndex());
-            rpc.setPrevLogTerm(entry.getTerm());
+            EntryMeta entryMeta = entrySequence.getEntryMeta(nextIndex - 1);
+            assert entryMeta != null;
+            rpc.setPrevLogIndex(entryMeta.getIndex());
+            rpc.setPrevLogTerm(entryMeta.getTerm());
         }
         if (!entrySequence.isEmpty()) {
             int maxIndex = (maxEntries == ALL_ENTRIES ? nextLogIndex : Math.min(nextLogIndex, nextIndex + maxEntries));
+            if (maxBytes > 0) {
+                maxIndex = findMaxIndexByBytes(nextIndex, maxIndex, maxBytes);
+            }
             rpc.setEntries(entrySequence.subList(nextIndex, maxIndex));
         }
         return rpc;
     }
 
+    // find max index(exclusive) of entries within bytes, at least one entry
+    private int findMaxIndexByBytes(int fromIndex, int toIndex, int maxBytes) {
+        long bytes = 0;
+        for (int index = fromIndex; index < toIndex; index++) {
+            bytes += entrySequence.getCommandLength(index);
+            if (bytes > maxBytes && index > fromIndex) {
+                return index;
+            }
+        }
+        return toIndex;
+    }
+
     @Override
     public InstallSnapshotRpc createInstallSnapshotRpc(int term, NodeId selfId, int offset, int length) {
         InstallSnapshotRpc rpc = new InstallSnapshotRpc();
@@ -101,6 +133,8 @@ abstract class AbstractLog implements Log {
         rpc.setLastTerm(snapshot.getLastIncludedTerm());
         if (offset == 0) {
             rpc.setLastConfig(snapshot.getLastConfig());
+            rpc.setPartitionDataSizes(snapshot.getPartitionDataSizes());
+            rpc.setCodec(snapshot.getCodec() == SnapshotCodec.NONE ? "" : snapshot.getCodec().getName());
         }
         rpc.setOffset(offset);
 
@@ -110,6 +144,11 @@ abstract class AbstractLog implements Log {
         return rpc;
     }
 
+    @Override
+    public int getSnapshotLastIncludedIndex() {
+        return snapshot.getLastIncludedIndex();
+    }
+
     @Override
     public GroupConfigEntry getLastUncommittedGroupConfigEntry() {
         GroupConfigEntry lastEntry = groupConfigEntryList.getLast();
@@ -179,6 +218,63 @@ abstract class AbstractLog implements Log {
         return true;
     }
 
+    @Nonnull
+    @Override
+    public ConflictHint getConflictHint(int prevLogIndex) {
+        int lastIncludedIndex = snapshot.getLastIncludedIndex();
+        if (prevLogIndex <= lastIncludedIndex) {
+            // entries in snapshot were committed, send entries after snapshot
+            return new ConflictHint(0, lastIncludedIndex + 1);
+        }
+        EntryMeta meta = entrySequence.getEntryMeta(prevLogIndex);
+        if (meta == null) {
+            return new ConflictHint(0, entrySequence.getNextLogIndex());
+        }
+        int term = meta.getTerm();
+        // first index with term not less than term of previous log
+        int index = findLastIndexOfTermBefore(term, entrySequence.getFirstLogIndex(), prevLogIndex) + 1;
+        return new ConflictHint(term, index);
+    }
+
+    @Override
+    public int findLastIndexOfTerm(int term, int maxIndex) {
+        if (!entrySequence.isEmpty()) {
+            int firstLogIndex = entrySequence.getFirstLogIndex();
+            int index = findLastIndexOfTermBefore(term + 1, firstLogIndex, Math.min(maxIndex, entrySequence.getLastLogIndex()));
+            if (index >= firstLogIndex) {
+                return entrySequence.getEntryMeta(index).getTerm() == term ? index : 0;
+            }
+        }
+        int lastIncludedIndex = snapshot.getLastIncludedIndex();
+        return (lastIncludedIndex > 0 && lastIncludedIndex <= maxIndex && snapshot.getLastIncludedTerm() == term) ? lastIncludedIndex : 0;
+    }
+
+    /**
+     * Binary search last index of entry with term less than specified term.
+     * <p>
+     * Terms of entries are monotonic, so search costs O(log n) entry meta lookups
+     * instead of scanning entries of long terms.
+     * </p>
+     *
+     * @param term      term
+     * @param fromIndex first index to search
+     * @param toIndex   last index to search
+     * @return last index of entry with smaller term, {@code fromIndex - 1} if not found
+     */
+    private int findLastIndexOfTermBefore(int term, int fromIndex, int toIndex) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (entrySequence.getEntryMeta(middle).getTerm() < term) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
     private void appendEntriesFromLeader(EntrySequenceView leaderEntries) {
         if (leaderEntries.isEmpty()) {
             return;
@@ -192,7 +288,7 @@ abstract class AbstractLog implements Log {
     private void appendEntryFromLeader(Entry leaderEntry) {
         entrySequence.append(leaderEntry);
         if (leaderEntry instanceof GroupConfigEntry) {
-            eventBus.post(new GroupConfigEntryFromLeaderAppendEvent(
+            eventListener.onGroupConfigEntryFromLeaderAppend(new GroupConfigEntryFromLeaderAppendEvent(
                     (GroupConfigEntry) leaderEntry)
             );
         }
@@ -251,12 +347,14 @@ abstract class AbstractLog implements Log {
         if (entrySequence.isEmpty() || index >= entrySequence.getLastLogIndex()) {
             return;
         }
-        int lastApplied = stateMachine.getLastApplied();
+        int lastApplied = Math.max(stateMachine.getLastApplied(), lastSubmittedIndex);
         if (index < lastApplied && entrySequence.subList(index + 1, lastApplied + 1).stream().anyMatch(this::isApplicable)) {
             logger.warn("applied log removed, reapply from start");
             applySnapshot(snapshot);
             logger.debug("apply log from {} to {}", entrySequence.getFirstLogIndex(), index);
-            entrySequence.subList(entrySequence.getFirstLogIndex(), index + 1).forEach(this::applyEntry);
+            applyEntries(entrySequence.subList(entrySequence.getFirstLogIndex(), index + 1));
+            lastSubmittedIndex = index;
+            resetAppliedEntryBytes();
         }
         logger.debug("remove entries after {}", index);
         entrySequence.removeAfter(index);
@@ -266,7 +364,7 @@ abstract class AbstractLog implements Log {
         GroupConfigEntry firstRemovedEntry = groupConfigEntryList.removeAfter(index);
         if (firstRemovedEntry != null) {
             logger.info("group config removed");
-            eventBus.post(new GroupConfigEntryBatchRemovedEvent(firstRemovedEntry));
+            eventListener.onGroupConfigEntryBatchRemoved(new GroupConfigEntryBatchRemovedEvent(firstRemovedEntry));
         }
     }
 
@@ -283,25 +381,75 @@ abstract class AbstractLog implements Log {
         advanceApplyIndex();
     }
 
+    @Override
+    public void runAfterApplied(int index, @Nonnull Runnable task) {
+        if (index > commitIndex) {
+            throw new IllegalArgumentException("index " + index + " > commit index " + commitIndex);
+        }
+        // entries up to commit index were passed to state machine when commit index advanced
+        stateMachine.runAfterApplied(task);
+    }
+
     @Override
     public void generateSnapshot(int lastIncludedIndex, Set<NodeEndpoint> groupConfig) {
         logger.info("generate snapshot, last included index {}", lastIncludedIndex);
-        EntryMeta lastAppliedEntryMeta = entrySequence.getEntryMeta(lastIncludedIndex);
-        replaceSnapshot(generateSnapshot(lastAppliedEntryMeta, groupConfig));
+        try {
+            EntryMeta lastAppliedEntryMeta = entrySequence.getEntryMeta(lastIncludedIndex);
+            replaceSnapshot(generateSnapshot(lastAppliedEntryMeta, groupConfig));
+            resetAppliedEntryBytes();
+        } finally {
+            snapshotPolicy.finishGenerating();
+        }
+    }
+
+    private void resetAppliedEntryBytes() {
+        long bytes = 0;
+        // count by index metadata without loading entries
+        for (int index = snapshot.getLastIncludedIndex() + 1; index <= lastSubmittedIndex; index++) {
+            if (entrySequence.isEntryPresent(index) && entrySequence.getEntryMeta(index).getKind() == Entry.KIND_GENERAL) {
+                bytes += entrySequence.getCommandLength(index);
+            }
+        }
+        appliedEntryBytes = bytes;
     }
 
     private void advanceApplyIndex() {
         // start up and snapshot exists
         int lastApplied = stateMachine.getLastApplied();
         int lastIncludedIndex = snapshot.getLastIncludedIndex();
-        if (lastApplied == 0 && lastIncludedIndex > 0) {
+        if (lastApplied == 0 && lastSubmittedIndex == 0 && lastIncludedIndex > 0) {
             assert commitIndex >= lastIncludedIndex;
             applySnapshot(snapshot);
-            lastApplied = lastIncludedIndex;
         }
-        for (Entry entry : entrySequence.subList(lastApplied + 1, commitIndex + 1)) {
-            applyEntry(entry);
+
+        // skip entries submitted but not applied yet by asynchronous state machine
+        int fromIndex = Math.max(lastApplied, lastSubmittedIndex) + 1;
+        if (fromIndex <= commitIndex) {
+            applyEntries(entrySequence.subList(fromIndex, commitIndex + 1));
+            lastSubmittedIndex = commitIndex;
         }
+
+        // state machine applying logs in node thread may not report results
+        appliedListener.appliedUpTo(stateMachine.getLastApplied());
+    }
+
+    private void applyEntries(List<Entry> entries) {
+        // apply consecutive general entries in one batch, skip no-op entry and membership-change entry
+        int firstIndex = 0;
+        List<byte[]> commands = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (!isApplicable(entry)) {
+                applyBatch(firstIndex, commands);
+                commands = new ArrayList<>();
+                continue;
+            }
+            if (commands.isEmpty()) {
+                firstIndex = entry.getIndex();
+            }
+            appliedEntryBytes += entry.getCommandBytes().length;
+            commands.add(entry.getCommandBytes());
+        }
+        applyBatch(firstIndex, commands);
     }
 
     private void applySnapshot(Snapshot snapshot) {
@@ -311,12 +459,13 @@ abstract class AbstractLog implements Log {
         } catch (IOException e) {
             throw new LogException("failed to apply snapshot", e);
         }
+        lastSubmittedIndex = snapshot.getLastIncludedIndex();
+        appliedListener.appliedUpTo(snapshot.getLastIncludedIndex());
     }
 
-    private void applyEntry(Entry entry) {
-        // skip no-op entry and membership-change entry
-        if (isApplicable(entry)) {
-            stateMachine.applyLog(stateMachineContext, entry.getIndex(), entry.getCommandBytes(), entrySequence.getFirstLogIndex());
+    private void applyBatch(int firstIndex, List<byte[]> commands) {
+        if (!commands.isEmpty()) {
+            stateMachine.applyBatch(stateMachineContext, firstIndex, commands, entrySequence.getFirstLogIndex());
         }
     }
 
@@ -326,7 +475,7 @@ abstract class AbstractLog implements Log {
 
     private void groupConfigsCommitted(int newCommitIndex) {
         for (GroupConfigEntry groupConfigEntry : groupConfigEntryList.subList(commitIndex + 1, newCommitIndex + 1)) {
-            eventBus.post(new GroupConfigEntryCommittedEvent(groupConfigEntry));
+            eventListener.onGroupConfigEntryCommitted(new GroupConfigEntryCommittedEvent(groupConfigEntry));
         }
     }
 
@@ -372,6 +521,7 @@ abstract class AbstractLog implements Log {
         if (commitIndex < lastIncludedIndex) {
             commitIndex = lastIncludedIndex;
         }
+        resetAppliedEntryBytes();
         return new InstallSnapshotState(InstallSnapshotState.StateName.INSTALLED, newSnapshot.getLastConfig());
     }
 
@@ -384,6 +534,21 @@ abstract class AbstractLog implements Log {
         this.stateMachine = stateMachine;
     }
 
+    @Override
+    public void setEventListener(@Nonnull LogEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    @Override
+    public void setAppliedListener(@Nonnull AppliedListener appliedListener) {
+        this.appliedListener = appliedListener;
+    }
+
+    @Override
+    public void setSnapshotPolicy(SnapshotPolicy snapshotPolicy) {
+        this.snapshotPolicy = snapshotPolicy;
+    }
+
     @Override
     public void close() {
         snapshot.close();
@@ -394,9 +559,37 @@ abstract class AbstractLog implements Log {
 
     private class StateMachineContextImpl implements StateMachineContext {
 
+        @Override
+        public boolean shouldGenerateSnapshot(int firstLogIndex, int lastApplied) {
+            return snapshotPolicy.shouldGenerate(lastApplied - firstLogIndex + 1, appliedEntryBytes);
+        }
+
         @Override
         public void generateSnapshot(int lastIncludedIndex) {
-            eventBus.post(new SnapshotGenerateEvent(lastIncludedIndex));
+            if (!snapshotPolicy.startGenerating()) {
+                logger.debug("snapshot is generating, skip");
+                return;
+            }
+            boolean submitted = false;
+            try {
+                eventListener.onGenerateSnapshot(new SnapshotGenerateEvent(lastIncludedIndex));
+                submitted = true;
+            } finally {
+                // otherwise finished by log after generated
+                if (!submitted) {
+                    snapshotPolicy.finishGenerating();
+                }
+            }
+        }
+
+        @Override
+        public void applied(int index, @Nullable Object result) {
+            appliedListener.applied(index, result);
+        }
+
+        @Override
+        public void appliedUpTo(int lastApplied) {
+            appliedListener.appliedUpTo(lastApplied);
         }
 
     }
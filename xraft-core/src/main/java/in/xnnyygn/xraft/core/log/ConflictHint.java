@@ -0,0 +1,38 @@
+package in.xnnyygn.xraft.core.log;
+
+/**
+ * Hint for leader to find next index of follower after previous log check failed.
+ */
+public class ConflictHint {
+
+    private final int term;
+    private final int index;
+
+    /**
+     * Create.
+     *
+     * @param term  term of conflicting entry, 0 if no entry at previous log index
+     * @param index first index of term of conflicting entry, or next log index if no entry at previous log index
+     */
+    public ConflictHint(int term, int index) {
+        this.term = term;
+        this.index = index;
+    }
+
+    public int getTerm() {
+        return term;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictHint{" +
+                "index=" + index +
+                ", term=" + term +
+                '}';
+    }
+
+}
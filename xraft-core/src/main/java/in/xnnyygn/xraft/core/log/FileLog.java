@@ -1,27 +1,45 @@
 package in.xnnyygn.xraft.core.log;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.log.entry.Entry;
 import in.xnnyygn.xraft.core.log.entry.EntryMeta;
 import in.xnnyygn.xraft.core.log.sequence.EntrySequence;
 import in.xnnyygn.xraft.core.log.sequence.FileEntrySequence;
 import in.xnnyygn.xraft.core.log.snapshot.*;
+import in.xnnyygn.xraft.core.log.statemachine.DeltaSnapshotStateMachine;
+import in.xnnyygn.xraft.core.log.statemachine.PartitionedSnapshotStateMachine;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
+import in.xnnyygn.xraft.core.support.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.NotThreadSafe;
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 @NotThreadSafe
 public class FileLog extends AbstractLog {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileLog.class);
     private final RootDir rootDir;
+    private final SnapshotCodec snapshotCodec;
+    private boolean fullSnapshotRequired = false;
 
-    public FileLog(File baseDir, EventBus eventBus) {
-        super(eventBus);
+    public FileLog(File baseDir) {
+        this(baseDir, SnapshotCodec.NONE);
+    }
+
+    /**
+     * Create.
+     *
+     * @param baseDir       base directory
+     * @param snapshotCodec codec to encode data of snapshot generated
+     */
+    public FileLog(File baseDir, SnapshotCodec snapshotCodec) {
+        this.snapshotCodec = snapshotCodec;
         rootDir = new RootDir(baseDir);
 
         LogGeneration latestGeneration = rootDir.getLatestGeneration();
@@ -45,15 +63,86 @@ public class FileLog extends AbstractLog {
     @Override
     protected Snapshot generateSnapshot(EntryMeta lastAppliedEntryMeta, Set<NodeEndpoint> groupConfig) {
         LogDir logDir = rootDir.getLogDirForGenerating();
-        try (FileSnapshotWriter snapshotWriter = new FileSnapshotWriter(
-                logDir.getSnapshotFile(), lastAppliedEntryMeta.getIndex(), lastAppliedEntryMeta.getTerm(), groupConfig)) {
-            stateMachine.generateSnapshot(snapshotWriter.getOutput());
+        int partitionCount = PartitionedSnapshotStateMachine.getSnapshotPartitionCount(stateMachine);
+        if (partitionCount > 1) {
+            return generatePartitionedSnapshot(logDir, lastAppliedEntryMeta, groupConfig, partitionCount);
+        }
+        List<String> baseFiles = shouldGenerateDeltaSnapshot() ?
+                linkBaseFiles((FileSnapshot) snapshot, logDir) : Collections.emptyList();
+        boolean generated = false;
+        try (FileSnapshotWriter snapshotWriter = new FileSnapshotWriter(logDir.getSnapshotFile(),
+                lastAppliedEntryMeta.getIndex(), lastAppliedEntryMeta.getTerm(), groupConfig, baseFiles,
+                Collections.emptyList(), snapshotCodec)) {
+            if (baseFiles.isEmpty()) {
+                stateMachine.generateSnapshot(snapshotWriter.getOutput());
+            } else {
+                logger.info("generate delta snapshot on {} base files", baseFiles.size());
+                ((DeltaSnapshotStateMachine) stateMachine).generateDeltaSnapshot(snapshotWriter.getOutput());
+            }
+            generated = true;
+        } catch (IOException e) {
+            throw new LogException("failed to generate snapshot", e);
+        } finally {
+            // changes in state machine may be lost, rebase on full snapshot next time
+            fullSnapshotRequired = !generated;
+        }
+        return new FileSnapshot(logDir);
+    }
+
+    private Snapshot generatePartitionedSnapshot(LogDir logDir, EntryMeta lastAppliedEntryMeta, Set<NodeEndpoint> groupConfig, int partitionCount) {
+        List<String> partitionFiles = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitionFiles.add(String.format(FileSnapshot.PARTITION_FILE_NAME_FORMAT, i));
+        }
+        logger.info("generate snapshot in {} partitions", partitionCount);
+        try {
+            SnapshotPartitions.forEach(partitionCount, p -> {
+                try (OutputStream output = snapshotCodec.encode(
+                        new BufferedOutputStream(new FileOutputStream(new File(logDir.get(), partitionFiles.get(p)))))) {
+                    ((PartitionedSnapshotStateMachine) stateMachine).generateSnapshot(p, output);
+                }
+            });
+            new FileSnapshotWriter(logDir.getSnapshotFile(), lastAppliedEntryMeta.getIndex(), lastAppliedEntryMeta.getTerm(),
+                    groupConfig, Collections.emptyList(), partitionFiles, snapshotCodec).close();
         } catch (IOException e) {
             throw new LogException("failed to generate snapshot", e);
         }
         return new FileSnapshot(logDir);
     }
 
+    private boolean shouldGenerateDeltaSnapshot() {
+        return !fullSnapshotRequired &&
+                snapshot instanceof FileSnapshot &&
+                ((FileSnapshot) snapshot).getPartitionFiles().isEmpty() &&
+                // base data is transferred as it is, so codec of all files must be the same
+                snapshot.getCodec() == snapshotCodec &&
+                stateMachine instanceof DeltaSnapshotStateMachine &&
+                snapshotPolicy.shouldGenerateDelta(((FileSnapshot) snapshot).getBaseFiles().size());
+    }
+
+    /**
+     * Link files of current snapshot to log dir as base files of delta snapshot.
+     *
+     * @param baseSnapshot current snapshot
+     * @param logDir       log dir for generating
+     * @return base files, full snapshot first
+     */
+    private List<String> linkBaseFiles(FileSnapshot baseSnapshot, LogDir logDir) {
+        File baseDir = baseSnapshot.getLogDir().get();
+        List<String> baseFiles = new ArrayList<>(baseSnapshot.getBaseFiles());
+        String lastBaseFile = String.format(RootDir.FILE_NAME_SNAPSHOT_BASE_FORMAT, baseSnapshot.getLastIncludedIndex());
+        try {
+            for (String baseFile : baseFiles) {
+                Files.link(new File(baseDir, baseFile), new File(logDir.get(), baseFile));
+            }
+            Files.link(baseSnapshot.getLogDir().getSnapshotFile(), new File(logDir.get(), lastBaseFile));
+        } catch (IOException e) {
+            throw new LogException("failed to link base files of snapshot", e);
+        }
+        baseFiles.add(lastBaseFile);
+        return baseFiles;
+    }
+
     @Override
     protected SnapshotBuilder newSnapshotBuilder(InstallSnapshotRpc firstRpc) {
         return new FileSnapshotBuilder(firstRpc, rootDir.getLogDirForInstalling());
@@ -1,6 +1,9 @@
 package in.xnnyygn.xraft.core.log;
 
 import in.xnnyygn.xraft.core.log.entry.*;
+import in.xnnyygn.xraft.core.log.snapshot.SnapshotPolicy;
+import in.xnnyygn.xraft.core.log.event.LogEventListener;
+import in.xnnyygn.xraft.core.log.statemachine.AppliedListener;
 import in.xnnyygn.xraft.core.log.statemachine.StateMachine;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.node.NodeId;
@@ -41,6 +44,21 @@ public interface Log {
      */
     AppendEntriesRpc createAppendEntriesRpc(int term, NodeId selfId, int nextIndex, int maxEntries);
 
+    /**
+     * Create append entries rpc from log, entries bounded by count and bytes.
+     * <p>
+     * Bytes of entries are computed from index of entries, and at least one entry is included if present.
+     * </p>
+     *
+     * @param term       current term
+     * @param selfId     self node id
+     * @param nextIndex  next index
+     * @param maxEntries max entries
+     * @param maxBytes   max bytes of commands in entries, {@code 0} for no limit
+     * @return append entries rpc
+     */
+    AppendEntriesRpc createAppendEntriesRpc(int term, NodeId selfId, int nextIndex, int maxEntries, int maxBytes);
+
     /**
      * Create install snapshot rpc from log.
      *
@@ -67,6 +85,13 @@ public interface Log {
      */
     int getNextIndex();
 
+    /**
+     * Get last included index of current snapshot.
+     *
+     * @return last included index, {@code 0} if no snapshot
+     */
+    int getSnapshotLastIncludedIndex();
+
     /**
      * Get commit index.
      *
@@ -130,6 +155,29 @@ public interface Log {
      */
     boolean appendEntriesFromLeader(int prevLogIndex, int prevLogTerm, List<Entry> entries);
 
+    /**
+     * Get conflict hint for leader after previous log check failed.
+     * <p>
+     * If previous log is covered by snapshot or not found, hint term is 0 and hint index is the index
+     * leader should send next. Otherwise hint term is the term of local entry at previous log index, and hint index
+     * is the first index of that term.
+     * </p>
+     *
+     * @param prevLogIndex previous log index from leader
+     * @return conflict hint
+     */
+    @Nonnull
+    ConflictHint getConflictHint(int prevLogIndex);
+
+    /**
+     * Find last index of term, used by leader to skip conflicting entries of follower.
+     *
+     * @param term     term
+     * @param maxIndex max index to search
+     * @return last index of term not greater than max index, 0 if not found
+     */
+    int findLastIndexOfTerm(int term, int maxIndex);
+
     /**
      * Advance commit index.
      *
@@ -151,6 +199,18 @@ public interface Log {
      */
     InstallSnapshotState installSnapshot(InstallSnapshotRpc rpc);
 
+    /**
+     * Run task after entries up to index applied to state machine.
+     * <p>
+     * Task may run in thread of state machine.
+     * </p>
+     *
+     * @param index index, should not be greater than commit index
+     * @param task  task
+     * @throws IllegalArgumentException if index is greater than commit index
+     */
+    void runAfterApplied(int index, @Nonnull Runnable task);
+
     /**
      * Generate snapshot.
      *
@@ -173,6 +233,30 @@ public interface Log {
      */
     void setStateMachine(StateMachine stateMachine);
 
+    /**
+     * Set listener of events, e.g group config entry committed.
+     *
+     * @param eventListener listener
+     */
+    void setEventListener(@Nonnull LogEventListener eventListener);
+
+    /**
+     * Set listener of logs applied to state machine.
+     *
+     * @param appliedListener listener
+     */
+    void setAppliedListener(@Nonnull AppliedListener appliedListener);
+
+    /**
+     * Set snapshot policy.
+     * <p>
+     * Default to {@link in.xnnyygn.xraft.core.log.snapshot.NullSnapshotPolicy}, never generate snapshot.
+     * </p>
+     *
+     * @param snapshotPolicy snapshot policy
+     */
+    void setSnapshotPolicy(SnapshotPolicy snapshotPolicy);
+
     /**
      * Close log files.
      */
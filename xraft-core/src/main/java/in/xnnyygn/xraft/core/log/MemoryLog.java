@@ -1,11 +1,11 @@
 package in.xnnyygn.xraft.core.log;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.log.entry.Entry;
 import in.xnnyygn.xraft.core.log.entry.EntryMeta;
 import in.xnnyygn.xraft.core.log.sequence.EntrySequence;
 import in.xnnyygn.xraft.core.log.sequence.MemoryEntrySequence;
 import in.xnnyygn.xraft.core.log.snapshot.*;
+import in.xnnyygn.xraft.core.log.statemachine.PartitionedSnapshotStateMachine;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
 import org.slf4j.Logger;
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -23,21 +24,20 @@ public class MemoryLog extends AbstractLog {
     private static final Logger logger = LoggerFactory.getLogger(MemoryLog.class);
 
     public MemoryLog() {
-        this(new EventBus());
+        this(new EmptySnapshot(), new MemoryEntrySequence());
     }
 
-    public MemoryLog(EventBus eventBus) {
-        this(new EmptySnapshot(), new MemoryEntrySequence(), eventBus);
-    }
-
-    public MemoryLog(Snapshot snapshot, EntrySequence entrySequence, EventBus eventBus) {
-        super(eventBus);
+    public MemoryLog(Snapshot snapshot, EntrySequence entrySequence) {
         this.snapshot = snapshot;
         this.entrySequence = entrySequence;
     }
 
     @Override
     protected Snapshot generateSnapshot(EntryMeta lastAppliedEntryMeta, Set<NodeEndpoint> groupConfig) {
+        int partitionCount = PartitionedSnapshotStateMachine.getSnapshotPartitionCount(stateMachine);
+        if (partitionCount > 1) {
+            return generatePartitionedSnapshot(lastAppliedEntryMeta, groupConfig, partitionCount);
+        }
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         try {
             stateMachine.generateSnapshot(output);
@@ -47,6 +47,26 @@ public class MemoryLog extends AbstractLog {
         return new MemorySnapshot(lastAppliedEntryMeta.getIndex(), lastAppliedEntryMeta.getTerm(), output.toByteArray(), groupConfig);
     }
 
+    private Snapshot generatePartitionedSnapshot(EntryMeta lastAppliedEntryMeta, Set<NodeEndpoint> groupConfig, int partitionCount) {
+        ByteArrayOutputStream[] partitionOutputs = new ByteArrayOutputStream[partitionCount];
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Long> partitionDataSizes = new ArrayList<>(partitionCount);
+        try {
+            SnapshotPartitions.forEach(partitionCount, p -> {
+                partitionOutputs[p] = new ByteArrayOutputStream();
+                ((PartitionedSnapshotStateMachine) stateMachine).generateSnapshot(p, partitionOutputs[p]);
+            });
+            for (ByteArrayOutputStream partitionOutput : partitionOutputs) {
+                partitionOutput.writeTo(output);
+                partitionDataSizes.add((long) partitionOutput.size());
+            }
+        } catch (IOException e) {
+            throw new LogException("failed to generate snapshot", e);
+        }
+        return new MemorySnapshot(lastAppliedEntryMeta.getIndex(), lastAppliedEntryMeta.getTerm(), output.toByteArray(),
+                groupConfig, partitionDataSizes);
+    }
+
     @Override
     protected SnapshotBuilder newSnapshotBuilder(InstallSnapshotRpc firstRpc) {
         return new MemorySnapshotBuilder(firstRpc);
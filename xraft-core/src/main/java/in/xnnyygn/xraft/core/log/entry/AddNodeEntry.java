@@ -34,12 +34,14 @@ public class AddNodeEntry extends GroupConfigEntry {
                                 .setId(c.getId().getValue())
                                 .setHost(c.getHost())
                                 .setPort(c.getPort())
+                                .setLearner(c.isLearner())
                                 .build()
                 ).collect(Collectors.toList()))
                 .setNewNodeEndpoint(Protos.NodeEndpoint.newBuilder()
                         .setId(newNodeEndpoint.getId().getValue())
                         .setHost(newNodeEndpoint.getHost())
                         .setPort(newNodeEndpoint.getPort())
+                        .setLearner(newNodeEndpoint.isLearner())
                         .build()
                 ).build().toByteArray();
     }
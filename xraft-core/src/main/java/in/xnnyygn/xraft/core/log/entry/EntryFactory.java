@@ -37,7 +37,7 @@ public class EntryFactory {
     }
 
     private NodeEndpoint asNodeEndpoint(Protos.NodeEndpoint protoNodeEndpoint) {
-        return new NodeEndpoint(protoNodeEndpoint.getId(), protoNodeEndpoint.getHost(), protoNodeEndpoint.getPort());
+        return new NodeEndpoint(protoNodeEndpoint.getId(), protoNodeEndpoint.getHost(), protoNodeEndpoint.getPort(), protoNodeEndpoint.getLearner());
     }
 
 }
@@ -34,6 +34,7 @@ public class RemoveNodeEntry extends GroupConfigEntry {
                                 .setId(c.getId().getValue())
                                 .setHost(c.getHost())
                                 .setPort(c.getPort())
+                                .setLearner(c.isLearner())
                                 .build()
                 ).collect(Collectors.toList()))
                 .setNodeToRemove(nodeToRemove.getValue())
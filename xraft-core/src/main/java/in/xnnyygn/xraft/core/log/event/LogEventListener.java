@@ -0,0 +1,40 @@
+package in.xnnyygn.xraft.core.log.event;
+
+/**
+ * Listener of events from log.
+ * <p>
+ * Events are fired in node thread, except {@link #onGenerateSnapshot(SnapshotGenerateEvent)}
+ * which is fired in apply thread of state machine.
+ * </p>
+ */
+public interface LogEventListener {
+
+    /**
+     * Group config entry appended from leader.
+     *
+     * @param event event
+     */
+    void onGroupConfigEntryFromLeaderAppend(GroupConfigEntryFromLeaderAppendEvent event);
+
+    /**
+     * Group config entry committed.
+     *
+     * @param event event
+     */
+    void onGroupConfigEntryCommitted(GroupConfigEntryCommittedEvent event);
+
+    /**
+     * Group config entries removed.
+     *
+     * @param event event
+     */
+    void onGroupConfigEntryBatchRemoved(GroupConfigEntryBatchRemovedEvent event);
+
+    /**
+     * Snapshot should be generated.
+     *
+     * @param event event
+     */
+    void onGenerateSnapshot(SnapshotGenerateEvent event);
+
+}
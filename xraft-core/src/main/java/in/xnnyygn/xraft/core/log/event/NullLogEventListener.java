@@ -0,0 +1,24 @@
+package in.xnnyygn.xraft.core.log.event;
+
+/**
+ * Listener which ignores all events.
+ */
+public class NullLogEventListener implements LogEventListener {
+
+    @Override
+    public void onGroupConfigEntryFromLeaderAppend(GroupConfigEntryFromLeaderAppendEvent event) {
+    }
+
+    @Override
+    public void onGroupConfigEntryCommitted(GroupConfigEntryCommittedEvent event) {
+    }
+
+    @Override
+    public void onGroupConfigEntryBatchRemoved(GroupConfigEntryBatchRemovedEvent event) {
+    }
+
+    @Override
+    public void onGenerateSnapshot(SnapshotGenerateEvent event) {
+    }
+
+}
@@ -66,6 +66,15 @@ abstract class AbstractEntrySequence implements EntrySequence {
 
     protected abstract Entry doGetEntry(int index);
 
+    @Override
+    public int getCommandLength(int index) {
+        Entry entry = getEntry(index);
+        if (entry == null) {
+            throw new IllegalArgumentException("entry " + index + " not found");
+        }
+        return entry.getCommandBytes().length;
+    }
+
     @Override
     public Entry getLastEntry() {
         return isEmpty() ? null : doGetEntry(doGetLastLogIndex());
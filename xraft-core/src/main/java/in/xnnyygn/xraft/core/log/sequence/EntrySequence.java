@@ -28,6 +28,9 @@ public interface EntrySequence {
 
     Entry getEntry(int index);
 
+    // length of command bytes, without loading entry if possible
+    int getCommandLength(int index);
+
     Entry getLastEntry();
 
     void append(Entry entry);
@@ -133,12 +133,39 @@ public class FileEntrySequence extends AbstractEntrySequence {
         if (!isEntryPresent(index)) {
             return null;
         }
-        if (entryIndexFile.isEmpty()) {
-            return pendingEntries.get(index - doGetFirstLogIndex()).getMeta();
+        Entry pendingEntry = getPendingEntry(index);
+        if (pendingEntry != null) {
+            return pendingEntry.getMeta();
         }
         return entryIndexFile.get(index).toEntryMeta();
     }
 
+    @Override
+    public int getCommandLength(int index) {
+        if (!isEntryPresent(index)) {
+            throw new IllegalArgumentException("entry " + index + " not found");
+        }
+        Entry pendingEntry = getPendingEntry(index);
+        if (pendingEntry != null) {
+            return pendingEntry.getCommandBytes().length;
+        }
+        // compute by offsets of entries, entry = kind, index, term, command length, command bytes
+        try {
+            long nextOffset = (index < entryIndexFile.getMaxEntryIndex()) ? entryIndexFile.getOffset(index + 1) : entriesFile.size();
+            return (int) (nextOffset - entryIndexFile.getOffset(index)) - Integer.BYTES * 4;
+        } catch (IOException e) {
+            throw new LogException("failed to get size of entries file", e);
+        }
+    }
+
+    private Entry getPendingEntry(int index) {
+        if (pendingEntries.isEmpty()) {
+            return null;
+        }
+        int firstPendingEntryIndex = pendingEntries.getFirst().getIndex();
+        return index >= firstPendingEntryIndex ? pendingEntries.get(index - firstPendingEntryIndex) : null;
+    }
+
     private Entry getEntryInFile(int index) {
         long offset = entryIndexFile.getOffset(index);
         try {
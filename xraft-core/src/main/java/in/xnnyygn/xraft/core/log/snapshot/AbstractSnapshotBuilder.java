@@ -5,6 +5,7 @@ import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 abstract class AbstractSnapshotBuilder<T extends Snapshot> implements SnapshotBuilder<T> {
@@ -12,6 +13,8 @@ abstract class AbstractSnapshotBuilder<T extends Snapshot> implements SnapshotBu
     int lastIncludedIndex;
     int lastIncludedTerm;
     Set<NodeEndpoint> lastConfig;
+    List<Long> partitionDataSizes;
+    SnapshotCodec codec;
     private int offset;
 
     AbstractSnapshotBuilder(InstallSnapshotRpc firstRpc) {
@@ -19,6 +22,8 @@ abstract class AbstractSnapshotBuilder<T extends Snapshot> implements SnapshotBu
         lastIncludedIndex = firstRpc.getLastIndex();
         lastIncludedTerm = firstRpc.getLastTerm();
         lastConfig = firstRpc.getLastConfig();
+        partitionDataSizes = firstRpc.getPartitionDataSizes();
+        codec = SnapshotCodec.of(firstRpc.getCodec());
         offset = firstRpc.getDataLength();
     }
 
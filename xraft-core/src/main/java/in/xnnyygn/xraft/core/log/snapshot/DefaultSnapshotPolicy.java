@@ -0,0 +1,96 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Default snapshot policy.
+ * <p>
+ * Generate snapshot when count or bytes of entries since last snapshot exceeds the threshold,
+ * but not within the minimum interval after last snapshot.
+ * Delta snapshots are chained on a full snapshot up to the max count, then rebase.
+ * Asked in state machine thread, started and finished in node thread.
+ * </p>
+ *
+ * @see NodeConfig#getSnapshotEntryThreshold()
+ * @see NodeConfig#getSnapshotByteThreshold()
+ * @see NodeConfig#getSnapshotMinInterval()
+ * @see NodeConfig#getMaxDeltaSnapshots()
+ */
+@ThreadSafe
+public class DefaultSnapshotPolicy implements SnapshotPolicy {
+
+    private final int entryThreshold;
+    private final long byteThreshold;
+    private final long minInterval;
+    private final int maxDeltaSnapshots;
+    private final AtomicBoolean generating = new AtomicBoolean(false);
+    private volatile long lastGeneratedAt;
+
+    public DefaultSnapshotPolicy(NodeConfig config) {
+        this(config.getSnapshotEntryThreshold(), config.getSnapshotByteThreshold(), config.getSnapshotMinInterval(),
+                config.getMaxDeltaSnapshots());
+    }
+
+    public DefaultSnapshotPolicy(int entryThreshold, long byteThreshold, long minInterval) {
+        this(entryThreshold, byteThreshold, minInterval, 0);
+    }
+
+    /**
+     * Create.
+     *
+     * @param entryThreshold    entry count threshold, {@code 0} to disable
+     * @param byteThreshold     entry bytes threshold, {@code 0} to disable
+     * @param minInterval       minimum interval between snapshots in milliseconds
+     * @param maxDeltaSnapshots max delta snapshots chained on a full snapshot, {@code 0} to disable delta snapshot
+     */
+    public DefaultSnapshotPolicy(int entryThreshold, long byteThreshold, long minInterval, int maxDeltaSnapshots) {
+        this.entryThreshold = entryThreshold;
+        this.byteThreshold = byteThreshold;
+        this.minInterval = minInterval;
+        this.maxDeltaSnapshots = maxDeltaSnapshots;
+        this.lastGeneratedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean shouldGenerate(int entryCount, long entryBytes) {
+        if (generating.get()) {
+            return false;
+        }
+        if (!(entryThreshold > 0 && entryCount >= entryThreshold) &&
+                !(byteThreshold > 0 && entryBytes >= byteThreshold)) {
+            return false;
+        }
+        return System.currentTimeMillis() - lastGeneratedAt >= minInterval;
+    }
+
+    @Override
+    public boolean shouldGenerateDelta(int deltaCount) {
+        return deltaCount < maxDeltaSnapshots;
+    }
+
+    @Override
+    public boolean startGenerating() {
+        return generating.compareAndSet(false, true);
+    }
+
+    @Override
+    public void finishGenerating() {
+        lastGeneratedAt = System.currentTimeMillis();
+        generating.set(false);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultSnapshotPolicy{" +
+                "entryThreshold=" + entryThreshold +
+                ", byteThreshold=" + byteThreshold +
+                ", minInterval=" + minInterval +
+                ", maxDeltaSnapshots=" + maxDeltaSnapshots +
+                ", generating=" + generating.get() +
+                '}';
+    }
+
+}
@@ -9,21 +9,37 @@ import in.xnnyygn.xraft.core.support.RandomAccessFileAdapter;
 import in.xnnyygn.xraft.core.support.SeekableFile;
 
 import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Set;
+import java.io.SequenceInputStream;
+import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Snapshot in file.
+ * <p>
+ * A delta snapshot lists its base files in header, data of snapshot is composed of
+ * data of base files and data of itself, in that order.
+ * A partitioned snapshot lists its partition files in header, which contain data only.
+ * Data may be encoded by codec in header, {@link #readData(int, int)} returns encoded data,
+ * and data streams are decoded.
+ * </p>
+ */
 public class FileSnapshot implements Snapshot {
 
+    public static final String PARTITION_FILE_NAME_FORMAT = "service-p%d.ss";
+
     private LogDir logDir;
-    private SeekableFile seekableFile;
     private int lastIncludedIndex;
     private int lastIncludedTerm;
     private Set<NodeEndpoint> lastConfig;
-    private long dataStart;
+    private List<String> baseFiles;
+    private List<String> partitionFiles;
+    private SnapshotCodec codec;
+    private final List<Segment> segments = new ArrayList<>();
     private long dataLength;
 
     public FileSnapshot(LogDir logDir) {
@@ -36,31 +52,67 @@ public class FileSnapshot implements Snapshot {
     }
 
     public FileSnapshot(SeekableFile seekableFile) {
-        readHeader(seekableFile);
+        readHeader(seekableFile, null);
     }
 
     private void readHeader(File file) {
+        readHeader(openFile(file), file.getParentFile());
+    }
+
+    private void readHeader(SeekableFile seekableFile, File dir) {
+        Protos.SnapshotHeader header = readSegment(seekableFile);
+        lastIncludedIndex = header.getLastIndex();
+        lastIncludedTerm = header.getLastTerm();
+        lastConfig = header.getLastConfigList().stream()
+                .map(e -> new NodeEndpoint(e.getId(), e.getHost(), e.getPort(), e.getLearner()))
+                .collect(Collectors.toSet());
+        baseFiles = new ArrayList<>(header.getBaseFilesList());
+        partitionFiles = new ArrayList<>(header.getPartitionFilesList());
+        codec = segments.get(0).codec;
+        if (baseFiles.isEmpty() && partitionFiles.isEmpty()) {
+            return;
+        }
+        if (dir == null) {
+            throw new LogException("base files or partition files of snapshot must be in the same directory");
+        }
+        if (!baseFiles.isEmpty() && !partitionFiles.isEmpty()) {
+            throw new LogException("delta snapshot cannot be partitioned");
+        }
+        Segment headSegment = segments.remove(0);
+        if (!partitionFiles.isEmpty()) {
+            try {
+                headSegment.close();
+            } catch (IOException e) {
+                throw new LogException("failed to close file", e);
+            }
+            dataLength = 0;
+            for (String partitionFile : partitionFiles) {
+                addSegment(openFile(new File(dir, partitionFile)), 0, codec);
+            }
+            return;
+        }
+        for (String baseFile : baseFiles) {
+            readSegment(openFile(new File(dir, baseFile)));
+        }
+        segments.add(headSegment);
+    }
+
+    private SeekableFile openFile(File file) {
         try {
-            readHeader(new RandomAccessFileAdapter(file, "r"));
+            return new RandomAccessFileAdapter(file, "r");
         } catch (FileNotFoundException e) {
             throw new LogException(e);
         }
     }
 
-    private void readHeader(SeekableFile seekableFile) {
-        this.seekableFile = seekableFile;
+    private Protos.SnapshotHeader readSegment(SeekableFile seekableFile) {
         try {
             int headerLength = seekableFile.readInt();
             byte[] headerBytes = new byte[headerLength];
             seekableFile.read(headerBytes);
             Protos.SnapshotHeader header = Protos.SnapshotHeader.parseFrom(headerBytes);
-            lastIncludedIndex = header.getLastIndex();
-            lastIncludedTerm = header.getLastTerm();
-            lastConfig = header.getLastConfigList().stream()
-                    .map(e -> new NodeEndpoint(e.getId(), e.getHost(), e.getPort()))
-                    .collect(Collectors.toSet());
-            dataStart = seekableFile.position();
-            dataLength = seekableFile.size() - dataStart;
+            addSegment(seekableFile, seekableFile.position(), SnapshotCodec.of(header.getCodec()));
+            return header;
         } catch (InvalidProtocolBufferException e) {
             throw new LogException("failed to parse header of snapshot", e);
         } catch (IOException e) {
@@ -68,6 +120,16 @@ public class FileSnapshot implements Snapshot {
         }
     }
 
+    private void addSegment(SeekableFile seekableFile, long dataStart, SnapshotCodec codec) {
+        try {
+            Segment segment = new Segment(seekableFile, dataStart, seekableFile.size() - dataStart, codec);
+            segments.add(segment);
+            dataLength += segment.dataLength;
+        } catch (IOException e) {
+            throw new LogException("failed to read snapshot", e);
+        }
+    }
+
     @Override
     public int getLastIncludedIndex() {
         return lastIncludedIndex;
@@ -84,32 +146,97 @@ public class FileSnapshot implements Snapshot {
         return lastConfig;
     }
 
+    /**
+     * Get names of base files, full snapshot first.
+     *
+     * @return base files, empty if this is a full snapshot
+     */
+    @Nonnull
+    public List<String> getBaseFiles() {
+        return Collections.unmodifiableList(baseFiles);
+    }
+
+    /**
+     * Get names of partition files.
+     *
+     * @return partition files, empty if not partitioned
+     */
+    @Nonnull
+    public List<String> getPartitionFiles() {
+        return Collections.unmodifiableList(partitionFiles);
+    }
+
+    @Nonnull
+    @Override
+    public SnapshotCodec getCodec() {
+        return codec;
+    }
+
     @Override
     public long getDataSize() {
         return dataLength;
     }
 
+    @Nonnull
+    @Override
+    public List<Long> getPartitionDataSizes() {
+        if (partitionFiles.isEmpty()) {
+            return Collections.singletonList(dataLength);
+        }
+        return segments.stream().map(s -> s.dataLength).collect(Collectors.toList());
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getPartitionDataStream(int partition) {
+        if (partitionFiles.isEmpty()) {
+            return Snapshot.super.getPartitionDataStream(partition);
+        }
+        try {
+            return segments.get(partition).getDataStream();
+        } catch (IOException e) {
+            throw new LogException("failed to get input stream of snapshot data", e);
+        }
+    }
+
     @Override
     @Nonnull
     public SnapshotChunk readData(int offset, int length) {
         if (offset > dataLength) {
             throw new IllegalArgumentException("offset > data length");
         }
+        byte[] buffer = new byte[(int) Math.min(length, dataLength - offset)];
+        int n = 0;
+        long segmentStart = 0;
         try {
-            seekableFile.seek(dataStart + offset);
-            byte[] buffer = new byte[Math.min(length, (int) dataLength - offset)];
-            int n = seekableFile.read(buffer);
-            return new SnapshotChunk(buffer, offset + n >= dataLength);
+            for (Segment segment : segments) {
+                if (n == buffer.length) {
+                    break;
+                }
+                long segmentEnd = segmentStart + segment.dataLength;
+                if (offset + n < segmentEnd) {
+                    n += segment.read(offset + n - segmentStart, buffer, n);
+                }
+                segmentStart = segmentEnd;
+            }
         } catch (IOException e) {
             throw new LogException("failed to seek or read snapshot content", e);
         }
+        return new SnapshotChunk(n == buffer.length ? buffer : Arrays.copyOf(buffer, n), offset + n >= dataLength);
     }
 
     @Override
     @Nonnull
     public InputStream getDataStream() {
         try {
-            return seekableFile.inputStream(dataStart);
+            if (segments.size() == 1) {
+                return segments.get(0).getDataStream();
+            }
+            List<InputStream> inputs = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                inputs.add(segment.getDataStream());
+            }
+            return new SequenceInputStream(Collections.enumeration(inputs));
         } catch (IOException e) {
             throw new LogException("failed to get input stream of snapshot data", e);
         }
@@ -122,10 +249,49 @@ public class FileSnapshot implements Snapshot {
     @Override
     public void close() {
         try {
-            seekableFile.close();
+            for (Segment segment : segments) {
+                segment.close();
+            }
         } catch (IOException e) {
             throw new LogException("failed to close file", e);
         }
     }
 
+    private static class Segment {
+
+        private final SeekableFile seekableFile;
+        private final long dataStart;
+        private final long dataLength;
+        private final SnapshotCodec codec;
+
+        Segment(SeekableFile seekableFile, long dataStart, long dataLength, SnapshotCodec codec) {
+            this.seekableFile = seekableFile;
+            this.dataStart = dataStart;
+            this.dataLength = dataLength;
+            this.codec = codec;
+        }
+
+        // read data from offset to buffer until buffer or segment is full
+        int read(long offset, byte[] buffer, int bufferOffset) throws IOException {
+            byte[] segmentBuffer = new byte[(int) Math.min(buffer.length - bufferOffset, dataLength - offset)];
+            seekableFile.seek(dataStart + offset);
+            int n = seekableFile.read(segmentBuffer);
+            if (n <= 0) {
+                return 0;
+            }
+            System.arraycopy(segmentBuffer, 0, buffer, bufferOffset, n);
+            return n;
+        }
+
+        // decoded
+        InputStream getDataStream() throws IOException {
+            return codec.decode(new BufferedInputStream(seekableFile.inputStream(dataStart)));
+        }
+
+        void close() throws IOException {
+            seekableFile.close();
+        }
+
+    }
+
 }
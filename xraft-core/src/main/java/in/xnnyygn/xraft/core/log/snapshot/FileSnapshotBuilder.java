@@ -4,20 +4,36 @@ import in.xnnyygn.xraft.core.log.LogDir;
 import in.xnnyygn.xraft.core.log.LogException;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
 
-import java.io.IOException;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class FileSnapshotBuilder extends AbstractSnapshotBuilder<FileSnapshot> {
 
     private final LogDir logDir;
     private FileSnapshotWriter writer;
 
+    // for partitioned snapshot
+    private List<String> partitionFiles = Collections.emptyList();
+    private int partition = -1;
+    private long partitionRemaining = 0;
+    private OutputStream partitionOutput;
+
     public FileSnapshotBuilder(InstallSnapshotRpc firstRpc, LogDir logDir) {
         super(firstRpc);
         this.logDir = logDir;
 
         try {
-            writer = new FileSnapshotWriter(logDir.getSnapshotFile(), firstRpc.getLastIndex(), firstRpc.getLastTerm(), firstRpc.getLastConfig());
-            writer.write(firstRpc.getData());
+            if (partitionDataSizes.size() > 1) {
+                partitionFiles = new ArrayList<>(partitionDataSizes.size());
+                for (int i = 0; i < partitionDataSizes.size(); i++) {
+                    partitionFiles.add(String.format(FileSnapshot.PARTITION_FILE_NAME_FORMAT, i));
+                }
+            }
+            writer = new FileSnapshotWriter(logDir.getSnapshotFile(), firstRpc.getLastIndex(), firstRpc.getLastTerm(),
+                    firstRpc.getLastConfig(), Collections.emptyList(), partitionFiles, codec);
+            doWrite(firstRpc.getData());
         } catch (IOException e) {
             throw new LogException("failed to write snapshot data to file", e);
         }
@@ -25,11 +41,45 @@ public class FileSnapshotBuilder extends AbstractSnapshotBuilder<FileSnapshot> {
 
     @Override
     protected void doWrite(byte[] data) throws IOException {
-        writer.write(data);
+        if (partitionFiles.isEmpty()) {
+            writer.write(data);
+            return;
+        }
+        // split data into partition files
+        int offset = 0;
+        while (offset < data.length) {
+            if (partitionRemaining == 0) {
+                nextPartition();
+            }
+            int length = (int) Math.min(data.length - offset, partitionRemaining);
+            partitionOutput.write(data, offset, length);
+            offset += length;
+            partitionRemaining -= length;
+        }
+    }
+
+    private void nextPartition() throws IOException {
+        if (partitionOutput != null) {
+            partitionOutput.close();
+        }
+        partition++;
+        if (partition >= partitionFiles.size()) {
+            throw new IllegalStateException("data exceeds size of partitions");
+        }
+        partitionOutput = new BufferedOutputStream(new FileOutputStream(new File(logDir.get(), partitionFiles.get(partition))));
+        partitionRemaining = partitionDataSizes.get(partition);
     }
 
     @Override
     public FileSnapshot build() {
+        try {
+            // create files of remaining empty partitions
+            while (partition < partitionFiles.size() - 1) {
+                nextPartition();
+            }
+        } catch (IOException e) {
+            throw new LogException("failed to create partition file", e);
+        }
         close();
         return new FileSnapshot(logDir);
     }
@@ -38,6 +88,9 @@ public class FileSnapshotBuilder extends AbstractSnapshotBuilder<FileSnapshot> {
     public void close() {
         try {
             writer.close();
+            if (partitionOutput != null) {
+                partitionOutput.close();
+            }
         } catch (IOException e) {
             throw new LogException("failed to close writer", e);
         }
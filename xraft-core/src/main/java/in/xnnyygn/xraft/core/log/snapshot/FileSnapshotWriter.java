@@ -4,19 +4,49 @@ import in.xnnyygn.xraft.core.Protos;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 
 import java.io.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class FileSnapshotWriter implements AutoCloseable {
 
     private final DataOutputStream output;
+    private final SnapshotCodec codec;
+    private OutputStream encodedOutput;
 
     public FileSnapshotWriter(File file, int lastIncludedIndex, int lastIncludedTerm, Set<NodeEndpoint> lastConfig) throws IOException {
-        this(new DataOutputStream(new FileOutputStream(file)), lastIncludedIndex, lastIncludedTerm, lastConfig);
+        this(file, lastIncludedIndex, lastIncludedTerm, lastConfig, Collections.emptyList(), Collections.emptyList(), SnapshotCodec.NONE);
+    }
+
+    /**
+     * Create.
+     * <p>
+     * If partition files specified, data of partitions should be written to partition files, not this writer.
+     * </p>
+     *
+     * @param file              file
+     * @param lastIncludedIndex last included index
+     * @param lastIncludedTerm  last included term
+     * @param lastConfig        last group config
+     * @param baseFiles         base files in the same directory for delta snapshot, empty for full snapshot
+     * @param partitionFiles    partition files in the same directory, empty if not partitioned
+     * @param codec             codec of data
+     * @throws IOException if IO error occurred
+     */
+    public FileSnapshotWriter(File file, int lastIncludedIndex, int lastIncludedTerm, Set<NodeEndpoint> lastConfig,
+                              List<String> baseFiles, List<String> partitionFiles, SnapshotCodec codec) throws IOException {
+        this(new BufferedOutputStream(new FileOutputStream(file)), lastIncludedIndex, lastIncludedTerm, lastConfig, baseFiles, partitionFiles, codec);
     }
 
     FileSnapshotWriter(OutputStream output, int lastIncludedIndex, int lastIncludedTerm, Set<NodeEndpoint> lastConfig) throws IOException {
+        this(output, lastIncludedIndex, lastIncludedTerm, lastConfig, Collections.emptyList(), Collections.emptyList(), SnapshotCodec.NONE);
+    }
+
+    FileSnapshotWriter(OutputStream output, int lastIncludedIndex, int lastIncludedTerm, Set<NodeEndpoint> lastConfig,
+                       List<String> baseFiles, List<String> partitionFiles, SnapshotCodec codec) throws IOException {
         this.output = new DataOutputStream(output);
+        this.codec = codec;
         byte[] headerBytes = Protos.SnapshotHeader.newBuilder()
                 .setLastIndex(lastIncludedIndex)
                 .setLastTerm(lastIncludedTerm)
@@ -26,24 +56,46 @@ public class FileSnapshotWriter implements AutoCloseable {
                                         .setId(e.getId().getValue())
                                         .setHost(e.getHost())
                                         .setPort(e.getPort())
+                                        .setLearner(e.isLearner())
                                         .build())
                                 .collect(Collectors.toList()))
+                .addAllBaseFiles(baseFiles)
+                .addAllPartitionFiles(partitionFiles)
+                .setCodec(codec == SnapshotCodec.NONE ? "" : codec.getName())
                 .build().toByteArray();
         this.output.writeInt(headerBytes.length);
         this.output.write(headerBytes);
 
     }
 
-    public OutputStream getOutput() {
-        return output;
+    /**
+     * Get output to write plain data, data will be encoded by codec.
+     *
+     * @return output
+     * @throws IOException if IO error occurred
+     */
+    public OutputStream getOutput() throws IOException {
+        if (encodedOutput == null) {
+            encodedOutput = codec.encode(output);
+        }
+        return encodedOutput;
     }
 
+    /**
+     * Write data already encoded, e.g data from install snapshot rpc.
+     *
+     * @param data data
+     * @throws IOException if IO error occurred
+     */
     public void write(byte[] data) throws IOException {
         output.write(data);
     }
 
     @Override
     public void close() throws IOException {
+        if (encodedOutput != null) {
+            encodedOutput.close();
+        }
         output.close();
     }
 
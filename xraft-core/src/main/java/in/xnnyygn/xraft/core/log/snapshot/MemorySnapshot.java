@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 @Immutable
@@ -16,16 +17,32 @@ public class MemorySnapshot implements Snapshot {
     private final int lastIncludedTerm;
     private final byte[] data;
     private final Set<NodeEndpoint> lastConfig;
+    private final List<Long> partitionDataSizes;
 
     public MemorySnapshot(int lastIncludedIndex, int lastIncludedTerm) {
         this(lastIncludedIndex, lastIncludedTerm, new byte[0], Collections.emptySet());
     }
 
     public MemorySnapshot(int lastIncludedIndex, int lastIncludedTerm, byte[] data, Set<NodeEndpoint> lastConfig) {
+        this(lastIncludedIndex, lastIncludedTerm, data, lastConfig, Collections.singletonList((long) data.length));
+    }
+
+    /**
+     * Create.
+     *
+     * @param lastIncludedIndex  last included index
+     * @param lastIncludedTerm   last included term
+     * @param data               data of all partitions
+     * @param lastConfig         last group config
+     * @param partitionDataSizes data sizes of partitions
+     */
+    public MemorySnapshot(int lastIncludedIndex, int lastIncludedTerm, byte[] data, Set<NodeEndpoint> lastConfig, List<Long> partitionDataSizes) {
         this.lastIncludedIndex = lastIncludedIndex;
         this.lastIncludedTerm = lastIncludedTerm;
         this.data = data;
         this.lastConfig = lastConfig;
+        this.partitionDataSizes = partitionDataSizes.isEmpty() ?
+                Collections.singletonList((long) data.length) : partitionDataSizes;
     }
 
     @Override
@@ -72,6 +89,22 @@ public class MemorySnapshot implements Snapshot {
         return new ByteArrayInputStream(data);
     }
 
+    @Nonnull
+    @Override
+    public List<Long> getPartitionDataSizes() {
+        return partitionDataSizes;
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getPartitionDataStream(int partition) {
+        int offset = 0;
+        for (int i = 0; i < partition; i++) {
+            offset += partitionDataSizes.get(i);
+        }
+        return new ByteArrayInputStream(data, offset, partitionDataSizes.get(partition).intValue());
+    }
+
     @Override
     public void close() {
     }
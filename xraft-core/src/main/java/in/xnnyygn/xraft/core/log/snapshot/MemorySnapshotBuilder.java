@@ -1,10 +1,14 @@
 package in.xnnyygn.xraft.core.log.snapshot;
 
+import com.google.common.io.ByteStreams;
 import in.xnnyygn.xraft.core.log.LogException;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MemorySnapshotBuilder extends AbstractSnapshotBuilder<MemorySnapshot> {
 
@@ -28,7 +32,25 @@ public class MemorySnapshotBuilder extends AbstractSnapshotBuilder<MemorySnapsho
 
     @Override
     public MemorySnapshot build() {
-        return new MemorySnapshot(lastIncludedIndex, lastIncludedTerm, output.toByteArray(), lastConfig);
+        if (codec == SnapshotCodec.NONE) {
+            return new MemorySnapshot(lastIncludedIndex, lastIncludedTerm, output.toByteArray(), lastConfig, partitionDataSizes);
+        }
+        // memory snapshot keeps plain data, decode each partition
+        MemorySnapshot encodedSnapshot = new MemorySnapshot(lastIncludedIndex, lastIncludedTerm, output.toByteArray(), lastConfig, partitionDataSizes);
+        ByteArrayOutputStream decodedOutput = new ByteArrayOutputStream();
+        List<Long> decodedPartitionDataSizes = new ArrayList<>();
+        try {
+            for (int i = 0; i < encodedSnapshot.getPartitionDataSizes().size(); i++) {
+                int size = decodedOutput.size();
+                try (InputStream input = codec.decode(encodedSnapshot.getPartitionDataStream(i))) {
+                    ByteStreams.copy(input, decodedOutput);
+                }
+                decodedPartitionDataSizes.add((long) (decodedOutput.size() - size));
+            }
+        } catch (IOException e) {
+            throw new LogException("failed to decode snapshot data", e);
+        }
+        return new MemorySnapshot(lastIncludedIndex, lastIncludedTerm, decodedOutput.toByteArray(), lastConfig, decodedPartitionDataSizes);
     }
 
     @Override
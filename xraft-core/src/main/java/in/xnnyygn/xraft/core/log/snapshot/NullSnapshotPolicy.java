@@ -0,0 +1,27 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+/**
+ * Policy which never generates snapshot.
+ */
+public class NullSnapshotPolicy implements SnapshotPolicy {
+
+    @Override
+    public boolean shouldGenerate(int entryCount, long entryBytes) {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateDelta(int deltaCount) {
+        return false;
+    }
+
+    @Override
+    public boolean startGenerating() {
+        return false;
+    }
+
+    @Override
+    public void finishGenerating() {
+    }
+
+}
@@ -4,6 +4,8 @@ import in.xnnyygn.xraft.core.node.NodeEndpoint;
 
 import javax.annotation.Nonnull;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 // TODO add doc
@@ -16,14 +18,69 @@ public interface Snapshot {
     @Nonnull
     Set<NodeEndpoint> getLastConfig();
 
+    /**
+     * Get codec of data.
+     *
+     * @return codec, default to {@link SnapshotCodec#NONE}
+     * @see #readData(int, int)
+     */
+    @Nonnull
+    default SnapshotCodec getCodec() {
+        return SnapshotCodec.NONE;
+    }
+
+    /**
+     * Get size of data, encoded if codec present.
+     *
+     * @return data size
+     */
     long getDataSize();
 
+    /**
+     * Read data, encoded if codec present.
+     *
+     * @param offset offset
+     * @param length max length
+     * @return chunk
+     */
     @Nonnull
     SnapshotChunk readData(int offset, int length);
 
+    /**
+     * Get data stream, decoded.
+     *
+     * @return data stream
+     */
     @Nonnull
     InputStream getDataStream();
 
+    /**
+     * Get data size of each partition.
+     * <p>
+     * Data of snapshot is composed of data of partitions in order.
+     * </p>
+     *
+     * @return data sizes of partitions, only one if not partitioned
+     */
+    @Nonnull
+    default List<Long> getPartitionDataSizes() {
+        return Collections.singletonList(getDataSize());
+    }
+
+    /**
+     * Get data stream of partition.
+     *
+     * @param partition partition, from {@code 0}
+     * @return data stream
+     */
+    @Nonnull
+    default InputStream getPartitionDataStream(int partition) {
+        if (partition != 0) {
+            throw new IllegalArgumentException("no such partition " + partition);
+        }
+        return getDataStream();
+    }
+
     void close();
 
 }
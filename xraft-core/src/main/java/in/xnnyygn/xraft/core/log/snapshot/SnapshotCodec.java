@@ -0,0 +1,79 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming codec of snapshot data.
+ * <p>
+ * Data is encoded when generating and decoded when applying, state machine always sees the plain data.
+ * Encoded data is transferred to other nodes as it is.
+ * </p>
+ */
+public enum SnapshotCodec {
+
+    NONE("none") {
+        @Override
+        public OutputStream encode(OutputStream output) {
+            return output;
+        }
+
+        @Override
+        public InputStream decode(InputStream input) {
+            return input;
+        }
+    },
+
+    /**
+     * Gzip, concatenated gzip data can also be decoded.
+     */
+    GZIP("gzip") {
+        @Override
+        public OutputStream encode(OutputStream output) throws IOException {
+            return new GZIPOutputStream(output, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decode(InputStream input) throws IOException {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+    private final String name;
+
+    SnapshotCodec(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public abstract OutputStream encode(OutputStream output) throws IOException;
+
+    public abstract InputStream decode(InputStream input) throws IOException;
+
+    /**
+     * Get codec by name.
+     *
+     * @param name name, empty for {@link #NONE}
+     * @return codec
+     * @throws IllegalArgumentException if no such codec
+     */
+    public static SnapshotCodec of(String name) {
+        if (name == null || name.isEmpty()) {
+            return NONE;
+        }
+        for (SnapshotCodec codec : values()) {
+            if (codec.name.equals(name)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("unknown snapshot codec " + name);
+    }
+
+}
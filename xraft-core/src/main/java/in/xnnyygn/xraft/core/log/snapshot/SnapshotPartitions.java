@@ -0,0 +1,88 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run tasks for partitions of snapshot in parallel.
+ * <p>
+ * Tasks run in a pool shared by all logs, with threads no more than available processors.
+ * Threads are daemon and exit when idle, since snapshot is generated or applied occasionally.
+ * </p>
+ */
+public class SnapshotPartitions {
+
+    private static final ThreadPoolExecutor executorService;
+
+    static {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        executorService = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "snapshot-partition-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorService.allowCoreThreadTimeOut(true);
+    }
+
+    @FunctionalInterface
+    public interface PartitionTask {
+
+        void run(int partition) throws IOException;
+
+    }
+
+    /**
+     * Run task for each partition and wait for all tasks to complete.
+     * If any task failed, the remaining tasks will be cancelled.
+     *
+     * @param partitionCount count of partitions
+     * @param task           task
+     * @throws IOException if any task failed with IO error, or interrupted
+     */
+    public static void forEach(int partitionCount, PartitionTask task) throws IOException {
+        if (partitionCount == 1) {
+            task.run(0);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(partitionCount);
+        try {
+            for (int i = 0; i < partitionCount; i++) {
+                final int partition = i;
+                futures.add(executorService.submit(() -> {
+                    task.run(partition);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted when waiting for partitions of snapshot");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("failed to process partition of snapshot", cause);
+        } finally {
+            // interrupt remaining tasks if any task failed
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+/**
+ * Policy to decide when to generate snapshot.
+ * <p>
+ * Policy is owned by log. State machine asks log after applying entry,
+ * log then asks policy with the size of log since last snapshot.
+ * At most one snapshot is generating at the same time.
+ * </p>
+ */
+public interface SnapshotPolicy {
+
+    /**
+     * Should generate snapshot or not.
+     * <p>
+     * Always {@code false} if snapshot is generating.
+     * </p>
+     *
+     * @param entryCount count of entries since last snapshot
+     * @param entryBytes bytes of entries since last snapshot, approximate value
+     * @return true if should generate, otherwise false
+     */
+    boolean shouldGenerate(int entryCount, long entryBytes);
+
+    /**
+     * Should generate delta snapshot or full snapshot.
+     * <p>
+     * Only asked when state machine supports delta snapshot.
+     * Return {@code false} to rebase on a new full snapshot.
+     * </p>
+     *
+     * @param deltaCount count of delta snapshots chained on current full snapshot
+     * @return true if delta, false if full
+     */
+    boolean shouldGenerateDelta(int deltaCount);
+
+    /**
+     * Mark snapshot as generating.
+     *
+     * @return true if marked, false if snapshot is generating
+     */
+    boolean startGenerating();
+
+    /**
+     * Mark snapshot as generated, successfully or not.
+     */
+    void finishGenerating();
+
+}
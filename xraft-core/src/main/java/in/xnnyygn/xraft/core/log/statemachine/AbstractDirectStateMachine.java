@@ -6,8 +6,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class AbstractDirectStateMachine implements StateMachine {
 
@@ -22,19 +25,66 @@ public abstract class AbstractDirectStateMachine implements StateMachine {
     @Override
     public void applyLog(StateMachineContext context, int index, @Nonnull byte[] commandBytes, int firstLogIndex) {
         logger.debug("apply log {}", index);
-        applyCommand(commandBytes);
+        Object result = applyCommand(commandBytes);
         lastApplied = index;
-        if (shouldGenerateSnapshot(firstLogIndex, index)) {
+        context.applied(index, result);
+        context.appliedUpTo(index);
+        if (context.shouldGenerateSnapshot(firstLogIndex, index) && shouldGenerateSnapshot(firstLogIndex, index)) {
             context.generateSnapshot(index);
         }
     }
 
-    protected abstract void applyCommand(@Nonnull byte[] commandBytes);
+    @Override
+    public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+        int lastIndex = firstIndex + commands.size() - 1;
+        logger.debug("apply log {} to {}", firstIndex, lastIndex);
+        List<Object> results = applyCommands(commands);
+        lastApplied = lastIndex;
+        for (int i = 0; i < results.size(); i++) {
+            context.applied(firstIndex + i, results.get(i));
+        }
+        context.appliedUpTo(lastIndex);
+        if (context.shouldGenerateSnapshot(firstLogIndex, lastIndex) && shouldGenerateSnapshot(firstLogIndex, lastIndex)) {
+            context.generateSnapshot(lastIndex);
+        }
+    }
+
+    /**
+     * Apply command.
+     *
+     * @param commandBytes command
+     * @return result of command, may be {@code null}
+     */
+    @Nullable
+    protected abstract Object applyCommand(@Nonnull byte[] commandBytes);
+
+    /**
+     * Apply commands of consecutive logs.
+     * <p>
+     * Default implementation applies commands one by one. Override to apply in bulk.
+     * </p>
+     *
+     * @param commands commands
+     * @return results of commands, in order of commands
+     */
+    @Nonnull
+    protected List<Object> applyCommands(@Nonnull List<byte[]> commands) {
+        List<Object> results = new ArrayList<>(commands.size());
+        for (byte[] commandBytes : commands) {
+            results.add(applyCommand(commandBytes));
+        }
+        return results;
+    }
 
     @Override
     public void applySnapshot(@Nonnull Snapshot snapshot) throws IOException {
         logger.info("apply snapshot, last included index {}", snapshot.getLastIncludedIndex());
-        doApplySnapshot(snapshot.getDataStream());
+        int partitionCount = snapshot.getPartitionDataSizes().size();
+        if (partitionCount > 1) {
+            PartitionedSnapshotStateMachine.applySnapshotPartitions(this, snapshot);
+        } else {
+            doApplySnapshot(snapshot.getDataStream());
+        }
         lastApplied = snapshot.getLastIncludedIndex();
     }
 
@@ -0,0 +1,199 @@
+package in.xnnyygn.xraft.core.log.statemachine;
+
+import in.xnnyygn.xraft.core.log.snapshot.Snapshot;
+import in.xnnyygn.xraft.core.support.SingleThreadTaskExecutor;
+import in.xnnyygn.xraft.core.support.TaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * State machine applying commands on several threads.
+ * <p>
+ * Each command is routed by partition key to one of apply threads, so commands with the same key are applied
+ * in log order, and commands with different keys may be applied concurrently. {@link #applyCommand(byte[])}
+ * must be safe to be called concurrently for different keys.
+ * </p>
+ * <p>
+ * Every partition advances its last applied index for every batch, even if no command of batch is routed to it.
+ * Last applied index of state machine is the minimum of partitions. Tasks run after applied, including snapshot
+ * generation, wait for all partitions to pass the barrier.
+ * </p>
+ */
+public abstract class AbstractPartitionedStateMachine implements StateMachine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractPartitionedStateMachine.class);
+    private final List<TaskExecutor> taskExecutors;
+    private final AtomicIntegerArray partitionLastApplied;
+
+    /**
+     * Create.
+     *
+     * @param partitionCount count of apply threads
+     */
+    public AbstractPartitionedStateMachine(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("partition count <= 0");
+        }
+        taskExecutors = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            taskExecutors.add(new SingleThreadTaskExecutor("state-machine-" + i));
+        }
+        partitionLastApplied = new AtomicIntegerArray(partitionCount);
+    }
+
+    @Override
+    public int getLastApplied() {
+        int lastApplied = partitionLastApplied.get(0);
+        for (int i = 1; i < partitionLastApplied.length(); i++) {
+            lastApplied = Math.min(lastApplied, partitionLastApplied.get(i));
+        }
+        return lastApplied;
+    }
+
+    @Override
+    public void applyLog(StateMachineContext context, int index, @Nonnull byte[] commandBytes, int firstLogIndex) {
+        applyBatch(context, index, Collections.singletonList(commandBytes), firstLogIndex);
+    }
+
+    @Override
+    public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+        int partitionCount = taskExecutors.size();
+        List<List<Integer>> indices = new ArrayList<>(partitionCount);
+        List<List<byte[]>> partitionCommands = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            indices.add(new ArrayList<>());
+            partitionCommands.add(new ArrayList<>());
+        }
+        for (int i = 0; i < commands.size(); i++) {
+            byte[] commandBytes = commands.get(i);
+            int partition = Math.floorMod(getPartitionKey(commandBytes).hashCode(), partitionCount);
+            indices.get(partition).add(firstIndex + i);
+            partitionCommands.get(partition).add(commandBytes);
+        }
+        int lastIndex = firstIndex + commands.size() - 1;
+        logger.debug("apply log {} to {}", firstIndex, lastIndex);
+        for (int i = 0; i < partitionCount; i++) {
+            int partition = i;
+            taskExecutors.get(i).submit(() ->
+                    doApplyBatch(context, partition, indices.get(partition), partitionCommands.get(partition), lastIndex));
+        }
+        if (context.shouldGenerateSnapshot(firstLogIndex, lastIndex) && shouldGenerateSnapshot(firstLogIndex, lastIndex)) {
+            runAfterApplied(() -> context.generateSnapshot(lastIndex));
+        }
+    }
+
+    private void doApplyBatch(StateMachineContext context, int partition, List<Integer> indices, List<byte[]> commands, int lastIndex) {
+        int lastApplied = partitionLastApplied.get(partition);
+        if (lastIndex <= lastApplied) {
+            return;
+        }
+        // skip commands applied, e.g. state machine reapplies logs after snapshot
+        int start = 0;
+        while (start < indices.size() && indices.get(start) <= lastApplied) {
+            start++;
+        }
+        List<Object> results = start < commands.size() ?
+                applyCommands(commands.subList(start, commands.size())) : Collections.emptyList();
+        // report results before last applied is visible to other partitions
+        for (int i = 0; i < results.size(); i++) {
+            context.applied(indices.get(start + i), results.get(i));
+        }
+        partitionLastApplied.set(partition, lastIndex);
+        context.appliedUpTo(getLastApplied());
+    }
+
+    /**
+     * Get partition key of command.
+     *
+     * @param commandBytes command
+     * @return partition key
+     */
+    @Nonnull
+    protected abstract Object getPartitionKey(@Nonnull byte[] commandBytes);
+
+    /**
+     * Apply command, in apply thread of partition.
+     *
+     * @param commandBytes command
+     * @return result of command, may be {@code null}
+     */
+    @Nullable
+    protected abstract Object applyCommand(@Nonnull byte[] commandBytes);
+
+    /**
+     * Apply commands of the same partition, in apply thread of partition.
+     * <p>
+     * Default implementation applies commands one by one. Override to apply in bulk.
+     * </p>
+     *
+     * @param commands commands
+     * @return results of commands, in order of commands
+     */
+    @Nonnull
+    protected List<Object> applyCommands(@Nonnull List<byte[]> commands) {
+        List<Object> results = new ArrayList<>(commands.size());
+        for (byte[] commandBytes : commands) {
+            results.add(applyCommand(commandBytes));
+        }
+        return results;
+    }
+
+    /**
+     * Run task after all partitions applied logs passed before.
+     * <p>
+     * Task is run by apply thread of the last partition reaching the barrier.
+     * </p>
+     *
+     * @param task task
+     */
+    @Override
+    public void runAfterApplied(@Nonnull Runnable task) {
+        AtomicInteger remaining = new AtomicInteger(taskExecutors.size());
+        for (TaskExecutor taskExecutor : taskExecutors) {
+            taskExecutor.submit(() -> {
+                if (remaining.decrementAndGet() == 0) {
+                    task.run();
+                }
+            });
+        }
+    }
+
+    // run in node thread
+    @Override
+    public void applySnapshot(@Nonnull Snapshot snapshot) throws IOException {
+        logger.info("apply snapshot, last included index {}", snapshot.getLastIncludedIndex());
+        int partitionCount = snapshot.getPartitionDataSizes().size();
+        if (partitionCount > 1) {
+            PartitionedSnapshotStateMachine.applySnapshotPartitions(this, snapshot);
+        } else {
+            doApplySnapshot(snapshot.getDataStream());
+        }
+        for (int i = 0; i < partitionLastApplied.length(); i++) {
+            partitionLastApplied.set(i, snapshot.getLastIncludedIndex());
+        }
+    }
+
+    protected abstract void doApplySnapshot(@Nonnull InputStream input) throws IOException;
+
+    @Override
+    public void shutdown() {
+        try {
+            for (TaskExecutor taskExecutor : taskExecutors) {
+                taskExecutor.shutdown();
+            }
+        } catch (InterruptedException e) {
+            throw new StateMachineException(e);
+        }
+    }
+
+}
@@ -7,8 +7,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class AbstractSingleThreadStateMachine implements StateMachine {
 
@@ -35,20 +38,82 @@ public abstract class AbstractSingleThreadStateMachine implements StateMachine {
             return;
         }
         logger.debug("apply log {}", index);
-        applyCommand(commandBytes);
+        Object result = applyCommand(commandBytes);
+        // report result before last applied is visible to node thread
+        context.applied(index, result);
         lastApplied = index;
-        if (shouldGenerateSnapshot(firstLogIndex, index)) {
+        context.appliedUpTo(index);
+        if (context.shouldGenerateSnapshot(firstLogIndex, index) && shouldGenerateSnapshot(firstLogIndex, index)) {
             context.generateSnapshot(index);
         }
     }
 
-    protected abstract void applyCommand(@Nonnull byte[] commandBytes);
+    @Override
+    public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+        taskExecutor.submit(() -> doApplyBatch(context, firstIndex, commands, firstLogIndex));
+    }
+
+    private void doApplyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+        int lastIndex = firstIndex + commands.size() - 1;
+        if (lastIndex <= lastApplied) {
+            return;
+        }
+        logger.debug("apply log {} to {}", firstIndex, lastIndex);
+        int start = Math.max(lastApplied + 1 - firstIndex, 0);
+        List<Object> results = applyCommands(commands.subList(start, commands.size()));
+        // report results before last applied is visible to node thread
+        for (int i = 0; i < results.size(); i++) {
+            context.applied(firstIndex + start + i, results.get(i));
+        }
+        lastApplied = lastIndex;
+        context.appliedUpTo(lastIndex);
+        if (context.shouldGenerateSnapshot(firstLogIndex, lastIndex) && shouldGenerateSnapshot(firstLogIndex, lastIndex)) {
+            context.generateSnapshot(lastIndex);
+        }
+    }
+
+    /**
+     * Apply command.
+     *
+     * @param commandBytes command
+     * @return result of command, may be {@code null}
+     */
+    @Nullable
+    protected abstract Object applyCommand(@Nonnull byte[] commandBytes);
+
+    /**
+     * Apply commands of consecutive logs.
+     * <p>
+     * Default implementation applies commands one by one. Override to apply in bulk.
+     * </p>
+     *
+     * @param commands commands
+     * @return results of commands, in order of commands
+     */
+    @Nonnull
+    protected List<Object> applyCommands(@Nonnull List<byte[]> commands) {
+        List<Object> results = new ArrayList<>(commands.size());
+        for (byte[] commandBytes : commands) {
+            results.add(applyCommand(commandBytes));
+        }
+        return results;
+    }
+
+    @Override
+    public void runAfterApplied(@Nonnull Runnable task) {
+        taskExecutor.submit(task);
+    }
 
     // run in node thread
     @Override
     public void applySnapshot(@Nonnull Snapshot snapshot) throws IOException {
         logger.info("apply snapshot, last included index {}", snapshot.getLastIncludedIndex());
-        doApplySnapshot(snapshot.getDataStream());
+        int partitionCount = snapshot.getPartitionDataSizes().size();
+        if (partitionCount > 1) {
+            PartitionedSnapshotStateMachine.applySnapshotPartitions(this, snapshot);
+        } else {
+            doApplySnapshot(snapshot.getDataStream());
+        }
         lastApplied = snapshot.getLastIncludedIndex();
     }
 
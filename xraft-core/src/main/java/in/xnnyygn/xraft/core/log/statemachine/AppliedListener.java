@@ -0,0 +1,30 @@
+package in.xnnyygn.xraft.core.log.statemachine;
+
+import javax.annotation.Nullable;
+
+/**
+ * Listener of logs applied to state machine.
+ */
+public interface AppliedListener {
+
+    /**
+     * Called in apply thread of state machine after log applied.
+     *
+     * @param index  index of log
+     * @param result result of command, may be {@code null}
+     */
+    void applied(int index, @Nullable Object result);
+
+    /**
+     * Called after last applied index of state machine advanced.
+     * <p>
+     * Logs up to last applied index without result reported are considered applied with {@code null} result,
+     * e.g. state machine not calling {@link StateMachineContext#applied(int, Object)}, or snapshot applied.
+     * </p>
+     *
+     * @param lastApplied last applied index
+     */
+    default void appliedUpTo(int lastApplied) {
+    }
+
+}
@@ -0,0 +1,34 @@
+package in.xnnyygn.xraft.core.log.statemachine;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * State machine generating delta snapshot on a full snapshot.
+ * <p>
+ * File log generates delta snapshot only if state machine implements this interface and snapshot is not partitioned.
+ * </p>
+ *
+ * @see in.xnnyygn.xraft.core.node.config.NodeConfig#getMaxDeltaSnapshots()
+ */
+public interface DeltaSnapshotStateMachine extends StateMachine {
+
+    /**
+     * Generate delta snapshot to output.
+     * <p>
+     * Only changes since last snapshot generated or applied are written.
+     * When applying, data of delta snapshot follows data of base snapshot in the same stream,
+     * so data written later must override data written earlier.
+     * </p>
+     * <p>
+     * Called in node thread. Keys changed by logs applied concurrently must be either written to
+     * this delta snapshot or kept for the next one.
+     * </p>
+     *
+     * @param output output
+     * @throws IOException if IO error occurred
+     */
+    void generateDeltaSnapshot(@Nonnull OutputStream output) throws IOException;
+
+}
@@ -5,6 +5,7 @@ import in.xnnyygn.xraft.core.log.snapshot.Snapshot;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 
 public class EmptyStateMachine implements StateMachine {
 
@@ -18,6 +19,15 @@ public class EmptyStateMachine implements StateMachine {
     @Override
     public void applyLog(StateMachineContext context, int index, @Nonnull byte[] commandBytes, int firstLogIndex) {
         lastApplied = index;
+        context.applied(index, null);
+    }
+
+    @Override
+    public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+        lastApplied = firstIndex + commands.size() - 1;
+        for (int i = 0; i < commands.size(); i++) {
+            context.applied(firstIndex + i, null);
+        }
     }
 
     @Override
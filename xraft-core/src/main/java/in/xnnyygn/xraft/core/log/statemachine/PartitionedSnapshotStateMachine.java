@@ -0,0 +1,84 @@
+package in.xnnyygn.xraft.core.log.statemachine;
+
+import in.xnnyygn.xraft.core.log.snapshot.Snapshot;
+import in.xnnyygn.xraft.core.log.snapshot.SnapshotPartitions;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * State machine generating and applying snapshot in partitions concurrently.
+ * <p>
+ * Base state machines apply snapshot by {@link #applySnapshot(int, InputStream)} if snapshot has more than one
+ * partition, and fail if state machine doesn't implement this interface.
+ * </p>
+ *
+ * @see Snapshot#getPartitionDataSizes()
+ */
+public interface PartitionedSnapshotStateMachine extends StateMachine {
+
+    /**
+     * Get count of partitions to generate snapshot.
+     * <p>
+     * If greater than {@code 1}, {@link #generateSnapshot(int, OutputStream)} will be called
+     * for each partition concurrently instead of {@link #generateSnapshot(OutputStream)},
+     * and delta snapshot is disabled.
+     * </p>
+     *
+     * @return count of partitions
+     */
+    int getSnapshotPartitionCount();
+
+    /**
+     * Generate partition of snapshot to output, called concurrently for partitions.
+     *
+     * @param partition partition, from {@code 0}
+     * @param output    output
+     * @throws IOException if IO error occurred
+     */
+    void generateSnapshot(int partition, @Nonnull OutputStream output) throws IOException;
+
+    /**
+     * Apply partition of snapshot, called concurrently for partitions.
+     * <p>
+     * Count of partitions in snapshot may be different from current {@link #getSnapshotPartitionCount()}.
+     * </p>
+     *
+     * @param partition partition, from {@code 0}
+     * @param input     data of partition
+     * @throws IOException if IO error occurred
+     */
+    void applySnapshot(int partition, @Nonnull InputStream input) throws IOException;
+
+    /**
+     * Get count of partitions to generate snapshot for state machine.
+     *
+     * @param stateMachine state machine
+     * @return count of partitions, {@code 1} if state machine is not partitioned
+     */
+    static int getSnapshotPartitionCount(@Nonnull StateMachine stateMachine) {
+        return stateMachine instanceof PartitionedSnapshotStateMachine ?
+                ((PartitionedSnapshotStateMachine) stateMachine).getSnapshotPartitionCount() : 1;
+    }
+
+    /**
+     * Apply snapshot in partitions concurrently.
+     *
+     * @param stateMachine state machine
+     * @param snapshot     snapshot with more than one partition
+     * @throws IOException           if IO error occurred
+     * @throws IllegalStateException if state machine is not partitioned
+     */
+    static void applySnapshotPartitions(@Nonnull StateMachine stateMachine, @Nonnull Snapshot snapshot) throws IOException {
+        int partitionCount = snapshot.getPartitionDataSizes().size();
+        if (!(stateMachine instanceof PartitionedSnapshotStateMachine)) {
+            throw new IllegalStateException("snapshot has " + partitionCount + " partitions, but state machine is not partitioned");
+        }
+        PartitionedSnapshotStateMachine partitioned = (PartitionedSnapshotStateMachine) stateMachine;
+        SnapshotPartitions.forEach(partitionCount,
+                p -> partitioned.applySnapshot(p, snapshot.getPartitionDataStream(p)));
+    }
+
+}
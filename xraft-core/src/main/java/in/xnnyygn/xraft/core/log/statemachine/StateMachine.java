@@ -5,6 +5,7 @@ import in.xnnyygn.xraft.core.log.snapshot.Snapshot;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 
 /**
  * State machine.
@@ -13,16 +14,52 @@ public interface StateMachine {
 
     int getLastApplied();
 
+    /**
+     * Apply command of log.
+     * <p>
+     * Implementation should call {@link StateMachineContext#applied(int, Object)} after log applied,
+     * so that future of append log request completes.
+     * </p>
+     *
+     * @param context       context
+     * @param index         index of log
+     * @param commandBytes  command
+     * @param firstLogIndex first log index in log files
+     */
     void applyLog(StateMachineContext context, int index, @Nonnull byte[] commandBytes, int firstLogIndex);
 
+    /**
+     * Apply commands of consecutive logs.
+     * <p>
+     * Called once for each run of consecutive applicable logs when commit index advances.
+     * Default implementation applies logs one by one.
+     * </p>
+     *
+     * @param context       context
+     * @param firstIndex    index of first log
+     * @param commands      commands, command at position {@code i} is of log {@code firstIndex + i}
+     * @param firstLogIndex first log index in log files
+     */
+    default void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+        for (int i = 0; i < commands.size(); i++) {
+            applyLog(context, firstIndex + i, commands.get(i), firstLogIndex);
+        }
+    }
+
     /**
      * Should generate or not.
+     * <p>
+     * Asked after snapshot policy of log agrees, state machine can veto.
+     * </p>
      *
      * @param firstLogIndex first log index in log files, may not be {@code 0}
      * @param lastApplied   last applied log index
      * @return true if should generate, otherwise false
+     * @see StateMachineContext#shouldGenerateSnapshot(int, int)
      */
-    boolean shouldGenerateSnapshot(int firstLogIndex, int lastApplied);
+    default boolean shouldGenerateSnapshot(int firstLogIndex, int lastApplied) {
+        return true;
+    }
 
     /**
      * Generate snapshot to output.
@@ -34,6 +71,19 @@ public interface StateMachine {
 
     void applySnapshot(@Nonnull Snapshot snapshot) throws IOException;
 
+    /**
+     * Run task after logs passed to {@link #applyLog(StateMachineContext, int, byte[], int)} or
+     * {@link #applyBatch(StateMachineContext, int, List, int)} before are applied.
+     * <p>
+     * Default implementation runs task directly, which is correct if logs are applied synchronously.
+     * </p>
+     *
+     * @param task task
+     */
+    default void runAfterApplied(@Nonnull Runnable task) {
+        task.run();
+    }
+
     void shutdown();
 
 }
@@ -1,7 +1,36 @@
 package in.xnnyygn.xraft.core.log.statemachine;
 
+import javax.annotation.Nullable;
+
 public interface StateMachineContext {
 
+    /**
+     * Should generate snapshot or not, decided by snapshot policy of log.
+     *
+     * @param firstLogIndex first log index in log files
+     * @param lastApplied   last applied log index
+     * @return true if should generate, otherwise false
+     * @see in.xnnyygn.xraft.core.log.snapshot.SnapshotPolicy
+     */
+    boolean shouldGenerateSnapshot(int firstLogIndex, int lastApplied);
+
     void generateSnapshot(int lastIncludedIndex);
 
+    /**
+     * Notify log applied, called by state machine after each log applied.
+     *
+     * @param index  index of log
+     * @param result result of command, may be {@code null}
+     * @see AppliedListener
+     */
+    void applied(int index, @Nullable Object result);
+
+    /**
+     * Notify last applied index advanced, called by state machine after logs applied.
+     *
+     * @param lastApplied last applied index
+     * @see AppliedListener#appliedUpTo(int)
+     */
+    void appliedUpTo(int lastApplied);
+
 }
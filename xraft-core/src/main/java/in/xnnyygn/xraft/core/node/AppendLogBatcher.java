@@ -0,0 +1,172 @@
+package in.xnnyygn.xraft.core.node;
+
+import com.google.common.util.concurrent.FutureCallback;
+import in.xnnyygn.xraft.core.schedule.Scheduler;
+import in.xnnyygn.xraft.core.support.TaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Batcher to coalesce commands from clients into one log append and one replication.
+ * <p>
+ * Commands are flushed in task executor. If previous batch contained more than one command, which means
+ * commands arrive concurrently, flush will linger for a while to collect more commands, and the linger grows
+ * up to max linger. If previous batch contained only one command, the linger shrinks to {@code 0},
+ * so latency is not affected at low load. Batch is flushed immediately when count or bytes reaches limit.
+ * </p>
+ */
+@ThreadSafe
+class AppendLogBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppendLogBatcher.class);
+    private static final int MIN_LINGER = 50;
+
+    private final TaskExecutor taskExecutor;
+    private final Scheduler scheduler;
+    private final FutureCallback<Object> callback;
+    private final BiConsumer<List<byte[]>, List<CompletableFuture<AppendLogResult>>> flusher;
+    private final int maxBatchEntries;
+    private final int maxBatchBytes;
+    private final int maxLinger;
+
+    @GuardedBy("this")
+    private final LinkedList<byte[]> pendingCommands = new LinkedList<>();
+    @GuardedBy("this")
+    private final LinkedList<CompletableFuture<AppendLogResult>> pendingFutures = new LinkedList<>();
+    @GuardedBy("this")
+    private int pendingBytes = 0;
+    @GuardedBy("this")
+    private boolean flushScheduled = false;
+    @GuardedBy("this")
+    private boolean lingering = false;
+    @GuardedBy("this")
+    private int linger = 0;
+
+    /**
+     * Create.
+     *
+     * @param taskExecutor    task executor to flush commands
+     * @param scheduler       scheduler to delay flush
+     * @param callback        callback of flush task
+     * @param flusher         flusher of commands and their futures, called in task executor
+     * @param maxBatchEntries max commands in one batch
+     * @param maxBatchBytes   max bytes of commands in one batch
+     * @param maxLinger       max linger in microseconds, {@code 0} to disable linger
+     */
+    AppendLogBatcher(TaskExecutor taskExecutor, Scheduler scheduler, FutureCallback<Object> callback,
+                     BiConsumer<List<byte[]>, List<CompletableFuture<AppendLogResult>>> flusher,
+                     int maxBatchEntries, int maxBatchBytes, int maxLinger) {
+        if (maxBatchEntries <= 0 || maxBatchBytes <= 0 || maxLinger < 0) {
+            throw new IllegalArgumentException("max batch entries <= 0 or max batch bytes <= 0 or max linger < 0");
+        }
+        this.taskExecutor = taskExecutor;
+        this.scheduler = scheduler;
+        this.callback = callback;
+        this.flusher = flusher;
+        this.maxBatchEntries = maxBatchEntries;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxLinger = maxLinger;
+    }
+
+    /**
+     * Add command.
+     *
+     * @param command command
+     * @param future  future of result
+     */
+    void add(byte[] command, CompletableFuture<AppendLogResult> future) {
+        boolean flushNow = false;
+        int delay = 0;
+        synchronized (this) {
+            pendingCommands.add(command);
+            pendingFutures.add(future);
+            pendingBytes += command.length;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                if (linger > 0 && !isBatchFull()) {
+                    lingering = true;
+                    delay = linger;
+                } else {
+                    flushNow = true;
+                }
+            } else if (lingering && isBatchFull()) {
+                // stop lingering, the delayed flush will find nothing or the rest
+                lingering = false;
+                flushNow = true;
+            }
+        }
+        if (flushNow) {
+            taskExecutor.submit(this::flush, callback);
+        } else if (delay > 0) {
+            scheduler.schedule(() -> taskExecutor.submit(this::flush, callback), delay, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private boolean isBatchFull() {
+        return pendingCommands.size() >= maxBatchEntries || pendingBytes >= maxBatchBytes;
+    }
+
+    /**
+     * Flush pending commands, called in task executor.
+     */
+    void flush() {
+        List<byte[]> commands;
+        List<CompletableFuture<AppendLogResult>> futures;
+        boolean hasMore;
+        synchronized (this) {
+            if (pendingCommands.isEmpty()) {
+                return;
+            }
+            commands = new ArrayList<>(Math.min(pendingCommands.size(), maxBatchEntries));
+            futures = new ArrayList<>(Math.min(pendingCommands.size(), maxBatchEntries));
+            int bytes = 0;
+            while (!pendingCommands.isEmpty() && commands.size() < maxBatchEntries && (commands.isEmpty() || bytes < maxBatchBytes)) {
+                byte[] command = pendingCommands.removeFirst();
+                commands.add(command);
+                futures.add(pendingFutures.removeFirst());
+                bytes += command.length;
+            }
+            pendingBytes -= bytes;
+            adaptLinger(commands.size());
+            lingering = false;
+            hasMore = !pendingCommands.isEmpty();
+            flushScheduled = hasMore;
+        }
+        logger.debug("append {} command(s) in batch", commands.size());
+        flusher.accept(commands, futures);
+        if (hasMore) {
+            taskExecutor.submit(this::flush, callback);
+        }
+    }
+
+    @GuardedBy("this")
+    private void adaptLinger(int batchSize) {
+        if (maxLinger == 0) {
+            return;
+        }
+        if (batchSize > 1) {
+            linger = Math.min(maxLinger, Math.max(MIN_LINGER, linger * 2));
+        } else {
+            linger = (linger / 2 < MIN_LINGER) ? 0 : linger / 2;
+        }
+    }
+
+    /**
+     * Get current linger in microseconds.
+     *
+     * @return linger
+     */
+    synchronized int getLinger() {
+        return linger;
+    }
+
+}
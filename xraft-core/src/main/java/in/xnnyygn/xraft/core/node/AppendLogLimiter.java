@@ -0,0 +1,208 @@
+package in.xnnyygn.xraft.core.node;
+
+import in.xnnyygn.xraft.core.schedule.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Admission control of append log requests.
+ * <p>
+ * A request is pending from admission until log applied or request failed. Client cancelling its future
+ * doesn't release the request, since the log is appended anyway.
+ * Request is admitted when count and bytes of pending requests are within limits. Otherwise it is rejected
+ * with {@link AppendLogRejectedException} immediately if wait timeout is {@code 0}, or waits in FIFO order
+ * until pending requests complete, and is rejected if not admitted within wait timeout.
+ * At most max pending entries requests wait at the same time, more are rejected immediately.
+ * </p>
+ * <p>
+ * A request is always admitted when nothing is pending, even if its command exceeds max pending bytes.
+ * </p>
+ */
+@ThreadSafe
+class AppendLogLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppendLogLimiter.class);
+
+    private final Scheduler scheduler;
+    private final int maxPendingEntries;
+    private final int maxPendingBytes;
+    private final int waitTimeout;
+
+    @GuardedBy("this")
+    private int pendingEntries = 0;
+    @GuardedBy("this")
+    private long pendingBytes = 0;
+    @GuardedBy("this")
+    private final LinkedList<Waiter> waiters = new LinkedList<>();
+    @GuardedBy("this")
+    private long rejectedEntries = 0;
+
+    /**
+     * Create.
+     *
+     * @param scheduler         scheduler for timeout of waiting
+     * @param maxPendingEntries max pending requests, {@code 0} to disable
+     * @param maxPendingBytes   max bytes of pending commands, {@code 0} to disable
+     * @param waitTimeout       max time in milliseconds to wait for admission, {@code 0} to reject immediately
+     */
+    AppendLogLimiter(Scheduler scheduler, int maxPendingEntries, int maxPendingBytes, int waitTimeout) {
+        if (maxPendingEntries < 0 || maxPendingBytes < 0 || waitTimeout < 0) {
+            throw new IllegalArgumentException("max pending entries < 0 or max pending bytes < 0 or wait timeout < 0");
+        }
+        this.scheduler = scheduler;
+        this.maxPendingEntries = maxPendingEntries;
+        this.maxPendingBytes = maxPendingBytes;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Admit request.
+     * <p>
+     * Action is run in caller thread if admitted immediately, or in the thread completing previous request
+     * if admitted after waiting. Action is not run if future is completed during waiting, e.g cancelled by client.
+     * </p>
+     * <p>
+     * Action receives future of log applied, which releases the request when completed and completes
+     * future of client.
+     * </p>
+     *
+     * @param bytes  bytes of command
+     * @param future future of client, completes exceptionally if rejected
+     * @param action action to run with future of log applied when admitted
+     */
+    void admit(int bytes, CompletableFuture<AppendLogResult> future, Consumer<CompletableFuture<AppendLogResult>> action) {
+        Waiter waiter;
+        synchronized (this) {
+            if (waiters.isEmpty() && isAdmissible(bytes)) {
+                acquire(bytes);
+                waiter = null;
+            } else if (waitTimeout == 0 || (maxPendingEntries > 0 && waiters.size() >= maxPendingEntries)) {
+                rejectedEntries++;
+                logger.debug("too many pending append log requests, reject");
+                future.completeExceptionally(new AppendLogRejectedException("too many pending append log requests"));
+                return;
+            } else {
+                waiter = new Waiter(bytes, future, action);
+                waiters.add(waiter);
+            }
+        }
+        if (waiter == null) {
+            action.accept(newAppliedFuture(bytes, future));
+        } else {
+            waiter.timeout = scheduler.schedule(() -> expire(waiter), waitTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private CompletableFuture<AppendLogResult> newAppliedFuture(int bytes, CompletableFuture<AppendLogResult> future) {
+        CompletableFuture<AppendLogResult> appliedFuture = new CompletableFuture<>();
+        appliedFuture.whenComplete((result, cause) -> {
+            release(bytes);
+            if (cause != null) {
+                future.completeExceptionally(cause);
+            } else {
+                future.complete(result);
+            }
+        });
+        return appliedFuture;
+    }
+
+    @GuardedBy("this")
+    private boolean isAdmissible(int bytes) {
+        if (pendingEntries == 0) {
+            return true;
+        }
+        return (maxPendingEntries == 0 || pendingEntries < maxPendingEntries) &&
+                (maxPendingBytes == 0 || pendingBytes + bytes <= maxPendingBytes);
+    }
+
+    @GuardedBy("this")
+    private void acquire(int bytes) {
+        pendingEntries++;
+        pendingBytes += bytes;
+    }
+
+    private void release(int bytes) {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            pendingEntries--;
+            pendingBytes -= bytes;
+            while (!waiters.isEmpty()) {
+                Waiter waiter = waiters.getFirst();
+                if (waiter.future.isDone()) {
+                    waiters.removeFirst();
+                    continue;
+                }
+                if (!isAdmissible(waiter.bytes)) {
+                    break;
+                }
+                waiters.removeFirst();
+                acquire(waiter.bytes);
+                admitted.add(waiter);
+            }
+        }
+        for (Waiter waiter : admitted) {
+            waiter.cancelTimeout();
+            CompletableFuture<AppendLogResult> appliedFuture = newAppliedFuture(waiter.bytes, waiter.future);
+            if (waiter.future.isDone()) {
+                // cancelled after admitted, nothing appended
+                appliedFuture.cancel(false);
+            } else {
+                waiter.action.accept(appliedFuture);
+            }
+        }
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (!waiters.remove(waiter)) {
+                return;
+            }
+            rejectedEntries++;
+        }
+        logger.debug("append log request not admitted within {}ms, reject", waitTimeout);
+        waiter.future.completeExceptionally(new AppendLogRejectedException("append log request not admitted within timeout"));
+    }
+
+    /**
+     * Get metrics.
+     *
+     * @return metrics
+     */
+    synchronized AppendLogMetrics getMetrics() {
+        return new AppendLogMetrics(pendingEntries, pendingBytes, waiters.size(), rejectedEntries,
+                maxPendingEntries, maxPendingBytes);
+    }
+
+    private static class Waiter {
+
+        private final int bytes;
+        private final CompletableFuture<AppendLogResult> future;
+        private final Consumer<CompletableFuture<AppendLogResult>> action;
+        private volatile ScheduledFuture<?> timeout;
+
+        Waiter(int bytes, CompletableFuture<AppendLogResult> future, Consumer<CompletableFuture<AppendLogResult>> action) {
+            this.bytes = bytes;
+            this.future = future;
+            this.action = action;
+        }
+
+        void cancelTimeout() {
+            ScheduledFuture<?> timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+
+    }
+
+}
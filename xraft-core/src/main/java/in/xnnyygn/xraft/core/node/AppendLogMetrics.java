@@ -0,0 +1,91 @@
+package in.xnnyygn.xraft.core.node;
+
+/**
+ * Metrics of append log requests, a snapshot at the time of creation.
+ */
+public class AppendLogMetrics {
+
+    private final int pendingEntries;
+    private final long pendingBytes;
+    private final int waitingEntries;
+    private final long rejectedEntries;
+    private final int maxPendingEntries;
+    private final int maxPendingBytes;
+
+    AppendLogMetrics(int pendingEntries, long pendingBytes, int waitingEntries, long rejectedEntries,
+                     int maxPendingEntries, int maxPendingBytes) {
+        this.pendingEntries = pendingEntries;
+        this.pendingBytes = pendingBytes;
+        this.waitingEntries = waitingEntries;
+        this.rejectedEntries = rejectedEntries;
+        this.maxPendingEntries = maxPendingEntries;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * Get count of requests admitted and not applied or failed.
+     *
+     * @return count
+     */
+    public int getPendingEntries() {
+        return pendingEntries;
+    }
+
+    /**
+     * Get bytes of commands admitted and not applied or failed.
+     *
+     * @return bytes
+     */
+    public long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Get count of requests waiting for admission.
+     *
+     * @return count
+     */
+    public int getWaitingEntries() {
+        return waitingEntries;
+    }
+
+    /**
+     * Get total count of requests rejected since node created.
+     *
+     * @return count
+     */
+    public long getRejectedEntries() {
+        return rejectedEntries;
+    }
+
+    /**
+     * Get limit of pending requests.
+     *
+     * @return limit, {@code 0} if not limited
+     */
+    public int getMaxPendingEntries() {
+        return maxPendingEntries;
+    }
+
+    /**
+     * Get limit of pending bytes.
+     *
+     * @return limit, {@code 0} if not limited
+     */
+    public int getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "AppendLogMetrics{" +
+                "pendingEntries=" + pendingEntries +
+                ", pendingBytes=" + pendingBytes +
+                ", waitingEntries=" + waitingEntries +
+                ", rejectedEntries=" + rejectedEntries +
+                ", maxPendingEntries=" + maxPendingEntries +
+                ", maxPendingBytes=" + maxPendingBytes +
+                '}';
+    }
+
+}
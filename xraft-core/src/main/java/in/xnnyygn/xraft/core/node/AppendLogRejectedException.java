@@ -0,0 +1,20 @@
+package in.xnnyygn.xraft.core.node;
+
+/**
+ * Thrown when append log request is rejected since too many requests are in flight.
+ * <p>
+ * Client should back off and retry later.
+ * </p>
+ */
+public class AppendLogRejectedException extends RuntimeException {
+
+    /**
+     * Create.
+     *
+     * @param message message
+     */
+    public AppendLogRejectedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,51 @@
+package in.xnnyygn.xraft.core.node;
+
+import javax.annotation.Nullable;
+
+/**
+ * Result of append log, available after log committed and applied.
+ */
+public class AppendLogResult {
+
+    private final int index;
+    private final Object result;
+
+    /**
+     * Create.
+     *
+     * @param index  index of log
+     * @param result result of command returned by state machine, may be {@code null}
+     */
+    public AppendLogResult(int index, @Nullable Object result) {
+        this.index = index;
+        this.result = result;
+    }
+
+    /**
+     * Get index of log.
+     *
+     * @return index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get result of command returned by state machine.
+     *
+     * @return result, may be {@code null}
+     */
+    @Nullable
+    public Object getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AppendLogResult{" +
+                "index=" + index +
+                ", result=" + result +
+                '}';
+    }
+
+}
@@ -0,0 +1,91 @@
+package in.xnnyygn.xraft.core.node;
+
+import in.xnnyygn.xraft.core.log.statemachine.AppliedListener;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Tracker of append log requests on leader.
+ * <p>
+ * Requests are added by index of log in node thread, and completed in apply thread of state machine
+ * after log applied. Requests of logs up to last applied index without result reported complete with
+ * {@code null} result, so state machine not reporting results doesn't block callers.
+ * </p>
+ * <p>
+ * All requests fail when leader steps down, since logs appended by this node may be
+ * overwritten by new leader.
+ * </p>
+ */
+@ThreadSafe
+class AppendLogTracker implements AppliedListener {
+
+    private final ConcurrentNavigableMap<Integer, CompletableFuture<AppendLogResult>> futures = new ConcurrentSkipListMap<>();
+
+    /**
+     * Add request.
+     *
+     * @param index  index of log
+     * @param future future of result
+     */
+    void add(int index, CompletableFuture<AppendLogResult> future) {
+        futures.put(index, future);
+    }
+
+    /**
+     * Complete request of log, if any.
+     *
+     * @param index  index of log
+     * @param result result of command
+     */
+    @Override
+    public void applied(int index, @Nullable Object result) {
+        CompletableFuture<AppendLogResult> future = futures.remove(index);
+        if (future != null) {
+            future.complete(new AppendLogResult(index, result));
+        }
+    }
+
+    /**
+     * Complete requests of logs up to last applied index with {@code null} result.
+     *
+     * @param lastApplied last applied index
+     */
+    @Override
+    public void appliedUpTo(int lastApplied) {
+        Map.Entry<Integer, CompletableFuture<AppendLogResult>> entry;
+        while ((entry = futures.firstEntry()) != null && entry.getKey() <= lastApplied) {
+            if (futures.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().complete(new AppendLogResult(entry.getKey(), null));
+            }
+        }
+    }
+
+    /**
+     * Fail all requests, e.g when leader steps down.
+     *
+     * @param cause cause
+     */
+    void failAll(Throwable cause) {
+        for (Integer index : futures.keySet()) {
+            CompletableFuture<AppendLogResult> future = futures.remove(index);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Get count of requests in progress.
+     *
+     * @return count
+     */
+    int size() {
+        return futures.size();
+    }
+
+}
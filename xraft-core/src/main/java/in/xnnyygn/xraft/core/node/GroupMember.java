@@ -13,7 +13,7 @@ class GroupMember {
     private boolean removing = false;
 
     GroupMember(NodeEndpoint endpoint) {
-        this(endpoint, null, true);
+        this(endpoint, null, !endpoint.isLearner());
     }
 
     GroupMember(NodeEndpoint endpoint, ReplicatingState replicatingState, boolean major) {
@@ -57,6 +57,16 @@ class GroupMember {
         this.major = major;
     }
 
+    /**
+     * Check if learner, which is replicated to but not major.
+     *
+     * @return true if learner, otherwise false
+     * @see NodeEndpoint#isLearner()
+     */
+    boolean isLearner() {
+        return endpoint.isLearner();
+    }
+
     boolean isRemoving() {
         return removing;
     }
@@ -77,8 +87,12 @@ class GroupMember {
         return ensureReplicatingState().advance(lastEntryIndex);
     }
 
-    boolean backOffNextIndex() {
-        return ensureReplicatingState().backOffNextIndex();
+    boolean backOffNextIndex(int nextIndexHint) {
+        return ensureReplicatingState().backOffNextIndex(nextIndexHint);
+    }
+
+    void advanceNextIndexOptimistically(int lastEntryIndex) {
+        ensureReplicatingState().advanceOptimistically(lastEntryIndex);
     }
 
     void replicateNow() {
@@ -87,16 +101,55 @@ class GroupMember {
 
     void replicateAt(long replicatedAt) {
         ReplicatingState replicatingState = ensureReplicatingState();
-        replicatingState.setReplicating(true);
+        replicatingState.increaseInflight();
         replicatingState.setLastReplicatedAt(replicatedAt);
     }
 
+    void setCommitIndexSent(int commitIndexSent) {
+        ensureReplicatingState().setCommitIndexSent(commitIndexSent);
+    }
+
+    int getReadIndexRoundSent() {
+        return ensureReplicatingState().getReadIndexRoundSent();
+    }
+
+    void setReadIndexRoundSent(int readIndexRoundSent) {
+        ensureReplicatingState().setReadIndexRoundSent(readIndexRoundSent);
+    }
+
+    int getReadIndexRoundAcked() {
+        return ensureReplicatingState().getReadIndexRoundAcked();
+    }
+
+    boolean ackReadIndexRound(int readIndexRound) {
+        return ensureReplicatingState().ackReadIndexRound(readIndexRound);
+    }
+
+    long getAckedRpcSentAt() {
+        return ensureReplicatingState().getAckedRpcSentAt();
+    }
+
+    void ackRpcSentAt(long sentAt) {
+        ensureReplicatingState().ackRpcSentAt(sentAt);
+    }
+
     boolean isReplicating() {
         return ensureReplicatingState().isReplicating();
     }
 
     void stopReplicating() {
-        ensureReplicatingState().setReplicating(false);
+        ensureReplicatingState().stopReplicating();
+    }
+
+    void stopPipelining() {
+        ensureReplicatingState().setPipelining(false);
+    }
+
+    /**
+     * Reset replicating state to probing when no response within read timeout.
+     */
+    void resetReplicating() {
+        ensureReplicatingState().reset();
     }
 
     /**
@@ -118,6 +171,45 @@ class GroupMember {
                 System.currentTimeMillis() - replicatingState.getLastReplicatedAt() >= readTimeout;
     }
 
+    /**
+     * Test if entries or commit index not sent to member exist.
+     *
+     * @param nextLogIndex next index of log
+     * @param commitIndex  commit index of log
+     * @return true if exist, otherwise false
+     */
+    boolean hasEntriesOrCommitIndexToSend(int nextLogIndex, int commitIndex) {
+        ReplicatingState replicatingState = ensureReplicatingState();
+        return replicatingState.getNextIndex() < nextLogIndex || replicatingState.getCommitIndexSent() < commitIndex;
+    }
+
+    /**
+     * Test if nothing was sent to member within specified timeout.
+     *
+     * @param idleTimeout idle timeout
+     * @return true if idle, otherwise false
+     */
+    boolean isIdle(long idleTimeout) {
+        return System.currentTimeMillis() - ensureReplicatingState().getLastReplicatedAt() >= idleTimeout;
+    }
+
+    /**
+     * Test if should send another append entries rpc before results of rpc in flight.
+     * <p>
+     * Return true if pipelining, entries not sent exist and window not full.
+     * </p>
+     *
+     * @param nextLogIndex next index of log
+     * @param maxInflight  max rpc in flight
+     * @return true if should, otherwise false
+     */
+    boolean shouldPipeline(int nextLogIndex, int maxInflight) {
+        ReplicatingState replicatingState = ensureReplicatingState();
+        return replicatingState.isPipelining() &&
+                replicatingState.getNextIndex() < nextLogIndex &&
+                replicatingState.getInflight() < maxInflight;
+    }
+
     @Override
     public String toString() {
         return "GroupMember{" +
@@ -0,0 +1,67 @@
+package in.xnnyygn.xraft.core.node;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Leadership transfer in progress on leader, accessed in node thread only.
+ * <p>
+ * Leader rejects new commands during transfer, replicates log to target, and sends timeout now rpc
+ * when target caught up. Transfer is done when leader steps down, or aborted after timeout.
+ * </p>
+ */
+@NotThreadSafe
+class LeadershipTransfer {
+
+    private final NodeId targetId;
+    private final CompletableFuture<Void> future;
+    private ScheduledFuture<?> timeout;
+    private boolean timeoutNowSent = false;
+
+    LeadershipTransfer(NodeId targetId, CompletableFuture<Void> future) {
+        this.targetId = targetId;
+        this.future = future;
+    }
+
+    NodeId getTargetId() {
+        return targetId;
+    }
+
+    void setTimeout(ScheduledFuture<?> timeout) {
+        this.timeout = timeout;
+    }
+
+    boolean isTimeoutNowSent() {
+        return timeoutNowSent;
+    }
+
+    void setTimeoutNowSent() {
+        this.timeoutNowSent = true;
+    }
+
+    void complete() {
+        cancelTimeout();
+        future.complete(null);
+    }
+
+    void fail(Throwable cause) {
+        cancelTimeout();
+        future.completeExceptionally(cause);
+    }
+
+    private void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LeadershipTransfer{" +
+                "targetId=" + targetId +
+                ", timeoutNowSent=" + timeoutNowSent +
+                '}';
+    }
+
+}
@@ -0,0 +1,144 @@
+package in.xnnyygn.xraft.core.node;
+
+import com.google.common.base.Preconditions;
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
+import in.xnnyygn.xraft.core.rpc.nio.NioTransport;
+import in.xnnyygn.xraft.core.schedule.DefaultScheduler;
+import in.xnnyygn.xraft.core.schedule.HashedWheelScheduler;
+import in.xnnyygn.xraft.core.schedule.HashedWheelTimer;
+import in.xnnyygn.xraft.core.support.ListeningTaskExecutor;
+import in.xnnyygn.xraft.core.support.SharedTaskExecutor;
+import in.xnnyygn.xraft.core.support.TaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime to host many raft groups in one process.
+ * <p>
+ * Groups share one transport, one scheduler thread and a bounded pool of node threads. Each group is bound
+ * to one node thread by group id, so tasks of a group are still executed in order. Log, store, message handler
+ * and role state are per group. This node has the same node id and endpoint in all groups.
+ * </p>
+ * <p>
+ * Usage: create runtime, start it, build and start nodes by {@link #newNodeBuilder(String, Collection)},
+ * stop nodes, then stop runtime.
+ * </p>
+ */
+@ThreadSafe
+public class MultiRaftRuntime {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiRaftRuntime.class);
+    private final NodeId selfId;
+    private final NodeConfig config;
+    private final NioTransport transport;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final HashedWheelTimer timer;
+    private final ExecutorService monitorExecutorService;
+    private final List<TaskExecutor> nodeTaskExecutors;
+    private final TaskExecutor groupConfigChangeTaskExecutor;
+    @GuardedBy("this")
+    private boolean started = false;
+
+    /**
+     * Create.
+     *
+     * @param selfEndpoint endpoint of this node in all groups
+     * @param config       config, used by transport, scheduler and node threads, and as default config of groups
+     */
+    public MultiRaftRuntime(@Nonnull NodeEndpoint selfEndpoint, @Nonnull NodeConfig config) {
+        Preconditions.checkNotNull(selfEndpoint);
+        Preconditions.checkNotNull(config);
+        if (config.getSharedNodeThreads() <= 0 || config.getSharedGroupConfigChangeThreads() <= 0) {
+            throw new IllegalArgumentException("shared node threads <= 0 or shared group config change threads <= 0");
+        }
+        this.selfId = selfEndpoint.getId();
+        this.config = config;
+        this.transport = new NioTransport(selfId, selfEndpoint.getPort(), config.getNioWorkerThreads());
+        // scheduled executor service is used by schedulers of groups for delays shorter than one tick if timer enabled
+        this.timer = config.getSchedulerTickDuration() > 0 ? HashedWheelScheduler.createTimer(config) : null;
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduler"));
+        this.monitorExecutorService = Executors.newSingleThreadExecutor(r -> new Thread(r, "monitor"));
+        this.nodeTaskExecutors = new ArrayList<>(config.getSharedNodeThreads());
+        for (int i = 0; i < config.getSharedNodeThreads(); i++) {
+            String threadName = "node-" + i;
+            nodeTaskExecutors.add(new ListeningTaskExecutor(
+                    Executors.newSingleThreadExecutor(r -> new Thread(r, threadName)), monitorExecutorService));
+        }
+        // tasks of group config change wait for new node to catch up, run tasks of groups in parallel up to bound
+        int groupConfigChangeThreads = config.getSharedGroupConfigChangeThreads();
+        ThreadPoolExecutor groupConfigChangeExecutorService = new ThreadPoolExecutor(
+                groupConfigChangeThreads, groupConfigChangeThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> new Thread(r, "group-config-change"));
+        groupConfigChangeExecutorService.allowCoreThreadTimeOut(true);
+        this.groupConfigChangeTaskExecutor = new ListeningTaskExecutor(groupConfigChangeExecutorService, monitorExecutorService);
+    }
+
+    /**
+     * Start runtime, listen on port of self endpoint.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        transport.initialize();
+        started = true;
+    }
+
+    /**
+     * Create builder for node of group.
+     * <p>
+     * Node built receives messages of group after started, and should be stopped before runtime.
+     * </p>
+     *
+     * @param groupId   group id, unique in runtime
+     * @param endpoints endpoints of group, including self
+     * @return builder
+     */
+    @Nonnull
+    public NodeBuilder newNodeBuilder(@Nonnull String groupId, @Nonnull Collection<NodeEndpoint> endpoints) {
+        Preconditions.checkNotNull(groupId);
+        Preconditions.checkNotNull(endpoints);
+        return new NodeBuilder(endpoints, selfId)
+                .setConfig(config)
+                .setConnector(transport.createConnector(groupId))
+                .setScheduler(timer != null ? new HashedWheelScheduler(config, timer, scheduledExecutorService) : new DefaultScheduler(config, scheduledExecutorService))
+                .setTaskExecutor(new SharedTaskExecutor(nodeTaskExecutors.get(Math.floorMod(groupId.hashCode(), nodeTaskExecutors.size()))))
+                .setGroupConfigChangeTaskExecutor(new SharedTaskExecutor(groupConfigChangeTaskExecutor));
+    }
+
+    /**
+     * Stop runtime.
+     *
+     * @throws InterruptedException if interrupted
+     */
+    public synchronized void stop() throws InterruptedException {
+        logger.debug("stop multi raft runtime");
+        transport.close();
+        if (timer != null) {
+            timer.stop();
+        }
+        scheduledExecutorService.shutdown();
+        scheduledExecutorService.awaitTermination(1, TimeUnit.SECONDS);
+        for (TaskExecutor taskExecutor : nodeTaskExecutors) {
+            taskExecutor.shutdown();
+        }
+        groupConfigChangeTaskExecutor.shutdown();
+        monitorExecutorService.shutdown();
+        monitorExecutorService.awaitTermination(1, TimeUnit.SECONDS);
+        started = false;
+    }
+
+}
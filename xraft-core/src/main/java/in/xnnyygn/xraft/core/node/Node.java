@@ -5,6 +5,7 @@ import in.xnnyygn.xraft.core.node.role.RoleNameAndLeaderId;
 import in.xnnyygn.xraft.core.node.task.GroupConfigChangeTaskReference;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Node.
@@ -49,19 +50,81 @@ public interface Node {
 
     /**
      * Append log.
+     * <p>
+     * Future completes with index of log and result of command returned by state machine, after log committed
+     * and applied, in the thread of state machine. Future fails with {@link NotLeaderException} if this node
+     * steps down before log applied, the log may be overwritten by new leader or committed anyway.
+     * </p>
+     * <p>
+     * Requests in flight are limited by count and bytes, see {@link #getAppendLogMetrics()}. When limits reached,
+     * future fails with {@link AppendLogRejectedException} immediately, or after waiting for admission
+     * if pending append timeout is set in config.
+     * </p>
      *
      * @param commandBytes command bytes
+     * @return future of result
      * @throws NotLeaderException if not leader
      */
-    void appendLog(@Nonnull byte[] commandBytes);
+    @Nonnull
+    CompletableFuture<AppendLogResult> appendLog(@Nonnull byte[] commandBytes);
+
+    /**
+     * Get metrics of append log requests, e.g requests in flight and rejected, and their limits.
+     *
+     * @return metrics
+     */
+    @Nonnull
+    AppendLogMetrics getAppendLogMetrics();
+
+    /**
+     * Get read index for linearizable read.
+     * <p>
+     * On leader, future completes with read index after this node confirmed its leadership with major nodes
+     * and state machine applied log up to read index, in the thread of state machine.
+     * Concurrent requests are confirmed in one round of append entries rpc, no log is appended.
+     * On follower, read index is fetched from leader, and future completes after state machine of this node
+     * applied log up to it, so reads can be served by any node.
+     * Future fails with {@link NotLeaderException} if leader changed.
+     * </p>
+     *
+     * @return future of read index
+     * @throws NotLeaderException if neither leader nor follower with known leader
+     */
+    @Nonnull
+    CompletableFuture<Integer> readIndex();
+
+    /**
+     * Transfer leadership to target node.
+     * <p>
+     * Leader rejects new commands with {@link NotLeaderException} redirecting to target during transfer,
+     * replicates log to target, and lets target start election immediately when it caught up.
+     * Future completes when this node stepped down, or fails with {@link java.util.concurrent.TimeoutException}
+     * if not done within min election timeout, and leader accepts commands again.
+     * </p>
+     *
+     * @param targetId target node id, must be major node
+     * @return future of transfer
+     * @throws NotLeaderException       if not leader
+     * @throws IllegalArgumentException if target is self
+     */
+    @Nonnull
+    CompletableFuture<Void> transferLeadership(@Nonnull NodeId targetId);
 
     /**
      * Add node.
+     * <p>
+     * If endpoint is learner, see {@link NodeEndpoint#isLearner()}, node is added as learner, which is replicated to
+     * and serves reads, but never votes and is not counted in major nodes.
+     * </p>
+     * <p>
+     * Return immediately. New node catches up in background, and group config change is proposed after
+     * new node caught up, queued behind group config change in progress if any.
+     * </p>
      *
      * @param endpoint new node endpoint
      * @return task reference
      * @throws NotLeaderException if not leader
-     * @throws IllegalStateException if group config change concurrently
+     * @throws IllegalArgumentException if endpoint is self or node is adding
      */
     @Nonnull
     GroupConfigChangeTaskReference addNode(@Nonnull NodeEndpoint endpoint);
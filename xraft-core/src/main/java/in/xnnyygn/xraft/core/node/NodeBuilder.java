@@ -1,10 +1,11 @@
 package in.xnnyygn.xraft.core.node;
 
 import com.google.common.base.Preconditions;
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.log.FileLog;
 import in.xnnyygn.xraft.core.log.Log;
 import in.xnnyygn.xraft.core.log.MemoryLog;
+import in.xnnyygn.xraft.core.log.snapshot.DefaultSnapshotPolicy;
+import in.xnnyygn.xraft.core.log.snapshot.SnapshotCodec;
 import in.xnnyygn.xraft.core.node.config.NodeConfig;
 import in.xnnyygn.xraft.core.node.store.FileNodeStore;
 import in.xnnyygn.xraft.core.node.store.MemoryNodeStore;
@@ -12,10 +13,15 @@ import in.xnnyygn.xraft.core.node.store.NodeStore;
 import in.xnnyygn.xraft.core.rpc.Connector;
 import in.xnnyygn.xraft.core.rpc.nio.NioConnector;
 import in.xnnyygn.xraft.core.schedule.DefaultScheduler;
+import in.xnnyygn.xraft.core.schedule.HashedWheelScheduler;
 import in.xnnyygn.xraft.core.schedule.Scheduler;
+import in.xnnyygn.xraft.core.support.EventLoopTaskExecutor;
 import in.xnnyygn.xraft.core.support.ListeningTaskExecutor;
 import in.xnnyygn.xraft.core.support.TaskExecutor;
+import io.netty.channel.EventLoop;
 import io.netty.channel.nio.NioEventLoopGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -29,6 +35,8 @@ import java.util.concurrent.Executors;
  */
 public class NodeBuilder {
 
+    private static final Logger logger = LoggerFactory.getLogger(NodeBuilder.class);
+
     /**
      * Group.
      */
@@ -39,11 +47,6 @@ public class NodeBuilder {
      */
     private final NodeId selfId;
 
-    /**
-     * Event bus, INTERNAL.
-     */
-    private final EventBus eventBus;
-
     /**
      * Node configuration.
      */
@@ -55,11 +58,11 @@ public class NodeBuilder {
     private boolean standby = false;
 
     /**
-     * Log.
-     * If data directory specified, {@link FileLog} will be created.
+     * Data directory for log.
+     * If data directory specified, {@link FileLog} will be created with configuration.
      * Default to {@link MemoryLog}.
      */
-    private Log log = null;
+    private File dataDir = null;
 
     /**
      * Store for current term and last node id voted for.
@@ -105,7 +108,6 @@ public class NodeBuilder {
         Preconditions.checkNotNull(selfId);
         this.group = new NodeGroup(endpoints, selfId);
         this.selfId = selfId;
-        this.eventBus = new EventBus(selfId.getValue());
     }
 
     /**
@@ -120,7 +122,6 @@ public class NodeBuilder {
         Preconditions.checkNotNull(group);
         this.selfId = selfId;
         this.group = group;
-        this.eventBus = new EventBus(selfId.getValue());
     }
 
     /**
@@ -233,7 +234,7 @@ public class NodeBuilder {
         if (!dataDir.isDirectory() || !dataDir.exists()) {
             throw new IllegalArgumentException("[" + dataDirPath + "] not a directory, or not exists");
         }
-        log = new FileLog(dataDir, eventBus);
+        this.dataDir = dataDir;
         store = new FileNodeStore(new File(dataDir, FileNodeStore.FILE_NAME));
         return this;
     }
@@ -252,28 +253,96 @@ public class NodeBuilder {
      * Build context for node.
      *
      * @return node context
+     * @throws IllegalArgumentException if max inflight append entries exceeds rpc tracked by nio connector
      */
     @Nonnull
     private NodeContext buildContext() {
+        if (config.getMaxInflightAppendEntries() > NioConnector.MAX_PENDING_APPEND_ENTRIES_RPC) {
+            throw new IllegalArgumentException("max inflight append entries should not exceed " +
+                    NioConnector.MAX_PENDING_APPEND_ENTRIES_RPC + ", but " + config.getMaxInflightAppendEntries());
+        }
         NodeContext context = new NodeContext();
         context.setGroup(group);
         context.setMode(evaluateMode());
-        context.setLog(log != null ? log : new MemoryLog(eventBus));
+        context.setLog(buildLog());
         context.setStore(store != null ? store : new MemoryNodeStore());
         context.setSelfId(selfId);
         context.setConfig(config);
-        context.setEventBus(eventBus);
-        context.setScheduler(scheduler != null ? scheduler : new DefaultScheduler(config));
-        context.setConnector(connector != null ? connector : createNioConnector());
-        context.setTaskExecutor(taskExecutor != null ? taskExecutor : new ListeningTaskExecutor(
-                Executors.newSingleThreadExecutor(r -> new Thread(r, "node"))
-        ));
+        if (config.isEventLoopMode()) {
+            setUpEventLoop(context);
+        } else {
+            context.setScheduler(scheduler != null ? scheduler : createScheduler());
+            context.setConnector(connector != null ? connector : createNioConnector());
+            context.setTaskExecutor(taskExecutor != null ? taskExecutor : new ListeningTaskExecutor(
+                    Executors.newSingleThreadExecutor(r -> new Thread(r, "node"))
+            ));
+        }
         // TODO share monitor
         context.setGroupConfigChangeTaskExecutor(groupConfigChangeTaskExecutor != null ? groupConfigChangeTaskExecutor :
                 new ListeningTaskExecutor(Executors.newSingleThreadExecutor(r -> new Thread(r, "group-config-change"))));
         return context;
     }
 
+    /**
+     * Build log with snapshot policy.
+     *
+     * @return log
+     */
+    @Nonnull
+    private Log buildLog() {
+        Log log = dataDir != null ?
+                new FileLog(dataDir, SnapshotCodec.of(config.getSnapshotCodec())) : new MemoryLog();
+        log.setSnapshotPolicy(new DefaultSnapshotPolicy(config));
+        return log;
+    }
+
+    /**
+     * Set up scheduler, connector and task executor running in one event loop.
+     * <p>
+     * Component specified by builder is used as is. Worker group specified must have only one thread,
+     * otherwise channels may be bound to other loops of group. Count of nio worker threads and scheduler tick duration
+     * in config are ignored.
+     * </p>
+     *
+     * @param context context
+     * @throws IllegalArgumentException if worker group specified has more than one thread
+     */
+    private void setUpEventLoop(NodeContext context) {
+        if (workerNioEventLoopGroup != null && workerNioEventLoopGroup.executorCount() > 1) {
+            throw new IllegalArgumentException("worker event loop group should have only one thread in event loop mode, but " +
+                    workerNioEventLoopGroup.executorCount());
+        }
+        if (config.getNioWorkerThreads() > 0) {
+            logger.warn("nio worker threads {} is ignored in event loop mode", config.getNioWorkerThreads());
+        }
+        if (scheduler == null && config.getSchedulerTickDuration() > 0) {
+            logger.warn("scheduler tick duration {} is ignored in event loop mode", config.getSchedulerTickDuration());
+        }
+        NioEventLoopGroup eventLoopGroup = workerNioEventLoopGroup != null ? workerNioEventLoopGroup : new NioEventLoopGroup(1);
+        EventLoop eventLoop = eventLoopGroup.next();
+        context.setScheduler(scheduler != null ? scheduler : new DefaultScheduler(config, eventLoop));
+        if (connector != null) {
+            context.setConnector(connector);
+        } else {
+            int port = group.findSelf().getEndpoint().getPort();
+            context.setConnector(new NioConnector(eventLoopGroup, workerNioEventLoopGroup != null, selfId, port));
+        }
+        context.setTaskExecutor(taskExecutor != null ? taskExecutor : new EventLoopTaskExecutor(eventLoop));
+    }
+
+    /**
+     * Create scheduler.
+     *
+     * @return scheduler
+     */
+    @Nonnull
+    private Scheduler createScheduler() {
+        if (config.getSchedulerTickDuration() > 0) {
+            return new HashedWheelScheduler(config);
+        }
+        return new DefaultScheduler(config);
+    }
+
     /**
      * Create nio connector.
      *
@@ -283,9 +352,9 @@ public class NodeBuilder {
     private NioConnector createNioConnector() {
         int port = group.findSelf().getEndpoint().getPort();
         if (workerNioEventLoopGroup != null) {
-            return new NioConnector(workerNioEventLoopGroup, selfId, eventBus, port);
+            return new NioConnector(workerNioEventLoopGroup, selfId, port);
         }
-        return new NioConnector(new NioEventLoopGroup(config.getNioWorkerThreads()), false, selfId, eventBus, port);
+        return new NioConnector(new NioEventLoopGroup(config.getNioWorkerThreads()), false, selfId, port);
     }
 
     /**
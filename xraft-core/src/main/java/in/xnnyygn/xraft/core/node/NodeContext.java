@@ -1,6 +1,5 @@
 package in.xnnyygn.xraft.core.node;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.log.Log;
 import in.xnnyygn.xraft.core.node.config.NodeConfig;
 import in.xnnyygn.xraft.core.node.store.NodeStore;
@@ -24,7 +23,6 @@ public class NodeContext {
     private Scheduler scheduler;
     private NodeMode mode;
     private NodeConfig config;
-    private EventBus eventBus;
     private TaskExecutor taskExecutor;
     private TaskExecutor groupConfigChangeTaskExecutor;
 
@@ -92,14 +90,6 @@ public class NodeContext {
         this.config = config;
     }
 
-    public EventBus eventBus() {
-        return eventBus;
-    }
-
-    public void setEventBus(EventBus eventBus) {
-        this.eventBus = eventBus;
-    }
-
     public TaskExecutor taskExecutor() {
         return taskExecutor;
     }
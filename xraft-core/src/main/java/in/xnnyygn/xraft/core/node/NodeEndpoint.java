@@ -15,6 +15,7 @@ public class NodeEndpoint {
 
     private final NodeId id;
     private final Address address;
+    private final boolean learner;
 
     /**
      * Create.
@@ -27,6 +28,18 @@ public class NodeEndpoint {
         this(new NodeId(id), new Address(host, port));
     }
 
+    /**
+     * Create.
+     *
+     * @param id      node id
+     * @param host    host
+     * @param port    port
+     * @param learner learner or not
+     */
+    public NodeEndpoint(@Nonnull String id, @Nonnull String host, int port, boolean learner) {
+        this(new NodeId(id), new Address(host, port), learner);
+    }
+
     /**
      * Create.
      *
@@ -34,10 +47,22 @@ public class NodeEndpoint {
      * @param address address
      */
     public NodeEndpoint(@Nonnull NodeId id, @Nonnull Address address) {
+        this(id, address, false);
+    }
+
+    /**
+     * Create.
+     *
+     * @param id      id
+     * @param address address
+     * @param learner learner or not
+     */
+    public NodeEndpoint(@Nonnull NodeId id, @Nonnull Address address, boolean learner) {
         Preconditions.checkNotNull(id);
         Preconditions.checkNotNull(address);
         this.id = id;
         this.address = address;
+        this.learner = learner;
     }
 
     /**
@@ -79,6 +104,18 @@ public class NodeEndpoint {
         return this.address;
     }
 
+    /**
+     * Check if learner.
+     * <p>
+     * Learner is replicated to, but never votes or counts in major, so it does not affect quorum of writes.
+     * </p>
+     *
+     * @return true if learner, otherwise false
+     */
+    public boolean isLearner() {
+        return learner;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -94,7 +131,7 @@ public class NodeEndpoint {
 
     @Override
     public String toString() {
-        return "NodeEndpoint{id=" + id + ", address=" + address + '}';
+        return "NodeEndpoint{id=" + id + ", address=" + address + (learner ? ", learner" : "") + '}';
     }
 
 }
@@ -190,6 +190,53 @@ class NodeGroup {
         return matchIndices.get(count / 2).getMatchIndex();
     }
 
+    /**
+     * Test if read index round is acknowledged by major nodes.
+     * <p>
+     * Self is treated as acknowledged.
+     * </p>
+     *
+     * @param round read index round
+     * @return true if acknowledged, otherwise false
+     */
+    boolean isReadIndexRoundAckedByMajor(int round) {
+        int count = 0;
+        int acked = 0;
+        for (GroupMember member : memberMap.values()) {
+            if (!member.isMajor()) {
+                continue;
+            }
+            count++;
+            if (member.idEquals(selfId) || member.getReadIndexRoundAcked() >= round) {
+                acked++;
+            }
+        }
+        return acked > count / 2;
+    }
+
+    /**
+     * Get start of lease acknowledged by major nodes.
+     * <p>
+     * It is the latest timestamp that major nodes acknowledged rpc sent at or after it, self is treated as acknowledged now.
+     * </p>
+     *
+     * @param now current timestamp
+     * @return start of lease, {@code 0} if not acknowledged by major nodes
+     */
+    long getLeaseStartOfMajor(long now) {
+        List<Long> sentAts = new ArrayList<>();
+        for (GroupMember member : memberMap.values()) {
+            if (member.isMajor()) {
+                sentAts.add(member.idEquals(selfId) ? now : member.getAckedRpcSentAt());
+            }
+        }
+        if (sentAts.isEmpty()) {
+            return 0;
+        }
+        sentAts.sort(Collections.reverseOrder());
+        return sentAts.get(sentAts.size() / 2);
+    }
+
     /**
      * List replication target.
      * <p>Self is not replication target.</p>
@@ -200,6 +247,32 @@ class NodeGroup {
         return memberMap.values().stream().filter(m -> !m.idEquals(selfId)).collect(Collectors.toList());
     }
 
+    /**
+     * Find follower to transfer snapshot to target node.
+     * <p>
+     * The follower should be major and not removing, and its match index should be
+     * larger than or equal to specified index. Follower with the largest match index is preferred.
+     * </p>
+     *
+     * @param targetId      target node id
+     * @param minMatchIndex min match index
+     * @return follower, {@code null} if not found
+     */
+    @Nullable
+    GroupMember findSnapshotSource(NodeId targetId, int minMatchIndex) {
+        GroupMember source = null;
+        for (GroupMember member : listReplicationTarget()) {
+            if (!member.isMajor() || member.isRemoving() || member.idEquals(targetId) ||
+                    member.getMatchIndex() < minMatchIndex) {
+                continue;
+            }
+            if (source == null || member.getMatchIndex() > source.getMatchIndex()) {
+                source = member;
+            }
+        }
+        return source;
+    }
+
     /**
      * Add member to group.
      *
@@ -228,6 +301,21 @@ class NodeGroup {
         logger.info("group change changed -> {}", memberMap.keySet());
     }
 
+    /**
+     * List endpoint of members in group config, major members and learners not removing.
+     *
+     * @return endpoints
+     */
+    Set<NodeEndpoint> listEndpointOfMember() {
+        Set<NodeEndpoint> endpoints = new HashSet<>();
+        for (GroupMember member : memberMap.values()) {
+            if (member.isMajor() || (member.isLearner() && !member.isRemoving())) {
+                endpoints.add(member.getEndpoint());
+            }
+        }
+        return endpoints;
+    }
+
     /**
      * List endpoint of major members.
      *
@@ -259,12 +347,14 @@ class NodeGroup {
     }
 
     /**
-     * Check if member is unique one in group, in other word, check if standalone mode.
+     * Check if self is unique major member in group and others are learners, in other word, check if standalone mode.
      *
-     * @return true if only one member and the id of member equals to specified id, otherwise false
+     * @return true if self is major and other members are learners, otherwise false
      */
     boolean isStandalone() {
-        return memberMap.size() == 1 && memberMap.containsKey(selfId);
+        GroupMember self = memberMap.get(selfId);
+        return self != null && self.isMajor() &&
+                memberMap.values().stream().allMatch(m -> m.idEquals(selfId) || m.isLearner());
     }
 
     /**
@@ -1,11 +1,11 @@
 package in.xnnyygn.xraft.core.node;
 
 import com.google.common.base.Preconditions;
-import com.google.common.eventbus.DeadEvent;
-import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.FutureCallback;
+import in.xnnyygn.xraft.core.log.ConflictHint;
 import in.xnnyygn.xraft.core.log.InstallSnapshotState;
 import in.xnnyygn.xraft.core.log.entry.Entry;
+import in.xnnyygn.xraft.core.log.entry.GeneralEntry;
 import in.xnnyygn.xraft.core.log.entry.RemoveNodeEntry;
 import in.xnnyygn.xraft.core.log.statemachine.StateMachine;
 import in.xnnyygn.xraft.core.log.entry.EntryMeta;
@@ -13,11 +13,14 @@ import in.xnnyygn.xraft.core.log.entry.GroupConfigEntry;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryBatchRemovedEvent;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryCommittedEvent;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryFromLeaderAppendEvent;
+import in.xnnyygn.xraft.core.log.event.LogEventListener;
 import in.xnnyygn.xraft.core.log.event.SnapshotGenerateEvent;
 import in.xnnyygn.xraft.core.log.snapshot.EntryInSnapshotException;
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
 import in.xnnyygn.xraft.core.node.role.*;
 import in.xnnyygn.xraft.core.node.store.NodeStore;
 import in.xnnyygn.xraft.core.node.task.*;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
 import in.xnnyygn.xraft.core.rpc.message.*;
 import in.xnnyygn.xraft.core.schedule.ElectionTimeout;
 import in.xnnyygn.xraft.core.schedule.LogReplicationTask;
@@ -28,11 +31,18 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -41,7 +51,7 @@ import java.util.concurrent.TimeoutException;
  * @see NodeContext
  */
 @ThreadSafe
-public class NodeImpl implements Node {
+public class NodeImpl implements Node, MessageHandler, LogEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(NodeImpl.class);
 
@@ -68,6 +78,30 @@ public class NodeImpl implements Node {
     private final NewNodeCatchUpTaskGroup newNodeCatchUpTaskGroup = new NewNodeCatchUpTaskGroup();
     private final GroupConfigChangeTaskContext groupConfigChangeTaskContext = new GroupConfigChangeTaskContextImpl();
     private volatile GroupConfigChangeTaskHolder groupConfigChangeTaskHolder = new GroupConfigChangeTaskHolder();
+    @GuardedBy("this")
+    private final LinkedList<PendingGroupConfigChange> pendingGroupConfigChanges = new LinkedList<>();
+
+    // snapshot transfers directed by leader, by target node id, accessed in node thread only
+    private final Map<NodeId, SnapshotTransfer> snapshotTransfers = new HashMap<>();
+
+    // start time of snapshot transfers directed to followers on leader, by target node id, accessed in node thread only
+    private final Map<NodeId, Long> directedSnapshotTransfers = new HashMap<>();
+
+    private final AppendLogLimiter appendLogLimiter;
+    private final AppendLogBatcher appendLogBatcher;
+    private final AppendLogTracker appendLogTracker = new AppendLogTracker();
+
+    // read index requests on leader, accessed in node thread only
+    private final ReadIndexTracker readIndexTracker = new ReadIndexTracker();
+
+    // timestamp of last rpc from leader, for lease of leader and pre vote, accessed in node thread only
+    private long lastHeardFromLeaderAt = 0;
+
+    // votes count of pre vote including self, 0 if no pre vote in progress, accessed in node thread only
+    private int preVotesCount = 0;
+
+    // leadership transfer in progress on leader, set in node thread only
+    private volatile LeadershipTransfer leadershipTransfer = null;
 
     /**
      * Create with context.
@@ -76,6 +110,13 @@ public class NodeImpl implements Node {
      */
     NodeImpl(NodeContext context) {
         this.context = context;
+        NodeConfig config = context.config();
+        this.appendLogLimiter = new AppendLogLimiter(context.scheduler(), config.getMaxPendingAppendEntries(),
+                config.getMaxPendingAppendBytes(), config.getPendingAppendTimeout());
+        this.appendLogBatcher = new AppendLogBatcher(context.taskExecutor(), context.scheduler(), LOGGING_FUTURE_CALLBACK,
+                this::doAppendLog, config.getMaxAppendBatchEntries(), config.getMaxAppendBatchBytes(), config.getMaxAppendLinger());
+        context.log().setEventListener(this);
+        context.log().setAppliedListener(appendLogTracker);
     }
 
     /**
@@ -87,6 +128,15 @@ public class NodeImpl implements Node {
         return context;
     }
 
+    /**
+     * Get role.
+     *
+     * @return role
+     */
+    AbstractNodeRole getRole() {
+        return role;
+    }
+
     @Override
     public synchronized void registerStateMachine(@Nonnull StateMachine stateMachine) {
         Preconditions.checkNotNull(stateMachine);
@@ -120,8 +170,7 @@ public class NodeImpl implements Node {
         if (started) {
             return;
         }
-        context.eventBus().register(this);
-        context.connector().initialize();
+        context.connector().initialize(this);
 
         // load term, votedFor from store and become follower
         NodeStore store = context.store();
@@ -130,13 +179,259 @@ public class NodeImpl implements Node {
     }
 
     @Override
-    public void appendLog(@Nonnull byte[] commandBytes) {
+    @Nonnull
+    public CompletableFuture<AppendLogResult> appendLog(@Nonnull byte[] commandBytes) {
         Preconditions.checkNotNull(commandBytes);
         ensureLeader();
-        context.taskExecutor().submit(() -> {
-            context.log().appendEntry(role.getTerm(), commandBytes);
+        LeadershipTransfer transfer = leadershipTransfer;
+        if (transfer != null) {
+            // redirect to target of leadership transfer
+            GroupMember target = context.group().getMember(transfer.getTargetId());
+            throw new NotLeaderException(RoleName.LEADER, target != null ? target.getEndpoint() : null);
+        }
+        CompletableFuture<AppendLogResult> future = new CompletableFuture<>();
+        appendLogLimiter.admit(commandBytes.length, future, appliedFuture -> appendLogBatcher.add(commandBytes, appliedFuture));
+        return future;
+    }
+
+    @Override
+    @Nonnull
+    public AppendLogMetrics getAppendLogMetrics() {
+        return appendLogLimiter.getMetrics();
+    }
+
+    /**
+     * Append commands in batch and replicate once.
+     *
+     * @param commands commands
+     * @param futures  futures of commands
+     */
+    private void doAppendLog(List<byte[]> commands, List<CompletableFuture<AppendLogResult>> futures) {
+        if (role.getName() != RoleName.LEADER) {
+            logger.warn("not leader, drop {} command(s)", commands.size());
+            NotLeaderException cause = new NotLeaderException(role.getName(), null);
+            futures.forEach(f -> f.completeExceptionally(cause));
+            return;
+        }
+        for (int i = 0; i < commands.size(); i++) {
+            GeneralEntry entry = context.log().appendEntry(role.getTerm(), commands.get(i));
+            appendLogTracker.add(entry.getIndex(), futures.get(i));
+        }
+        doReplicateLog();
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<Integer> readIndex() {
+        RoleNameAndLeaderId result = role.getNameAndLeaderId(context.selfId());
+        if (result.getRoleName() != RoleName.LEADER && (result.getRoleName() != RoleName.FOLLOWER || result.getLeaderId() == null)) {
+            throw new NotLeaderException(result.getRoleName(), null);
+        }
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        context.taskExecutor().submit(() -> doReadIndex(future, false), LOGGING_FUTURE_CALLBACK);
+        return future;
+    }
+
+    /**
+     * Add read index request.
+     * <p>
+     * On leader, if lease read enabled and lease is valid, request is confirmed without round.
+     * Otherwise confirm in round, start round if no round in flight.
+     * On follower, forward request to leader.
+     * </p>
+     * <p>
+     * Request from follower completes once confirmed, without waiting for state machine of leader.
+     * </p>
+     *
+     * @param future       future of read index
+     * @param fromFollower if request is forwarded by follower
+     */
+    private void doReadIndex(CompletableFuture<Integer> future, boolean fromFollower) {
+        if (role.getName() == RoleName.FOLLOWER) {
+            forwardReadIndex(future);
+            return;
+        }
+        if (role.getName() != RoleName.LEADER) {
+            future.completeExceptionally(new NotLeaderException(role.getName(), null));
+            return;
+        }
+        // target of leadership transfer may be elected within lease
+        if (context.config().isLeaseRead() && leadershipTransfer == null &&
+                ((LeaderNodeRole) role).isLeaseValid(System.currentTimeMillis())) {
+            if (fromFollower) {
+                readIndexTracker.confirmFromFollower(future, context.log().getCommitIndex());
+                return;
+            }
+            readIndexTracker.addConfirmed(future, context.log().getCommitIndex());
+            completeReadIndex();
+            return;
+        }
+        if (fromFollower ? readIndexTracker.addFromFollower(future) : readIndexTracker.add(future)) {
+            startReadIndexRound();
+        }
+    }
+
+    /**
+     * Forward read index request to leader.
+     * <p>
+     * Request fails with {@link TimeoutException} if no result within timeout, e.g result lost.
+     * </p>
+     *
+     * @param future future of read index
+     */
+    private void forwardReadIndex(CompletableFuture<Integer> future) {
+        NodeId leaderId = role.getLeaderId(context.selfId());
+        GroupMember leader = leaderId != null ? context.group().getMember(leaderId) : null;
+        if (leader == null) {
+            future.completeExceptionally(new NotLeaderException(role.getName(), null));
+            return;
+        }
+        ReadIndexRpc rpc = new ReadIndexRpc();
+        rpc.setMessageId(UUID.randomUUID().toString());
+        rpc.setTerm(role.getTerm());
+        String messageId = rpc.getMessageId();
+        readIndexTracker.addForwarded(messageId, future);
+        ScheduledFuture<?> timeout = context.scheduler().schedule(
+                () -> context.taskExecutor().submit(() -> expireForwardedRead(messageId), LOGGING_FUTURE_CALLBACK),
+                context.config().getForwardedReadTimeout(), TimeUnit.MILLISECONDS
+        );
+        future.whenComplete((readIndex, cause) -> timeout.cancel(false));
+        context.connector().sendReadIndex(rpc, leader.getEndpoint());
+    }
+
+    private void expireForwardedRead(String messageId) {
+        CompletableFuture<Integer> future = readIndexTracker.removeForwarded(messageId);
+        if (future != null) {
+            logger.info("no result of read index request {} from leader within timeout", messageId);
+            future.completeExceptionally(new TimeoutException("no read index result from leader"));
+        }
+    }
+
+    /**
+     * Start read index round, and send append entries rpc with the round to confirm leadership.
+     */
+    private void startReadIndexRound() {
+        int round = readIndexTracker.startRound(context.log().getCommitIndex());
+        logger.debug("start read index round {}", round);
+        if (context.group().isStandalone()) {
+            // commit no-op log if not committed
             doReplicateLog();
-        }, LOGGING_FUTURE_CALLBACK);
+            confirmReadIndexRound();
+            return;
+        }
+        doReplicateLog();
+    }
+
+    /**
+     * Confirm read index round in flight if acknowledged by major nodes.
+     */
+    private void checkReadIndexRound() {
+        int round = readIndexTracker.getInflightRound();
+        if (round > 0 && context.group().isReadIndexRoundAckedByMajor(round)) {
+            confirmReadIndexRound();
+        }
+    }
+
+    private void confirmReadIndexRound() {
+        logger.debug("read index round {} confirmed", readIndexTracker.getInflightRound());
+        boolean hasPendingReads = readIndexTracker.confirmRound();
+        completeReadIndex();
+        if (hasPendingReads) {
+            startReadIndexRound();
+        }
+    }
+
+    /**
+     * Complete confirmed read index requests after state machine applied read index.
+     */
+    private void completeReadIndex() {
+        for (ReadIndexTracker.Batch batch : readIndexTracker.pollReadable(context.log().getCommitIndex())) {
+            context.log().runAfterApplied(batch.getReadIndex(), batch::complete);
+        }
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<Void> transferLeadership(@Nonnull NodeId targetId) {
+        Preconditions.checkNotNull(targetId);
+        ensureLeader();
+        if (targetId.equals(context.selfId())) {
+            throw new IllegalArgumentException("cannot transfer leadership to self");
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        context.taskExecutor().submit(() -> doTransferLeadership(targetId, future), LOGGING_FUTURE_CALLBACK);
+        return future;
+    }
+
+    /**
+     * Start leadership transfer.
+     * <p>
+     * Transfer is aborted if not done within min election timeout, and leader accepts commands again.
+     * </p>
+     *
+     * @param targetId target node id
+     * @param future   future of transfer
+     */
+    private void doTransferLeadership(NodeId targetId, CompletableFuture<Void> future) {
+        if (role.getName() != RoleName.LEADER) {
+            future.completeExceptionally(new NotLeaderException(role.getName(), null));
+            return;
+        }
+        if (leadershipTransfer != null) {
+            future.completeExceptionally(new IllegalStateException("leadership transfer to node " + leadershipTransfer.getTargetId() + " in progress"));
+            return;
+        }
+        GroupMember target = context.group().getMember(targetId);
+        if (target == null || !target.isMajor()) {
+            future.completeExceptionally(new IllegalArgumentException("node " + targetId + " is not major node"));
+            return;
+        }
+        logger.info("transfer leadership to node {}", targetId);
+        LeadershipTransfer transfer = new LeadershipTransfer(targetId, future);
+        transfer.setTimeout(context.scheduler().schedule(
+                () -> context.taskExecutor().submit(() -> abortLeadershipTransfer(transfer), LOGGING_FUTURE_CALLBACK),
+                context.config().getMinElectionTimeout(), TimeUnit.MILLISECONDS
+        ));
+        leadershipTransfer = transfer;
+        if (!checkLeadershipTransfer(target)) {
+            replicateLogIfNeeded(target, false);
+        }
+    }
+
+    /**
+     * Send timeout now rpc if target of leadership transfer caught up.
+     *
+     * @param member member
+     * @return true if timeout now rpc sent or sent before, otherwise false
+     */
+    private boolean checkLeadershipTransfer(GroupMember member) {
+        LeadershipTransfer transfer = leadershipTransfer;
+        if (transfer == null || !member.idEquals(transfer.getTargetId())) {
+            return false;
+        }
+        if (transfer.isTimeoutNowSent()) {
+            return true;
+        }
+        if (member.getMatchIndex() < context.log().getNextIndex() - 1) {
+            return false;
+        }
+        TimeoutNowRpc rpc = new TimeoutNowRpc();
+        rpc.setTerm(role.getTerm());
+        rpc.setLeaderId(context.selfId());
+        // target may be elected within lease, reads after abort of transfer need new lease
+        ((LeaderNodeRole) role).expireLease(System.currentTimeMillis());
+        context.connector().sendTimeoutNow(rpc, member.getEndpoint());
+        transfer.setTimeoutNowSent();
+        return true;
+    }
+
+    private void abortLeadershipTransfer(LeadershipTransfer transfer) {
+        if (leadershipTransfer != transfer) {
+            return;
+        }
+        logger.warn("leadership transfer to node {} timeout, abort", transfer.getTargetId());
+        leadershipTransfer = null;
+        transfer.fail(new TimeoutException("leadership transfer timeout"));
     }
 
     @Override
@@ -157,68 +452,85 @@ public class NodeImpl implements Node {
             throw new IllegalArgumentException("node " + endpoint.getId() + " is adding");
         }
 
-        // catch up new server
-        // this will be run in caller thread
-        NewNodeCatchUpTaskResult newNodeCatchUpTaskResult;
-        try {
-            newNodeCatchUpTaskResult = newNodeCatchUpTask.call();
+        // catch up new node without blocking caller, new nodes may catch up concurrently
+        CompletableFuture<GroupConfigChangeTaskResult> future = new CompletableFuture<>();
+        newNodeCatchUpTask.getFuture().whenComplete((newNodeCatchUpTaskResult, e) -> {
+            if (e != null) {
+                logger.warn("failed to catch up new node " + endpoint.getId(), e);
+                future.complete(GroupConfigChangeTaskResult.ERROR);
+                return;
+            }
             switch (newNodeCatchUpTaskResult.getState()) {
                 case REPLICATION_FAILED:
-                    return new FixedResultGroupConfigTaskReference(GroupConfigChangeTaskResult.REPLICATION_FAILED);
+                    future.complete(GroupConfigChangeTaskResult.REPLICATION_FAILED);
+                    break;
                 case TIMEOUT:
-                    return new FixedResultGroupConfigTaskReference(GroupConfigChangeTaskResult.TIMEOUT);
-            }
-        } catch (Exception e) {
-            if (!(e instanceof InterruptedException)) {
-                logger.warn("failed to catch up new node " + endpoint.getId(), e);
-            }
-            return new FixedResultGroupConfigTaskReference(GroupConfigChangeTaskResult.ERROR);
-        }
-
-        // new server caught up
-        // wait for previous group config change
-        // it will wait forever by default, but you can change to fixed timeout by setting in NodeConfig
-        GroupConfigChangeTaskResult result = awaitPreviousGroupConfigChangeTask();
-        if (result != null) {
-            return new FixedResultGroupConfigTaskReference(result);
-        }
-
-        // submit group config change task
-        synchronized (this) {
-
-            // it will happen when try to add two or more nodes at the same time
-            if (!groupConfigChangeTaskHolder.isEmpty()) {
-                throw new IllegalStateException("group config change concurrently");
+                    future.complete(GroupConfigChangeTaskResult.TIMEOUT);
+                    break;
+                case CANCELLED:
+                    future.complete(GroupConfigChangeTaskResult.CANCELLED);
+                    break;
+                default:
+                    // new node keeps following log while change is in queue
+                    proposeGroupConfigChange(new AddNodeTask(groupConfigChangeTaskContext, endpoint, newNodeCatchUpTask), future);
             }
+        });
 
-            AddNodeTask addNodeTask = new AddNodeTask(groupConfigChangeTaskContext, endpoint, newNodeCatchUpTaskResult);
-            Future<GroupConfigChangeTaskResult> future = context.groupConfigChangeTaskExecutor().submit(addNodeTask);
-            GroupConfigChangeTaskReference reference = new FutureGroupConfigChangeTaskReference(future);
-            groupConfigChangeTaskHolder = new GroupConfigChangeTaskHolder(addNodeTask, reference);
-            return reference;
-        }
+        // stop catching up when cancelled, expired in queue or done, in node thread to avoid lock of node
+        future.whenComplete((result, e) ->
+                context.taskExecutor().submit(newNodeCatchUpTask::cancel, LOGGING_FUTURE_CALLBACK));
+        newNodeCatchUpTask.start();
+        return new FutureGroupConfigChangeTaskReference(future);
     }
 
     /**
-     * Await previous group config change task.
+     * Propose group config change.
+     * <p>
+     * Group config changes are applied one by one. If another change is in progress, task waits in queue
+     * at most previous group config change timeout.
+     * </p>
      *
-     * @return {@code null} if previous task done, otherwise error or timeout
-     * @see GroupConfigChangeTaskResult#ERROR
-     * @see GroupConfigChangeTaskResult#TIMEOUT
+     * @param task   task
+     * @param future future of result
      */
-    @Nullable
-    private GroupConfigChangeTaskResult awaitPreviousGroupConfigChangeTask() {
-        try {
-            groupConfigChangeTaskHolder.awaitDone(context.config().getPreviousGroupConfigChangeTimeout());
-            return null;
-        } catch (InterruptedException ignored) {
-            return GroupConfigChangeTaskResult.ERROR;
-        } catch (TimeoutException ignored) {
+    private synchronized void proposeGroupConfigChange(GroupConfigChangeTask task, CompletableFuture<GroupConfigChangeTaskResult> future) {
+        if (future.isDone()) {
+            return;
+        }
+        if (groupConfigChangeTaskHolder.isEmpty()) {
+            submitGroupConfigChangeTask(task, future);
+            return;
+        }
+        logger.debug("group config change in progress, queue task {}", task);
+        PendingGroupConfigChange pending = new PendingGroupConfigChange(task, future);
+        pendingGroupConfigChanges.add(pending);
+        long timeout = context.config().getPreviousGroupConfigChangeTimeout();
+        if (timeout > 0) {
+            context.scheduler().schedule(() -> expirePendingGroupConfigChange(pending), timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void expirePendingGroupConfigChange(PendingGroupConfigChange pending) {
+        if (pendingGroupConfigChanges.remove(pending)) {
             logger.info("previous cannot complete within timeout");
-            return GroupConfigChangeTaskResult.TIMEOUT;
+            pending.future.complete(GroupConfigChangeTaskResult.TIMEOUT);
         }
     }
 
+    @GuardedBy("this")
+    private void submitGroupConfigChangeTask(GroupConfigChangeTask task, CompletableFuture<GroupConfigChangeTaskResult> future) {
+        Future<GroupConfigChangeTaskResult> taskFuture = context.groupConfigChangeTaskExecutor().submit(() -> {
+            GroupConfigChangeTaskResult result = GroupConfigChangeTaskResult.ERROR;
+            try {
+                result = task.call();
+                return result;
+            } finally {
+                future.complete(result);
+            }
+        });
+        groupConfigChangeTaskHolder = new GroupConfigChangeTaskHolder(task, new FutureGroupConfigChangeTaskReference(taskFuture));
+    }
+
     /**
      * Ensure leader status
      *
@@ -239,26 +551,9 @@ public class NodeImpl implements Node {
         Preconditions.checkNotNull(id);
         ensureLeader();
 
-        // await previous group config change task
-        GroupConfigChangeTaskResult result = awaitPreviousGroupConfigChangeTask();
-        if (result != null) {
-            return new FixedResultGroupConfigTaskReference(result);
-        }
-
-        // submit group config change task
-        synchronized (this) {
-
-            // it will happen when try to remove two or more nodes at the same time
-            if (!groupConfigChangeTaskHolder.isEmpty()) {
-                throw new IllegalStateException("group config change concurrently");
-            }
-
-            RemoveNodeTask task = new RemoveNodeTask(groupConfigChangeTaskContext, id);
-            Future<GroupConfigChangeTaskResult> future = context.groupConfigChangeTaskExecutor().submit(task);
-            GroupConfigChangeTaskReference reference = new FutureGroupConfigChangeTaskReference(future);
-            groupConfigChangeTaskHolder = new GroupConfigChangeTaskHolder(task, reference);
-            return reference;
-        }
+        CompletableFuture<GroupConfigChangeTaskResult> future = new CompletableFuture<>();
+        proposeGroupConfigChange(new RemoveNodeTask(groupConfigChangeTaskContext, id), future);
+        return new FutureGroupConfigChangeTaskReference(future);
     }
 
     /**
@@ -271,6 +566,10 @@ public class NodeImpl implements Node {
         logger.info("cancel group config change task");
         groupConfigChangeTaskHolder.cancel();
         groupConfigChangeTaskHolder = new GroupConfigChangeTaskHolder();
+        for (PendingGroupConfigChange pending : pendingGroupConfigChanges) {
+            pending.future.complete(GroupConfigChangeTaskResult.ERROR);
+        }
+        pendingGroupConfigChanges.clear();
     }
 
     /**
@@ -289,7 +588,15 @@ public class NodeImpl implements Node {
             return;
         }
 
-        // follower: start election
+        // learner never starts election, just wait for leader
+        GroupMember self = context.group().getMember(context.selfId());
+        if (self != null && self.isLearner()) {
+            logger.debug("node {} is learner, skip election", context.selfId());
+            becomeFollower(role.getTerm(), role.getState().getVotedFor(), null, true);
+            return;
+        }
+
+        // follower: start election, or pre vote if enabled
         // candidate: restart election
         int newTerm = role.getTerm() + 1;
         role.cancelTimeoutOrTask();
@@ -303,23 +610,65 @@ public class NodeImpl implements Node {
                 logger.info("become leader, term {}", newTerm);
                 resetReplicatingStates();
                 changeToRole(new LeaderNodeRole(newTerm, scheduleLogReplicationTask()));
-                context.log().appendEntry(newTerm); // no-op log
+                readIndexTracker.reset(context.log().appendEntry(newTerm).getIndex()); // no-op log
             }
+        } else if (context.config().isPreVote() && role.getName() == RoleName.FOLLOWER) {
+            startPreVote();
         } else {
-            logger.info("start election");
-            changeToRole(new CandidateNodeRole(newTerm, scheduleElectionTimeout()));
-
-            // request vote
-            EntryMeta lastEntryMeta = context.log().getLastEntryMeta();
-            RequestVoteRpc rpc = new RequestVoteRpc();
-            rpc.setTerm(newTerm);
-            rpc.setCandidateId(context.selfId());
-            rpc.setLastLogIndex(lastEntryMeta.getIndex());
-            rpc.setLastLogTerm(lastEntryMeta.getTerm());
-            context.connector().sendRequestVote(rpc, context.group().listEndpointOfMajorExceptSelf());
+            startElection(newTerm);
         }
     }
 
+    /**
+     * Start election.
+     *
+     * @param newTerm new term
+     */
+    private void startElection(int newTerm) {
+        startElection(newTerm, false);
+    }
+
+    /**
+     * Start election.
+     *
+     * @param newTerm            new term
+     * @param leadershipTransfer started by leadership transfer or not
+     */
+    private void startElection(int newTerm, boolean leadershipTransfer) {
+        logger.info("start election");
+        changeToRole(new CandidateNodeRole(newTerm, scheduleElectionTimeout()));
+
+        // request vote
+        EntryMeta lastEntryMeta = context.log().getLastEntryMeta();
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(newTerm);
+        rpc.setCandidateId(context.selfId());
+        rpc.setLastLogIndex(lastEntryMeta.getIndex());
+        rpc.setLastLogTerm(lastEntryMeta.getTerm());
+        rpc.setLeadershipTransfer(leadershipTransfer);
+        context.connector().sendRequestVote(rpc, context.group().listEndpointOfMajorExceptSelf());
+    }
+
+    /**
+     * Start pre vote, remain follower in current term and regard leader as lost.
+     * <p>
+     * Election starts after major nodes would vote, otherwise retry after next election timeout.
+     * </p>
+     */
+    private void startPreVote() {
+        logger.info("start pre vote");
+        becomeFollower(role.getTerm(), ((FollowerNodeRole) role).getVotedFor(), null, true);
+        preVotesCount = 1;
+
+        EntryMeta lastEntryMeta = context.log().getLastEntryMeta();
+        PreVoteRpc rpc = new PreVoteRpc();
+        rpc.setTerm(role.getTerm() + 1);
+        rpc.setCandidateId(context.selfId());
+        rpc.setLastLogIndex(lastEntryMeta.getIndex());
+        rpc.setLastLogTerm(lastEntryMeta.getTerm());
+        context.connector().sendPreVote(rpc, context.group().listEndpointOfMajorExceptSelf());
+    }
+
     /**
      * Become follower.
      *
@@ -329,11 +678,19 @@ public class NodeImpl implements Node {
      * @param scheduleElectionTimeout schedule election timeout or not
      */
     private void becomeFollower(int term, NodeId votedFor, NodeId leaderId, boolean scheduleElectionTimeout) {
-        role.cancelTimeoutOrTask();
+        // reset election timeout of follower in place if supported by scheduler
+        ElectionTimeout electionTimeout = role.getName() == RoleName.FOLLOWER ?
+                ((FollowerNodeRole) role).getElectionTimeout() : ElectionTimeout.NONE;
+        if (!scheduleElectionTimeout || !electionTimeout.reset()) {
+            role.cancelTimeoutOrTask();
+            electionTimeout = scheduleElectionTimeout ? scheduleElectionTimeout() : ElectionTimeout.NONE;
+        }
+        if (leaderId != null) {
+            lastHeardFromLeaderAt = System.currentTimeMillis();
+        }
         if (leaderId != null && !leaderId.equals(role.getLeaderId(context.selfId()))) {
             logger.info("current leader is {}, term {}", leaderId, term);
         }
-        ElectionTimeout electionTimeout = scheduleElectionTimeout ? scheduleElectionTimeout() : ElectionTimeout.NONE;
         changeToRole(new FollowerNodeRole(term, votedFor, leaderId, electionTimeout));
     }
 
@@ -355,7 +712,31 @@ public class NodeImpl implements Node {
             // notify listeners
             roleListeners.forEach(l -> l.nodeRoleChanged(state));
         }
+        // fail read index requests confirmed by or forwarded to previous leader
+        if (role != null && !Objects.equals(role.getLeaderId(context.selfId()), newRole.getLeaderId(context.selfId()))) {
+            NodeId leaderId = newRole.getLeaderId(context.selfId());
+            GroupMember leader = leaderId != null ? context.group().getMember(leaderId) : null;
+            readIndexTracker.failAll(new NotLeaderException(newRole.getName(), leader != null ? leader.getEndpoint() : null));
+        }
+        // fail append log requests when leader steps down, logs not committed may be overwritten by new leader
+        if (role != null && role.getName() == RoleName.LEADER && newRole.getName() != RoleName.LEADER) {
+            NodeId leaderId = newRole.getLeaderId(context.selfId());
+            GroupMember leader = leaderId != null ? context.group().getMember(leaderId) : null;
+            appendLogTracker.failAll(new NotLeaderException(newRole.getName(), leader != null ? leader.getEndpoint() : null));
+        }
+        // snapshot transfers belong to term and role
+        if (role != null && (role.getTerm() != newRole.getTerm() || role.getName() != newRole.getName())) {
+            snapshotTransfers.clear();
+            directedSnapshotTransfers.clear();
+        }
+        // leadership transfer is done when leader steps down
+        if (leadershipTransfer != null && newRole.getName() != RoleName.LEADER) {
+            logger.info("leadership transfer to node {} done", leadershipTransfer.getTargetId());
+            leadershipTransfer.complete();
+            leadershipTransfer = null;
+        }
         role = newRole;
+        preVotesCount = 0;
     }
 
     /**
@@ -403,38 +784,77 @@ public class NodeImpl implements Node {
     }
 
     /**
-     * Replicate log.
+     * Replicate log, send heartbeat to idle nodes.
      * <p>
      * Source: scheduler.
      * </p>
      */
     void replicateLog() {
-        context.taskExecutor().submit(this::doReplicateLog, LOGGING_FUTURE_CALLBACK);
+        context.taskExecutor().submit(() -> doReplicateLog(true), LOGGING_FUTURE_CALLBACK);
     }
 
     /**
-     * Replicate log to other nodes.
+     * Replicate new entries or commit index to other nodes.
      */
     private void doReplicateLog() {
-        // just advance commit index if is unique node
+        doReplicateLog(false);
+    }
+
+    /**
+     * Replicate log to other nodes.
+     *
+     * @param heartbeat send heartbeat to idle nodes or not
+     */
+    private void doReplicateLog(boolean heartbeat) {
+        // just advance commit index if is unique major node, and replicate to learners if any
         if (context.group().isStandalone()) {
             context.log().advanceCommitIndex(context.log().getNextIndex() - 1, role.getTerm());
-            return;
         }
         logger.debug("replicate log");
         for (GroupMember member : context.group().listReplicationTarget()) {
-            if (member.shouldReplicate(context.config().getLogReplicationReadTimeout())) {
-                doReplicateLog(member, context.config().getMaxReplicationEntries());
+            replicateLogIfNeeded(member, heartbeat);
+        }
+        newNodeCatchUpTaskGroup.followLog(context.log().getNextIndex());
+    }
+
+    /**
+     * Replicate log to node if needed.
+     * <p>
+     * If node is not replicating, send append entries rpc when entries, commit index or read index round not sent exist,
+     * or heartbeat required and nothing sent to node within half of replication interval.
+     * If node is replicating, send when no response within read timeout, or pipeline entries not sent.
+     * Otherwise skip, result of rpc in flight will trigger next replication.
+     * </p>
+     *
+     * @param member    node
+     * @param heartbeat send heartbeat if idle or not
+     */
+    private void replicateLogIfNeeded(GroupMember member, boolean heartbeat) {
+        NodeConfig config = context.config();
+        if (member.isReplicating()) {
+            if (member.shouldReplicate(config.getLogReplicationReadTimeout())) {
+                logger.debug("no response from node {} within read timeout, reset replicating state", member.getId());
+                member.resetReplicating();
+                doReplicateLog(member, config.getMaxReplicationEntries());
+            } else if (member.shouldPipeline(context.log().getNextIndex(), config.getMaxInflightAppendEntries())) {
+                doReplicateLog(member, config.getMaxReplicationEntries());
             } else {
-                logger.debug("node {} is replicating, skip replication task", member.getId());
+                logger.debug("node {} is replicating, skip replication", member.getId());
             }
+            return;
+        }
+        if (member.hasEntriesOrCommitIndexToSend(context.log().getNextIndex(), context.log().getCommitIndex()) ||
+                member.getReadIndexRoundSent() < readIndexTracker.getInflightRound() ||
+                (heartbeat && member.isIdle(config.getLogReplicationInterval() / 2))) {
+            doReplicateLog(member, config.getMaxReplicationEntries());
         }
     }
 
     /**
      * Replicate log to specified node.
      * <p>
-     * Normally it will send append entries rpc to node. And change to install snapshot rpc if entry in snapshot.
+     * Normally it will send append entries rpc to node, and advance next index optimistically if pipelining.
+     * And change to install snapshot rpc if entry in snapshot.
      * </p>
      *
      * @param member     node
@@ -442,15 +862,65 @@ public class NodeImpl implements Node {
      * @see EntryInSnapshotException
      */
     private void doReplicateLog(GroupMember member, int maxEntries) {
-        member.replicateNow();
+        long now = System.currentTimeMillis();
+        member.replicateAt(now);
         try {
-            AppendEntriesRpc rpc = context.log().createAppendEntriesRpc(role.getTerm(), context.selfId(), member.getNextIndex(), maxEntries);
+            AppendEntriesRpc rpc = context.log().createAppendEntriesRpc(role.getTerm(), context.selfId(), member.getNextIndex(), maxEntries,
+                    context.config().getMaxReplicationBytes());
+            member.advanceNextIndexOptimistically(rpc.getLastEntryIndex());
+            member.setCommitIndexSent(rpc.getLeaderCommit());
+            rpc.setReadIndexRound(readIndexTracker.getRound());
+            member.setReadIndexRoundSent(rpc.getReadIndexRound());
+            rpc.setSentAt(now);
             context.connector().sendAppendEntries(rpc, member.getEndpoint());
         } catch (EntryInSnapshotException ignored) {
             logger.debug("log entry {} in snapshot, replicate with install snapshot RPC", member.getNextIndex());
-            InstallSnapshotRpc rpc = context.log().createInstallSnapshotRpc(role.getTerm(), context.selfId(), 0, context.config().getSnapshotDataLength());
-            context.connector().sendInstallSnapshot(rpc, member.getEndpoint());
+            member.stopPipelining();
+            installSnapshot(member.getEndpoint());
+        }
+    }
+
+    /**
+     * Install snapshot to specified node.
+     * <p>
+     * If enabled, direct an up-to-date follower to transfer its snapshot to node, so that
+     * leader will not be busy with sending snapshot. Otherwise send install snapshot rpc from leader.
+     * </p>
+     * <p>
+     * If transfer to node is in flight, wait for its result instead of directing again,
+     * until transfer timeout, after which leader installs snapshot by itself.
+     * </p>
+     *
+     * @param endpoint endpoint of node
+     * @see #onReceiveTransferSnapshotResult(TransferSnapshotResult)
+     */
+    private void installSnapshot(NodeEndpoint endpoint) {
+        NodeId targetId = endpoint.getId();
+        Long transferStartedAt = directedSnapshotTransfers.get(targetId);
+        if (transferStartedAt != null) {
+            if (System.currentTimeMillis() - transferStartedAt < context.config().getSnapshotTransferTimeout()) {
+                logger.debug("snapshot transfer to node {} in flight, skip", targetId);
+                return;
+            }
+            logger.info("snapshot transfer to node {} timeout, install snapshot from leader", targetId);
+            directedSnapshotTransfers.remove(targetId);
+        } else if (context.config().isSnapshotTransferFromFollower()) {
+            int minLastIndex = context.log().getSnapshotLastIncludedIndex();
+            GroupMember source = context.group().findSnapshotSource(targetId, minLastIndex);
+            if (source != null) {
+                logger.debug("direct node {} to transfer snapshot to node {}", source.getId(), targetId);
+                directedSnapshotTransfers.put(targetId, System.currentTimeMillis());
+                TransferSnapshotRpc rpc = new TransferSnapshotRpc();
+                rpc.setTerm(role.getTerm());
+                rpc.setLeaderId(context.selfId());
+                rpc.setTarget(endpoint);
+                rpc.setMinLastIndex(minLastIndex);
+                context.connector().sendTransferSnapshot(rpc, source.getEndpoint());
+                return;
+            }
         }
+        InstallSnapshotRpc rpc = context.log().createInstallSnapshotRpc(role.getTerm(), context.selfId(), 0, context.config().getSnapshotDataLength());
+        context.connector().sendInstallSnapshot(rpc, endpoint);
     }
 
     /**
@@ -461,7 +931,7 @@ public class NodeImpl implements Node {
      *
      * @param rpcMessage rpc message
      */
-    @Subscribe
+    @Override
     public void onReceiveRequestVoteRpc(RequestVoteRpcMessage rpcMessage) {
         context.taskExecutor().submit(
                 () -> context.connector().replyRequestVote(doProcessRequestVoteRpc(rpcMessage), rpcMessage),
@@ -477,8 +947,21 @@ public class NodeImpl implements Node {
             return new RequestVoteResult(role.getTerm(), false);
         }
 
-        // reply current term if result's term is smaller than current one
+        // learner never votes
+        if (!context.group().isMemberOfMajor(context.selfId())) {
+            logger.debug("not major node, don't vote");
+            return new RequestVoteResult(role.getTerm(), false);
+        }
+
+        // with lease read, neither vote nor update term within min election timeout after hearing from leader,
+        // so that no new leader is elected within lease of current leader, unless leader transfers leadership
         RequestVoteRpc rpc = rpcMessage.get();
+        if (!rpc.isLeadershipTransfer() && isWithinLeaderLease()) {
+            logger.debug("within lease of current leader, don't vote for node {}", rpcMessage.getSourceNodeId());
+            return new RequestVoteResult(role.getTerm(), false);
+        }
+
+        // reply current term if result's term is smaller than current one
         if (rpc.getTerm() < role.getTerm()) {
             logger.debug("term from rpc < current term, don't vote ({} < {})", rpc.getTerm(), role.getTerm());
             return new RequestVoteResult(role.getTerm(), false);
@@ -513,6 +996,27 @@ public class NodeImpl implements Node {
         }
     }
 
+    /**
+     * Test if within lease of current leader when lease read enabled.
+     *
+     * @return true if within lease, otherwise false
+     */
+    private boolean isWithinLeaderLease() {
+        NodeConfig config = context.config();
+        if (!config.isLeaseRead()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        switch (role.getName()) {
+            case FOLLOWER:
+                return role.getLeaderId(context.selfId()) != null && now - lastHeardFromLeaderAt < config.getMinElectionTimeout();
+            case LEADER:
+                return ((LeaderNodeRole) role).isLeaseValid(now);
+            default:
+                return false;
+        }
+    }
+
     /**
      * Receive request vote result.
      * <p>
@@ -521,7 +1025,7 @@ public class NodeImpl implements Node {
      *
      * @param result result
      */
-    @Subscribe
+    @Override
     public void onReceiveRequestVoteResult(RequestVoteResult result) {
         context.taskExecutor().submit(() -> doProcessRequestVoteResult(result), LOGGING_FUTURE_CALLBACK);
     }
@@ -559,7 +1063,7 @@ public class NodeImpl implements Node {
             logger.info("become leader, term {}", role.getTerm());
             resetReplicatingStates();
             changeToRole(new LeaderNodeRole(role.getTerm(), scheduleLogReplicationTask()));
-            context.log().appendEntry(role.getTerm()); // no-op log
+            readIndexTracker.reset(context.log().appendEntry(role.getTerm()).getIndex()); // no-op log
             context.connector().resetChannels(); // close all inbound channels
         } else {
 
@@ -569,33 +1073,135 @@ public class NodeImpl implements Node {
     }
 
     /**
-     * Receive append entries rpc.
+     * Receive pre vote rpc.
      * <p>
      * Source: connector.
      * </p>
      *
      * @param rpcMessage rpc message
      */
-    @Subscribe
-    public void onReceiveAppendEntriesRpc(AppendEntriesRpcMessage rpcMessage) {
-        context.taskExecutor().submit(() ->
-                        context.connector().replyAppendEntries(doProcessAppendEntriesRpc(rpcMessage), rpcMessage),
+    @Override
+    public void onReceivePreVoteRpc(PreVoteRpcMessage rpcMessage) {
+        context.taskExecutor().submit(
+                () -> context.connector().replyPreVote(doProcessPreVoteRpc(rpcMessage), rpcMessage),
                 LOGGING_FUTURE_CALLBACK
         );
     }
 
-    private AppendEntriesResult doProcessAppendEntriesRpc(AppendEntriesRpcMessage rpcMessage) {
-        AppendEntriesRpc rpc = rpcMessage.get();
-
-        // reply current term if term in rpc is smaller than current term
-        if (rpc.getTerm() < role.getTerm()) {
-            return new AppendEntriesResult(rpc.getMessageId(), role.getTerm(), false);
-        }
-
-        // if term in rpc is larger than current term, step down and append entries
-        if (rpc.getTerm() > role.getTerm()) {
-            becomeFollower(rpc.getTerm(), null, rpc.getLeaderId(), true);
-            return new AppendEntriesResult(rpc.getMessageId(), rpc.getTerm(), appendEntries(rpc));
+    /**
+     * Reply whether would vote, without changing term or vote.
+     * <p>
+     * Would vote if term in rpc is larger than current term, no leader heard within min election timeout,
+     * and log of candidate is not older than self.
+     * </p>
+     *
+     * @param rpcMessage rpc message
+     * @return result
+     */
+    private PreVoteResult doProcessPreVoteRpc(PreVoteRpcMessage rpcMessage) {
+        if (!context.group().isMemberOfMajor(rpcMessage.getSourceNodeId())) {
+            logger.warn("receive pre vote rpc from node {} which is not major node, ignore", rpcMessage.getSourceNodeId());
+            return new PreVoteResult(role.getTerm(), false);
+        }
+        PreVoteRpc rpc = rpcMessage.get();
+        if (rpc.getTerm() <= role.getTerm()) {
+            return new PreVoteResult(role.getTerm(), false);
+        }
+        if (isLeaderAlive()) {
+            logger.debug("leader is alive, don't pre vote for node {}", rpcMessage.getSourceNodeId());
+            return new PreVoteResult(role.getTerm(), false);
+        }
+        return new PreVoteResult(role.getTerm(), !context.log().isNewerThan(rpc.getLastLogIndex(), rpc.getLastLogTerm()));
+    }
+
+    /**
+     * Test if self is leader or heard from leader within min election timeout.
+     *
+     * @return true if alive, otherwise false
+     */
+    private boolean isLeaderAlive() {
+        switch (role.getName()) {
+            case LEADER:
+                return true;
+            case FOLLOWER:
+                return role.getLeaderId(context.selfId()) != null &&
+                        System.currentTimeMillis() - lastHeardFromLeaderAt < context.config().getMinElectionTimeout();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Receive pre vote result.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param result result
+     */
+    @Override
+    public void onReceivePreVoteResult(PreVoteResult result) {
+        context.taskExecutor().submit(() -> doProcessPreVoteResult(result), LOGGING_FUTURE_CALLBACK);
+    }
+
+    private void doProcessPreVoteResult(PreVoteResult result) {
+
+        // step down if result's term is larger than current term
+        if (result.getTerm() > role.getTerm()) {
+            becomeFollower(result.getTerm(), null, null, true);
+            return;
+        }
+
+        // no pre vote in progress, e.g election started or leader heard
+        if (preVotesCount == 0 || role.getName() != RoleName.FOLLOWER) {
+            logger.debug("receive pre vote result when no pre vote in progress, ignore");
+            return;
+        }
+        // result of pre vote in previous term
+        if (result.getTerm() < role.getTerm()) {
+            logger.debug("receive pre vote result of term {} < current term {}, ignore", result.getTerm(), role.getTerm());
+            return;
+        }
+        if (!result.isVoteGranted()) {
+            return;
+        }
+        preVotesCount++;
+        int countOfMajor = context.group().getCountOfMajor();
+        logger.debug("pre votes count {}, major node count {}", preVotesCount, countOfMajor);
+        if (preVotesCount > countOfMajor / 2) {
+            role.cancelTimeoutOrTask();
+            startElection(role.getTerm() + 1);
+        }
+    }
+
+    /**
+     * Receive append entries rpc.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param rpcMessage rpc message
+     */
+    @Override
+    public void onReceiveAppendEntriesRpc(AppendEntriesRpcMessage rpcMessage) {
+        context.taskExecutor().submit(() ->
+                        context.connector().replyAppendEntries(doProcessAppendEntriesRpc(rpcMessage), rpcMessage),
+                LOGGING_FUTURE_CALLBACK
+        );
+    }
+
+    private AppendEntriesResult doProcessAppendEntriesRpc(AppendEntriesRpcMessage rpcMessage) {
+        AppendEntriesRpc rpc = rpcMessage.get();
+
+        // reply current term if term in rpc is smaller than current term
+        if (rpc.getTerm() < role.getTerm()) {
+            return new AppendEntriesResult(rpc.getMessageId(), role.getTerm(), false);
+        }
+
+        // if term in rpc is larger than current term, step down and append entries
+        if (rpc.getTerm() > role.getTerm()) {
+            becomeFollower(rpc.getTerm(), null, rpc.getLeaderId(), true);
+            return appendEntries(rpc);
         }
 
         assert rpc.getTerm() == role.getTerm();
@@ -604,12 +1210,12 @@ public class NodeImpl implements Node {
 
                 // reset election timeout and append entries
                 becomeFollower(rpc.getTerm(), ((FollowerNodeRole) role).getVotedFor(), rpc.getLeaderId(), true);
-                return new AppendEntriesResult(rpc.getMessageId(), rpc.getTerm(), appendEntries(rpc));
+                return appendEntries(rpc);
             case CANDIDATE:
 
                 // more than one candidate but another node won the election
                 becomeFollower(rpc.getTerm(), null, rpc.getLeaderId(), true);
-                return new AppendEntriesResult(rpc.getMessageId(), rpc.getTerm(), appendEntries(rpc));
+                return appendEntries(rpc);
             case LEADER:
                 logger.warn("receive append entries rpc from another leader {}, ignore", rpc.getLeaderId());
                 return new AppendEntriesResult(rpc.getMessageId(), rpc.getTerm(), false);
@@ -624,12 +1230,15 @@ public class NodeImpl implements Node {
      * @param rpc rpc
      * @return {@code true} if log appended, {@code false} if previous log check failed, etc
      */
-    private boolean appendEntries(AppendEntriesRpc rpc) {
-        boolean result = context.log().appendEntriesFromLeader(rpc.getPrevLogIndex(), rpc.getPrevLogTerm(), rpc.getEntries());
-        if (result) {
-            context.log().advanceCommitIndex(Math.min(rpc.getLeaderCommit(), rpc.getLastEntryIndex()), rpc.getTerm());
+    private AppendEntriesResult appendEntries(AppendEntriesRpc rpc) {
+        if (!context.log().appendEntriesFromLeader(rpc.getPrevLogIndex(), rpc.getPrevLogTerm(), rpc.getEntries())) {
+            // help leader to skip conflicting entries
+            ConflictHint hint = context.log().getConflictHint(rpc.getPrevLogIndex());
+            return new AppendEntriesResult(rpc.getMessageId(), rpc.getTerm(), false, hint.getTerm(), hint.getIndex());
         }
-        return result;
+        context.log().advanceCommitIndex(Math.min(rpc.getLeaderCommit(), rpc.getLastEntryIndex()), rpc.getTerm());
+        completeReadIndex();
+        return new AppendEntriesResult(rpc.getMessageId(), rpc.getTerm(), true);
     }
 
     /**
@@ -637,7 +1246,7 @@ public class NodeImpl implements Node {
      *
      * @param resultMessage result message
      */
-    @Subscribe
+    @Override
     public void onReceiveAppendEntriesResult(AppendEntriesResultMessage resultMessage) {
         context.taskExecutor().submit(() -> doProcessAppendEntriesResult(resultMessage), LOGGING_FUTURE_CALLBACK);
     }
@@ -674,8 +1283,17 @@ public class NodeImpl implements Node {
         }
 
         AppendEntriesRpc rpc = resultMessage.getRpc();
+
+        // node in the same term, either success or not, acknowledges leadership
+        if (result.getTerm() == role.getTerm() && member.isMajor()) {
+            renewLease(member, rpc);
+            if (member.ackReadIndexRound(rpc.getReadIndexRound())) {
+                checkReadIndexRound();
+            }
+        }
+
         if (result.isSuccess()) {
-            if (!member.isMajor()) {  // removing node
+            if (!member.isMajor() && (!member.isLearner() || member.isRemoving())) {  // removing node
                 if (member.isRemoving()) {
                     logger.debug("node {} is removing, skip", sourceNodeId);
                 } else {
@@ -685,21 +1303,34 @@ public class NodeImpl implements Node {
                 return;
             }
 
-            // peer
+            // peer or learner
             // advance commit index if major of match index changed
-            if (member.advanceReplicatingState(rpc.getLastEntryIndex())) {
+            if (member.advanceReplicatingState(rpc.getLastEntryIndex()) && member.isMajor()) {
+                checkLeadershipTransfer(member);
+                int commitIndex = context.log().getCommitIndex();
                 context.log().advanceCommitIndex(context.group().getMatchIndexOfMajor(), role.getTerm());
+
+                // send new commit index to nodes immediately
+                if (context.log().getCommitIndex() > commitIndex) {
+                    completeReadIndex();
+                    doReplicateLog();
+                    return;
+                }
             }
 
-            // node caught up
-            if (member.getNextIndex() >= context.log().getNextIndex()) {
-                member.stopReplicating();
+            // send entries not sent or commit index, skip if node caught up or too many rpc in flight
+            replicateLogIfNeeded(member, false);
+            return;
+        } else {
+
+            // result of rpc sent before last back off, ignore
+            if (member.getNextIndex() > 1 && rpc.getPrevLogIndex() >= member.getNextIndex()) {
+                logger.debug("stale append entries result from node {}, ignore", sourceNodeId);
                 return;
             }
-        } else {
 
             // backoff next index if failed to append entries
-            if (!member.backOffNextIndex()) {
+            if (!member.backOffNextIndex(computeNextIndexHint(member, rpc, result))) {
                 logger.warn("cannot back off next index more, node {}", sourceNodeId);
                 member.stopReplicating();
                 return;
@@ -710,12 +1341,161 @@ public class NodeImpl implements Node {
         doReplicateLog(member, context.config().getMaxReplicationEntries());
     }
 
+    /**
+     * Renew lease of leader if lease read enabled.
+     * <p>
+     * Lease starts at the latest timestamp that major nodes acknowledged rpc sent at or after it,
+     * and lasts min election timeout minus clock drift bound, since followers will not vote
+     * within min election timeout after receiving rpc.
+     * </p>
+     *
+     * @param member member
+     * @param rpc    rpc acknowledged by member
+     */
+    private void renewLease(GroupMember member, AppendEntriesRpc rpc) {
+        NodeConfig config = context.config();
+        if (!config.isLeaseRead()) {
+            return;
+        }
+        member.ackRpcSentAt(rpc.getSentAt());
+        long leaseStart = context.group().getLeaseStartOfMajor(System.currentTimeMillis());
+        if (leaseStart > 0) {
+            ((LeaderNodeRole) role).renewLease(leaseStart, leaseStart + config.getMinElectionTimeout() - config.getLeaseClockDrift());
+        }
+    }
+
+    /**
+     * Compute next index of member by conflict hint in result.
+     * <p>
+     * If follower has no entry at previous log index, jump to next index of follower.
+     * If follower has conflicting term, jump to the entry after last entry of that term in leader's log if found,
+     * otherwise first index of that term in follower's log.
+     * Fall back to decreasing one by one if no hint, or hint equals to next index.
+     * </p>
+     *
+     * @param member member
+     * @param rpc    rejected rpc
+     * @param result result
+     * @return next index hint
+     */
+    private int computeNextIndexHint(GroupMember member, AppendEntriesRpc rpc, AppendEntriesResult result) {
+        int nextIndex = member.getNextIndex();
+        if (result.getConflictIndex() <= 0) {
+            return Math.min(nextIndex - 1, rpc.getPrevLogIndex());
+        }
+        int hint = result.getConflictIndex();
+        if (result.getConflictTerm() > 0) {
+            int lastIndexOfTerm = context.log().findLastIndexOfTerm(result.getConflictTerm(), rpc.getPrevLogIndex());
+            if (lastIndexOfTerm > 0) {
+                hint = lastIndexOfTerm + 1;
+            }
+        }
+        // hint makes no progress, fall back to decreasing one by one
+        return hint != nextIndex ? hint : nextIndex - 1;
+    }
+
+    /**
+     * Receive timeout now rpc.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param rpcMessage rpc message
+     */
+    @Override
+    public void onReceiveTimeoutNowRpc(TimeoutNowRpcMessage rpcMessage) {
+        context.taskExecutor().submit(() -> doProcessTimeoutNowRpc(rpcMessage), LOGGING_FUTURE_CALLBACK);
+    }
+
+    /**
+     * Start election immediately if rpc is from current leader, without pre vote.
+     *
+     * @param rpcMessage rpc message
+     */
+    private void doProcessTimeoutNowRpc(TimeoutNowRpcMessage rpcMessage) {
+        TimeoutNowRpc rpc = rpcMessage.get();
+        if (role.getName() != RoleName.FOLLOWER || rpc.getTerm() != role.getTerm() ||
+                !rpc.getLeaderId().equals(role.getLeaderId(context.selfId()))) {
+            logger.debug("receive timeout now rpc from node {} but it is not current leader, ignore", rpcMessage.getSourceNodeId());
+            return;
+        }
+        logger.info("receive timeout now rpc from leader {}", rpc.getLeaderId());
+        role.cancelTimeoutOrTask();
+        startElection(role.getTerm() + 1, true);
+    }
+
+    /**
+     * Receive read index rpc.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param rpcMessage rpc message
+     */
+    @Override
+    public void onReceiveReadIndexRpc(ReadIndexRpcMessage rpcMessage) {
+        context.taskExecutor().submit(() -> doProcessReadIndexRpc(rpcMessage), LOGGING_FUTURE_CALLBACK);
+    }
+
+    /**
+     * Confirm read index for follower, reply after confirmed.
+     *
+     * @param rpcMessage rpc message
+     */
+    private void doProcessReadIndexRpc(ReadIndexRpcMessage rpcMessage) {
+        ReadIndexRpc rpc = rpcMessage.get();
+        if (rpc.getTerm() > role.getTerm()) {
+            becomeFollower(rpc.getTerm(), null, null, true);
+        }
+        if (rpc.getTerm() < role.getTerm() || role.getName() != RoleName.LEADER) {
+            context.connector().replyReadIndex(new ReadIndexResult(rpc.getMessageId(), role.getTerm(), false, 0), rpcMessage);
+            return;
+        }
+        int term = role.getTerm();
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        future.whenComplete((readIndex, cause) -> context.connector().replyReadIndex(
+                new ReadIndexResult(rpc.getMessageId(), term, cause == null, cause == null ? readIndex : 0), rpcMessage));
+        doReadIndex(future, true);
+    }
+
+    /**
+     * Receive read index result.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param result result
+     */
+    @Override
+    public void onReceiveReadIndexResult(ReadIndexResult result) {
+        context.taskExecutor().submit(() -> doProcessReadIndexResult(result), LOGGING_FUTURE_CALLBACK);
+    }
+
+    private void doProcessReadIndexResult(ReadIndexResult result) {
+        CompletableFuture<Integer> future = readIndexTracker.removeForwarded(result.getRpcMessageId());
+        if (future == null) {
+            logger.debug("no read index request for message id {}, maybe failed", result.getRpcMessageId());
+            return;
+        }
+        if (!result.isSuccess()) {
+            future.completeExceptionally(new NotLeaderException(role.getName(), null));
+            if (result.getTerm() > role.getTerm()) {
+                becomeFollower(result.getTerm(), null, null, true);
+            }
+            return;
+        }
+
+        // wait until applied log up to read index of leader
+        readIndexTracker.addReadable(future, result.getReadIndex());
+        completeReadIndex();
+    }
+
     /**
      * Receive install snapshot rpc.
      *
      * @param rpcMessage rpc message
      */
-    @Subscribe
+    @Override
     public void onReceiveInstallSnapshotRpc(InstallSnapshotRpcMessage rpcMessage) {
         context.taskExecutor().submit(
                 () -> context.connector().replyInstallSnapshot(doProcessInstallSnapshotRpc(rpcMessage), rpcMessage),
@@ -748,7 +1528,7 @@ public class NodeImpl implements Node {
      *
      * @param resultMessage result message
      */
-    @Subscribe
+    @Override
     public void onReceiveInstallSnapshotResult(InstallSnapshotResultMessage resultMessage) {
         context.taskExecutor().submit(
                 () -> doProcessInstallSnapshotResult(resultMessage),
@@ -759,6 +1539,13 @@ public class NodeImpl implements Node {
     private void doProcessInstallSnapshotResult(InstallSnapshotResultMessage resultMessage) {
         InstallSnapshotResult result = resultMessage.get();
 
+        // dispatch to snapshot transfer directed by leader
+        SnapshotTransfer transfer = snapshotTransfers.get(resultMessage.getSourceNodeId());
+        if (transfer != null) {
+            doProcessInstallSnapshotResultOfTransfer(resultMessage, transfer);
+            return;
+        }
+
         // step down if result's term is larger than current one
         if (result.getTerm() > role.getTerm()) {
             becomeFollower(result.getTerm(), null, null, true);
@@ -799,6 +1586,152 @@ public class NodeImpl implements Node {
         }
     }
 
+    /**
+     * Receive transfer snapshot rpc.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param rpcMessage rpc message
+     */
+    @Override
+    public void onReceiveTransferSnapshotRpc(TransferSnapshotRpcMessage rpcMessage) {
+        context.taskExecutor().submit(() -> doProcessTransferSnapshotRpc(rpcMessage), LOGGING_FUTURE_CALLBACK);
+    }
+
+    private void doProcessTransferSnapshotRpc(TransferSnapshotRpcMessage rpcMessage) {
+        TransferSnapshotRpc rpc = rpcMessage.get();
+        NodeEndpoint target = rpc.getTarget();
+
+        // reply current term if term in rpc is smaller than current term
+        if (rpc.getTerm() < role.getTerm()) {
+            context.connector().replyTransferSnapshot(new TransferSnapshotResult(role.getTerm(), target.getId(), false, 0), rpcMessage);
+            return;
+        }
+
+        // step down if term in rpc is larger than current one
+        if (rpc.getTerm() > role.getTerm()) {
+            becomeFollower(rpc.getTerm(), null, rpc.getLeaderId(), true);
+        }
+        if (role.getName() != RoleName.FOLLOWER) {
+            logger.warn("receive transfer snapshot rpc but current node is not follower, ignore");
+            context.connector().replyTransferSnapshot(new TransferSnapshotResult(role.getTerm(), target.getId(), false, 0), rpcMessage);
+            return;
+        }
+
+        // leader cannot replicate log after an older snapshot
+        int lastIncludedIndex = context.log().getSnapshotLastIncludedIndex();
+        if (lastIncludedIndex < rpc.getMinLastIndex()) {
+            logger.info("last included index of snapshot {} < min last index {} from leader, reject to transfer snapshot",
+                    lastIncludedIndex, rpc.getMinLastIndex());
+            context.connector().replyTransferSnapshot(new TransferSnapshotResult(role.getTerm(), target.getId(), false, 0), rpcMessage);
+            return;
+        }
+
+        // ignore duplicate rpc if transfer of the same snapshot is making progress, otherwise restart
+        SnapshotTransfer transfer = snapshotTransfers.get(target.getId());
+        long now = System.currentTimeMillis();
+        if (transfer != null && transfer.isDuplicate(rpc, lastIncludedIndex) &&
+                now - transfer.lastSentAt < context.config().getLogReplicationReadTimeout()) {
+            logger.debug("snapshot transfer to node {} in progress, ignore duplicate rpc", target.getId());
+            return;
+        }
+        logger.debug("transfer snapshot to node {}", target.getId());
+        transfer = new SnapshotTransfer(rpcMessage, lastIncludedIndex);
+        snapshotTransfers.put(target.getId(), transfer);
+        InstallSnapshotRpc installSnapshotRpc = context.log().createInstallSnapshotRpc(rpc.getTerm(), rpc.getLeaderId(), 0, context.config().getSnapshotDataLength());
+        transfer.lastSentAt = now;
+        context.connector().sendInstallSnapshot(installSnapshotRpc, target);
+    }
+
+    private void doProcessInstallSnapshotResultOfTransfer(InstallSnapshotResultMessage resultMessage, SnapshotTransfer transfer) {
+        InstallSnapshotResult result = resultMessage.get();
+        InstallSnapshotRpc rpc = resultMessage.getRpc();
+        TransferSnapshotRpcMessage transferMessage = transfer.message;
+        TransferSnapshotRpc transferRpc = transferMessage.get();
+        NodeId targetId = transferRpc.getTarget().getId();
+
+        // step down if result's term is larger than current one
+        if (result.getTerm() > role.getTerm()) {
+            becomeFollower(result.getTerm(), null, null, true);
+        }
+
+        // term changed, or snapshot changed during transfer
+        if (role.getTerm() != transferRpc.getTerm() || rpc.getLastIndex() != context.log().getSnapshotLastIncludedIndex()) {
+            logger.info("failed to transfer snapshot to node {}, term or snapshot changed", targetId);
+            snapshotTransfers.remove(targetId);
+            context.connector().replyTransferSnapshot(new TransferSnapshotResult(role.getTerm(), targetId, false, 0), transferMessage);
+            return;
+        }
+
+        if (rpc.isDone()) {
+            logger.debug("snapshot transferred to node {}", targetId);
+            snapshotTransfers.remove(targetId);
+            context.connector().replyTransferSnapshot(new TransferSnapshotResult(role.getTerm(), targetId, true, rpc.getLastIndex()), transferMessage);
+        } else {
+            InstallSnapshotRpc nextRpc = context.log().createInstallSnapshotRpc(transferRpc.getTerm(), transferRpc.getLeaderId(),
+                    rpc.getOffset() + rpc.getDataLength(), context.config().getSnapshotDataLength());
+            transfer.lastSentAt = System.currentTimeMillis();
+            context.connector().sendInstallSnapshot(nextRpc, transferRpc.getTarget());
+        }
+    }
+
+    /**
+     * Receive transfer snapshot result.
+     * <p>
+     * Source: connector.
+     * </p>
+     *
+     * @param result result
+     */
+    @Override
+    public void onReceiveTransferSnapshotResult(TransferSnapshotResult result) {
+        context.taskExecutor().submit(() -> doProcessTransferSnapshotResult(result), LOGGING_FUTURE_CALLBACK);
+    }
+
+    private void doProcessTransferSnapshotResult(TransferSnapshotResult result) {
+
+        // step down if result's term is larger than current one
+        if (result.getTerm() > role.getTerm()) {
+            becomeFollower(result.getTerm(), null, null, true);
+            return;
+        }
+
+        // check role
+        if (role.getName() != RoleName.LEADER) {
+            logger.warn("receive transfer snapshot result of node {} but current node is not leader, ignore", result.getTargetId());
+            return;
+        }
+        directedSnapshotTransfers.remove(result.getTargetId());
+
+        // dispatch to new node catch up task by target node id
+        if (newNodeCatchUpTaskGroup.onReceiveTransferSnapshotResult(result, context.log().getNextIndex())) {
+            return;
+        }
+
+        NodeId targetId = result.getTargetId();
+        GroupMember member = context.group().getMember(targetId);
+        if (member == null) {
+            logger.info("unexpected transfer snapshot result of node {}, node maybe removed", targetId);
+            return;
+        }
+
+        if (result.isSuccess()) {
+
+            // resume append entries rpc from last index of snapshot
+            member.advanceReplicatingState(result.getLastIndex());
+            int maxEntries = member.isMajor() ? context.config().getMaxReplicationEntries() : context.config().getMaxReplicationEntriesForNewNode();
+            doReplicateLog(member, maxEntries);
+        } else {
+
+            // fallback to install snapshot from leader
+            logger.info("failed to transfer snapshot from follower to node {}, install snapshot from leader", targetId);
+            member.replicateNow();
+            InstallSnapshotRpc rpc = context.log().createInstallSnapshotRpc(role.getTerm(), context.selfId(), 0, context.config().getSnapshotDataLength());
+            context.connector().sendInstallSnapshot(rpc, member.getEndpoint());
+        }
+    }
+
     /**
      * Group config from leader appended.
      * <p>
@@ -807,7 +1740,7 @@ public class NodeImpl implements Node {
      *
      * @param event event
      */
-    @Subscribe
+    @Override
     public void onGroupConfigEntryFromLeaderAppend(GroupConfigEntryFromLeaderAppendEvent event) {
         context.taskExecutor().submit(() -> {
             GroupConfigEntry entry = event.getEntry();
@@ -828,7 +1761,7 @@ public class NodeImpl implements Node {
      *
      * @param event event
      */
-    @Subscribe
+    @Override
     public void onGroupConfigEntryCommitted(GroupConfigEntryCommittedEvent event) {
         context.taskExecutor().submit(
                 () -> doProcessGroupConfigEntryCommittedEvent(event),
@@ -851,7 +1784,7 @@ public class NodeImpl implements Node {
      *
      * @param event event
      */
-    @Subscribe
+    @Override
     public void onGroupConfigEntryBatchRemoved(GroupConfigEntryBatchRemovedEvent event) {
         context.taskExecutor().submit(() -> {
             GroupConfigEntry entry = event.getFirstRemovedEntry();
@@ -867,26 +1800,13 @@ public class NodeImpl implements Node {
      *
      * @param event event
      */
-    @Subscribe
+    @Override
     public void onGenerateSnapshot(SnapshotGenerateEvent event) {
         context.taskExecutor().submit(() -> {
-            context.log().generateSnapshot(event.getLastIncludedIndex(), context.group().listEndpointOfMajor());
+            context.log().generateSnapshot(event.getLastIncludedIndex(), context.group().listEndpointOfMember());
         }, LOGGING_FUTURE_CALLBACK);
     }
 
-    /**
-     * Dead event.
-     * <p>
-     * Source: event-bus.
-     * </p>
-     *
-     * @param deadEvent dead event
-     */
-    @Subscribe
-    public void onReceiveDeadEvent(DeadEvent deadEvent) {
-        logger.warn("dead event {}", deadEvent);
-    }
-
     @Override
     public synchronized void stop() throws InterruptedException {
         if (!started) {
@@ -914,14 +1834,14 @@ public class NodeImpl implements Node {
         @Override
         public void doReplicateLog(NodeEndpoint endpoint, int nextIndex) {
             try {
-                AppendEntriesRpc rpc = context.log().createAppendEntriesRpc(role.getTerm(), context.selfId(), nextIndex, context.config().getMaxReplicationEntriesForNewNode());
+                AppendEntriesRpc rpc = context.log().createAppendEntriesRpc(role.getTerm(), context.selfId(), nextIndex,
+                        context.config().getMaxReplicationEntriesForNewNode(), context.config().getMaxReplicationBytesForNewNode());
                 context.connector().sendAppendEntries(rpc, endpoint);
             } catch (EntryInSnapshotException ignored) {
 
                 // change to install snapshot rpc if entry in snapshot
                 logger.debug("log entry {} in snapshot, replicate with install snapshot RPC", nextIndex);
-                InstallSnapshotRpc rpc = context.log().createInstallSnapshotRpc(role.getTerm(), context.selfId(), 0, context.config().getSnapshotDataLength());
-                context.connector().sendInstallSnapshot(rpc, endpoint);
+                installSnapshot(endpoint);
             }
         }
 
@@ -931,6 +1851,14 @@ public class NodeImpl implements Node {
             context.connector().sendInstallSnapshot(rpc, endpoint);
         }
 
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, long delay) {
+            return context.scheduler().schedule(
+                    () -> context.taskExecutor().submit(task, LOGGING_FUTURE_CALLBACK),
+                    delay, TimeUnit.MILLISECONDS
+            );
+        }
+
         @Override
         public void done(NewNodeCatchUpTask task) {
 
@@ -944,9 +1872,9 @@ public class NodeImpl implements Node {
         @Override
         public void addNode(NodeEndpoint endpoint, int nextIndex, int matchIndex) {
             context.taskExecutor().submit(() -> {
-                context.log().appendEntryForAddNode(role.getTerm(), context.group().listEndpointOfMajor(), endpoint);
+                context.log().appendEntryForAddNode(role.getTerm(), context.group().listEndpointOfMember(), endpoint);
                 assert !context.selfId().equals(endpoint.getId());
-                context.group().addNode(endpoint, nextIndex, matchIndex, true);
+                context.group().addNode(endpoint, nextIndex, matchIndex, !endpoint.isLearner());
                 NodeImpl.this.doReplicateLog();
             }, LOGGING_FUTURE_CALLBACK);
         }
@@ -955,7 +1883,7 @@ public class NodeImpl implements Node {
         public void downgradeNode(NodeId nodeId) {
             context.taskExecutor().submit(() -> {
                 context.group().downgrade(nodeId);
-                Set<NodeEndpoint> nodeEndpoints = context.group().listEndpointOfMajor();
+                Set<NodeEndpoint> nodeEndpoints = context.group().listEndpointOfMember();
                 context.log().appendEntryForRemoveNode(role.getTerm(), nodeEndpoints, nodeId);
                 NodeImpl.this.doReplicateLog();
             }, LOGGING_FUTURE_CALLBACK);
@@ -975,12 +1903,51 @@ public class NodeImpl implements Node {
         @Override
         public void done() {
 
-            // clear current group config change
+            // clear current group config change, and start next one
             synchronized (NodeImpl.this) {
                 groupConfigChangeTaskHolder = new GroupConfigChangeTaskHolder();
+                PendingGroupConfigChange pending = pendingGroupConfigChanges.poll();
+                if (pending != null) {
+                    submitGroupConfigChangeTask(pending.task, pending.future);
+                }
             }
         }
 
     }
 
+    /**
+     * Snapshot transfer directed by leader, on source node.
+     */
+    private static class SnapshotTransfer {
+
+        private final TransferSnapshotRpcMessage message;
+        private final int lastIncludedIndex;
+        private long lastSentAt;
+
+        SnapshotTransfer(TransferSnapshotRpcMessage message, int lastIncludedIndex) {
+            this.message = message;
+            this.lastIncludedIndex = lastIncludedIndex;
+        }
+
+        boolean isDuplicate(TransferSnapshotRpc rpc, int lastIncludedIndex) {
+            return message.get().getTerm() == rpc.getTerm() && this.lastIncludedIndex == lastIncludedIndex;
+        }
+
+    }
+
+    /**
+     * Group config change waiting for previous one.
+     */
+    private static class PendingGroupConfigChange {
+
+        private final GroupConfigChangeTask task;
+        private final CompletableFuture<GroupConfigChangeTaskResult> future;
+
+        PendingGroupConfigChange(GroupConfigChangeTask task, CompletableFuture<GroupConfigChangeTaskResult> future) {
+            this.task = task;
+            this.future = future;
+        }
+
+    }
+
 }
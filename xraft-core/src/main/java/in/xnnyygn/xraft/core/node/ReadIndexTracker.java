@@ -0,0 +1,256 @@
+package in.xnnyygn.xraft.core.node;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tracker of read index requests, accessed in node thread only.
+ * <p>
+ * Requests are confirmed in rounds. A round takes all pending requests with read index
+ * {@code max(commit index, index of no-op log of leader)}, and is confirmed when major nodes acknowledged
+ * append entries rpc sent in or after this round. Requests arriving when a round is in flight wait for next round,
+ * so requests are batched into one heartbeat round. Confirmed requests are readable when commit index reaches
+ * their read index.
+ * </p>
+ * <p>
+ * On follower, requests are forwarded to leader by read index rpc, and readable when commit index reaches
+ * read index replied by leader. Leader completes requests from followers once confirmed, since followers
+ * wait for their own commit index.
+ * </p>
+ */
+@NotThreadSafe
+class ReadIndexTracker {
+
+    // last started round, never reset so rpc of previous rounds cannot confirm new round
+    private int round = 0;
+    private int minReadIndex = 0;
+    private List<CompletableFuture<Integer>> pendingReads = new ArrayList<>();
+    private List<CompletableFuture<Integer>> pendingFollowerReads = new ArrayList<>();
+    private Batch inflightBatch = null;
+    private final LinkedList<Batch> confirmedBatches = new LinkedList<>();
+    private final Map<String, CompletableFuture<Integer>> forwardedReads = new HashMap<>();
+
+    /**
+     * Reset when becoming leader.
+     *
+     * @param minReadIndex index of no-op log of leader
+     */
+    void reset(int minReadIndex) {
+        this.minReadIndex = minReadIndex;
+    }
+
+    /**
+     * Add request.
+     *
+     * @param future future of read index
+     * @return true if should start new round, otherwise false
+     */
+    boolean add(CompletableFuture<Integer> future) {
+        pendingReads.add(future);
+        return inflightBatch == null;
+    }
+
+    /**
+     * Add request from follower, completed when round confirmed.
+     *
+     * @param future future of read index
+     * @return true if should start new round, otherwise false
+     */
+    boolean addFromFollower(CompletableFuture<Integer> future) {
+        pendingFollowerReads.add(future);
+        return inflightBatch == null;
+    }
+
+    /**
+     * Add request confirmed without round, e.g within lease of leader.
+     *
+     * @param future      future of read index
+     * @param commitIndex commit index
+     */
+    void addConfirmed(CompletableFuture<Integer> future, int commitIndex) {
+        confirmedBatches.add(new Batch(0, Math.max(commitIndex, minReadIndex), Collections.singletonList(future),
+                Collections.emptyList()));
+    }
+
+    /**
+     * Complete request from follower confirmed without round, e.g within lease of leader.
+     *
+     * @param future      future of read index
+     * @param commitIndex commit index
+     */
+    void confirmFromFollower(CompletableFuture<Integer> future, int commitIndex) {
+        future.complete(Math.max(commitIndex, minReadIndex));
+    }
+
+    /**
+     * Add request forwarded to leader.
+     *
+     * @param messageId message id of read index rpc
+     * @param future    future of read index
+     */
+    void addForwarded(String messageId, CompletableFuture<Integer> future) {
+        forwardedReads.put(messageId, future);
+    }
+
+    /**
+     * Remove request forwarded to leader.
+     *
+     * @param messageId message id of read index rpc
+     * @return future of read index, {@code null} if not found
+     */
+    @Nullable
+    CompletableFuture<Integer> removeForwarded(String messageId) {
+        return forwardedReads.remove(messageId);
+    }
+
+    /**
+     * Add request with read index replied by leader.
+     *
+     * @param future    future of read index
+     * @param readIndex read index
+     */
+    void addReadable(CompletableFuture<Integer> future, int readIndex) {
+        confirmedBatches.add(new Batch(0, readIndex, Collections.singletonList(future), Collections.emptyList()));
+    }
+
+    /**
+     * Start round with all pending requests.
+     *
+     * @param commitIndex commit index
+     * @return new round
+     */
+    int startRound(int commitIndex) {
+        if ((pendingReads.isEmpty() && pendingFollowerReads.isEmpty()) || inflightBatch != null) {
+            throw new IllegalStateException("no pending read or round in flight");
+        }
+        round++;
+        inflightBatch = new Batch(round, Math.max(commitIndex, minReadIndex), pendingReads, pendingFollowerReads);
+        pendingReads = new ArrayList<>();
+        pendingFollowerReads = new ArrayList<>();
+        return round;
+    }
+
+    /**
+     * Get last started round.
+     *
+     * @return round, {@code 0} if no round started
+     */
+    int getRound() {
+        return round;
+    }
+
+    /**
+     * Get round in flight.
+     *
+     * @return round, {@code 0} if no round in flight
+     */
+    int getInflightRound() {
+        return inflightBatch != null ? inflightBatch.round : 0;
+    }
+
+    /**
+     * Confirm round in flight, and complete requests from followers in round.
+     *
+     * @return true if should start new round for pending requests, otherwise false
+     */
+    boolean confirmRound() {
+        if (inflightBatch == null) {
+            throw new IllegalStateException("no round in flight");
+        }
+        inflightBatch.completeFollowerReads();
+        if (!inflightBatch.futures.isEmpty()) {
+            confirmedBatches.add(inflightBatch);
+        }
+        inflightBatch = null;
+        return !pendingReads.isEmpty() || !pendingFollowerReads.isEmpty();
+    }
+
+    /**
+     * Remove and get confirmed batches whose read index is not greater than commit index.
+     *
+     * @param commitIndex commit index
+     * @return readable batches
+     */
+    List<Batch> pollReadable(int commitIndex) {
+        if (confirmedBatches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // batches confirmed by lease may precede batch of round with smaller read index
+        List<Batch> batches = new ArrayList<>();
+        Iterator<Batch> iterator = confirmedBatches.iterator();
+        while (iterator.hasNext()) {
+            Batch batch = iterator.next();
+            if (batch.readIndex <= commitIndex) {
+                batches.add(batch);
+                iterator.remove();
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Fail all requests, e.g when leader changed.
+     *
+     * @param cause cause
+     */
+    void failAll(Throwable cause) {
+        pendingReads.forEach(f -> f.completeExceptionally(cause));
+        pendingReads = new ArrayList<>();
+        pendingFollowerReads.forEach(f -> f.completeExceptionally(cause));
+        pendingFollowerReads = new ArrayList<>();
+        if (inflightBatch != null) {
+            inflightBatch.fail(cause);
+            inflightBatch = null;
+        }
+        confirmedBatches.forEach(b -> b.fail(cause));
+        confirmedBatches.clear();
+        forwardedReads.values().forEach(f -> f.completeExceptionally(cause));
+        forwardedReads.clear();
+    }
+
+    /**
+     * Requests with the same read index.
+     */
+    static class Batch {
+
+        private final int round;
+        private final int readIndex;
+        private final List<CompletableFuture<Integer>> futures;
+        private final List<CompletableFuture<Integer>> followerFutures;
+
+        Batch(int round, int readIndex, List<CompletableFuture<Integer>> futures,
+              List<CompletableFuture<Integer>> followerFutures) {
+            this.round = round;
+            this.readIndex = readIndex;
+            this.futures = futures;
+            this.followerFutures = followerFutures;
+        }
+
+        int getReadIndex() {
+            return readIndex;
+        }
+
+        void complete() {
+            futures.forEach(f -> f.complete(readIndex));
+        }
+
+        void completeFollowerReads() {
+            followerFutures.forEach(f -> f.complete(readIndex));
+        }
+
+        void fail(Throwable cause) {
+            futures.forEach(f -> f.completeExceptionally(cause));
+            followerFutures.forEach(f -> f.completeExceptionally(cause));
+        }
+
+    }
+
+}
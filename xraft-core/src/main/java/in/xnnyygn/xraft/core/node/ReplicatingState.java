@@ -2,13 +2,23 @@ package in.xnnyygn.xraft.core.node;
 
 /**
  * Replicating state.
+ * <p>
+ * Replication starts with probing, one append entries rpc at a time until success.
+ * After that, append entries rpc are pipelined and next index is advanced optimistically
+ * when sending, until rejected or timeout.
+ * </p>
  */
 class ReplicatingState {
 
     private int nextIndex;
     private int matchIndex;
-    private boolean replicating = false;
+    private boolean pipelining = false;
+    private int inflight = 0;
     private long lastReplicatedAt = 0;
+    private int commitIndexSent = 0;
+    private int readIndexRoundSent = 0;
+    private int readIndexRoundAcked = 0;
+    private long ackedRpcSentAt = 0;
 
     ReplicatingState(int nextIndex) {
         this(nextIndex, 0);
@@ -38,50 +48,120 @@ class ReplicatingState {
     }
 
     /**
-     * Back off next index, in other word, decrease.
+     * Back off next index to hint, and change to probing.
+     * <p>
+     * Hint is computed from conflict hint of follower, or previous log index of rejected rpc if no hint,
+     * which may be less than next index minus one if pipelining. Hint may be greater than next index
+     * if follower reported that previous log was in its snapshot.
+     * </p>
      *
-     * @return true if decrease successfully, false if next index is less than or equal to {@code 1}
+     * @param nextIndexHint next index to replicate from
+     * @return true if next index changed, false if hint is less than {@code 1} or equals to next index
      */
-    boolean backOffNextIndex() {
-        if (nextIndex > 1) {
-            nextIndex--;
-            return true;
+    boolean backOffNextIndex(int nextIndexHint) {
+        pipelining = false;
+        inflight = 0;
+        if (nextIndexHint < 1 || nextIndexHint == nextIndex) {
+            return false;
         }
-        return false;
+        nextIndex = nextIndexHint;
+        return true;
     }
 
     /**
-     * Advance next index and match index by last entry index.
+     * Advance next index and match index by last entry index of successful rpc, and change to pipelining.
+     * <p>
+     * Next index will not go back if advanced optimistically.
+     * </p>
      *
      * @param lastEntryIndex last entry index
      * @return true if advanced, false if no change
      */
     boolean advance(int lastEntryIndex) {
+        if (inflight > 0) {
+            inflight--;
+        }
+        pipelining = true;
+
         // changed
-        boolean result = (matchIndex != lastEntryIndex || nextIndex != (lastEntryIndex + 1));
+        boolean result = (lastEntryIndex > matchIndex || nextIndex < (lastEntryIndex + 1));
 
-        matchIndex = lastEntryIndex;
-        nextIndex = lastEntryIndex + 1;
+        matchIndex = Math.max(matchIndex, lastEntryIndex);
+        nextIndex = Math.max(nextIndex, lastEntryIndex + 1);
 
         return result;
     }
 
+    /**
+     * Advance next index optimistically after sending rpc if pipelining.
+     *
+     * @param lastEntryIndex last entry index of rpc sent
+     */
+    void advanceOptimistically(int lastEntryIndex) {
+        if (pipelining) {
+            nextIndex = Math.max(nextIndex, lastEntryIndex + 1);
+        }
+    }
+
+    /**
+     * Reset to probing from match index, for rpc lost.
+     */
+    void reset() {
+        if (pipelining) {
+            nextIndex = matchIndex + 1;
+        }
+        pipelining = false;
+        inflight = 0;
+    }
+
+    /**
+     * Test if pipelining.
+     *
+     * @return true if pipelining, false if probing
+     */
+    boolean isPipelining() {
+        return pipelining;
+    }
+
+    /**
+     * Set pipelining.
+     *
+     * @param pipelining pipelining
+     */
+    void setPipelining(boolean pipelining) {
+        this.pipelining = pipelining;
+    }
+
+    /**
+     * Get count of rpc without result.
+     *
+     * @return count of rpc in flight
+     */
+    int getInflight() {
+        return inflight;
+    }
+
+    /**
+     * Increase count of rpc without result.
+     */
+    void increaseInflight() {
+        inflight++;
+    }
+
     /**
      * Test if replicating.
      *
-     * @return true if replicating, otherwise false
+     * @return true if any rpc without result, otherwise false
      */
     boolean isReplicating() {
-        return replicating;
+        return inflight > 0;
     }
 
     /**
-     * Set replicating.
-     *
-     * @param replicating replicating
+     * Stop replicating, rpc in flight will be ignored.
      */
-    void setReplicating(boolean replicating) {
-        this.replicating = replicating;
+    void stopReplicating() {
+        inflight = 0;
     }
 
     /**
@@ -102,13 +182,95 @@ class ReplicatingState {
         this.lastReplicatedAt = lastReplicatedAt;
     }
 
+    /**
+     * Get commit index in last append entries rpc sent.
+     *
+     * @return commit index sent
+     */
+    int getCommitIndexSent() {
+        return commitIndexSent;
+    }
+
+    /**
+     * Set commit index in last append entries rpc sent.
+     *
+     * @param commitIndexSent commit index sent
+     */
+    void setCommitIndexSent(int commitIndexSent) {
+        this.commitIndexSent = commitIndexSent;
+    }
+
+    /**
+     * Get read index round in last append entries rpc sent.
+     *
+     * @return read index round sent
+     */
+    int getReadIndexRoundSent() {
+        return readIndexRoundSent;
+    }
+
+    /**
+     * Set read index round in last append entries rpc sent.
+     *
+     * @param readIndexRoundSent read index round sent
+     */
+    void setReadIndexRoundSent(int readIndexRoundSent) {
+        this.readIndexRoundSent = readIndexRoundSent;
+    }
+
+    /**
+     * Get max read index round acknowledged.
+     *
+     * @return read index round acknowledged
+     */
+    int getReadIndexRoundAcked() {
+        return readIndexRoundAcked;
+    }
+
+    /**
+     * Acknowledge read index round.
+     *
+     * @param readIndexRound read index round in successful rpc
+     * @return true if max round acknowledged increased, otherwise false
+     */
+    boolean ackReadIndexRound(int readIndexRound) {
+        if (readIndexRound <= readIndexRoundAcked) {
+            return false;
+        }
+        readIndexRoundAcked = readIndexRound;
+        return true;
+    }
+
+    /**
+     * Get max sent timestamp of rpc acknowledged.
+     *
+     * @return timestamp
+     */
+    long getAckedRpcSentAt() {
+        return ackedRpcSentAt;
+    }
+
+    /**
+     * Acknowledge rpc sent at specified timestamp.
+     *
+     * @param sentAt sent timestamp of rpc
+     */
+    void ackRpcSentAt(long sentAt) {
+        ackedRpcSentAt = Math.max(ackedRpcSentAt, sentAt);
+    }
+
     @Override
     public String toString() {
         return "ReplicatingState{" +
                 "nextIndex=" + nextIndex +
                 ", matchIndex=" + matchIndex +
-                ", replicating=" + replicating +
+                ", pipelining=" + pipelining +
+                ", inflight=" + inflight +
                 ", lastReplicatedAt=" + lastReplicatedAt +
+                ", commitIndexSent=" + commitIndexSent +
+                ", readIndexRoundSent=" + readIndexRoundSent +
+                ", readIndexRoundAcked=" + readIndexRoundAcked +
+                ", ackedRpcSentAt=" + ackedRpcSentAt +
                 '}';
     }
 
@@ -32,17 +32,38 @@ public class DefaultNodeConfigLoader implements NodeConfigLoader {
         NodeConfig config = new NodeConfig();
         config.setMinElectionTimeout(getIntProperty(p, "election.timeout.min", 3000));
         config.setMaxElectionTimeout(getIntProperty(p, "election.timeout.max", 4000));
+        config.setPreVote(Boolean.parseBoolean(p.getProperty(propertyNamePrefix + "election.pre-vote", "false")));
         config.setLogReplicationDelay(getIntProperty(p, "replication.delay", 0));
         config.setLogReplicationInterval(getIntProperty(p, "replication.interval", 1000));
         config.setLogReplicationReadTimeout(getIntProperty(p, "replication.timeout.read", 900));
+        config.setSchedulerTickDuration(getIntProperty(p, "scheduler.tick", 0));
         config.setMaxReplicationEntries(getIntProperty(p, "replication.entries.max", Log.ALL_ENTRIES));
+        config.setMaxReplicationBytes(getIntProperty(p, "replication.bytes.max", 1024 * 1024));
+        config.setMaxInflightAppendEntries(getIntProperty(p, "replication.inflight.max", 4));
+        config.setMaxAppendBatchEntries(getIntProperty(p, "append.batch.entries.max", 256));
+        config.setMaxAppendBatchBytes(getIntProperty(p, "append.batch.bytes.max", 1024 * 1024));
+        config.setMaxAppendLinger(getIntProperty(p, "append.linger.max", 1000));
+        config.setMaxPendingAppendEntries(getIntProperty(p, "append.pending.entries.max", 10000));
+        config.setMaxPendingAppendBytes(getIntProperty(p, "append.pending.bytes.max", 64 * 1024 * 1024));
+        config.setPendingAppendTimeout(getIntProperty(p, "append.pending.timeout", 0));
+        config.setLeaseRead(Boolean.parseBoolean(p.getProperty(propertyNamePrefix + "read.lease", "false")));
+        config.setLeaseClockDrift(getIntProperty(p, "read.lease.clock-drift", 300));
+        config.setForwardedReadTimeout(getIntProperty(p, "read.forward.timeout", 3000));
         config.setSnapshotDataLength(getIntProperty(p, "snapshot.data.length", 1024));
+        config.setSnapshotEntryThreshold(getIntProperty(p, "snapshot.threshold.entries", 10000));
+        config.setSnapshotByteThreshold(getLongProperty(p, "snapshot.threshold.bytes", 64 * 1024 * 1024));
+        config.setSnapshotMinInterval(getIntProperty(p, "snapshot.interval.min", 10000));
+        config.setMaxDeltaSnapshots(getIntProperty(p, "snapshot.delta.max", 0));
+        config.setSnapshotCodec(p.getProperty(propertyNamePrefix + "snapshot.codec", "none"));
+        config.setSnapshotTransferFromFollower(Boolean.parseBoolean(p.getProperty(propertyNamePrefix + "snapshot.transfer.follower", "false")));
+        config.setSnapshotTransferTimeout(getIntProperty(p, "snapshot.transfer.timeout", 30000));
         config.setMaxReplicationEntriesForNewNode(getIntProperty(p, "new-node.replication.entries.max", Log.ALL_ENTRIES));
-        config.setNewNodeMaxRound(getIntProperty(p, "new-node.round.max", 10));
+        config.setMaxReplicationBytesForNewNode(getIntProperty(p, "new-node.replication.bytes.max", 1024 * 1024));
         config.setNewNodeReadTimeout(getIntProperty(p, "new-node.timeout.read", 3000));
         config.setNewNodeAdvanceTimeout(getIntProperty(p, "new-node.timeout.advance", 3000));
         config.setPreviousGroupConfigChangeTimeout(getIntProperty(p, "group.config.change.timeout", 0));
         config.setNioWorkerThreads(getIntProperty(p, "connector.workers", 0));
+        config.setEventLoopMode(Boolean.parseBoolean(p.getProperty(propertyNamePrefix + "connector.event-loop", "false")));
         return config;
     }
 
@@ -59,4 +80,17 @@ public class DefaultNodeConfigLoader implements NodeConfigLoader {
         return defaultValue;
     }
 
+    private long getLongProperty(Properties properties, String name, long defaultValue) {
+        String value = properties.getProperty(propertyNamePrefix + name);
+        if (value != null) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                logger.warn("illegal value [" + value + "] for property " + name +
+                        ", fallback to default value " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
 }
@@ -21,6 +21,13 @@ public class NodeConfig {
      */
     private int maxElectionTimeout = 4000;
 
+    /**
+     * Ask other nodes whether they would vote before starting election, so that node
+     * which missed heartbeats temporarily will not disrupt current leader by increasing term.
+     * All nodes in group should support pre vote rpc before enabled.
+     */
+    private boolean preVote = false;
+
     /**
      * Delay for first log replication after becoming leader
      */
@@ -31,6 +38,7 @@ public class NodeConfig {
      * More specifically, interval for heartbeat rpc.
      * Append entries rpc may be sent less than this interval.
      * e.g after receiving append entries result from followers.
+     * Heartbeat is skipped if any rpc was sent to follower within half of this interval.
      */
     private int logReplicationInterval = 1000;
 
@@ -40,30 +48,167 @@ public class NodeConfig {
      */
     private int logReplicationReadTimeout = 900;
 
+    /**
+     * Tick duration of hashed wheel timer used as scheduler, timeouts fire with precision of tick.
+     * Election timeout is reset in place on heartbeat instead of rescheduled.
+     * Delays shorter than one tick are still scheduled by scheduled thread pool.
+     * {@code 0} to use scheduled thread pool. Ignored in event loop mode.
+     */
+    private int schedulerTickDuration = 0;
+
     /**
      * Max entries to send when replicate log to followers
      */
     private int maxReplicationEntries = Log.ALL_ENTRIES;
 
+    /**
+     * Max bytes of commands to send when replicate log to followers, at least one entry is sent.
+     * {@code 0} to disable.
+     */
+    private int maxReplicationBytes = 1024 * 1024;
+
     /**
      * Max entries to send when replicate log to new node
      */
     private int maxReplicationEntriesForNewNode = Log.ALL_ENTRIES;
 
+    /**
+     * Max bytes of commands to send when replicate log to new node, at least one entry is sent.
+     * {@code 0} to disable.
+     */
+    private int maxReplicationBytesForNewNode = 1024 * 1024;
+
+    /**
+     * Max append entries rpc without result for each node, when node is up to date.
+     * Set to {@code 1} to disable pipelining. Should not exceed
+     * {@link in.xnnyygn.xraft.core.rpc.nio.NioConnector#MAX_PENDING_APPEND_ENTRIES_RPC}.
+     */
+    private int maxInflightAppendEntries = 4;
+
+    /**
+     * Max commands appended to log in one batch.
+     */
+    private int maxAppendBatchEntries = 256;
+
+    /**
+     * Max bytes of commands appended to log in one batch.
+     */
+    private int maxAppendBatchBytes = 1024 * 1024;
+
+    /**
+     * Max time in microseconds to wait for more commands before appending a batch.
+     * Actual linger adapts to load, {@code 0} when commands arrive one by one.
+     * Set to {@code 0} to disable linger.
+     */
+    private int maxAppendLinger = 1000;
+
+    /**
+     * Max append log requests in flight, from admission until applied or failed.
+     * Set to {@code 0} to disable.
+     */
+    private int maxPendingAppendEntries = 10000;
+
+    /**
+     * Max bytes of commands of append log requests in flight.
+     * Set to {@code 0} to disable.
+     */
+    private int maxPendingAppendBytes = 64 * 1024 * 1024;
+
+    /**
+     * Max time in milliseconds an append log request waits for admission when limits of requests in flight reached.
+     * Set to {@code 0} to reject immediately.
+     */
+    private int pendingAppendTimeout = 0;
+
+    /**
+     * Serve reads on leader within lease, without confirming leadership with other nodes.
+     * Lease is renewed by results of append entries rpc from major nodes and lasts min election timeout
+     * minus clock drift bound. When enabled, follower rejects request vote rpc within min election timeout
+     * after hearing from leader. All nodes in group should enable it together.
+     */
+    private boolean leaseRead = false;
+
+    /**
+     * Bound of clock drift between nodes within one lease, subtracted from lease.
+     */
+    private int leaseClockDrift = 300;
+
+    /**
+     * Timeout of read index request forwarded from follower to leader.
+     * Default to election timeout.
+     */
+    private int forwardedReadTimeout = 3000;
+
     /**
      * Data length in install snapshot rpc.
      */
     private int snapshotDataLength = 1024;
 
+    /**
+     * Count of entries since last snapshot to generate new snapshot.
+     * {@code 0} to disable.
+     */
+    private int snapshotEntryThreshold = 10000;
+
+    /**
+     * Bytes of entries since last snapshot to generate new snapshot.
+     * {@code 0} to disable.
+     */
+    private long snapshotByteThreshold = 64 * 1024 * 1024;
+
+    /**
+     * Minimum interval between two snapshots.
+     */
+    private int snapshotMinInterval = 10000;
+
+    /**
+     * Max delta snapshots chained on a full snapshot before rebase.
+     * Only for state machine implementing {@link in.xnnyygn.xraft.core.log.statemachine.DeltaSnapshotStateMachine} and file log.
+     * Default is {@code 0}, always full snapshot.
+     */
+    private int maxDeltaSnapshots = 0;
+
+    /**
+     * Codec to compress snapshot data in file, {@code none} or {@code gzip}.
+     */
+    private String snapshotCodec = "none";
+
+    /**
+     * Let leader direct node to fetch snapshot from an up-to-date follower instead of leader.
+     * All nodes in group should support transfer snapshot rpc before enabled.
+     */
+    private boolean snapshotTransferFromFollower = false;
+
+    /**
+     * Timeout for follower to transfer snapshot directed by leader.
+     * After timeout, leader installs snapshot to node by itself.
+     */
+    private int snapshotTransferTimeout = 30000;
+
     /**
      * Worker thread count in nio connector.
      */
     private int nioWorkerThreads = 0;
 
     /**
-     * Max round for new node to catch up.
+     * Run node logic, timers and channels to other nodes in one netty event loop, so messages are processed
+     * without handoff between threads. Node tasks, e.g writing log files, block io of the loop.
+     * Only used when connector, scheduler and task executor of node are not specified.
+     * {@link #nioWorkerThreads} is ignored in this mode.
+     */
+    private boolean eventLoopMode = false;
+
+    /**
+     * Thread count of node task executors shared by groups in multi raft runtime.
+     * Each group is bound to one thread.
      */
-    private int newNodeMaxRound = 10;
+    private int sharedNodeThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Max thread count of group config change task executor shared by groups in multi raft runtime.
+     * Tasks of other groups wait in queue when all threads are busy.
+     */
+    private int sharedGroupConfigChangeThreads = 4;
 
     /**
      * Read timeout to receive response from new node.
@@ -100,6 +245,14 @@ public class NodeConfig {
         this.maxElectionTimeout = maxElectionTimeout;
     }
 
+    public boolean isPreVote() {
+        return preVote;
+    }
+
+    public void setPreVote(boolean preVote) {
+        this.preVote = preVote;
+    }
+
     public int getLogReplicationDelay() {
         return logReplicationDelay;
     }
@@ -124,6 +277,14 @@ public class NodeConfig {
         this.logReplicationReadTimeout = logReplicationReadTimeout;
     }
 
+    public int getSchedulerTickDuration() {
+        return schedulerTickDuration;
+    }
+
+    public void setSchedulerTickDuration(int schedulerTickDuration) {
+        this.schedulerTickDuration = schedulerTickDuration;
+    }
+
     public int getMaxReplicationEntries() {
         return maxReplicationEntries;
     }
@@ -132,6 +293,14 @@ public class NodeConfig {
         this.maxReplicationEntries = maxReplicationEntries;
     }
 
+    public int getMaxReplicationBytes() {
+        return maxReplicationBytes;
+    }
+
+    public void setMaxReplicationBytes(int maxReplicationBytes) {
+        this.maxReplicationBytes = maxReplicationBytes;
+    }
+
     public int getMaxReplicationEntriesForNewNode() {
         return maxReplicationEntriesForNewNode;
     }
@@ -140,6 +309,70 @@ public class NodeConfig {
         this.maxReplicationEntriesForNewNode = maxReplicationEntriesForNewNode;
     }
 
+    public int getMaxReplicationBytesForNewNode() {
+        return maxReplicationBytesForNewNode;
+    }
+
+    public void setMaxReplicationBytesForNewNode(int maxReplicationBytesForNewNode) {
+        this.maxReplicationBytesForNewNode = maxReplicationBytesForNewNode;
+    }
+
+    public int getMaxInflightAppendEntries() {
+        return maxInflightAppendEntries;
+    }
+
+    public void setMaxInflightAppendEntries(int maxInflightAppendEntries) {
+        this.maxInflightAppendEntries = maxInflightAppendEntries;
+    }
+
+    public int getMaxAppendBatchEntries() {
+        return maxAppendBatchEntries;
+    }
+
+    public void setMaxAppendBatchEntries(int maxAppendBatchEntries) {
+        this.maxAppendBatchEntries = maxAppendBatchEntries;
+    }
+
+    public int getMaxAppendBatchBytes() {
+        return maxAppendBatchBytes;
+    }
+
+    public void setMaxAppendBatchBytes(int maxAppendBatchBytes) {
+        this.maxAppendBatchBytes = maxAppendBatchBytes;
+    }
+
+    public int getMaxAppendLinger() {
+        return maxAppendLinger;
+    }
+
+    public void setMaxAppendLinger(int maxAppendLinger) {
+        this.maxAppendLinger = maxAppendLinger;
+    }
+
+    public int getMaxPendingAppendEntries() {
+        return maxPendingAppendEntries;
+    }
+
+    public void setMaxPendingAppendEntries(int maxPendingAppendEntries) {
+        this.maxPendingAppendEntries = maxPendingAppendEntries;
+    }
+
+    public int getMaxPendingAppendBytes() {
+        return maxPendingAppendBytes;
+    }
+
+    public void setMaxPendingAppendBytes(int maxPendingAppendBytes) {
+        this.maxPendingAppendBytes = maxPendingAppendBytes;
+    }
+
+    public int getPendingAppendTimeout() {
+        return pendingAppendTimeout;
+    }
+
+    public void setPendingAppendTimeout(int pendingAppendTimeout) {
+        this.pendingAppendTimeout = pendingAppendTimeout;
+    }
+
     public int getSnapshotDataLength() {
         return snapshotDataLength;
     }
@@ -148,6 +381,86 @@ public class NodeConfig {
         this.snapshotDataLength = snapshotDataLength;
     }
 
+    public int getSnapshotEntryThreshold() {
+        return snapshotEntryThreshold;
+    }
+
+    public void setSnapshotEntryThreshold(int snapshotEntryThreshold) {
+        this.snapshotEntryThreshold = snapshotEntryThreshold;
+    }
+
+    public long getSnapshotByteThreshold() {
+        return snapshotByteThreshold;
+    }
+
+    public void setSnapshotByteThreshold(long snapshotByteThreshold) {
+        this.snapshotByteThreshold = snapshotByteThreshold;
+    }
+
+    public int getSnapshotMinInterval() {
+        return snapshotMinInterval;
+    }
+
+    public void setSnapshotMinInterval(int snapshotMinInterval) {
+        this.snapshotMinInterval = snapshotMinInterval;
+    }
+
+    public int getMaxDeltaSnapshots() {
+        return maxDeltaSnapshots;
+    }
+
+    public void setMaxDeltaSnapshots(int maxDeltaSnapshots) {
+        this.maxDeltaSnapshots = maxDeltaSnapshots;
+    }
+
+    public String getSnapshotCodec() {
+        return snapshotCodec;
+    }
+
+    public void setSnapshotCodec(String snapshotCodec) {
+        this.snapshotCodec = snapshotCodec;
+    }
+
+    public boolean isLeaseRead() {
+        return leaseRead;
+    }
+
+    public void setLeaseRead(boolean leaseRead) {
+        this.leaseRead = leaseRead;
+    }
+
+    public int getLeaseClockDrift() {
+        return leaseClockDrift;
+    }
+
+    public void setLeaseClockDrift(int leaseClockDrift) {
+        this.leaseClockDrift = leaseClockDrift;
+    }
+
+    public int getForwardedReadTimeout() {
+        return forwardedReadTimeout;
+    }
+
+    public void setForwardedReadTimeout(int forwardedReadTimeout) {
+        this.forwardedReadTimeout = forwardedReadTimeout;
+    }
+
+    public boolean isSnapshotTransferFromFollower() {
+        return snapshotTransferFromFollower;
+    }
+
+    public void setSnapshotTransferFromFollower(boolean snapshotTransferFromFollower) {
+        this.snapshotTransferFromFollower = snapshotTransferFromFollower;
+    }
+
+    public int getSnapshotTransferTimeout() {
+        return snapshotTransferTimeout;
+    }
+
+    public void setSnapshotTransferTimeout(int snapshotTransferTimeout) {
+        this.snapshotTransferTimeout = snapshotTransferTimeout;
+    }
+
     public int getNioWorkerThreads() {
         return nioWorkerThreads;
     }
@@ -156,12 +469,28 @@ public class NodeConfig {
         this.nioWorkerThreads = nioWorkerThreads;
     }
 
-    public int getNewNodeMaxRound() {
-        return newNodeMaxRound;
+    public boolean isEventLoopMode() {
+        return eventLoopMode;
+    }
+
+    public void setEventLoopMode(boolean eventLoopMode) {
+        this.eventLoopMode = eventLoopMode;
+    }
+
+    public int getSharedNodeThreads() {
+        return sharedNodeThreads;
+    }
+
+    public void setSharedNodeThreads(int sharedNodeThreads) {
+        this.sharedNodeThreads = sharedNodeThreads;
+    }
+
+    public int getSharedGroupConfigChangeThreads() {
+        return sharedGroupConfigChangeThreads;
     }
 
-    public void setNewNodeMaxRound(int newNodeMaxRound) {
-        this.newNodeMaxRound = newNodeMaxRound;
+    public void setSharedGroupConfigChangeThreads(int sharedGroupConfigChangeThreads) {
+        this.sharedGroupConfigChangeThreads = sharedGroupConfigChangeThreads;
     }
 
     public int getNewNodeReadTimeout() {
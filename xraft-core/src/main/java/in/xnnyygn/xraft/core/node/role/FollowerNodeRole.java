@@ -28,6 +28,10 @@ public class FollowerNodeRole extends AbstractNodeRole {
         return leaderId;
     }
 
+    public ElectionTimeout getElectionTimeout() {
+        return electionTimeout;
+    }
+
     @Override
     public NodeId getLeaderId(NodeId selfId) {
         return leaderId;
@@ -3,12 +3,20 @@ package in.xnnyygn.xraft.core.node.role;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.schedule.LogReplicationTask;
 
-import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 
-@Immutable
+/**
+ * Leader role.
+ * <p>
+ * Lease of leader is accessed in node thread only.
+ * </p>
+ */
+@NotThreadSafe
 public class LeaderNodeRole extends AbstractNodeRole {
 
     private final LogReplicationTask logReplicationTask;
+    private long leaseExpiresAt = 0;
+    private long leaseExpiredAt = 0;
 
     public LeaderNodeRole(int term, LogReplicationTask logReplicationTask) {
         super(RoleName.LEADER, term);
@@ -20,6 +28,45 @@ public class LeaderNodeRole extends AbstractNodeRole {
         return selfId;
     }
 
+    /**
+     * Renew lease.
+     * <p>
+     * Lease will not be shortened, and lease starting before or at the time it was expired is ignored.
+     * </p>
+     *
+     * @param leaseStart timestamp lease starts at
+     * @param expiresAt  timestamp lease expires at
+     * @see #expireLease(long)
+     */
+    public void renewLease(long leaseStart, long expiresAt) {
+        if (leaseStart <= leaseExpiredAt) {
+            return;
+        }
+        leaseExpiresAt = Math.max(leaseExpiresAt, expiresAt);
+    }
+
+    /**
+     * Expire lease, e.g when timeout now rpc sent to target of leadership transfer,
+     * since followers vote for the target within lease.
+     * Lease must be renewed by acknowledgements of rpc sent after now.
+     *
+     * @param now current timestamp
+     */
+    public void expireLease(long now) {
+        leaseExpiresAt = 0;
+        leaseExpiredAt = now;
+    }
+
+    /**
+     * Test if lease is valid.
+     *
+     * @param now current timestamp
+     * @return true if valid, false if expired or never renewed
+     */
+    public boolean isLeaseValid(long now) {
+        return now < leaseExpiresAt;
+    }
+
     @Override
     public void cancelTimeoutOrTask() {
         logReplicationTask.cancel();
@@ -37,6 +84,6 @@ public class LeaderNodeRole extends AbstractNodeRole {
 
     @Override
     public String toString() {
-        return "LeaderNodeRole{term=" + term + ", logReplicationTask=" + logReplicationTask + '}';
+        return "LeaderNodeRole{term=" + term + ", leaseExpiresAt=" + leaseExpiresAt + ", logReplicationTask=" + logReplicationTask + '}';
     }
 }
@@ -6,16 +6,30 @@ import in.xnnyygn.xraft.core.node.NodeId;
 public class AddNodeTask extends AbstractGroupConfigChangeTask {
 
     private final NodeEndpoint endpoint;
-    private final int nextIndex;
-    private final int matchIndex;
-
-    public AddNodeTask(GroupConfigChangeTaskContext context, NodeEndpoint endpoint, NewNodeCatchUpTaskResult newNodeCatchUpTaskResult) {
-        this(context, endpoint, newNodeCatchUpTaskResult.getNextIndex(), newNodeCatchUpTaskResult.getMatchIndex());
+    private final NewNodeCatchUpTask newNodeCatchUpTask;
+    private int nextIndex;
+    private int matchIndex;
+
+    /**
+     * Create with catch up task.
+     * <p>
+     * Indexes of new node are taken from catch up task when task starts, and catch up task is cancelled.
+     * </p>
+     *
+     * @param context            context
+     * @param endpoint           endpoint
+     * @param newNodeCatchUpTask catch up task
+     */
+    public AddNodeTask(GroupConfigChangeTaskContext context, NodeEndpoint endpoint, NewNodeCatchUpTask newNodeCatchUpTask) {
+        super(context);
+        this.endpoint = endpoint;
+        this.newNodeCatchUpTask = newNodeCatchUpTask;
     }
 
     public AddNodeTask(GroupConfigChangeTaskContext context, NodeEndpoint endpoint, int nextIndex, int matchIndex) {
         super(context);
         this.endpoint = endpoint;
+        this.newNodeCatchUpTask = null;
         this.nextIndex = nextIndex;
         this.matchIndex = matchIndex;
     }
@@ -27,6 +41,11 @@ public class AddNodeTask extends AbstractGroupConfigChangeTask {
 
     @Override
     protected void appendGroupConfig() {
+        if (newNodeCatchUpTask != null) {
+            newNodeCatchUpTask.cancel();
+            nextIndex = newNodeCatchUpTask.getNextIndex();
+            matchIndex = newNodeCatchUpTask.getMatchIndex();
+        }
         context.addNode(endpoint, nextIndex, matchIndex);
     }
 
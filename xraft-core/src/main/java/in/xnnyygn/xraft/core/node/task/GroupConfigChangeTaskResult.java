@@ -5,6 +5,7 @@ public enum  GroupConfigChangeTaskResult {
     OK,
     TIMEOUT,
     REPLICATION_FAILED,
+    CANCELLED,
     ERROR
 
 }
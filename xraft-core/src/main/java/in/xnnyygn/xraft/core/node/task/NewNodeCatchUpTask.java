@@ -6,19 +6,34 @@ import in.xnnyygn.xraft.core.node.config.NodeConfig;
 import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResultMessage;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotResultMessage;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
+import in.xnnyygn.xraft.core.rpc.message.TransferSnapshotResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 
-public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
+/**
+ * Task to catch up new node.
+ * <p>
+ * Task streams log to new node without blocking caller. Next batch is sent as soon as previous one is acknowledged,
+ * until new node catches up, fails to make progress within advance timeout, or does not respond within
+ * read timeout. Result is delivered by {@link #getFuture()}.
+ * </p>
+ * <p>
+ * After catching up, task keeps following log of leader until cancelled, e.g. when group config change
+ * of new node is started, so indexes of new node are up to date if the change waited in queue.
+ * </p>
+ */
+public class NewNodeCatchUpTask {
 
     private enum State {
         START,
         REPLICATING,
         REPLICATION_FAILED,
         REPLICATION_CATCH_UP,
-        TIMEOUT
+        TIMEOUT,
+        CANCELLED
     }
 
     private static final Logger logger = LoggerFactory.getLogger(NewNodeCatchUpTask.class);
@@ -26,11 +41,13 @@ public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
     private final NodeEndpoint endpoint;
     private final NodeId nodeId;
     private final NodeConfig config;
+    private final CompletableFuture<NewNodeCatchUpTaskResult> future = new CompletableFuture<>();
     private State state = State.START;
     private boolean done = false;
+    private ScheduledFuture<?> readTimeout;
     private long lastReplicateAt; // set when start
     private long lastAdvanceAt; // set when start
-    private int round = 1;
+    private boolean following = false; // replication in flight after catching up
     private int nextIndex = 0; // reset when receive append entries result
     private int matchIndex = 0;
 
@@ -45,35 +62,121 @@ public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
         return nodeId;
     }
 
-    @Override
-    public synchronized NewNodeCatchUpTaskResult call() throws Exception {
+    /**
+     * Get next index of new node.
+     *
+     * @return next index
+     */
+    public synchronized int getNextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Get match index of new node.
+     *
+     * @return match index
+     */
+    public synchronized int getMatchIndex() {
+        return matchIndex;
+    }
+
+    /**
+     * Get future of result, completed when task done.
+     *
+     * @return future
+     */
+    public CompletableFuture<NewNodeCatchUpTaskResult> getFuture() {
+        return future;
+    }
+
+    /**
+     * Start replication to new node.
+     */
+    public synchronized void start() {
         logger.debug("task start");
         setState(State.START);
         context.replicateLog(endpoint);
         lastReplicateAt = System.currentTimeMillis();
         lastAdvanceAt = lastReplicateAt;
         setState(State.REPLICATING);
-        while (!done) {
-            wait(config.getNewNodeReadTimeout());
-            // 1. done
-            // 2. replicate -> no response within timeout
-            if (System.currentTimeMillis() - lastReplicateAt >= config.getNewNodeReadTimeout()) {
-                logger.debug("node {} not response within read timeout", endpoint.getId());
-                state = State.TIMEOUT;
-                break;
-            }
+        scheduleReadTimeout(config.getNewNodeReadTimeout());
+    }
+
+    private void scheduleReadTimeout(long delay) {
+        readTimeout = context.schedule(this::checkReadTimeout, delay);
+    }
+
+    // in node thread
+    synchronized void checkReadTimeout() {
+        if (done || state != State.REPLICATING) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - lastReplicateAt;
+        if (elapsed >= config.getNewNodeReadTimeout()) {
+            logger.debug("node {} not response within read timeout", nodeId);
+            finish(State.TIMEOUT);
+            return;
+        }
+        scheduleReadTimeout(config.getNewNodeReadTimeout() - elapsed);
+    }
+
+    /**
+     * Cancel task.
+     */
+    public synchronized void cancel() {
+        if (!done) {
+            finish(State.CANCELLED);
+        }
+    }
+
+    /**
+     * Replicate log to new node if it caught up and falls behind again.
+     *
+     * @param nextLogIndex next index of log
+     */
+    // in node thread
+    synchronized void followLog(int nextLogIndex) {
+        if (done || state != State.REPLICATION_CATCH_UP || nextIndex >= nextLogIndex) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (following && now - lastReplicateAt < config.getNewNodeReadTimeout()) {
+            return;
+        }
+        following = true;
+        context.doReplicateLog(endpoint, nextIndex);
+        lastReplicateAt = now;
+    }
+
+    private void catchUp() {
+        following = false;
+        if (state != State.REPLICATING) {
+            return;
+        }
+        setState(State.REPLICATION_CATCH_UP);
+        if (readTimeout != null) {
+            readTimeout.cancel(false);
+        }
+        future.complete(new NewNodeCatchUpTaskResult(nextIndex, matchIndex));
+    }
+
+    private void finish(State state) {
+        setState(state);
+        done = true;
+        if (readTimeout != null) {
+            readTimeout.cancel(false);
         }
         logger.debug("task done");
         context.done(this);
-        return mapResult(state);
+        future.complete(mapResult(state));
     }
 
     private NewNodeCatchUpTaskResult mapResult(State state) {
         switch (state) {
-            case REPLICATION_CATCH_UP:
-                return new NewNodeCatchUpTaskResult(nextIndex, matchIndex);
             case REPLICATION_FAILED:
                 return new NewNodeCatchUpTaskResult(NewNodeCatchUpTaskResult.State.REPLICATION_FAILED);
+            case CANCELLED:
+                return new NewNodeCatchUpTaskResult(NewNodeCatchUpTaskResult.State.CANCELLED);
             default:
                 return new NewNodeCatchUpTaskResult(NewNodeCatchUpTaskResult.State.TIMEOUT);
         }
@@ -87,7 +190,10 @@ public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
     // in node thread
     synchronized void onReceiveAppendEntriesResult(AppendEntriesResultMessage resultMessage, int nextLogIndex) {
         assert nodeId.equals(resultMessage.getSourceNodeId());
-        if (state != State.REPLICATING) {
+        if (done) {
+            return;
+        }
+        if (state != State.REPLICATING && state != State.REPLICATION_CATCH_UP) {
             throw new IllegalStateException("receive append entries result when state is not replicating");
         }
         // initialize nextIndex
@@ -102,36 +208,35 @@ public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
             nextIndex = lastEntryIndex + 1;
             lastAdvanceAt = System.currentTimeMillis();
             if (nextIndex >= nextLogIndex) { // catch up
-                setStateAndNotify(State.REPLICATION_CATCH_UP);
-                return;
-            }
-            if ((++round) > config.getNewNodeMaxRound()) {
-                logger.info("node {} cannot catch up within max round", nodeId);
-                setStateAndNotify(State.TIMEOUT);
+                catchUp();
                 return;
             }
         } else {
             if (nextIndex <= 1) {
                 logger.warn("node {} cannot back off next index more, stop replication", nodeId);
-                setStateAndNotify(State.REPLICATION_FAILED);
+                finish(State.REPLICATION_FAILED);
                 return;
             }
-            nextIndex--;
-            if (System.currentTimeMillis() - lastAdvanceAt >= config.getNewNodeAdvanceTimeout()) {
+            // jump to first index of conflicting term or next index of new node if hint present
+            int conflictIndex = resultMessage.get().getConflictIndex();
+            nextIndex = (conflictIndex > 0 && conflictIndex < nextIndex) ? conflictIndex : nextIndex - 1;
+            if (state == State.REPLICATING && System.currentTimeMillis() - lastAdvanceAt >= config.getNewNodeAdvanceTimeout()) {
                 logger.debug("node {} cannot make progress within timeout", nodeId);
-                setStateAndNotify(State.TIMEOUT);
+                finish(State.TIMEOUT);
                 return;
             }
         }
         context.doReplicateLog(endpoint, nextIndex);
         lastReplicateAt = System.currentTimeMillis();
-        notify();
     }
 
     // in node thread
     synchronized void onReceiveInstallSnapshotResult(InstallSnapshotResultMessage resultMessage, int nextLogIndex) {
         assert nodeId.equals(resultMessage.getSourceNodeId());
-        if (state != State.REPLICATING) {
+        if (done) {
+            return;
+        }
+        if (state != State.REPLICATING && state != State.REPLICATION_CATCH_UP) {
             throw new IllegalStateException("receive append entries result when state is not replicating");
         }
         InstallSnapshotRpc rpc = resultMessage.getRpc();
@@ -140,22 +245,41 @@ public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
             nextIndex = rpc.getLastIndex() + 1;
             lastAdvanceAt = System.currentTimeMillis();
             if (nextIndex >= nextLogIndex) {
-                setStateAndNotify(State.REPLICATION_CATCH_UP);
+                catchUp();
                 return;
             }
-            round++;
             context.doReplicateLog(endpoint, nextIndex);
         } else {
             context.sendInstallSnapshot(endpoint, rpc.getOffset() + rpc.getDataLength());
         }
         lastReplicateAt = System.currentTimeMillis();
-        notify();
     }
 
-    private void setStateAndNotify(State state) {
-        setState(state);
-        done = true;
-        notify();
+    // in node thread
+    synchronized void onReceiveTransferSnapshotResult(TransferSnapshotResult result, int nextLogIndex) {
+        assert nodeId.equals(result.getTargetId());
+        if (done) {
+            return;
+        }
+        if (state != State.REPLICATING && state != State.REPLICATION_CATCH_UP) {
+            throw new IllegalStateException("receive transfer snapshot result when state is not replicating");
+        }
+        if (result.isSuccess()) {
+            matchIndex = result.getLastIndex();
+            nextIndex = result.getLastIndex() + 1;
+            lastAdvanceAt = System.currentTimeMillis();
+            if (nextIndex >= nextLogIndex) {
+                catchUp();
+                return;
+            }
+            context.doReplicateLog(endpoint, nextIndex);
+        } else {
+
+            // fallback to install snapshot from leader
+            logger.info("failed to transfer snapshot from follower to new node {}, install snapshot from leader", nodeId);
+            context.sendInstallSnapshot(endpoint, 0);
+        }
+        lastReplicateAt = System.currentTimeMillis();
     }
 
     @Override
@@ -168,7 +292,6 @@ public class NewNodeCatchUpTask implements Callable<NewNodeCatchUpTaskResult> {
                 ", lastAdvanceAt=" + lastAdvanceAt +
                 ", nextIndex=" + nextIndex +
                 ", matchIndex=" + matchIndex +
-                ", round=" + round +
                 '}';
     }
 
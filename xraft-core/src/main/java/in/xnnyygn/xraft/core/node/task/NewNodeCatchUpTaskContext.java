@@ -2,6 +2,8 @@ package in.xnnyygn.xraft.core.node.task;
 
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 
+import java.util.concurrent.ScheduledFuture;
+
 /**
  * Task context for {@link NewNodeCatchUpTask}.
  */
@@ -19,14 +21,35 @@ public interface NewNodeCatchUpTaskContext {
 
     /**
      * Replicate log to endpoint.
+     * <p>
+     * If entry in snapshot, leader may direct a follower to transfer snapshot to new node.
+     * </p>
      *
      * @param endpoint  endpoint
      * @param nextIndex next index
      */
     void doReplicateLog(NodeEndpoint endpoint, int nextIndex);
 
+    /**
+     * Send install snapshot rpc from leader.
+     *
+     * @param endpoint endpoint
+     * @param offset   data offset
+     */
     void sendInstallSnapshot(NodeEndpoint endpoint, int offset);
 
+    /**
+     * Schedule task.
+     * <p>
+     * Process will be run in node task executor after delay.
+     * </p>
+     *
+     * @param task  task
+     * @param delay delay in milliseconds
+     * @return scheduled future
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delay);
+
     /**
      * Done and remove current task.
      *
@@ -3,6 +3,7 @@ package in.xnnyygn.xraft.core.node.task;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResultMessage;
 import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotResultMessage;
+import in.xnnyygn.xraft.core.rpc.message.TransferSnapshotResult;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,6 +52,33 @@ public class NewNodeCatchUpTaskGroup {
         return true;
     }
 
+    /**
+     * Invoke <code>onReceiveTransferSnapshotResult</code> on task of target node.
+     *
+     * @param result       result
+     * @param nextLogIndex next index of log
+     * @return true if invoked, false if no task for target node
+     */
+    public boolean onReceiveTransferSnapshotResult(TransferSnapshotResult result, int nextLogIndex) {
+        NewNodeCatchUpTask task = taskMap.get(result.getTargetId());
+        if (task == null) {
+            return false;
+        }
+        task.onReceiveTransferSnapshotResult(result, nextLogIndex);
+        return true;
+    }
+
+    /**
+     * Invoke <code>followLog</code> on all tasks.
+     *
+     * @param nextLogIndex next index of log
+     */
+    public void followLog(int nextLogIndex) {
+        for (NewNodeCatchUpTask task : taskMap.values()) {
+            task.followLog(nextLogIndex);
+        }
+    }
+
     /**
      * Remove task.
      *
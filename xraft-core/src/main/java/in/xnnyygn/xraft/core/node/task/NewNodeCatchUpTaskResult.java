@@ -5,7 +5,8 @@ public class NewNodeCatchUpTaskResult {
     public static enum State {
         OK,
         TIMEOUT,
-        REPLICATION_FAILED
+        REPLICATION_FAILED,
+        CANCELLED
     }
 
     private final State state;
@@ -51,6 +51,55 @@ public interface Channel {
      */
     void writeInstallSnapshotResult(@Nonnull InstallSnapshotResult result);
 
+    /**
+     * Write transfer snapshot rpc.
+     *
+     * @param rpc rpc
+     */
+    void writeTransferSnapshotRpc(@Nonnull TransferSnapshotRpc rpc);
+
+    /**
+     * Write transfer snapshot result.
+     *
+     * @param result result
+     */
+    void writeTransferSnapshotResult(@Nonnull TransferSnapshotResult result);
+
+    /**
+     * Write pre vote rpc.
+     *
+     * @param rpc rpc
+     */
+    void writePreVoteRpc(@Nonnull PreVoteRpc rpc);
+
+    /**
+     * Write pre vote result.
+     *
+     * @param result result
+     */
+    void writePreVoteResult(@Nonnull PreVoteResult result);
+
+    /**
+     * Write timeout now rpc.
+     *
+     * @param rpc rpc
+     */
+    void writeTimeoutNowRpc(@Nonnull TimeoutNowRpc rpc);
+
+    /**
+     * Write read index rpc.
+     *
+     * @param rpc rpc
+     */
+    void writeReadIndexRpc(@Nonnull ReadIndexRpc rpc);
+
+    /**
+     * Write read index result.
+     *
+     * @param result result
+     */
+    void writeReadIndexResult(@Nonnull ReadIndexResult result);
+
     /**
      * Close channel.
      */
@@ -15,10 +15,12 @@ public interface Connector {
     /**
      * Initialize connector.
      * <p>
-     * SHOULD NOT call more than one.
+     * SHOULD NOT call more than one. Messages from remote nodes are passed to handler after initialized.
      * </p>
+     *
+     * @param handler handler of messages
      */
-    void initialize();
+    void initialize(@Nonnull MessageHandler handler);
 
     /**
      * Send request vote rpc.
@@ -74,6 +76,62 @@ public interface Connector {
      */
     void replyInstallSnapshot(@Nonnull InstallSnapshotResult result, @Nonnull InstallSnapshotRpcMessage rpcMessage);
 
+    /**
+     * Send transfer snapshot rpc.
+     *
+     * @param rpc rpc
+     * @param destinationEndpoint destination endpoint
+     */
+    void sendTransferSnapshot(@Nonnull TransferSnapshotRpc rpc, @Nonnull NodeEndpoint destinationEndpoint);
+
+    /**
+     * Reply transfer snapshot result.
+     *
+     * @param result result
+     * @param rpcMessage rpc message
+     */
+    void replyTransferSnapshot(@Nonnull TransferSnapshotResult result, @Nonnull TransferSnapshotRpcMessage rpcMessage);
+
+    /**
+     * Send pre vote rpc.
+     *
+     * @param rpc rpc
+     * @param destinationEndpoints destination endpoints
+     */
+    void sendPreVote(@Nonnull PreVoteRpc rpc, @Nonnull Collection<NodeEndpoint> destinationEndpoints);
+
+    /**
+     * Reply pre vote result.
+     *
+     * @param result result
+     * @param rpcMessage rpc message
+     */
+    void replyPreVote(@Nonnull PreVoteResult result, @Nonnull PreVoteRpcMessage rpcMessage);
+
+    /**
+     * Send timeout now rpc.
+     *
+     * @param rpc rpc
+     * @param destinationEndpoint destination endpoint
+     */
+    void sendTimeoutNow(@Nonnull TimeoutNowRpc rpc, @Nonnull NodeEndpoint destinationEndpoint);
+
+    /**
+     * Send read index rpc.
+     *
+     * @param rpc rpc
+     * @param destinationEndpoint destination endpoint
+     */
+    void sendReadIndex(@Nonnull ReadIndexRpc rpc, @Nonnull NodeEndpoint destinationEndpoint);
+
+    /**
+     * Reply read index result.
+     *
+     * @param result result
+     * @param rpcMessage rpc message
+     */
+    void replyReadIndex(@Nonnull ReadIndexResult result, @Nonnull ReadIndexRpcMessage rpcMessage);
+
     /**
      * Called when node becomes leader.
      * <p>
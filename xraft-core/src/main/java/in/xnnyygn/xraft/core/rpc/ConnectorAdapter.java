@@ -10,7 +10,7 @@ import java.util.Collection;
 public abstract class ConnectorAdapter implements Connector {
 
     @Override
-    public void initialize() {
+    public void initialize(@Nonnull MessageHandler handler) {
     }
 
     @Override
@@ -42,6 +42,41 @@ public abstract class ConnectorAdapter implements Connector {
 
     }
 
+    @Override
+    public void sendTransferSnapshot(@Nonnull TransferSnapshotRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+
+    }
+
+    @Override
+    public void replyTransferSnapshot(@Nonnull TransferSnapshotResult result, @Nonnull TransferSnapshotRpcMessage rpcMessage) {
+
+    }
+
+    @Override
+    public void sendPreVote(@Nonnull PreVoteRpc rpc, @Nonnull Collection<NodeEndpoint> destinationEndpoints) {
+
+    }
+
+    @Override
+    public void replyPreVote(@Nonnull PreVoteResult result, @Nonnull PreVoteRpcMessage rpcMessage) {
+
+    }
+
+    @Override
+    public void sendTimeoutNow(@Nonnull TimeoutNowRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+
+    }
+
+    @Override
+    public void sendReadIndex(@Nonnull ReadIndexRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+
+    }
+
+    @Override
+    public void replyReadIndex(@Nonnull ReadIndexResult result, @Nonnull ReadIndexRpcMessage rpcMessage) {
+
+    }
+
     @Override
     public void resetChannels() {
     }
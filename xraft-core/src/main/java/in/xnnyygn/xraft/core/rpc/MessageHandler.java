@@ -0,0 +1,40 @@
+package in.xnnyygn.xraft.core.rpc;
+
+import in.xnnyygn.xraft.core.rpc.message.*;
+
+/**
+ * Handler of messages from remote nodes.
+ * <p>
+ * Connector calls handler directly in its io threads, one method for each type of message.
+ * Implementation should return quickly, e.g submit work to its own executor.
+ * </p>
+ */
+public interface MessageHandler {
+
+    void onReceiveRequestVoteRpc(RequestVoteRpcMessage rpcMessage);
+
+    void onReceiveRequestVoteResult(RequestVoteResult result);
+
+    void onReceivePreVoteRpc(PreVoteRpcMessage rpcMessage);
+
+    void onReceivePreVoteResult(PreVoteResult result);
+
+    void onReceiveAppendEntriesRpc(AppendEntriesRpcMessage rpcMessage);
+
+    void onReceiveAppendEntriesResult(AppendEntriesResultMessage resultMessage);
+
+    void onReceiveInstallSnapshotRpc(InstallSnapshotRpcMessage rpcMessage);
+
+    void onReceiveInstallSnapshotResult(InstallSnapshotResultMessage resultMessage);
+
+    void onReceiveTransferSnapshotRpc(TransferSnapshotRpcMessage rpcMessage);
+
+    void onReceiveTransferSnapshotResult(TransferSnapshotResult result);
+
+    void onReceiveTimeoutNowRpc(TimeoutNowRpcMessage rpcMessage);
+
+    void onReceiveReadIndexRpc(ReadIndexRpcMessage rpcMessage);
+
+    void onReceiveReadIndexResult(ReadIndexResult result);
+
+}
@@ -61,6 +61,61 @@ public class MockConnector extends ConnectorAdapter {
         messages.add(m);
     }
 
+    @Override
+    public void sendTransferSnapshot(@Nonnull TransferSnapshotRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Message m = new Message();
+        m.rpc = rpc;
+        m.destinationNodeId = destinationEndpoint.getId();
+        messages.add(m);
+    }
+
+    @Override
+    public void replyTransferSnapshot(@Nonnull TransferSnapshotResult result, @Nonnull TransferSnapshotRpcMessage rpcMessage) {
+        Message m = new Message();
+        m.result = result;
+        m.destinationNodeId = rpcMessage.getSourceNodeId();
+        messages.add(m);
+    }
+
+    @Override
+    public void sendPreVote(@Nonnull PreVoteRpc rpc, @Nonnull Collection<NodeEndpoint> destinationEndpoints) {
+        Message m = new Message();
+        m.rpc = rpc;
+        messages.add(m);
+    }
+
+    @Override
+    public void replyPreVote(@Nonnull PreVoteResult result, @Nonnull PreVoteRpcMessage rpcMessage) {
+        Message m = new Message();
+        m.result = result;
+        m.destinationNodeId = rpcMessage.getSourceNodeId();
+        messages.add(m);
+    }
+
+    @Override
+    public void sendTimeoutNow(@Nonnull TimeoutNowRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Message m = new Message();
+        m.rpc = rpc;
+        m.destinationNodeId = destinationEndpoint.getId();
+        messages.add(m);
+    }
+
+    @Override
+    public void sendReadIndex(@Nonnull ReadIndexRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Message m = new Message();
+        m.rpc = rpc;
+        m.destinationNodeId = destinationEndpoint.getId();
+        messages.add(m);
+    }
+
+    @Override
+    public void replyReadIndex(@Nonnull ReadIndexResult result, @Nonnull ReadIndexRpcMessage rpcMessage) {
+        Message m = new Message();
+        m.result = result;
+        m.destinationNodeId = rpcMessage.getSourceNodeId();
+        messages.add(m);
+    }
+
     public Message getLastMessage() {
         return messages.isEmpty() ? null : messages.getLast();
     }
@@ -7,11 +7,28 @@ public class AppendEntriesResult implements Serializable {
     private final String rpcMessageId;
     private final int term;
     private final boolean success;
+    private final int conflictTerm;
+    private final int conflictIndex;
 
     public AppendEntriesResult(String rpcMessageId, int term, boolean success) {
+        this(rpcMessageId, term, success, 0, 0);
+    }
+
+    /**
+     * Create.
+     *
+     * @param rpcMessageId  rpc message id
+     * @param term          term
+     * @param success       success or not
+     * @param conflictTerm  term of conflicting entry, 0 if no entry at previous log index
+     * @param conflictIndex first index of conflicting term or next log index of follower, 0 if no hint
+     */
+    public AppendEntriesResult(String rpcMessageId, int term, boolean success, int conflictTerm, int conflictIndex) {
         this.rpcMessageId = rpcMessageId;
         this.term = term;
         this.success = success;
+        this.conflictTerm = conflictTerm;
+        this.conflictIndex = conflictIndex;
     }
 
     public String getRpcMessageId() {
@@ -26,10 +43,20 @@ public class AppendEntriesResult implements Serializable {
         return success;
     }
 
+    public int getConflictTerm() {
+        return conflictTerm;
+    }
+
+    public int getConflictIndex() {
+        return conflictIndex;
+    }
+
     @Override
     public String toString() {
         return "AppendEntriesResult{" +
-                "rpcMessageId='" + rpcMessageId + '\'' +
+                "conflictIndex=" + conflictIndex +
+                ", conflictTerm=" + conflictTerm +
+                ", rpcMessageId='" + rpcMessageId + '\'' +
                 ", success=" + success +
                 ", term=" + term +
                 '}';
@@ -16,6 +16,9 @@ public class AppendEntriesRpc implements Serializable {
     private int prevLogTerm;
     private List<Entry> entries = Collections.emptyList();
     private int leaderCommit;
+    // local to leader, not sent
+    private int readIndexRound;
+    private long sentAt;
 
     public String getMessageId() {
         return messageId;
@@ -57,6 +60,39 @@ public class AppendEntriesRpc implements Serializable {
         this.prevLogTerm = prevLogTerm;
     }
 
+    /**
+     * Get read index round when rpc sent.
+     * <p>
+     * Local to leader and not sent, successful result of this rpc confirms leadership for read index requests
+     * in this round.
+     * </p>
+     *
+     * @return read index round
+     */
+    public int getReadIndexRound() {
+        return readIndexRound;
+    }
+
+    public void setReadIndexRound(int readIndexRound) {
+        this.readIndexRound = readIndexRound;
+    }
+
+    /**
+     * Get timestamp when leader sent this rpc, for lease of leader.
+     * <p>
+     * Local to leader, not sent.
+     * </p>
+     *
+     * @return timestamp
+     */
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(long sentAt) {
+        this.sentAt = sentAt;
+    }
+
     public List<Entry> getEntries() {
         return entries;
     }
@@ -3,6 +3,8 @@ package in.xnnyygn.xraft.core.rpc.message;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.node.NodeId;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 public class InstallSnapshotRpc {
@@ -15,6 +17,8 @@ public class InstallSnapshotRpc {
     private int offset;
     private byte[] data;
     private boolean done;
+    private List<Long> partitionDataSizes = Collections.emptyList();
+    private String codec = "";
 
     public int getTerm() {
         return term;
@@ -84,6 +88,32 @@ public class InstallSnapshotRpc {
         this.done = done;
     }
 
+    /**
+     * Get data sizes of partitions, only in the first rpc.
+     *
+     * @return data sizes of partitions, empty or only one if not partitioned
+     */
+    public List<Long> getPartitionDataSizes() {
+        return partitionDataSizes;
+    }
+
+    public void setPartitionDataSizes(List<Long> partitionDataSizes) {
+        this.partitionDataSizes = partitionDataSizes;
+    }
+
+    /**
+     * Get name of codec of data, only in the first rpc.
+     *
+     * @return name of codec, empty if not encoded
+     */
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
     @Override
     public String toString() {
         return "InstallSnapshotRpc{" +
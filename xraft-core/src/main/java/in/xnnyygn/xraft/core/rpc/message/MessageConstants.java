@@ -9,5 +9,14 @@ public class MessageConstants {
     public static final int MSG_TYPE_APPEND_ENTRIES_RESULT = 4;
     public static final int MSG_TYPE_INSTALL_SNAPSHOT_PRC = 5;
     public static final int MSG_TYPE_INSTALL_SNAPSHOT_RESULT = 6;
+    public static final int MSG_TYPE_TRANSFER_SNAPSHOT_RPC = 7;
+    public static final int MSG_TYPE_TRANSFER_SNAPSHOT_RESULT = 8;
+    public static final int MSG_TYPE_READ_INDEX_RPC = 9;
+    public static final int MSG_TYPE_READ_INDEX_RESULT = 10;
+    public static final int MSG_TYPE_PRE_VOTE_RPC = 11;
+    public static final int MSG_TYPE_PRE_VOTE_RESULT = 12;
+    public static final int MSG_TYPE_TIMEOUT_NOW_RPC = 13;
+    // group id of next message, multi raft only
+    public static final int MSG_TYPE_GROUP_ID = 14;
 
 }
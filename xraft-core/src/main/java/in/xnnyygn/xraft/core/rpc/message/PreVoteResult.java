@@ -0,0 +1,35 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+public class PreVoteResult {
+
+    private final int term;
+    private final boolean voteGranted;
+
+    /**
+     * Create.
+     *
+     * @param term        current term of node
+     * @param voteGranted would vote or not
+     */
+    public PreVoteResult(int term, boolean voteGranted) {
+        this.term = term;
+        this.voteGranted = voteGranted;
+    }
+
+    public int getTerm() {
+        return term;
+    }
+
+    public boolean isVoteGranted() {
+        return voteGranted;
+    }
+
+    @Override
+    public String toString() {
+        return "PreVoteResult{" +
+                "term=" + term +
+                ", voteGranted=" + voteGranted +
+                '}';
+    }
+
+}
@@ -0,0 +1,65 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+
+/**
+ * Rpc to ask whether node would vote for candidate in next term, before starting election.
+ * <p>
+ * Neither sender nor receiver changes its term or vote.
+ * </p>
+ */
+public class PreVoteRpc {
+
+    private int term;
+    private NodeId candidateId;
+    private int lastLogIndex = 0;
+    private int lastLogTerm = 0;
+
+    /**
+     * Get term of election candidate would start, current term of candidate plus one.
+     *
+     * @return term
+     */
+    public int getTerm() {
+        return term;
+    }
+
+    public void setTerm(int term) {
+        this.term = term;
+    }
+
+    public NodeId getCandidateId() {
+        return candidateId;
+    }
+
+    public void setCandidateId(NodeId candidateId) {
+        this.candidateId = candidateId;
+    }
+
+    public int getLastLogIndex() {
+        return lastLogIndex;
+    }
+
+    public void setLastLogIndex(int lastLogIndex) {
+        this.lastLogIndex = lastLogIndex;
+    }
+
+    public int getLastLogTerm() {
+        return lastLogTerm;
+    }
+
+    public void setLastLogTerm(int lastLogTerm) {
+        this.lastLogTerm = lastLogTerm;
+    }
+
+    @Override
+    public String toString() {
+        return "PreVoteRpc{" +
+                "candidateId=" + candidateId +
+                ", lastLogIndex=" + lastLogIndex +
+                ", lastLogTerm=" + lastLogTerm +
+                ", term=" + term +
+                '}';
+    }
+
+}
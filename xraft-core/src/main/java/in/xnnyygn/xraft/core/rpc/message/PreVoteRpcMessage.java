@@ -0,0 +1,14 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.Channel;
+
+import javax.annotation.Nullable;
+
+public class PreVoteRpcMessage extends AbstractRpcMessage<PreVoteRpc> {
+
+    public PreVoteRpcMessage(PreVoteRpc rpc, NodeId sourceNodeId, @Nullable Channel channel) {
+        super(rpc, sourceNodeId, channel);
+    }
+
+}
@@ -0,0 +1,59 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+/**
+ * Result of read index rpc, replied after leader confirmed its leadership.
+ */
+public class ReadIndexResult {
+
+    private final String rpcMessageId;
+    private final int term;
+    private final boolean success;
+    private final int readIndex;
+
+    /**
+     * Create.
+     *
+     * @param rpcMessageId rpc message id
+     * @param term         term
+     * @param success      success or not, false if not leader
+     * @param readIndex    read index, {@code 0} if failed
+     */
+    public ReadIndexResult(String rpcMessageId, int term, boolean success, int readIndex) {
+        this.rpcMessageId = rpcMessageId;
+        this.term = term;
+        this.success = success;
+        this.readIndex = readIndex;
+    }
+
+    public String getRpcMessageId() {
+        return rpcMessageId;
+    }
+
+    public int getTerm() {
+        return term;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Get read index, follower can read after applied log up to it.
+     *
+     * @return read index
+     */
+    public int getReadIndex() {
+        return readIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadIndexResult{" +
+                "readIndex=" + readIndex +
+                ", rpcMessageId='" + rpcMessageId + '\'' +
+                ", success=" + success +
+                ", term=" + term +
+                '}';
+    }
+
+}
@@ -0,0 +1,35 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+/**
+ * Rpc from follower to ask leader for read index, to serve linearizable read on follower.
+ */
+public class ReadIndexRpc {
+
+    private String messageId;
+    private int term;
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public int getTerm() {
+        return term;
+    }
+
+    public void setTerm(int term) {
+        this.term = term;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadIndexRpc{" +
+                "messageId='" + messageId + '\'' +
+                ", term=" + term +
+                '}';
+    }
+
+}
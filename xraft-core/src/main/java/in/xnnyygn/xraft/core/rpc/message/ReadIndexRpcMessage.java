@@ -0,0 +1,14 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.Channel;
+
+import javax.annotation.Nullable;
+
+public class ReadIndexRpcMessage extends AbstractRpcMessage<ReadIndexRpc> {
+
+    public ReadIndexRpcMessage(ReadIndexRpc rpc, NodeId sourceNodeId, @Nullable Channel channel) {
+        super(rpc, sourceNodeId, channel);
+    }
+
+}
@@ -10,6 +10,7 @@ public class RequestVoteRpc implements Serializable {
     private NodeId candidateId;
     private int lastLogIndex = 0;
     private int lastLogTerm = 0;
+    private boolean leadershipTransfer = false;
 
     public int getTerm() {
         return term;
@@ -43,10 +44,27 @@ public class RequestVoteRpc implements Serializable {
         this.lastLogTerm = lastLogTerm;
     }
 
+    /**
+     * Test if election is started by leadership transfer.
+     * <p>
+     * Node should not reject it for lease of current leader.
+     * </p>
+     *
+     * @return true if by leadership transfer, otherwise false
+     */
+    public boolean isLeadershipTransfer() {
+        return leadershipTransfer;
+    }
+
+    public void setLeadershipTransfer(boolean leadershipTransfer) {
+        this.leadershipTransfer = leadershipTransfer;
+    }
+
     @Override
     public String toString() {
         return "RequestVoteRpc{" +
                 "candidateId=" + candidateId +
+                ", leadershipTransfer=" + leadershipTransfer +
                 ", lastLogIndex=" + lastLogIndex +
                 ", lastLogTerm=" + lastLogTerm +
                 ", term=" + term +
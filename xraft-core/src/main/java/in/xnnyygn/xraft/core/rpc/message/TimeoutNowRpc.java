@@ -0,0 +1,40 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+
+/**
+ * Rpc from leader to let an up-to-date follower start election immediately, for leadership transfer.
+ * <p>
+ * No result is replied, leader learns new term from rpc of new leader.
+ * </p>
+ */
+public class TimeoutNowRpc {
+
+    private int term;
+    private NodeId leaderId;
+
+    public int getTerm() {
+        return term;
+    }
+
+    public void setTerm(int term) {
+        this.term = term;
+    }
+
+    public NodeId getLeaderId() {
+        return leaderId;
+    }
+
+    public void setLeaderId(NodeId leaderId) {
+        this.leaderId = leaderId;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeoutNowRpc{" +
+                "leaderId=" + leaderId +
+                ", term=" + term +
+                '}';
+    }
+
+}
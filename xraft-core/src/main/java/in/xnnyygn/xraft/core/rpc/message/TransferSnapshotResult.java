@@ -0,0 +1,53 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+
+/**
+ * Result of snapshot transfer, replied after target node installed snapshot or transfer failed.
+ */
+public class TransferSnapshotResult {
+
+    private final int term;
+    private final NodeId targetId;
+    private final boolean success;
+    private final int lastIndex;
+
+    public TransferSnapshotResult(int term, NodeId targetId, boolean success, int lastIndex) {
+        this.term = term;
+        this.targetId = targetId;
+        this.success = success;
+        this.lastIndex = lastIndex;
+    }
+
+    public int getTerm() {
+        return term;
+    }
+
+    public NodeId getTargetId() {
+        return targetId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Get last included index of snapshot installed by target node.
+     *
+     * @return last included index, {@code 0} if failed
+     */
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferSnapshotResult{" +
+                "lastIndex=" + lastIndex +
+                ", success=" + success +
+                ", targetId=" + targetId +
+                ", term=" + term +
+                '}';
+    }
+
+}
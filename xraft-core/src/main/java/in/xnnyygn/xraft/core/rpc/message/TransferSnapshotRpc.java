@@ -0,0 +1,67 @@
+package in.xnnyygn.xraft.core.rpc.message;
+
+import in.xnnyygn.xraft.core.node.NodeEndpoint;
+import in.xnnyygn.xraft.core.node.NodeId;
+
+/**
+ * Rpc from leader to direct a follower to transfer its snapshot to target node.
+ */
+public class TransferSnapshotRpc {
+
+    private int term;
+    private NodeId leaderId;
+    private NodeEndpoint target;
+    private int minLastIndex;
+
+    public int getTerm() {
+        return term;
+    }
+
+    public void setTerm(int term) {
+        this.term = term;
+    }
+
+    public NodeId getLeaderId() {
+        return leaderId;
+    }
+
+    public void setLeaderId(NodeId leaderId) {
+        this.leaderId = leaderId;
+    }
+
+    public NodeEndpoint getTarget() {
+        return target;
+    }
+
+    public void setTarget(NodeEndpoint target) {
+        this.target = target;
+    }
+
+    /**
+     * Get min last included index of snapshot to transfer.
+     * <p>
+     * Follower should reject if last included index of its snapshot is smaller,
+     * or leader cannot replicate log from the snapshot.
+     * </p>
+     *
+     * @return min last included index
+     */
+    public int getMinLastIndex() {
+        return minLastIndex;
+    }
+
+    public void setMinLastIndex(int minLastIndex) {
+        this.minLastIndex = minLastIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferSnapshotRpc{" +
+                "leaderId=" + leaderId +
+                ", minLastIndex=" + minLastIndex +
+                ", target=" + target +
+                ", term=" + term +
+                '}';
+    }
+
+}
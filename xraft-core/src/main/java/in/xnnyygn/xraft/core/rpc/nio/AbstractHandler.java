@@ -1,28 +1,42 @@
 package in.xnnyygn.xraft.core.rpc.nio;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.Channel;
-import in.xnnyygn.xraft.core.rpc.message.*;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Objects;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
 
 abstract class AbstractHandler extends ChannelDuplexHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractHandler.class);
-    protected final EventBus eventBus;
+    private final MessageHandler handler;
+    private final Map<String, MessageHandler> groupHandlers;
     NodeId remoteId;
     protected Channel channel;
-    private AppendEntriesRpc lastAppendEntriesRpc;
-    private InstallSnapshotRpc lastInstallSnapshotRpc;
+    private MessageDispatcher dispatcher;
+    // dispatchers of groups sharing this channel, accessed in event loop only
+    private final Map<String, MessageDispatcher> groupDispatchers = new HashMap<>();
 
-    AbstractHandler(EventBus eventBus) {
-        this.eventBus = eventBus;
+    AbstractHandler(MessageHandler handler) {
+        this(handler, null);
+    }
+
+    /**
+     * Create.
+     *
+     * @param handler       handler for messages without group id, {@code null} if channel is shared by groups
+     * @param groupHandlers handlers by group id, {@code null} if channel is not shared by groups
+     */
+    AbstractHandler(@Nullable MessageHandler handler, @Nullable Map<String, MessageHandler> groupHandlers) {
+        this.handler = handler;
+        this.groupHandlers = groupHandlers;
     }
 
     @Override
@@ -30,43 +44,63 @@ abstract class AbstractHandler extends ChannelDuplexHandler {
         assert remoteId != null;
         assert channel != null;
 
-        if (msg instanceof RequestVoteRpc) {
-            RequestVoteRpc rpc = (RequestVoteRpc) msg;
-            eventBus.post(new RequestVoteRpcMessage(rpc, remoteId, channel));
-        } else if (msg instanceof RequestVoteResult) {
-            eventBus.post(msg);
-        } else if (msg instanceof AppendEntriesRpc) {
-            AppendEntriesRpc rpc = (AppendEntriesRpc) msg;
-            eventBus.post(new AppendEntriesRpcMessage(rpc, remoteId, channel));
-        } else if (msg instanceof AppendEntriesResult) {
-            AppendEntriesResult result = (AppendEntriesResult) msg;
-            if (lastAppendEntriesRpc == null) {
-                logger.warn("no last append entries rpc");
-            } else {
-                if (!Objects.equals(result.getRpcMessageId(), lastAppendEntriesRpc.getMessageId())) {
-                    logger.warn("incorrect append entries rpc message id {}, expected {}", result.getRpcMessageId(), lastAppendEntriesRpc.getMessageId());
-                } else {
-                    eventBus.post(new AppendEntriesResultMessage(result, remoteId, lastAppendEntriesRpc));
-                    lastAppendEntriesRpc = null;
-                }
+        if (msg instanceof GroupMessage) {
+            GroupMessage groupMessage = (GroupMessage) msg;
+            MessageDispatcher groupDispatcher = getGroupDispatcher(ctx, groupMessage.getGroupId());
+            if (groupDispatcher == null) {
+                logger.debug("no group {}, drop message from node {}", groupMessage.getGroupId(), remoteId);
+                return;
             }
-        } else if (msg instanceof InstallSnapshotRpc) {
-            InstallSnapshotRpc rpc = (InstallSnapshotRpc) msg;
-            eventBus.post(new InstallSnapshotRpcMessage(rpc, remoteId, channel));
-        } else if (msg instanceof InstallSnapshotResult) {
-            InstallSnapshotResult result = (InstallSnapshotResult) msg;
-            assert lastInstallSnapshotRpc != null;
-            eventBus.post(new InstallSnapshotResultMessage(result, remoteId, lastInstallSnapshotRpc));
-            lastInstallSnapshotRpc = null;
+            groupDispatcher.dispatch(groupMessage.getMessage());
+        } else if (handler != null) {
+            getDispatcher().dispatch(msg);
+        } else {
+            logger.warn("message without group id from node {}, drop", remoteId);
+        }
+    }
+
+    private MessageDispatcher getDispatcher() {
+        if (dispatcher == null) {
+            dispatcher = new MessageDispatcher(handler, remoteId, channel);
         }
+        return dispatcher;
+    }
+
+    /**
+     * Get dispatcher of group.
+     * <p>
+     * Dispatcher is recreated if group registered again, e.g node of group restarted.
+     * </p>
+     *
+     * @param ctx     context
+     * @param groupId group id
+     * @return dispatcher, or {@code null} if group not found
+     */
+    @Nullable
+    private MessageDispatcher getGroupDispatcher(ChannelHandlerContext ctx, String groupId) {
+        MessageHandler groupHandler = groupHandlers != null ? groupHandlers.get(groupId) : null;
+        if (groupHandler == null) {
+            groupDispatchers.remove(groupId);
+            return null;
+        }
+        MessageDispatcher groupDispatcher = groupDispatchers.get(groupId);
+        if (groupDispatcher == null || groupDispatcher.getHandler() != groupHandler) {
+            groupDispatcher = new MessageDispatcher(groupHandler, remoteId, new NioChannel(ctx.channel(), groupId));
+            groupDispatchers.put(groupId, groupDispatcher);
+        }
+        return groupDispatcher;
     }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-        if (msg instanceof AppendEntriesRpc) {
-            lastAppendEntriesRpc = (AppendEntriesRpc) msg;
-        } else if (msg instanceof InstallSnapshotRpc) {
-            lastInstallSnapshotRpc = (InstallSnapshotRpc) msg;
+        if (msg instanceof GroupMessage) {
+            GroupMessage groupMessage = (GroupMessage) msg;
+            MessageDispatcher groupDispatcher = getGroupDispatcher(ctx, groupMessage.getGroupId());
+            if (groupDispatcher != null) {
+                groupDispatcher.recordWrite(groupMessage.getMessage());
+            }
+        } else if (handler != null && channel != null) {
+            getDispatcher().recordWrite(msg);
         }
         super.write(ctx, msg, promise);
     }
@@ -0,0 +1,200 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import com.google.common.base.Preconditions;
+import in.xnnyygn.xraft.core.node.NodeEndpoint;
+import in.xnnyygn.xraft.core.rpc.Channel;
+import in.xnnyygn.xraft.core.rpc.ChannelConnectException;
+import in.xnnyygn.xraft.core.rpc.Connector;
+import in.xnnyygn.xraft.core.rpc.message.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collection;
+
+/**
+ * Connector sending rpc and replying results by nio channels.
+ */
+@ThreadSafe
+abstract class AbstractNioConnector implements Connector {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractNioConnector.class);
+
+    @Override
+    public void sendRequestVote(@Nonnull RequestVoteRpc rpc, @Nonnull Collection<NodeEndpoint> destinationEndpoints) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoints);
+        for (NodeEndpoint endpoint : destinationEndpoints) {
+            logger.debug("send {} to node {}", rpc, endpoint.getId());
+            try {
+                getChannel(endpoint).writeRequestVoteRpc(rpc);
+            } catch (Exception e) {
+                logException(e);
+            }
+        }
+    }
+
+    private void logException(Exception e) {
+        if (e instanceof ChannelConnectException) {
+            logger.warn(e.getMessage());
+        } else {
+            logger.warn("failed to process channel", e);
+        }
+    }
+
+    @Override
+    public void replyRequestVote(@Nonnull RequestVoteResult result, @Nonnull RequestVoteRpcMessage rpcMessage) {
+        Preconditions.checkNotNull(result);
+        Preconditions.checkNotNull(rpcMessage);
+        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
+        try {
+            rpcMessage.getChannel().writeRequestVoteResult(result);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void sendAppendEntries(@Nonnull AppendEntriesRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoint);
+        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
+        try {
+            getChannel(destinationEndpoint).writeAppendEntriesRpc(rpc);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void replyAppendEntries(@Nonnull AppendEntriesResult result, @Nonnull AppendEntriesRpcMessage rpcMessage) {
+        Preconditions.checkNotNull(result);
+        Preconditions.checkNotNull(rpcMessage);
+        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
+        try {
+            rpcMessage.getChannel().writeAppendEntriesResult(result);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void sendInstallSnapshot(@Nonnull InstallSnapshotRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoint);
+        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
+        try {
+            getChannel(destinationEndpoint).writeInstallSnapshotRpc(rpc);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void replyInstallSnapshot(@Nonnull InstallSnapshotResult result, @Nonnull InstallSnapshotRpcMessage rpcMessage) {
+        Preconditions.checkNotNull(result);
+        Preconditions.checkNotNull(rpcMessage);
+        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
+        try {
+            rpcMessage.getChannel().writeInstallSnapshotResult(result);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void sendTransferSnapshot(@Nonnull TransferSnapshotRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoint);
+        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
+        try {
+            getChannel(destinationEndpoint).writeTransferSnapshotRpc(rpc);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void replyTransferSnapshot(@Nonnull TransferSnapshotResult result, @Nonnull TransferSnapshotRpcMessage rpcMessage) {
+        Preconditions.checkNotNull(result);
+        Preconditions.checkNotNull(rpcMessage);
+        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
+        try {
+            rpcMessage.getChannel().writeTransferSnapshotResult(result);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void sendPreVote(@Nonnull PreVoteRpc rpc, @Nonnull Collection<NodeEndpoint> destinationEndpoints) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoints);
+        for (NodeEndpoint endpoint : destinationEndpoints) {
+            logger.debug("send {} to node {}", rpc, endpoint.getId());
+            try {
+                getChannel(endpoint).writePreVoteRpc(rpc);
+            } catch (Exception e) {
+                logException(e);
+            }
+        }
+    }
+
+    @Override
+    public void replyPreVote(@Nonnull PreVoteResult result, @Nonnull PreVoteRpcMessage rpcMessage) {
+        Preconditions.checkNotNull(result);
+        Preconditions.checkNotNull(rpcMessage);
+        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
+        try {
+            rpcMessage.getChannel().writePreVoteResult(result);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void sendTimeoutNow(@Nonnull TimeoutNowRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoint);
+        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
+        try {
+            getChannel(destinationEndpoint).writeTimeoutNowRpc(rpc);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void sendReadIndex(@Nonnull ReadIndexRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
+        Preconditions.checkNotNull(rpc);
+        Preconditions.checkNotNull(destinationEndpoint);
+        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
+        try {
+            getChannel(destinationEndpoint).writeReadIndexRpc(rpc);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    @Override
+    public void replyReadIndex(@Nonnull ReadIndexResult result, @Nonnull ReadIndexRpcMessage rpcMessage) {
+        Preconditions.checkNotNull(result);
+        Preconditions.checkNotNull(rpcMessage);
+        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
+        try {
+            rpcMessage.getChannel().writeReadIndexResult(result);
+        } catch (Exception e) {
+            logException(e);
+        }
+    }
+
+    /**
+     * Get or connect channel to node.
+     *
+     * @param endpoint endpoint
+     * @return channel
+     */
+    protected abstract Channel getChannel(NodeEndpoint endpoint);
+
+}
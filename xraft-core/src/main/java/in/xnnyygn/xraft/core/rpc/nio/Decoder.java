@@ -15,6 +15,8 @@ import java.util.stream.Collectors;
 public class Decoder extends ByteToMessageDecoder {
 
     private final EntryFactory entryFactory = new EntryFactory();
+    // group id of next message
+    private String groupId = null;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
@@ -31,6 +33,11 @@ public class Decoder extends ByteToMessageDecoder {
 
         byte[] payload = new byte[payloadLength];
         in.readBytes(payload);
+        if (messageType == MessageConstants.MSG_TYPE_GROUP_ID) {
+            groupId = new String(payload);
+            return;
+        }
+        int outSize = out.size();
         switch (messageType) {
             case MessageConstants.MSG_TYPE_NODE_ID:
                 out.add(new NodeId(new String(payload)));
@@ -42,6 +49,7 @@ public class Decoder extends ByteToMessageDecoder {
                 rpc.setCandidateId(new NodeId(protoRVRpc.getCandidateId()));
                 rpc.setLastLogIndex(protoRVRpc.getLastLogIndex());
                 rpc.setLastLogTerm(protoRVRpc.getLastLogTerm());
+                rpc.setLeadershipTransfer(protoRVRpc.getLeadershipTransfer());
                 out.add(rpc);
                 break;
             case MessageConstants.MSG_TYPE_REQUEST_VOTE_RESULT:
@@ -64,7 +72,8 @@ public class Decoder extends ByteToMessageDecoder {
                 break;
             case MessageConstants.MSG_TYPE_APPEND_ENTRIES_RESULT:
                 Protos.AppendEntriesResult protoAEResult = Protos.AppendEntriesResult.parseFrom(payload);
-                out.add(new AppendEntriesResult(protoAEResult.getRpcMessageId(), protoAEResult.getTerm(), protoAEResult.getSuccess()));
+                out.add(new AppendEntriesResult(protoAEResult.getRpcMessageId(), protoAEResult.getTerm(), protoAEResult.getSuccess(),
+                        protoAEResult.getConflictTerm(), protoAEResult.getConflictIndex()));
                 break;
             case MessageConstants.MSG_TYPE_INSTALL_SNAPSHOT_PRC:
                 Protos.InstallSnapshotRpc protoISRpc = Protos.InstallSnapshotRpc.parseFrom(payload);
@@ -72,19 +81,74 @@ public class Decoder extends ByteToMessageDecoder {
                 isRpc.setTerm(protoISRpc.getTerm());
                 isRpc.setLeaderId(new NodeId(protoISRpc.getLeaderId()));
                 isRpc.setLastIndex(protoISRpc.getLastIndex());
-                isRpc.setLastTerm(protoISRpc.getTerm());
+                isRpc.setLastTerm(protoISRpc.getLastTerm());
                 isRpc.setLastConfig(protoISRpc.getLastConfigList().stream().map(e ->
-                        new NodeEndpoint(e.getId(), e.getHost(), e.getPort())
+                        new NodeEndpoint(e.getId(), e.getHost(), e.getPort(), e.getLearner())
                 ).collect(Collectors.toSet()));
                 isRpc.setOffset(protoISRpc.getOffset());
                 isRpc.setData(protoISRpc.getData().toByteArray());
                 isRpc.setDone(protoISRpc.getDone());
+                isRpc.setPartitionDataSizes(protoISRpc.getPartitionDataSizesList());
+                isRpc.setCodec(protoISRpc.getCodec());
                 out.add(isRpc);
                 break;
             case MessageConstants.MSG_TYPE_INSTALL_SNAPSHOT_RESULT:
                 Protos.InstallSnapshotResult protoISResult = Protos.InstallSnapshotResult.parseFrom(payload);
                 out.add(new InstallSnapshotResult(protoISResult.getTerm()));
                 break;
+            case MessageConstants.MSG_TYPE_TRANSFER_SNAPSHOT_RPC:
+                Protos.TransferSnapshotRpc protoTSRpc = Protos.TransferSnapshotRpc.parseFrom(payload);
+                TransferSnapshotRpc tsRpc = new TransferSnapshotRpc();
+                tsRpc.setTerm(protoTSRpc.getTerm());
+                tsRpc.setLeaderId(new NodeId(protoTSRpc.getLeaderId()));
+                Protos.NodeEndpoint protoTarget = protoTSRpc.getTarget();
+                tsRpc.setTarget(new NodeEndpoint(protoTarget.getId(), protoTarget.getHost(), protoTarget.getPort(), protoTarget.getLearner()));
+                tsRpc.setMinLastIndex(protoTSRpc.getMinLastIndex());
+                out.add(tsRpc);
+                break;
+            case MessageConstants.MSG_TYPE_TRANSFER_SNAPSHOT_RESULT:
+                Protos.TransferSnapshotResult protoTSResult = Protos.TransferSnapshotResult.parseFrom(payload);
+                out.add(new TransferSnapshotResult(protoTSResult.getTerm(), new NodeId(protoTSResult.getTargetId()),
+                        protoTSResult.getSuccess(), protoTSResult.getLastIndex()));
+                break;
+            case MessageConstants.MSG_TYPE_PRE_VOTE_RPC:
+                Protos.PreVoteRpc protoPVRpc = Protos.PreVoteRpc.parseFrom(payload);
+                PreVoteRpc pvRpc = new PreVoteRpc();
+                pvRpc.setTerm(protoPVRpc.getTerm());
+                pvRpc.setCandidateId(new NodeId(protoPVRpc.getCandidateId()));
+                pvRpc.setLastLogIndex(protoPVRpc.getLastLogIndex());
+                pvRpc.setLastLogTerm(protoPVRpc.getLastLogTerm());
+                out.add(pvRpc);
+                break;
+            case MessageConstants.MSG_TYPE_PRE_VOTE_RESULT:
+                Protos.PreVoteResult protoPVResult = Protos.PreVoteResult.parseFrom(payload);
+                out.add(new PreVoteResult(protoPVResult.getTerm(), protoPVResult.getVoteGranted()));
+                break;
+            case MessageConstants.MSG_TYPE_TIMEOUT_NOW_RPC:
+                Protos.TimeoutNowRpc protoTNRpc = Protos.TimeoutNowRpc.parseFrom(payload);
+                TimeoutNowRpc tnRpc = new TimeoutNowRpc();
+                tnRpc.setTerm(protoTNRpc.getTerm());
+                tnRpc.setLeaderId(new NodeId(protoTNRpc.getLeaderId()));
+                out.add(tnRpc);
+                break;
+            case MessageConstants.MSG_TYPE_READ_INDEX_RPC:
+                Protos.ReadIndexRpc protoRIRpc = Protos.ReadIndexRpc.parseFrom(payload);
+                ReadIndexRpc riRpc = new ReadIndexRpc();
+                riRpc.setMessageId(protoRIRpc.getMessageId());
+                riRpc.setTerm(protoRIRpc.getTerm());
+                out.add(riRpc);
+                break;
+            case MessageConstants.MSG_TYPE_READ_INDEX_RESULT:
+                Protos.ReadIndexResult protoRIResult = Protos.ReadIndexResult.parseFrom(payload);
+                out.add(new ReadIndexResult(protoRIResult.getRpcMessageId(), protoRIResult.getTerm(),
+                        protoRIResult.getSuccess(), protoRIResult.getReadIndex()));
+                break;
+        }
+        if (groupId != null) {
+            if (out.size() > outSize) {
+                out.set(outSize, new GroupMessage(groupId, out.get(outSize)));
+            }
+            groupId = null;
         }
     }
 
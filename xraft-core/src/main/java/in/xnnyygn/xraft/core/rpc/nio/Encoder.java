@@ -17,7 +17,11 @@ class Encoder extends MessageToByteEncoder<Object> {
 
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
-        if (msg instanceof NodeId) {
+        if (msg instanceof GroupMessage) {
+            GroupMessage groupMessage = (GroupMessage) msg;
+            this.writeMessage(out, MessageConstants.MSG_TYPE_GROUP_ID, groupMessage.getGroupId().getBytes());
+            this.encode(ctx, groupMessage.getMessage(), out);
+        } else if (msg instanceof NodeId) {
             this.writeMessage(out, MessageConstants.MSG_TYPE_NODE_ID, ((NodeId) msg).getValue().getBytes());
         } else if (msg instanceof RequestVoteRpc) {
             RequestVoteRpc rpc = (RequestVoteRpc) msg;
@@ -26,6 +30,7 @@ class Encoder extends MessageToByteEncoder<Object> {
                     .setCandidateId(rpc.getCandidateId().getValue())
                     .setLastLogIndex(rpc.getLastLogIndex())
                     .setLastLogTerm(rpc.getLastLogTerm())
+                    .setLeadershipTransfer(rpc.isLeadershipTransfer())
                     .build();
             this.writeMessage(out, MessageConstants.MSG_TYPE_REQUEST_VOTE_RPC, protoRpc);
         } else if (msg instanceof RequestVoteResult) {
@@ -61,32 +66,103 @@ class Encoder extends MessageToByteEncoder<Object> {
                     .setRpcMessageId(result.getRpcMessageId())
                     .setTerm(result.getTerm())
                     .setSuccess(result.isSuccess())
+                    .setConflictTerm(result.getConflictTerm())
+                    .setConflictIndex(result.getConflictIndex())
                     .build();
             this.writeMessage(out, MessageConstants.MSG_TYPE_APPEND_ENTRIES_RESULT, protoResult);
         } else if (msg instanceof InstallSnapshotRpc) {
             InstallSnapshotRpc rpc = (InstallSnapshotRpc) msg;
-            Protos.InstallSnapshotRpc protoRpc = Protos.InstallSnapshotRpc.newBuilder()
+            Protos.InstallSnapshotRpc.Builder protoRpcBuilder = Protos.InstallSnapshotRpc.newBuilder()
                     .setTerm(rpc.getTerm())
                     .setLeaderId(rpc.getLeaderId().getValue())
                     .setLastIndex(rpc.getLastIndex())
                     .setLastTerm(rpc.getLastTerm())
-                    .addAllLastConfig(
-                            rpc.getLastConfig().stream().map(e ->
-                                    Protos.NodeEndpoint.newBuilder()
-                                            .setId(e.getId().getValue())
-                                            .setHost(e.getHost())
-                                            .setPort(e.getPort())
-                                            .build()
-                            ).collect(Collectors.toList()))
                     .setOffset(rpc.getOffset())
                     .setData(ByteString.copyFrom(rpc.getData()))
-                    .setDone(rpc.isDone()).build();
+                    .setDone(rpc.isDone())
+                    .addAllPartitionDataSizes(rpc.getPartitionDataSizes())
+                    .setCodec(rpc.getCodec());
+            // last config only in the first rpc
+            if (rpc.getLastConfig() != null) {
+                protoRpcBuilder.addAllLastConfig(
+                        rpc.getLastConfig().stream().map(e ->
+                                Protos.NodeEndpoint.newBuilder()
+                                        .setId(e.getId().getValue())
+                                        .setHost(e.getHost())
+                                        .setPort(e.getPort())
+                                        .setLearner(e.isLearner())
+                                        .build()
+                        ).collect(Collectors.toList()));
+            }
+            Protos.InstallSnapshotRpc protoRpc = protoRpcBuilder.build();
             this.writeMessage(out, MessageConstants.MSG_TYPE_INSTALL_SNAPSHOT_PRC, protoRpc);
         } else if (msg instanceof InstallSnapshotResult) {
             InstallSnapshotResult result = (InstallSnapshotResult) msg;
             Protos.InstallSnapshotResult protoResult = Protos.InstallSnapshotResult.newBuilder()
                     .setTerm(result.getTerm()).build();
             this.writeMessage(out, MessageConstants.MSG_TYPE_INSTALL_SNAPSHOT_RESULT, protoResult);
+        } else if (msg instanceof TransferSnapshotRpc) {
+            TransferSnapshotRpc rpc = (TransferSnapshotRpc) msg;
+            Protos.TransferSnapshotRpc protoRpc = Protos.TransferSnapshotRpc.newBuilder()
+                    .setTerm(rpc.getTerm())
+                    .setLeaderId(rpc.getLeaderId().getValue())
+                    .setTarget(Protos.NodeEndpoint.newBuilder()
+                            .setId(rpc.getTarget().getId().getValue())
+                            .setHost(rpc.getTarget().getHost())
+                            .setPort(rpc.getTarget().getPort())
+                            .setLearner(rpc.getTarget().isLearner())
+                            .build())
+                    .setMinLastIndex(rpc.getMinLastIndex())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_TRANSFER_SNAPSHOT_RPC, protoRpc);
+        } else if (msg instanceof TransferSnapshotResult) {
+            TransferSnapshotResult result = (TransferSnapshotResult) msg;
+            Protos.TransferSnapshotResult protoResult = Protos.TransferSnapshotResult.newBuilder()
+                    .setTerm(result.getTerm())
+                    .setTargetId(result.getTargetId().getValue())
+                    .setSuccess(result.isSuccess())
+                    .setLastIndex(result.getLastIndex())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_TRANSFER_SNAPSHOT_RESULT, protoResult);
+        } else if (msg instanceof PreVoteRpc) {
+            PreVoteRpc rpc = (PreVoteRpc) msg;
+            Protos.PreVoteRpc protoRpc = Protos.PreVoteRpc.newBuilder()
+                    .setTerm(rpc.getTerm())
+                    .setCandidateId(rpc.getCandidateId().getValue())
+                    .setLastLogIndex(rpc.getLastLogIndex())
+                    .setLastLogTerm(rpc.getLastLogTerm())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_PRE_VOTE_RPC, protoRpc);
+        } else if (msg instanceof PreVoteResult) {
+            PreVoteResult result = (PreVoteResult) msg;
+            Protos.PreVoteResult protoResult = Protos.PreVoteResult.newBuilder()
+                    .setTerm(result.getTerm())
+                    .setVoteGranted(result.isVoteGranted())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_PRE_VOTE_RESULT, protoResult);
+        } else if (msg instanceof TimeoutNowRpc) {
+            TimeoutNowRpc rpc = (TimeoutNowRpc) msg;
+            Protos.TimeoutNowRpc protoRpc = Protos.TimeoutNowRpc.newBuilder()
+                    .setTerm(rpc.getTerm())
+                    .setLeaderId(rpc.getLeaderId().getValue())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_TIMEOUT_NOW_RPC, protoRpc);
+        } else if (msg instanceof ReadIndexRpc) {
+            ReadIndexRpc rpc = (ReadIndexRpc) msg;
+            Protos.ReadIndexRpc protoRpc = Protos.ReadIndexRpc.newBuilder()
+                    .setMessageId(rpc.getMessageId())
+                    .setTerm(rpc.getTerm())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_READ_INDEX_RPC, protoRpc);
+        } else if (msg instanceof ReadIndexResult) {
+            ReadIndexResult result = (ReadIndexResult) msg;
+            Protos.ReadIndexResult protoResult = Protos.ReadIndexResult.newBuilder()
+                    .setRpcMessageId(result.getRpcMessageId())
+                    .setTerm(result.getTerm())
+                    .setSuccess(result.isSuccess())
+                    .setReadIndex(result.getReadIndex())
+                    .build();
+            this.writeMessage(out, MessageConstants.MSG_TYPE_READ_INDEX_RESULT, protoResult);
         }
     }
 
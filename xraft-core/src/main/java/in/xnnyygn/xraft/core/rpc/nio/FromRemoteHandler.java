@@ -1,18 +1,24 @@
 package in.xnnyygn.xraft.core.rpc.nio;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
 class FromRemoteHandler extends AbstractHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(FromRemoteHandler.class);
     private final InboundChannelGroup channelGroup;
 
-    FromRemoteHandler(EventBus eventBus, InboundChannelGroup channelGroup) {
-        super(eventBus);
+    FromRemoteHandler(MessageHandler handler, InboundChannelGroup channelGroup) {
+        this(handler, null, channelGroup);
+    }
+
+    FromRemoteHandler(MessageHandler handler, Map<String, MessageHandler> groupHandlers, InboundChannelGroup channelGroup) {
+        super(handler, groupHandlers);
         this.channelGroup = channelGroup;
     }
 
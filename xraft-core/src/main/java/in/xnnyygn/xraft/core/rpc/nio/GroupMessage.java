@@ -0,0 +1,37 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+/**
+ * Message tagged with group id, for connections shared by raft groups.
+ * <p>
+ * Encoded as a group id frame followed by frame of message.
+ * </p>
+ *
+ * @see NioTransport
+ */
+class GroupMessage {
+
+    private final String groupId;
+    private final Object message;
+
+    GroupMessage(String groupId, Object message) {
+        this.groupId = groupId;
+        this.message = message;
+    }
+
+    String getGroupId() {
+        return groupId;
+    }
+
+    Object getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupMessage{" +
+                "groupId='" + groupId + '\'' +
+                ", message=" + message +
+                '}';
+    }
+
+}
@@ -0,0 +1,54 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import in.xnnyygn.xraft.core.node.NodeEndpoint;
+import in.xnnyygn.xraft.core.rpc.Channel;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Connector of one group on shared transport.
+ *
+ * @see NioTransport
+ */
+@ThreadSafe
+class GroupNioConnector extends AbstractNioConnector {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupNioConnector.class);
+    private final NioTransport transport;
+    private final String groupId;
+    private volatile MessageHandler handler;
+
+    GroupNioConnector(NioTransport transport, String groupId) {
+        this.transport = transport;
+        this.groupId = groupId;
+    }
+
+    @Override
+    public void initialize(@Nonnull MessageHandler handler) {
+        this.handler = handler;
+        transport.register(groupId, handler);
+    }
+
+    @Override
+    public void resetChannels() {
+        // channels are shared by groups, keep them
+    }
+
+    @Override
+    protected Channel getChannel(NodeEndpoint endpoint) {
+        return new NioChannel(transport.getOrConnect(endpoint).getDelegate(), groupId);
+    }
+
+    @Override
+    public void close() {
+        logger.debug("close connector of group {}", groupId);
+        if (handler != null) {
+            transport.unregister(groupId, handler);
+        }
+    }
+
+}
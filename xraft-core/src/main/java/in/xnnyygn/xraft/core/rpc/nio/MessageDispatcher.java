@@ -0,0 +1,139 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.Channel;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
+import in.xnnyygn.xraft.core.rpc.message.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dispatcher of messages from remote node to handler of one group, accessed in event loop of channel only.
+ * <p>
+ * Results are matched with rpc written to the same channel, so state is kept per channel and per group.
+ * </p>
+ */
+@NotThreadSafe
+class MessageDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageDispatcher.class);
+    private final MessageHandler handler;
+    private final NodeId remoteId;
+    private final Channel channel;
+
+    // append entries rpc without result by message id, in order of sending
+    private final Map<String, AppendEntriesRpc> pendingAppendEntriesRpcs = new LinkedHashMap<String, AppendEntriesRpc>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AppendEntriesRpc> eldest) {
+            return size() > NioConnector.MAX_PENDING_APPEND_ENTRIES_RPC;
+        }
+    };
+    private InstallSnapshotRpc lastInstallSnapshotRpc;
+
+    MessageDispatcher(MessageHandler handler, NodeId remoteId, Channel channel) {
+        this.handler = handler;
+        this.remoteId = remoteId;
+        this.channel = channel;
+    }
+
+    MessageHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Dispatch message read from channel.
+     *
+     * @param msg message
+     */
+    void dispatch(Object msg) {
+        if (msg instanceof RequestVoteRpc) {
+            RequestVoteRpc rpc = (RequestVoteRpc) msg;
+            handler.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof RequestVoteResult) {
+            handler.onReceiveRequestVoteResult((RequestVoteResult) msg);
+        } else if (msg instanceof AppendEntriesRpc) {
+            AppendEntriesRpc rpc = (AppendEntriesRpc) msg;
+            handler.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof AppendEntriesResult) {
+            AppendEntriesResult result = (AppendEntriesResult) msg;
+            AppendEntriesRpc rpc = removePendingAppendEntriesRpc(result.getRpcMessageId());
+            if (rpc == null) {
+                logger.warn("no append entries rpc for message id {}", result.getRpcMessageId());
+            } else {
+                handler.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(result, remoteId, rpc));
+            }
+        } else if (msg instanceof InstallSnapshotRpc) {
+            InstallSnapshotRpc rpc = (InstallSnapshotRpc) msg;
+            handler.onReceiveInstallSnapshotRpc(new InstallSnapshotRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof InstallSnapshotResult) {
+            InstallSnapshotResult result = (InstallSnapshotResult) msg;
+            assert lastInstallSnapshotRpc != null;
+            handler.onReceiveInstallSnapshotResult(new InstallSnapshotResultMessage(result, remoteId, lastInstallSnapshotRpc));
+            lastInstallSnapshotRpc = null;
+        } else if (msg instanceof TransferSnapshotRpc) {
+            TransferSnapshotRpc rpc = (TransferSnapshotRpc) msg;
+            handler.onReceiveTransferSnapshotRpc(new TransferSnapshotRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof TransferSnapshotResult) {
+            // result carries target node id, no need to match rpc
+            handler.onReceiveTransferSnapshotResult((TransferSnapshotResult) msg);
+        } else if (msg instanceof PreVoteRpc) {
+            PreVoteRpc rpc = (PreVoteRpc) msg;
+            handler.onReceivePreVoteRpc(new PreVoteRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof PreVoteResult) {
+            handler.onReceivePreVoteResult((PreVoteResult) msg);
+        } else if (msg instanceof TimeoutNowRpc) {
+            TimeoutNowRpc rpc = (TimeoutNowRpc) msg;
+            handler.onReceiveTimeoutNowRpc(new TimeoutNowRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof ReadIndexRpc) {
+            ReadIndexRpc rpc = (ReadIndexRpc) msg;
+            handler.onReceiveReadIndexRpc(new ReadIndexRpcMessage(rpc, remoteId, channel));
+        } else if (msg instanceof ReadIndexResult) {
+            // result carries rpc message id, matched by node
+            handler.onReceiveReadIndexResult((ReadIndexResult) msg);
+        }
+    }
+
+    /**
+     * Remove pending append entries rpc by message id.
+     * <p>
+     * Results are in the same order as rpc in channel, so rpc sent before the matched one will get no result, remove them too.
+     * </p>
+     *
+     * @param messageId message id
+     * @return rpc, or {@code null} if not found
+     */
+    private AppendEntriesRpc removePendingAppendEntriesRpc(String messageId) {
+        if (!pendingAppendEntriesRpcs.containsKey(messageId)) {
+            return null;
+        }
+        Iterator<Map.Entry<String, AppendEntriesRpc>> iterator = pendingAppendEntriesRpcs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, AppendEntriesRpc> entry = iterator.next();
+            iterator.remove();
+            if (entry.getKey().equals(messageId)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record message written to channel.
+     *
+     * @param msg message
+     */
+    void recordWrite(Object msg) {
+        if (msg instanceof AppendEntriesRpc) {
+            AppendEntriesRpc rpc = (AppendEntriesRpc) msg;
+            pendingAppendEntriesRpcs.put(rpc.getMessageId(), rpc);
+        } else if (msg instanceof InstallSnapshotRpc) {
+            lastInstallSnapshotRpc = (InstallSnapshotRpc) msg;
+        }
+    }
+
+}
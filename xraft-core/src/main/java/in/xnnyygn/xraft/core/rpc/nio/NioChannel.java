@@ -5,43 +5,95 @@ import in.xnnyygn.xraft.core.rpc.ChannelException;
 import in.xnnyygn.xraft.core.rpc.message.*;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 class NioChannel implements Channel {
 
     private final io.netty.channel.Channel nettyChannel;
+    private final String groupId;
 
     NioChannel(io.netty.channel.Channel nettyChannel) {
+        this(nettyChannel, null);
+    }
+
+    /**
+     * Create.
+     *
+     * @param nettyChannel netty channel
+     * @param groupId      group id to tag messages with, {@code null} if channel is not shared by groups
+     */
+    NioChannel(io.netty.channel.Channel nettyChannel, @Nullable String groupId) {
         this.nettyChannel = nettyChannel;
+        this.groupId = groupId;
     }
 
     @Override
     public void writeRequestVoteRpc(@Nonnull RequestVoteRpc rpc) {
-        nettyChannel.writeAndFlush(rpc);
+        write(rpc);
     }
 
     @Override
     public void writeRequestVoteResult(@Nonnull RequestVoteResult result) {
-        nettyChannel.writeAndFlush(result);
+        write(result);
     }
 
     @Override
     public void writeAppendEntriesRpc(@Nonnull AppendEntriesRpc rpc) {
-        nettyChannel.writeAndFlush(rpc);
+        write(rpc);
     }
 
     @Override
     public void writeAppendEntriesResult(@Nonnull AppendEntriesResult result) {
-        nettyChannel.writeAndFlush(result);
+        write(result);
     }
 
     @Override
     public void writeInstallSnapshotRpc(@Nonnull InstallSnapshotRpc rpc) {
-        nettyChannel.writeAndFlush(rpc);
+        write(rpc);
     }
 
     @Override
     public void writeInstallSnapshotResult(@Nonnull InstallSnapshotResult result) {
-        nettyChannel.writeAndFlush(result);
+        write(result);
+    }
+
+    @Override
+    public void writeTransferSnapshotRpc(@Nonnull TransferSnapshotRpc rpc) {
+        write(rpc);
+    }
+
+    @Override
+    public void writeTransferSnapshotResult(@Nonnull TransferSnapshotResult result) {
+        write(result);
+    }
+
+    @Override
+    public void writePreVoteRpc(@Nonnull PreVoteRpc rpc) {
+        write(rpc);
+    }
+
+    @Override
+    public void writePreVoteResult(@Nonnull PreVoteResult result) {
+        write(result);
+    }
+
+    @Override
+    public void writeTimeoutNowRpc(@Nonnull TimeoutNowRpc rpc) {
+        write(rpc);
+    }
+
+    @Override
+    public void writeReadIndexRpc(@Nonnull ReadIndexRpc rpc) {
+        write(rpc);
+    }
+
+    @Override
+    public void writeReadIndexResult(@Nonnull ReadIndexResult result) {
+        write(result);
+    }
+
+    private void write(Object msg) {
+        nettyChannel.writeAndFlush(groupId != null ? new GroupMessage(groupId, msg) : msg);
     }
 
     @Override
@@ -1,13 +1,9 @@
 package in.xnnyygn.xraft.core.rpc.nio;
 
-import com.google.common.base.Preconditions;
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.Channel;
-import in.xnnyygn.xraft.core.rpc.ChannelConnectException;
-import in.xnnyygn.xraft.core.rpc.Connector;
-import in.xnnyygn.xraft.core.rpc.message.*;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
@@ -19,40 +15,45 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.Collection;
 
 // TODO add test
 @ThreadSafe
-public class NioConnector implements Connector {
+public class NioConnector extends AbstractNioConnector {
 
+    /**
+     * Max append entries rpc without result kept for each remote node and group to match results.
+     * Max inflight append entries in config should not exceed it.
+     */
+    public static final int MAX_PENDING_APPEND_ENTRIES_RPC = 64;
     private static final Logger logger = LoggerFactory.getLogger(NioConnector.class);
     private final NioEventLoopGroup bossNioEventLoopGroup = new NioEventLoopGroup(1);
     private final NioEventLoopGroup workerNioEventLoopGroup;
     private final boolean workerGroupShared;
-    private final EventBus eventBus;
+    private final NodeId selfNodeId;
     private final int port;
     private final InboundChannelGroup inboundChannelGroup = new InboundChannelGroup();
-    private final OutboundChannelGroup outboundChannelGroup;
+    // created with handler when initialized
+    private volatile OutboundChannelGroup outboundChannelGroup;
 
-    public NioConnector(NodeId selfNodeId, EventBus eventBus, int port) {
-        this(new NioEventLoopGroup(), false, selfNodeId, eventBus, port);
+    public NioConnector(NodeId selfNodeId, int port) {
+        this(new NioEventLoopGroup(), false, selfNodeId, port);
     }
 
-    public NioConnector(NioEventLoopGroup workerNioEventLoopGroup, NodeId selfNodeId, EventBus eventBus, int port) {
-        this(workerNioEventLoopGroup, true, selfNodeId, eventBus, port);
+    public NioConnector(NioEventLoopGroup workerNioEventLoopGroup, NodeId selfNodeId, int port) {
+        this(workerNioEventLoopGroup, true, selfNodeId, port);
     }
 
-    public NioConnector(NioEventLoopGroup workerNioEventLoopGroup, boolean workerGroupShared, NodeId selfNodeId, EventBus eventBus, int port) {
+    public NioConnector(NioEventLoopGroup workerNioEventLoopGroup, boolean workerGroupShared, NodeId selfNodeId, int port) {
         this.workerNioEventLoopGroup = workerNioEventLoopGroup;
         this.workerGroupShared = workerGroupShared;
-        this.eventBus = eventBus;
+        this.selfNodeId = selfNodeId;
         this.port = port;
-        outboundChannelGroup = new OutboundChannelGroup(workerNioEventLoopGroup, eventBus, selfNodeId);
     }
 
     // should not call more than once
     @Override
-    public void initialize() {
+    public void initialize(@Nonnull MessageHandler handler) {
+        outboundChannelGroup = new OutboundChannelGroup(workerNioEventLoopGroup, handler, selfNodeId);
         ServerBootstrap serverBootstrap = new ServerBootstrap()
                 .group(bossNioEventLoopGroup, workerNioEventLoopGroup)
                 .channel(NioServerSocketChannel.class)
@@ -62,7 +63,7 @@ public class NioConnector implements Connector {
                         ChannelPipeline pipeline = ch.pipeline();
                         pipeline.addLast(new Decoder());
                         pipeline.addLast(new Encoder());
-                        pipeline.addLast(new FromRemoteHandler(eventBus, inboundChannelGroup));
+                        pipeline.addLast(new FromRemoteHandler(handler, inboundChannelGroup));
                     }
                 });
         logger.debug("node listen on port {}", port);
@@ -73,94 +74,13 @@ public class NioConnector implements Connector {
         }
     }
 
-    @Override
-    public void sendRequestVote(@Nonnull RequestVoteRpc rpc, @Nonnull Collection<NodeEndpoint> destinationEndpoints) {
-        Preconditions.checkNotNull(rpc);
-        Preconditions.checkNotNull(destinationEndpoints);
-        for (NodeEndpoint endpoint : destinationEndpoints) {
-            logger.debug("send {} to node {}", rpc, endpoint.getId());
-            try {
-                getChannel(endpoint).writeRequestVoteRpc(rpc);
-            } catch (Exception e) {
-                logException(e);
-            }
-        }
-    }
-
-    private void logException(Exception e) {
-        if (e instanceof ChannelConnectException) {
-            logger.warn(e.getMessage());
-        } else {
-            logger.warn("failed to process channel", e);
-        }
-    }
-
-    @Override
-    public void replyRequestVote(@Nonnull RequestVoteResult result, @Nonnull RequestVoteRpcMessage rpcMessage) {
-        Preconditions.checkNotNull(result);
-        Preconditions.checkNotNull(rpcMessage);
-        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
-        try {
-            rpcMessage.getChannel().writeRequestVoteResult(result);
-        } catch (Exception e) {
-            logException(e);
-        }
-    }
-
-    @Override
-    public void sendAppendEntries(@Nonnull AppendEntriesRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
-        Preconditions.checkNotNull(rpc);
-        Preconditions.checkNotNull(destinationEndpoint);
-        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
-        try {
-            getChannel(destinationEndpoint).writeAppendEntriesRpc(rpc);
-        } catch (Exception e) {
-            logException(e);
-        }
-    }
-
-    @Override
-    public void replyAppendEntries(@Nonnull AppendEntriesResult result, @Nonnull AppendEntriesRpcMessage rpcMessage) {
-        Preconditions.checkNotNull(result);
-        Preconditions.checkNotNull(rpcMessage);
-        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
-        try {
-            rpcMessage.getChannel().writeAppendEntriesResult(result);
-        } catch (Exception e) {
-            logException(e);
-        }
-    }
-
-    @Override
-    public void sendInstallSnapshot(@Nonnull InstallSnapshotRpc rpc, @Nonnull NodeEndpoint destinationEndpoint) {
-        Preconditions.checkNotNull(rpc);
-        Preconditions.checkNotNull(destinationEndpoint);
-        logger.debug("send {} to node {}", rpc, destinationEndpoint.getId());
-        try {
-            getChannel(destinationEndpoint).writeInstallSnapshotRpc(rpc);
-        } catch (Exception e) {
-            logException(e);
-        }
-    }
-
-    @Override
-    public void replyInstallSnapshot(@Nonnull InstallSnapshotResult result, @Nonnull InstallSnapshotRpcMessage rpcMessage) {
-        Preconditions.checkNotNull(result);
-        Preconditions.checkNotNull(rpcMessage);
-        logger.debug("reply {} to node {}", result, rpcMessage.getSourceNodeId());
-        try {
-            rpcMessage.getChannel().writeInstallSnapshotResult(result);
-        } catch (Exception e) {
-            logException(e);
-        }
-    }
-
     @Override
     public void resetChannels() {
         inboundChannelGroup.closeAll();
     }
 
-    private Channel getChannel(NodeEndpoint endpoint) {
+    @Override
+    protected Channel getChannel(NodeEndpoint endpoint) {
         return outboundChannelGroup.getOrConnect(endpoint.getId(), endpoint.getAddress());
     }
 
@@ -168,7 +88,9 @@ public class NioConnector implements Connector {
     public void close() {
         logger.debug("close connector");
         inboundChannelGroup.closeAll();
-        outboundChannelGroup.closeAll();
+        if (outboundChannelGroup != null) {
+            outboundChannelGroup.closeAll();
+        }
         bossNioEventLoopGroup.shutdownGracefully();
         if (!workerGroupShared) {
             workerNioEventLoopGroup.shutdownGracefully();
@@ -0,0 +1,119 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import com.google.common.base.Preconditions;
+import in.xnnyygn.xraft.core.node.NodeEndpoint;
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.Connector;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Transport shared by raft groups in one process.
+ * <p>
+ * One server port and one connection to each remote node are shared by all groups, messages are tagged
+ * with group id and dispatched to message handler of the group. Node id of this process must be the same
+ * in all groups, so does remote node.
+ * </p>
+ *
+ * @see GroupMessage
+ */
+@ThreadSafe
+public class NioTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioTransport.class);
+    private final NioEventLoopGroup bossNioEventLoopGroup = new NioEventLoopGroup(1);
+    private final NioEventLoopGroup workerNioEventLoopGroup;
+    private final int port;
+    private final ConcurrentMap<String, MessageHandler> groupHandlers = new ConcurrentHashMap<>();
+    private final InboundChannelGroup inboundChannelGroup = new InboundChannelGroup();
+    private final OutboundChannelGroup outboundChannelGroup;
+
+    /**
+     * Create.
+     *
+     * @param selfNodeId    self node id
+     * @param port          port
+     * @param workerThreads worker threads of nio
+     */
+    public NioTransport(NodeId selfNodeId, int port, int workerThreads) {
+        this.workerNioEventLoopGroup = new NioEventLoopGroup(workerThreads);
+        this.port = port;
+        outboundChannelGroup = new OutboundChannelGroup(workerNioEventLoopGroup, null, groupHandlers, selfNodeId);
+    }
+
+    // should not call more than once
+    public void initialize() {
+        ServerBootstrap serverBootstrap = new ServerBootstrap()
+                .group(bossNioEventLoopGroup, workerNioEventLoopGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) throws Exception {
+                        ChannelPipeline pipeline = ch.pipeline();
+                        pipeline.addLast(new Decoder());
+                        pipeline.addLast(new Encoder());
+                        pipeline.addLast(new FromRemoteHandler(null, groupHandlers, inboundChannelGroup));
+                    }
+                });
+        logger.debug("transport listen on port {}", port);
+        try {
+            serverBootstrap.bind(port).sync();
+        } catch (InterruptedException e) {
+            throw new ConnectorException("failed to bind port", e);
+        }
+    }
+
+    /**
+     * Create connector for group.
+     * <p>
+     * Messages of group are dispatched to handler passed to {@link Connector#initialize(MessageHandler)},
+     * and dropped after closed.
+     * </p>
+     *
+     * @param groupId group id
+     * @return connector
+     */
+    @Nonnull
+    public Connector createConnector(@Nonnull String groupId) {
+        Preconditions.checkNotNull(groupId);
+        return new GroupNioConnector(this, groupId);
+    }
+
+    void register(String groupId, MessageHandler handler) {
+        if (groupHandlers.putIfAbsent(groupId, handler) != null) {
+            throw new IllegalStateException("group " + groupId + " registered");
+        }
+        logger.debug("register group {}", groupId);
+    }
+
+    void unregister(String groupId, MessageHandler handler) {
+        if (groupHandlers.remove(groupId, handler)) {
+            logger.debug("unregister group {}", groupId);
+        }
+    }
+
+    NioChannel getOrConnect(NodeEndpoint endpoint) {
+        return outboundChannelGroup.getOrConnect(endpoint.getId(), endpoint.getAddress());
+    }
+
+    public void close() {
+        logger.debug("close transport");
+        inboundChannelGroup.closeAll();
+        outboundChannelGroup.closeAll();
+        bossNioEventLoopGroup.shutdownGracefully();
+        workerNioEventLoopGroup.shutdownGracefully();
+    }
+
+}
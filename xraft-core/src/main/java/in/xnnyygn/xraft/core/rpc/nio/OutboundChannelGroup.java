@@ -1,10 +1,10 @@
 package in.xnnyygn.xraft.core.rpc.nio;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.Address;
 import in.xnnyygn.xraft.core.rpc.ChannelConnectException;
 import in.xnnyygn.xraft.core.rpc.ChannelException;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
 import io.netty.channel.socket.SocketChannel;
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.net.ConnectException;
+import java.util.Map;
 import java.util.concurrent.*;
 
 @ThreadSafe
@@ -21,13 +22,19 @@ class OutboundChannelGroup {
 
     private static final Logger logger = LoggerFactory.getLogger(OutboundChannelGroup.class);
     private final EventLoopGroup workerGroup;
-    private final EventBus eventBus;
+    private final MessageHandler handler;
+    private final Map<String, MessageHandler> groupHandlers;
     private final NodeId selfNodeId;
     private final ConcurrentMap<NodeId, Future<NioChannel>> channelMap = new ConcurrentHashMap<>();
 
-    OutboundChannelGroup(EventLoopGroup workerGroup, EventBus eventBus, NodeId selfNodeId) {
+    OutboundChannelGroup(EventLoopGroup workerGroup, MessageHandler handler, NodeId selfNodeId) {
+        this(workerGroup, handler, null, selfNodeId);
+    }
+
+    OutboundChannelGroup(EventLoopGroup workerGroup, MessageHandler handler, Map<String, MessageHandler> groupHandlers, NodeId selfNodeId) {
         this.workerGroup = workerGroup;
-        this.eventBus = eventBus;
+        this.handler = handler;
+        this.groupHandlers = groupHandlers;
         this.selfNodeId = selfNodeId;
     }
 
@@ -67,7 +74,7 @@ class OutboundChannelGroup {
                         ChannelPipeline pipeline = ch.pipeline();
                         pipeline.addLast(new Decoder());
                         pipeline.addLast(new Encoder());
-                        pipeline.addLast(new ToRemoteHandler(eventBus, nodeId, selfNodeId));
+                        pipeline.addLast(new ToRemoteHandler(handler, groupHandlers, nodeId, selfNodeId));
                     }
                 });
         ChannelFuture future = bootstrap.connect(address.getHost(), address.getPort()).sync();
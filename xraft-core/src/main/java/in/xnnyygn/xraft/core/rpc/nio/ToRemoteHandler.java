@@ -1,18 +1,24 @@
 package in.xnnyygn.xraft.core.rpc.nio;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
 class ToRemoteHandler extends AbstractHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ToRemoteHandler.class);
     private final NodeId selfNodeId;
 
-    ToRemoteHandler(EventBus eventBus, NodeId remoteId, NodeId selfNodeId) {
-        super(eventBus);
+    ToRemoteHandler(MessageHandler handler, NodeId remoteId, NodeId selfNodeId) {
+        this(handler, null, remoteId, selfNodeId);
+    }
+
+    ToRemoteHandler(MessageHandler handler, Map<String, MessageHandler> groupHandlers, NodeId remoteId, NodeId selfNodeId) {
+        super(handler, groupHandlers);
         this.remoteId = remoteId;
         this.selfNodeId = selfNodeId;
     }
@@ -23,13 +23,32 @@ public class DefaultScheduler implements Scheduler {
     private final int logReplicationInterval;
     private final Random electionTimeoutRandom;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean scheduledExecutorServiceShared;
 
     public DefaultScheduler(NodeConfig config) {
         this(config.getMinElectionTimeout(), config.getMaxElectionTimeout(), config.getLogReplicationDelay(),
                 config.getLogReplicationInterval());
     }
 
+    /**
+     * Create with shared scheduled executor service.
+     * It's caller's responsibility to shutdown the executor service.
+     *
+     * @param config                   config
+     * @param scheduledExecutorService scheduled executor service
+     */
+    public DefaultScheduler(NodeConfig config, ScheduledExecutorService scheduledExecutorService) {
+        this(config.getMinElectionTimeout(), config.getMaxElectionTimeout(), config.getLogReplicationDelay(),
+                config.getLogReplicationInterval(), scheduledExecutorService, true);
+    }
+
     public DefaultScheduler(int minElectionTimeout, int maxElectionTimeout, int logReplicationDelay, int logReplicationInterval) {
+        this(minElectionTimeout, maxElectionTimeout, logReplicationDelay, logReplicationInterval,
+                Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduler")), false);
+    }
+
+    private DefaultScheduler(int minElectionTimeout, int maxElectionTimeout, int logReplicationDelay, int logReplicationInterval,
+                             ScheduledExecutorService scheduledExecutorService, boolean scheduledExecutorServiceShared) {
         if (minElectionTimeout <= 0 || maxElectionTimeout <= 0 || minElectionTimeout > maxElectionTimeout) {
             throw new IllegalArgumentException("election timeout should not be 0 or min > max");
         }
@@ -41,7 +60,8 @@ public class DefaultScheduler implements Scheduler {
         this.logReplicationDelay = logReplicationDelay;
         this.logReplicationInterval = logReplicationInterval;
         electionTimeoutRandom = new Random();
-        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduler"));
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.scheduledExecutorServiceShared = scheduledExecutorServiceShared;
     }
 
     @Override
@@ -64,9 +84,20 @@ public class DefaultScheduler implements Scheduler {
         return new ElectionTimeout(scheduledFuture);
     }
 
+    @Override
+    @Nonnull
+    public ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        Preconditions.checkNotNull(task);
+        Preconditions.checkNotNull(unit);
+        return scheduledExecutorService.schedule(task, delay, unit);
+    }
+
     @Override
     public void stop() throws InterruptedException {
         logger.debug("stop scheduler");
+        if (scheduledExecutorServiceShared) {
+            return;
+        }
         scheduledExecutorService.shutdown();
         scheduledExecutorService.awaitTermination(1, TimeUnit.SECONDS);
     }
@@ -17,6 +17,15 @@ public class ElectionTimeout {
         this.scheduledFuture = scheduledFuture;
     }
 
+    /**
+     * Reset election timeout in place with new random timeout.
+     *
+     * @return true if reset, false if not supported, or timeout was cancelled or fired
+     */
+    public boolean reset() {
+        return false;
+    }
+
     public void cancel() {
         logger.debug("cancel election timeout");
         this.scheduledFuture.cancel(false);
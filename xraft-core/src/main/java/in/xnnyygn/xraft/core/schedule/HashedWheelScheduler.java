@@ -0,0 +1,151 @@
+package in.xnnyygn.xraft.core.schedule;
+
+import com.google.common.base.Preconditions;
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler backed by hashed wheel timer.
+ * <p>
+ * Election timeout is reset in place when follower receives message from leader, so heartbeat costs
+ * no cancellation and no allocation of timer task. Suitable for many groups sharing one timer.
+ * </p>
+ * <p>
+ * One-shot task with delay shorter than one tick, e.g linger of append log batch, is scheduled by
+ * scheduled executor service instead, since timer fires it one tick later at the earliest.
+ * </p>
+ *
+ * @see HashedWheelTimer
+ */
+@ThreadSafe
+public class HashedWheelScheduler implements Scheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelScheduler.class);
+    private static final int TICKS_PER_WHEEL = 512;
+    private final int minElectionTimeout;
+    private final int maxElectionTimeout;
+    private final int logReplicationDelay;
+    private final int logReplicationInterval;
+    private final HashedWheelTimer timer;
+    private final long tickNanos;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean shared;
+
+    public HashedWheelScheduler(NodeConfig config) {
+        this(config, createTimer(config),
+                Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduler")), false);
+    }
+
+    /**
+     * Create with shared timer and scheduled executor service for delays shorter than one tick.
+     * It's caller's responsibility to stop the timer and shutdown the executor service.
+     *
+     * @param config                   config
+     * @param timer                    timer
+     * @param scheduledExecutorService scheduled executor service
+     */
+    public HashedWheelScheduler(NodeConfig config, HashedWheelTimer timer, ScheduledExecutorService scheduledExecutorService) {
+        this(config, timer, scheduledExecutorService, true);
+    }
+
+    private HashedWheelScheduler(NodeConfig config, HashedWheelTimer timer,
+                                 ScheduledExecutorService scheduledExecutorService, boolean shared) {
+        if (config.getMinElectionTimeout() <= 0 || config.getMaxElectionTimeout() <= 0 ||
+                config.getMinElectionTimeout() > config.getMaxElectionTimeout()) {
+            throw new IllegalArgumentException("election timeout should not be 0 or min > max");
+        }
+        if (config.getLogReplicationDelay() < 0 || config.getLogReplicationInterval() <= 0) {
+            throw new IllegalArgumentException("log replication delay < 0 or log replication interval <= 0");
+        }
+        this.minElectionTimeout = config.getMinElectionTimeout();
+        this.maxElectionTimeout = config.getMaxElectionTimeout();
+        this.logReplicationDelay = config.getLogReplicationDelay();
+        this.logReplicationInterval = config.getLogReplicationInterval();
+        this.timer = timer;
+        this.tickNanos = timer.getTickDuration(TimeUnit.NANOSECONDS);
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.shared = shared;
+    }
+
+    /**
+     * Create timer with tick duration in config, used as shared timer.
+     *
+     * @param config config
+     * @return timer
+     */
+    @Nonnull
+    public static HashedWheelTimer createTimer(@Nonnull NodeConfig config) {
+        Preconditions.checkNotNull(config);
+        return new HashedWheelTimer("scheduler", config.getSchedulerTickDuration(), TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+    }
+
+    @Override
+    @Nonnull
+    public LogReplicationTask scheduleLogReplicationTask(@Nonnull Runnable task) {
+        Preconditions.checkNotNull(task);
+        logger.debug("schedule log replication task");
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(task, logReplicationDelay, logReplicationInterval, TimeUnit.MILLISECONDS);
+        return new LogReplicationTask(timeout);
+    }
+
+    @Override
+    @Nonnull
+    public ElectionTimeout scheduleElectionTimeout(@Nonnull Runnable task) {
+        Preconditions.checkNotNull(task);
+        logger.debug("schedule election timeout");
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(task, nextElectionTimeout(), TimeUnit.MILLISECONDS);
+        return new ResettableElectionTimeout(timeout);
+    }
+
+    private int nextElectionTimeout() {
+        return ThreadLocalRandom.current().nextInt(maxElectionTimeout - minElectionTimeout) + minElectionTimeout;
+    }
+
+    @Override
+    @Nonnull
+    public ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        Preconditions.checkNotNull(task);
+        Preconditions.checkNotNull(unit);
+        if (unit.toNanos(delay) < tickNanos) {
+            return scheduledExecutorService.schedule(task, delay, unit);
+        }
+        return timer.newTimeout(task, delay, unit);
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        logger.debug("stop scheduler");
+        if (shared) {
+            return;
+        }
+        timer.stop();
+        scheduledExecutorService.shutdown();
+        scheduledExecutorService.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private class ResettableElectionTimeout extends ElectionTimeout {
+
+        private final HashedWheelTimer.Timeout timeout;
+
+        ResettableElectionTimeout(HashedWheelTimer.Timeout timeout) {
+            super(timeout);
+            this.timeout = timeout;
+        }
+
+        @Override
+        public boolean reset() {
+            return timeout.reset(nextElectionTimeout(), TimeUnit.MILLISECONDS);
+        }
+
+    }
+
+}
@@ -0,0 +1,440 @@
+package in.xnnyygn.xraft.core.schedule;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Hashed wheel timer.
+ * <p>
+ * Timeouts are put in buckets of a wheel by deadline, and one worker thread visits a bucket every tick,
+ * so scheduling and cancelling cost O(1), and timeouts fire with precision of tick duration.
+ * Tasks run in worker thread and should be short, e.g submitting task to node thread.
+ * </p>
+ * <p>
+ * Deadline of timeout can be reset in place by {@link Timeout#reset(long, TimeUnit)}. If new deadline is not
+ * earlier than the tick of its bucket, reset only writes new deadline, and worker moves timeout to the bucket
+ * of new deadline when visiting old bucket, without allocation. Otherwise timeout is queued to be moved by worker
+ * in next tick, so it doesn't fire late. Cancelled timeouts are removed when their buckets are visited.
+ * </p>
+ * <p>
+ * Timeouts not fired are cancelled when timer stops.
+ * </p>
+ */
+@ThreadSafe
+public class HashedWheelTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private final Thread workerThread;
+    private volatile boolean stopped = false;
+    // accessed in worker thread only
+    private long tick = 0;
+
+    /**
+     * Create and start worker thread.
+     *
+     * @param threadName    name of worker thread
+     * @param tickDuration  tick duration
+     * @param unit          unit of tick duration
+     * @param ticksPerWheel buckets of wheel, rounded up to power of 2
+     */
+    public HashedWheelTimer(@Nonnull String threadName, long tickDuration, @Nonnull TimeUnit unit, int ticksPerWheel) {
+        Preconditions.checkNotNull(threadName);
+        Preconditions.checkNotNull(unit);
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tick duration <= 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticks per wheel <= 0 or > 2^30");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        wheelSize = Math.max(wheelSize, 1);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(this::work, threadName);
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    /**
+     * Schedule one-shot task.
+     *
+     * @param task  task
+     * @param delay delay
+     * @param unit  unit of delay
+     * @return timeout
+     */
+    @Nonnull
+    public Timeout newTimeout(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        Preconditions.checkNotNull(task);
+        Preconditions.checkNotNull(unit);
+        return addTimeout(task, delay, 0, unit);
+    }
+
+    /**
+     * Schedule periodic task with fixed delay between runs.
+     *
+     * @param task         task
+     * @param initialDelay delay of first run
+     * @param delay        delay between the end of one run and the start of next run
+     * @param unit         unit of delays
+     * @return timeout
+     */
+    @Nonnull
+    public Timeout newTimeout(@Nonnull Runnable task, long initialDelay, long delay, @Nonnull TimeUnit unit) {
+        Preconditions.checkNotNull(task);
+        Preconditions.checkNotNull(unit);
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay <= 0");
+        }
+        return addTimeout(task, initialDelay, delay, unit);
+    }
+
+    private Timeout addTimeout(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("timer stopped");
+        }
+        Timeout timeout = new Timeout(task, deadlineAfter(initialDelay, unit), unit.toNanos(delay));
+        newTimeouts.add(timeout);
+        // worker may have cancelled unfired timeouts and exited
+        if (stopped) {
+            timeout.cancel(false);
+        }
+        return timeout;
+    }
+
+    private long deadlineAfter(long delay, TimeUnit unit) {
+        return System.nanoTime() - startTime + Math.max(unit.toNanos(delay), 0);
+    }
+
+    /**
+     * Get tick duration.
+     *
+     * @param unit unit
+     * @return tick duration
+     */
+    public long getTickDuration(@Nonnull TimeUnit unit) {
+        return unit.convert(tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private long tickOf(long deadline) {
+        // timeout with deadline in (t * tick, (t + 1) * tick] expires in tick t
+        return (deadline - 1) / tickNanos;
+    }
+
+    /**
+     * Stop worker thread. Timeouts not fired are cancelled.
+     *
+     * @throws InterruptedException if interrupted
+     */
+    public void stop() throws InterruptedException {
+        stopped = true;
+        workerThread.interrupt();
+        workerThread.join(1000);
+    }
+
+    private void work() {
+        while (!stopped) {
+            long tickDeadline = tickNanos * (tick + 1);
+            if (!waitUntil(tickDeadline)) {
+                break;
+            }
+            transferNewTimeouts();
+            expire(wheel[(int) (tick & mask)], tickDeadline);
+            tick++;
+        }
+        cancelUnfiredTimeouts();
+        logger.debug("hashed wheel timer stopped");
+    }
+
+    private void cancelUnfiredTimeouts() {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            timeout.cancel(false);
+        }
+        for (Bucket bucket : wheel) {
+            while ((timeout = bucket.head) != null) {
+                bucket.remove(timeout);
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    private boolean waitUntil(long tickDeadline) {
+        while (true) {
+            long sleepNanos = tickDeadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep((sleepNanos + 999999) / 1000000);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            timeout.queued = 0;
+            // timeout queued again by reset may be in bucket
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            if (timeout.state == Timeout.ST_INIT) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long targetTick = Math.max(tickOf(timeout.deadline), tick);
+        timeout.placedTick = targetTick;
+        // deadline reset earlier concurrently, and reset didn't see new placed tick
+        long resetTick = Math.max(tickOf(timeout.deadline), tick);
+        if (resetTick < targetTick) {
+            targetTick = resetTick;
+            timeout.placedTick = targetTick;
+        }
+        wheel[(int) (targetTick & mask)].add(timeout);
+    }
+
+    private void expire(Bucket bucket, long tickDeadline) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state != Timeout.ST_INIT) {
+                bucket.remove(timeout);
+            } else if (timeout.deadline <= tickDeadline) {
+                bucket.remove(timeout);
+                timeout.expire();
+            } else if (wheel[(int) (tickOf(timeout.deadline) & mask)] != bucket) {
+                // deadline was reset
+                bucket.remove(timeout);
+                place(timeout);
+            }
+            // otherwise wait for next round
+            timeout = next;
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, accessed in worker thread only.
+     */
+    private static class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+    }
+
+    /**
+     * Timeout of task.
+     */
+    public class Timeout implements ScheduledFuture<Object> {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final int ST_FAILED = 3;
+
+        private final Runnable task;
+        private final long periodNanos;
+        private volatile long deadline;
+        // not private for field updater
+        volatile int state = ST_INIT;
+        // 1 if in queue of new timeouts, not private for field updater
+        volatile int queued = 1;
+        // tick of bucket, written by worker
+        private volatile long placedTick = Long.MAX_VALUE;
+        private volatile boolean completed = false;
+        private Throwable cause;
+        // accessed in worker thread only
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline, long periodNanos) {
+            this.task = task;
+            this.deadline = deadline;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Reset deadline to now plus delay.
+         * <p>
+         * Task may still run if it is being fired by worker when resetting.
+         * If new deadline is earlier than tick of current bucket, timeout is queued to be moved by worker.
+         * </p>
+         *
+         * @param delay delay
+         * @param unit  unit of delay
+         * @return true if reset, false if timeout was cancelled or fired
+         */
+        public boolean reset(long delay, @Nonnull TimeUnit unit) {
+            if (state != ST_INIT) {
+                return false;
+            }
+            long deadline = deadlineAfter(delay, unit);
+            this.deadline = deadline;
+            if (tickOf(deadline) < placedTick && QUEUED_UPDATER.compareAndSet(this, 0, 1)) {
+                newTimeouts.add(this);
+            }
+            return state == ST_INIT;
+        }
+
+        // run in worker thread
+        private void expire() {
+            if (periodNanos > 0) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    logger.warn("failed to run periodic task", t);
+                }
+                if (state == ST_INIT) {
+                    deadline = System.nanoTime() - startTime + periodNanos;
+                    place(this);
+                }
+                return;
+            }
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.warn("failed to run task", t);
+                cause = t;
+                state = ST_FAILED;
+            }
+            complete();
+        }
+
+        private synchronized void complete() {
+            completed = true;
+            notifyAll();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            complete();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return state != ST_INIT;
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            synchronized (this) {
+                while (!completed) {
+                    wait();
+                }
+            }
+            return report();
+        }
+
+        @Override
+        public Object get(long timeout, @Nonnull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            long waitUntil = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (this) {
+                while (!completed) {
+                    long waitNanos = waitUntil - System.nanoTime();
+                    if (waitNanos <= 0) {
+                        throw new TimeoutException();
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                }
+            }
+            return report();
+        }
+
+        private Object report() throws ExecutionException {
+            if (state == ST_CANCELLED) {
+                throw new CancellationException();
+            }
+            if (state == ST_FAILED) {
+                throw new ExecutionException(cause);
+            }
+            return null;
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return unit.convert(deadline - (System.nanoTime() - startTime), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+    }
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+    private static final AtomicIntegerFieldUpdater<Timeout> QUEUED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "queued");
+
+}
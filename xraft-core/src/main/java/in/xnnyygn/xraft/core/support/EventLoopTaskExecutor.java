@@ -0,0 +1,89 @@
+package in.xnnyygn.xraft.core.support;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.channel.EventLoop;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Task executor running tasks in netty event loop.
+ * <p>
+ * Task submitted in event loop, e.g by channel handler or timer of the same loop, runs inline without handoff.
+ * Task submitted by a running task is queued to run after it, so tasks never nest. Task submitted in other threads
+ * is queued to event loop. Callbacks are called in event loop right after task, no monitor thread is involved.
+ * </p>
+ * <p>
+ * Event loop is owned by caller, e.g worker group of connector, and is not shutdown by this executor.
+ * </p>
+ */
+public class EventLoopTaskExecutor extends AbstractTaskExecutor {
+
+    private final EventLoop eventLoop;
+    // accessed in event loop only
+    private boolean running = false;
+
+    public EventLoopTaskExecutor(@Nonnull EventLoop eventLoop) {
+        Preconditions.checkNotNull(eventLoop);
+        this.eventLoop = eventLoop;
+    }
+
+    @Override
+    @Nonnull
+    public Future<?> submit(@Nonnull Runnable task) {
+        Preconditions.checkNotNull(task);
+        FutureTask<?> futureTask = new FutureTask<>(task, null);
+        execute(futureTask);
+        return futureTask;
+    }
+
+    @Override
+    @Nonnull
+    public <V> Future<V> submit(@Nonnull Callable<V> task) {
+        Preconditions.checkNotNull(task);
+        FutureTask<V> futureTask = new FutureTask<>(task);
+        execute(futureTask);
+        return futureTask;
+    }
+
+    @Override
+    public void submit(@Nonnull Runnable task, @Nonnull Collection<FutureCallback<Object>> callbacks) {
+        Preconditions.checkNotNull(task);
+        Preconditions.checkNotNull(callbacks);
+        execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                callbacks.forEach(c -> c.onFailure(t));
+                return;
+            }
+            callbacks.forEach(c -> c.onSuccess(null));
+        });
+    }
+
+    private void execute(Runnable task) {
+        if (eventLoop.inEventLoop() && !running) {
+            run(task);
+        } else {
+            eventLoop.execute(() -> run(task));
+        }
+    }
+
+    private void run(Runnable task) {
+        running = true;
+        try {
+            task.run();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+}
@@ -2,6 +2,7 @@ package in.xnnyygn.xraft.core.support;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 public class Files {
 
@@ -11,4 +12,22 @@ public class Files {
         }
     }
 
+    /**
+     * Create hard link of source, copy if hard link is not supported.
+     * Existing target will be replaced.
+     *
+     * @param source source file
+     * @param target target file
+     * @throws IOException if IO error occurred
+     */
+    public static void link(File source, File target) throws IOException {
+        Path targetPath = target.toPath();
+        java.nio.file.Files.deleteIfExists(targetPath);
+        try {
+            java.nio.file.Files.createLink(targetPath, source.toPath());
+        } catch (UnsupportedOperationException | IOException e) {
+            java.nio.file.Files.copy(source.toPath(), targetPath);
+        }
+    }
+
 }
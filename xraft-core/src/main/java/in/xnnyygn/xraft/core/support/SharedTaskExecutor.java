@@ -0,0 +1,45 @@
+package in.xnnyygn.xraft.core.support;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Task executor shared by nodes, shutdown by owner instead of node.
+ */
+public class SharedTaskExecutor extends AbstractTaskExecutor {
+
+    private final TaskExecutor delegate;
+
+    public SharedTaskExecutor(TaskExecutor delegate) {
+        Preconditions.checkNotNull(delegate);
+        this.delegate = delegate;
+    }
+
+    @Override
+    @Nonnull
+    public Future<?> submit(@Nonnull Runnable task) {
+        return delegate.submit(task);
+    }
+
+    @Override
+    @Nonnull
+    public <V> Future<V> submit(@Nonnull Callable<V> task) {
+        return delegate.submit(task);
+    }
+
+    @Override
+    public void submit(@Nonnull Runnable task, @Nonnull Collection<FutureCallback<Object>> callbacks) {
+        delegate.submit(task, callbacks);
+    }
+
+    @Override
+    public void shutdown() {
+        // shutdown by owner
+    }
+
+}
@@ -1,14 +1,18 @@
 package in.xnnyygn.xraft.core.log;
 
-import com.google.common.eventbus.EventBus;
 import in.xnnyygn.xraft.core.log.entry.Entry;
 import in.xnnyygn.xraft.core.log.entry.EntryMeta;
 import in.xnnyygn.xraft.core.log.entry.GroupConfigEntry;
 import in.xnnyygn.xraft.core.log.entry.NoOpEntry;
+import in.xnnyygn.xraft.core.log.event.GroupConfigEntryCommittedEvent;
+import in.xnnyygn.xraft.core.log.event.NullLogEventListener;
+import in.xnnyygn.xraft.core.log.event.SnapshotGenerateEvent;
 import in.xnnyygn.xraft.core.log.sequence.MemoryEntrySequence;
+import in.xnnyygn.xraft.core.log.snapshot.DefaultSnapshotPolicy;
 import in.xnnyygn.xraft.core.log.snapshot.EntryInSnapshotException;
 import in.xnnyygn.xraft.core.log.snapshot.MemorySnapshot;
 import in.xnnyygn.xraft.core.log.statemachine.EmptyStateMachine;
+import in.xnnyygn.xraft.core.log.statemachine.StateMachineContext;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.message.AppendEntriesRpc;
@@ -16,6 +20,8 @@ import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -35,8 +41,7 @@ public class MemoryLogTest {
     public void testGetLastEntryMetaNoLog() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 2),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         EntryMeta lastEntryMeta = log.getLastEntryMeta();
         Assert.assertEquals(3, lastEntryMeta.getIndex());
@@ -73,6 +78,30 @@ public class MemoryLogTest {
         Assert.assertEquals(0, rpc.getLeaderCommit());
     }
 
+    @Test
+    public void testCreateAppendEntriesRpcMaxBytes() {
+        MemoryLog log = new MemoryLog();
+        log.appendEntry(1, new byte[4]); // 1
+        log.appendEntry(1, new byte[4]); // 2
+        log.appendEntry(1, new byte[4]); // 3
+        AppendEntriesRpc rpc = log.createAppendEntriesRpc(
+                1, new NodeId("A"), 1, Log.ALL_ENTRIES, 8
+        );
+        Assert.assertEquals(2, rpc.getEntries().size());
+        Assert.assertEquals(2, rpc.getLastEntryIndex());
+    }
+
+    @Test
+    public void testCreateAppendEntriesRpcMaxBytesAtLeastOne() {
+        MemoryLog log = new MemoryLog();
+        log.appendEntry(1, new byte[10]); // 1
+        log.appendEntry(1, new byte[10]); // 2
+        AppendEntriesRpc rpc = log.createAppendEntriesRpc(
+                1, new NodeId("A"), 1, Log.ALL_ENTRIES, 8
+        );
+        Assert.assertEquals(1, rpc.getEntries().size());
+    }
+
     @Test
     public void testCreateAppendEntriesRpcStartFromOne() {
         MemoryLog log = new MemoryLog();
@@ -182,8 +211,7 @@ public class MemoryLogTest {
     public void testCreateAppendEntriesUseSnapshot() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 2),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         AppendEntriesRpc rpc = log.createAppendEntriesRpc(
                 2, new NodeId("A"), 4, Log.ALL_ENTRIES
@@ -198,8 +226,7 @@ public class MemoryLogTest {
     public void testCreateAppendEntriesLogEmptyEntryInSnapshot() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 2),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         log.createAppendEntriesRpc(
                 2, new NodeId("A"), 3, Log.ALL_ENTRIES
@@ -210,8 +237,7 @@ public class MemoryLogTest {
     public void testCreateAppendEntriesLogNotEmptyEntryInSnapshot() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 2),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         log.appendEntry(1); // 4
         log.createAppendEntriesRpc(
@@ -237,8 +263,7 @@ public class MemoryLogTest {
     public void testCreateInstallSnapshotRpc() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4, "test".getBytes(), Collections.emptySet()),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         InstallSnapshotRpc rpc = log.createInstallSnapshotRpc(4, new NodeId("A"), 0, 2);
         Assert.assertEquals(3, rpc.getLastIndex());
@@ -283,8 +308,7 @@ public class MemoryLogTest {
     public void testGetNextLog() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         Assert.assertEquals(4, log.getNextIndex());
     }
@@ -349,8 +373,7 @@ public class MemoryLogTest {
     public void testAppendEntriesFromLeaderSnapshot1() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         Assert.assertTrue(log.appendEntriesFromLeader(3, 4, Collections.emptyList()));
     }
@@ -361,8 +384,7 @@ public class MemoryLogTest {
     public void testAppendEntriesFromLeaderSnapshot2() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         Assert.assertFalse(log.appendEntriesFromLeader(3, 5, Collections.emptyList()));
     }
@@ -372,8 +394,7 @@ public class MemoryLogTest {
     public void testAppendEntriesFromLeaderSnapshot3() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         Assert.assertFalse(log.appendEntriesFromLeader(1, 4, Collections.emptyList()));
     }
@@ -392,6 +413,86 @@ public class MemoryLogTest {
         Assert.assertFalse(log.appendEntriesFromLeader(1, 2, Collections.emptyList()));
     }
 
+    @Test
+    public void testGetConflictHintInSnapshot() {
+        MemoryLog log = new MemoryLog(
+                new MemorySnapshot(3, 4),
+                new MemoryEntrySequence(4)
+        );
+        ConflictHint hint = log.getConflictHint(1);
+        Assert.assertEquals(0, hint.getTerm());
+        Assert.assertEquals(4, hint.getIndex());
+    }
+
+    @Test
+    public void testGetConflictHintPrevLogNotFound() {
+        MemoryLog log = new MemoryLog();
+        log.appendEntry(1); // 1
+        log.appendEntry(1); // 2
+        ConflictHint hint = log.getConflictHint(5);
+        Assert.assertEquals(0, hint.getTerm());
+        Assert.assertEquals(3, hint.getIndex());
+    }
+
+    @Test
+    public void testGetConflictHintFirstIndexOfTerm() {
+        MemoryLog log = new MemoryLog();
+        log.appendEntry(1); // 1
+        log.appendEntry(2); // 2
+        log.appendEntry(2); // 3
+        log.appendEntry(2); // 4
+        log.appendEntry(3); // 5
+        ConflictHint hint = log.getConflictHint(4);
+        Assert.assertEquals(2, hint.getTerm());
+        Assert.assertEquals(2, hint.getIndex());
+    }
+
+    @Test
+    public void testGetConflictHintFirstIndexAfterSnapshot() {
+        MemoryLog log = new MemoryLog(
+                new MemorySnapshot(3, 2),
+                new MemoryEntrySequence(4)
+        );
+        for (int i = 0; i < 100; i++) {
+            log.appendEntry(2); // 4 - 103
+        }
+        ConflictHint hint = log.getConflictHint(100);
+        Assert.assertEquals(2, hint.getTerm());
+        Assert.assertEquals(4, hint.getIndex());
+    }
+
+    @Test
+    public void testFindLastIndexOfTerm() {
+        MemoryLog log = new MemoryLog(
+                new MemorySnapshot(3, 1),
+                new MemoryEntrySequence(4)
+        );
+        log.appendEntry(2); // 4
+        log.appendEntry(2); // 5
+        log.appendEntry(4); // 6
+        Assert.assertEquals(5, log.findLastIndexOfTerm(2, 6));
+        Assert.assertEquals(4, log.findLastIndexOfTerm(2, 4));
+        Assert.assertEquals(0, log.findLastIndexOfTerm(3, 6));
+        Assert.assertEquals(3, log.findLastIndexOfTerm(1, 6));
+        Assert.assertEquals(0, log.findLastIndexOfTerm(1, 2));
+    }
+
+    @Test
+    public void testFindLastIndexOfTermManyEntries() {
+        MemoryLog log = new MemoryLog();
+        for (int term = 1; term <= 10; term++) {
+            for (int i = 0; i < 10; i++) {
+                log.appendEntry(term * 2); // term * 10 - 9 to term * 10
+            }
+        }
+        Assert.assertEquals(50, log.findLastIndexOfTerm(10, 100));
+        Assert.assertEquals(45, log.findLastIndexOfTerm(10, 45));
+        Assert.assertEquals(0, log.findLastIndexOfTerm(10, 40));
+        Assert.assertEquals(0, log.findLastIndexOfTerm(11, 100));
+        Assert.assertEquals(100, log.findLastIndexOfTerm(20, 200));
+        Assert.assertEquals(0, log.findLastIndexOfTerm(1, 100));
+    }
+
     // (index, term)
     // follower: (1, 1), (2, 1)
     // leader  :         (2, 1), (3, 2)
@@ -538,14 +639,88 @@ public class MemoryLogTest {
         Assert.assertEquals(1, stateMachine.getLastApplied());
     }
 
+    @Test
+    public void testAdvanceCommitIndexApplyBatch() {
+        List<int[]> batches = new ArrayList<>();
+        EmptyStateMachine stateMachine = new EmptyStateMachine() {
+            @Override
+            public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+                batches.add(new int[]{firstIndex, commands.size()});
+                super.applyBatch(context, firstIndex, commands, firstLogIndex);
+            }
+        };
+
+        MemoryLog log = new MemoryLog();
+        log.setStateMachine(stateMachine);
+        log.appendEntry(1, "a".getBytes()); // 1
+        log.appendEntry(1, "b".getBytes()); // 2
+        log.appendEntry(1); // 3, no-op
+        log.appendEntry(1, "c".getBytes()); // 4
+        log.advanceCommitIndex(4, 1);
+        Assert.assertEquals(2, batches.size());
+        Assert.assertArrayEquals(new int[]{1, 2}, batches.get(0));
+        Assert.assertArrayEquals(new int[]{4, 1}, batches.get(1));
+        Assert.assertEquals(4, stateMachine.getLastApplied());
+    }
+
+    @Test
+    public void testAdvanceCommitIndexStateMachineLagging() {
+        List<int[]> batches = new ArrayList<>();
+        // applies asynchronously, last applied not advanced yet
+        EmptyStateMachine stateMachine = new EmptyStateMachine() {
+            @Override
+            public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+                batches.add(new int[]{firstIndex, commands.size()});
+            }
+        };
+
+        MemoryLog log = new MemoryLog();
+        log.setStateMachine(stateMachine);
+        log.appendEntry(1, "a".getBytes()); // 1
+        log.appendEntry(1, "b".getBytes()); // 2
+        log.advanceCommitIndex(1, 1);
+        log.advanceCommitIndex(2, 1);
+        Assert.assertEquals(2, batches.size());
+        Assert.assertArrayEquals(new int[]{1, 1}, batches.get(0));
+        Assert.assertArrayEquals(new int[]{2, 1}, batches.get(1));
+        Assert.assertEquals(0, stateMachine.getLastApplied());
+    }
+
+    @Test
+    public void testAdvanceCommitIndexAppliedListener() {
+        List<Integer> appliedIndices = new ArrayList<>();
+        MemoryLog log = new MemoryLog();
+        log.setAppliedListener((index, result) -> appliedIndices.add(index));
+        log.appendEntry(1, "a".getBytes()); // 1
+        log.appendEntry(1); // 2, no-op
+        log.appendEntry(1, "b".getBytes()); // 3
+        log.advanceCommitIndex(3, 1);
+        Assert.assertEquals(Arrays.asList(1, 3), appliedIndices);
+    }
+
+    @Test
+    public void testAdvanceCommitIndexGroupConfigEntryCommitted() {
+        List<GroupConfigEntry> entries = new ArrayList<>();
+        MemoryLog log = new MemoryLog();
+        log.setEventListener(new NullLogEventListener() {
+            @Override
+            public void onGroupConfigEntryCommitted(GroupConfigEntryCommittedEvent event) {
+                entries.add(event.getEntry());
+            }
+        });
+        log.appendEntryForAddNode(1, Collections.emptySet(), new NodeEndpoint("A", "localhost", 2333));
+        log.advanceCommitIndex(1, 1);
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals(1, entries.get(0).getIndex());
+    }
+
     @Test
     public void testAdvanceCommitIndexApplySnapshot() {
         EmptyStateMachine stateMachine = new EmptyStateMachine();
 
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         log.setStateMachine(stateMachine);
         log.appendEntry(4, "test".getBytes()); // index 4
@@ -563,12 +738,38 @@ public class MemoryLogTest {
         log.appendEntry(2);
     }
 
+    @Test
+    public void testAdvanceCommitIndexGenerateSnapshotFailed() {
+        DefaultSnapshotPolicy snapshotPolicy = new DefaultSnapshotPolicy(1, 0, 0);
+        MemoryLog log = new MemoryLog();
+        log.setSnapshotPolicy(snapshotPolicy);
+        log.setStateMachine(new EmptyStateMachine() {
+            @Override
+            public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+                super.applyBatch(context, firstIndex, commands, firstLogIndex);
+                context.generateSnapshot(firstIndex + commands.size() - 1);
+            }
+        });
+        log.setEventListener(new NullLogEventListener() {
+            @Override
+            public void onGenerateSnapshot(SnapshotGenerateEvent event) {
+                throw new IllegalStateException();
+            }
+        });
+        log.appendEntry(1, "a".getBytes());
+        try {
+            log.advanceCommitIndex(1, 1);
+            Assert.fail();
+        } catch (IllegalStateException ignored) {
+        }
+        Assert.assertTrue(snapshotPolicy.startGenerating());
+    }
+
     @Test
     public void testInstallSnapshotLessThanLastIncludedIndex() {
         MemoryLog log = new MemoryLog(
                 new MemorySnapshot(3, 4),
-                new MemoryEntrySequence(4),
-                new EventBus()
+                new MemoryEntrySequence(4)
         );
         InstallSnapshotRpc rpc = new InstallSnapshotRpc();
         rpc.setLastIndex(2);
@@ -0,0 +1,50 @@
+package in.xnnyygn.xraft.core.log.sequence;
+
+import in.xnnyygn.xraft.core.log.entry.GeneralEntry;
+import in.xnnyygn.xraft.core.log.entry.NoOpEntry;
+import in.xnnyygn.xraft.core.support.ByteArraySeekableFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class FileEntrySequenceTest {
+
+    private FileEntrySequence createSequence() throws IOException {
+        return new FileEntrySequence(
+                new EntriesFile(new ByteArraySeekableFile()),
+                new EntryIndexFile(new ByteArraySeekableFile()),
+                1
+        );
+    }
+
+    @Test
+    public void testGetCommandLength() throws IOException {
+        FileEntrySequence sequence = createSequence();
+        sequence.append(new GeneralEntry(1, 1, "test".getBytes()));
+        sequence.append(new NoOpEntry(2, 1));
+        sequence.append(new GeneralEntry(3, 1, "hello".getBytes()));
+        sequence.commit(2);
+        sequence.append(new GeneralEntry(4, 1, "world!".getBytes()));
+        Assert.assertEquals(4, sequence.getCommandLength(1)); // in file
+        Assert.assertEquals(0, sequence.getCommandLength(2)); // last in file
+        Assert.assertEquals(5, sequence.getCommandLength(3)); // pending
+        Assert.assertEquals(6, sequence.getCommandLength(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetCommandLengthNotFound() throws IOException {
+        createSequence().getCommandLength(1);
+    }
+
+    @Test
+    public void testGetEntryMetaPending() throws IOException {
+        FileEntrySequence sequence = createSequence();
+        sequence.append(new NoOpEntry(1, 1));
+        sequence.commit(1);
+        sequence.append(new NoOpEntry(2, 2));
+        Assert.assertEquals(1, sequence.getEntryMeta(1).getTerm());
+        Assert.assertEquals(2, sequence.getEntryMeta(2).getTerm());
+    }
+
+}
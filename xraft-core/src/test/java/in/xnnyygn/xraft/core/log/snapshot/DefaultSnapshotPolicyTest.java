@@ -0,0 +1,38 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefaultSnapshotPolicyTest {
+
+    @Test
+    public void testShouldGenerateEntryThreshold() {
+        DefaultSnapshotPolicy policy = new DefaultSnapshotPolicy(10, 0, 0);
+        Assert.assertFalse(policy.shouldGenerate(9, 1024));
+        Assert.assertTrue(policy.shouldGenerate(10, 0));
+    }
+
+    @Test
+    public void testShouldGenerateByteThreshold() {
+        DefaultSnapshotPolicy policy = new DefaultSnapshotPolicy(0, 1024, 0);
+        Assert.assertFalse(policy.shouldGenerate(100, 1023));
+        Assert.assertTrue(policy.shouldGenerate(1, 1024));
+    }
+
+    @Test
+    public void testShouldGenerateMinInterval() {
+        DefaultSnapshotPolicy policy = new DefaultSnapshotPolicy(10, 0, 60000);
+        Assert.assertFalse(policy.shouldGenerate(10, 0));
+    }
+
+    @Test
+    public void testShouldGenerateGenerating() {
+        DefaultSnapshotPolicy policy = new DefaultSnapshotPolicy(10, 0, 0);
+        Assert.assertTrue(policy.startGenerating());
+        Assert.assertFalse(policy.shouldGenerate(10, 0));
+        Assert.assertFalse(policy.startGenerating());
+        policy.finishGenerating();
+        Assert.assertTrue(policy.shouldGenerate(10, 0));
+    }
+
+}
@@ -0,0 +1,87 @@
+package in.xnnyygn.xraft.core.log.snapshot;
+
+import com.google.common.io.ByteStreams;
+import in.xnnyygn.xraft.core.log.LogDir;
+import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class FileSnapshotBuilderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private LogDir newLogDir() {
+        File dir = temporaryFolder.getRoot();
+        return new LogDir() {
+            @Override
+            public void initialize() {
+            }
+
+            @Override
+            public boolean exists() {
+                return true;
+            }
+
+            @Override
+            public File getSnapshotFile() {
+                return new File(dir, "service.ss");
+            }
+
+            @Override
+            public File getEntriesFile() {
+                return new File(dir, "entries.bin");
+            }
+
+            @Override
+            public File getEntryOffsetIndexFile() {
+                return new File(dir, "entries.idx");
+            }
+
+            @Override
+            public File get() {
+                return dir;
+            }
+
+            @Override
+            public boolean renameTo(LogDir logDir) {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    public void testPartitioned() throws IOException {
+        InstallSnapshotRpc firstRpc = new InstallSnapshotRpc();
+        firstRpc.setLastIndex(3);
+        firstRpc.setLastTerm(2);
+        firstRpc.setLastConfig(Collections.emptySet());
+        firstRpc.setOffset(0);
+        firstRpc.setData("fo".getBytes());
+        firstRpc.setPartitionDataSizes(Arrays.asList(3L, 0L, 2L));
+        FileSnapshotBuilder builder = new FileSnapshotBuilder(firstRpc, newLogDir());
+
+        InstallSnapshotRpc secondRpc = new InstallSnapshotRpc();
+        secondRpc.setLastIndex(3);
+        secondRpc.setLastTerm(2);
+        secondRpc.setOffset(2);
+        secondRpc.setData("oba".getBytes());
+        builder.append(secondRpc);
+
+        FileSnapshot snapshot = builder.build();
+        Assert.assertEquals(3, snapshot.getLastIncludedIndex());
+        Assert.assertEquals(Arrays.asList(3L, 0L, 2L), snapshot.getPartitionDataSizes());
+        Assert.assertArrayEquals("foo".getBytes(), ByteStreams.toByteArray(snapshot.getPartitionDataStream(0)));
+        Assert.assertArrayEquals("ba".getBytes(), ByteStreams.toByteArray(snapshot.getPartitionDataStream(2)));
+        Assert.assertArrayEquals("fooba".getBytes(), ByteStreams.toByteArray(snapshot.getDataStream()));
+        snapshot.close();
+    }
+
+}
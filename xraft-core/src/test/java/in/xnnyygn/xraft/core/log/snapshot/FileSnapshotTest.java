@@ -1,16 +1,27 @@
 package in.xnnyygn.xraft.core.log.snapshot;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.support.ByteArraySeekableFile;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 
 public class FileSnapshotTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void test() throws IOException {
         ByteArrayOutputStream output = new ByteArrayOutputStream();
@@ -32,4 +43,64 @@ public class FileSnapshotTest {
         Assert.assertTrue(chunk.isLastChunk());
     }
 
+    @Test
+    public void testDelta() throws IOException {
+        File dir = temporaryFolder.getRoot();
+        try (FileSnapshotWriter writer = new FileSnapshotWriter(new File(dir, "service-1.ss"), 1, 1, Collections.emptySet())) {
+            writer.write("foo".getBytes());
+        }
+        try (FileSnapshotWriter writer = new FileSnapshotWriter(new File(dir, "service.ss"), 3, 2, Collections.emptySet(),
+                Collections.singletonList("service-1.ss"), Collections.emptyList(), SnapshotCodec.NONE)) {
+            writer.write("bar".getBytes());
+        }
+
+        FileSnapshot snapshot = new FileSnapshot(new File(dir, "service.ss"));
+        Assert.assertEquals(3, snapshot.getLastIncludedIndex());
+        Assert.assertEquals(Collections.singletonList("service-1.ss"), snapshot.getBaseFiles());
+        Assert.assertEquals(6, snapshot.getDataSize());
+        SnapshotChunk chunk = snapshot.readData(2, 2);
+        Assert.assertArrayEquals("ob".getBytes(), chunk.toByteArray());
+        Assert.assertFalse(chunk.isLastChunk());
+        chunk = snapshot.readData(4, 10);
+        Assert.assertArrayEquals("ar".getBytes(), chunk.toByteArray());
+        Assert.assertTrue(chunk.isLastChunk());
+        Assert.assertArrayEquals("foobar".getBytes(), ByteStreams.toByteArray(snapshot.getDataStream()));
+        snapshot.close();
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FileSnapshotWriter writer = new FileSnapshotWriter(output, 1, 2, Collections.emptySet(),
+                Collections.emptyList(), Collections.emptyList(), SnapshotCodec.GZIP);
+        byte[] data = Strings.repeat("test", 100).getBytes();
+        writer.getOutput().write(data);
+        writer.close();
+
+        FileSnapshot snapshot = new FileSnapshot(new ByteArraySeekableFile(output.toByteArray()));
+        Assert.assertEquals(SnapshotCodec.GZIP, snapshot.getCodec());
+        Assert.assertTrue(snapshot.getDataSize() < data.length);
+        Assert.assertArrayEquals(data, ByteStreams.toByteArray(snapshot.getDataStream()));
+        SnapshotChunk chunk = snapshot.readData(0, 1024);
+        Assert.assertArrayEquals(data, ByteStreams.toByteArray(SnapshotCodec.GZIP.decode(new ByteArrayInputStream(chunk.toByteArray()))));
+    }
+
+    @Test
+    public void testPartitioned() throws IOException {
+        File dir = temporaryFolder.getRoot();
+        java.nio.file.Files.write(new File(dir, "service-p0.ss").toPath(), "foo".getBytes());
+        java.nio.file.Files.write(new File(dir, "service-p1.ss").toPath(), "ba".getBytes());
+        new FileSnapshotWriter(new File(dir, "service.ss"), 3, 2, Collections.emptySet(),
+                Collections.emptyList(), Arrays.asList("service-p0.ss", "service-p1.ss"), SnapshotCodec.NONE).close();
+
+        FileSnapshot snapshot = new FileSnapshot(new File(dir, "service.ss"));
+        Assert.assertEquals(5, snapshot.getDataSize());
+        Assert.assertEquals(Arrays.asList(3L, 2L), snapshot.getPartitionDataSizes());
+        Assert.assertArrayEquals("ba".getBytes(), ByteStreams.toByteArray(snapshot.getPartitionDataStream(1)));
+        SnapshotChunk chunk = snapshot.readData(1, 10);
+        Assert.assertArrayEquals("ooba".getBytes(), chunk.toByteArray());
+        Assert.assertTrue(chunk.isLastChunk());
+        snapshot.close();
+    }
+
 }
\ No newline at end of file
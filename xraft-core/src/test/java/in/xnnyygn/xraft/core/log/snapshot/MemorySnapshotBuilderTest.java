@@ -4,6 +4,10 @@ import in.xnnyygn.xraft.core.rpc.message.InstallSnapshotRpc;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 public class MemorySnapshotBuilderTest {
 
     @Test
@@ -85,4 +89,21 @@ public class MemorySnapshotBuilderTest {
         builder.append(secondRpc);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGzip() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream encodedOutput = SnapshotCodec.GZIP.encode(output)) {
+            encodedOutput.write("test".getBytes());
+        }
+        InstallSnapshotRpc rpc = new InstallSnapshotRpc();
+        rpc.setLastIndex(3);
+        rpc.setLastTerm(2);
+        rpc.setOffset(0);
+        rpc.setData(output.toByteArray());
+        rpc.setCodec("gzip");
+        rpc.setDone(true);
+        MemorySnapshot snapshot = new MemorySnapshotBuilder(rpc).build();
+        Assert.assertArrayEquals("test".getBytes(), snapshot.getData());
+    }
+
+}
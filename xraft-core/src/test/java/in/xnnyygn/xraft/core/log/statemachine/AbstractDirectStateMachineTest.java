@@ -0,0 +1,86 @@
+package in.xnnyygn.xraft.core.log.statemachine;
+
+import in.xnnyygn.xraft.core.log.snapshot.MemorySnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class AbstractDirectStateMachineTest {
+
+    private static class MockStateMachine extends AbstractDirectStateMachine {
+
+        @Nullable
+        @Override
+        protected Object applyCommand(@Nonnull byte[] commandBytes) {
+            return null;
+        }
+
+        @Override
+        protected void doApplySnapshot(@Nonnull InputStream input) throws IOException {
+        }
+
+        @Override
+        public void generateSnapshot(@Nonnull OutputStream output) throws IOException {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+    }
+
+    private static class MockPartitionedStateMachine extends MockStateMachine implements PartitionedSnapshotStateMachine {
+
+        private final Map<Integer, String> partitions = new ConcurrentHashMap<>();
+
+        @Override
+        public int getSnapshotPartitionCount() {
+            return 2;
+        }
+
+        @Override
+        public void generateSnapshot(int partition, @Nonnull OutputStream output) throws IOException {
+            output.write(("p" + partition).getBytes());
+        }
+
+        @Override
+        public void applySnapshot(int partition, @Nonnull InputStream input) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int b;
+            while ((b = input.read()) != -1) {
+                output.write(b);
+            }
+            partitions.put(partition, new String(output.toByteArray()));
+        }
+
+    }
+
+    private static MemorySnapshot createPartitionedSnapshot() {
+        return new MemorySnapshot(3, 1, "p0p1".getBytes(), Collections.emptySet(), Arrays.asList(2L, 2L));
+    }
+
+    @Test
+    public void testApplySnapshotPartitions() throws IOException {
+        MockPartitionedStateMachine stateMachine = new MockPartitionedStateMachine();
+        stateMachine.applySnapshot(createPartitionedSnapshot());
+        Assert.assertEquals(3, stateMachine.getLastApplied());
+        Assert.assertEquals("p0", stateMachine.partitions.get(0));
+        Assert.assertEquals("p1", stateMachine.partitions.get(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testApplySnapshotPartitionsNotPartitioned() throws IOException {
+        new MockStateMachine().applySnapshot(createPartitionedSnapshot());
+    }
+
+}
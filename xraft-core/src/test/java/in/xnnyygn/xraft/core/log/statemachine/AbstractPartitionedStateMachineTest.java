@@ -0,0 +1,204 @@
+package in.xnnyygn.xraft.core.log.statemachine;
+
+import in.xnnyygn.xraft.core.log.snapshot.MemorySnapshot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AbstractPartitionedStateMachineTest {
+
+    private final MockStateMachine stateMachine = new MockStateMachine(4);
+
+    @After
+    public void tearDown() {
+        stateMachine.shutdown();
+    }
+
+    private void awaitApplied() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        stateMachine.runAfterApplied(latch::countDown);
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    private static List<byte[]> commands(String... commands) {
+        List<byte[]> list = new ArrayList<>(commands.length);
+        for (String command : commands) {
+            list.add(command.getBytes());
+        }
+        return list;
+    }
+
+    @Test
+    public void testApplyBatch() throws InterruptedException {
+        MockStateMachineContext context = new MockStateMachineContext(false);
+        stateMachine.applyBatch(context, 1, commands("a:1", "b:1", "a:2", "c:1"), 1);
+        stateMachine.applyBatch(context, 6, commands("b:2", "a:3"), 1);
+        awaitApplied();
+        Assert.assertEquals(7, stateMachine.getLastApplied());
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), stateMachine.values.get("a"));
+        Assert.assertEquals(Arrays.asList("1", "2"), stateMachine.values.get("b"));
+        Assert.assertEquals(Arrays.asList("1"), stateMachine.values.get("c"));
+        Assert.assertEquals(0, context.lastIncludedIndex);
+    }
+
+    @Test
+    public void testApplyBatchApplied() throws InterruptedException {
+        MockStateMachineContext context = new MockStateMachineContext(false);
+        stateMachine.applyBatch(context, 1, commands("a:1", "a:2"), 1);
+        stateMachine.applyBatch(context, 1, commands("a:1", "a:2", "a:3"), 1);
+        awaitApplied();
+        Assert.assertEquals(3, stateMachine.getLastApplied());
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), stateMachine.values.get("a"));
+    }
+
+    @Test
+    public void testApplied() throws InterruptedException {
+        MockStateMachineContext context = new MockStateMachineContext(false);
+        stateMachine.applyBatch(context, 1, commands("a:1", "b:1"), 1);
+        stateMachine.applyBatch(context, 1, commands("a:1", "b:1", "a:2"), 1);
+        awaitApplied();
+        Assert.assertEquals(3, context.results.size());
+        Assert.assertEquals(1, context.results.get(1));
+        Assert.assertEquals(1, context.results.get(2));
+        Assert.assertEquals(2, context.results.get(3));
+    }
+
+    @Test
+    public void testGenerateSnapshot() throws InterruptedException {
+        MockStateMachineContext context = new MockStateMachineContext(true);
+        stateMachine.applyBatch(context, 1, commands("a:1", "b:1"), 1);
+        awaitApplied();
+        Assert.assertEquals(2, context.lastIncludedIndex);
+    }
+
+    private static MemorySnapshot createPartitionedSnapshot() {
+        return new MemorySnapshot(3, 1, "p0p1".getBytes(), Collections.emptySet(), Arrays.asList(2L, 2L));
+    }
+
+    @Test
+    public void testApplySnapshotPartitions() throws IOException {
+        MockPartitionedStateMachine stateMachine = new MockPartitionedStateMachine(2);
+        try {
+            stateMachine.applySnapshot(createPartitionedSnapshot());
+            Assert.assertEquals(3, stateMachine.getLastApplied());
+            Assert.assertEquals("p0", stateMachine.partitions.get(0));
+            Assert.assertEquals("p1", stateMachine.partitions.get(1));
+        } finally {
+            stateMachine.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testApplySnapshotPartitionsNotPartitioned() throws IOException {
+        stateMachine.applySnapshot(createPartitionedSnapshot());
+    }
+
+    private static class MockStateMachine extends AbstractPartitionedStateMachine {
+
+        private final Map<String, List<String>> values = new ConcurrentHashMap<>();
+
+        MockStateMachine(int partitionCount) {
+            super(partitionCount);
+        }
+
+        @Nonnull
+        @Override
+        protected Object getPartitionKey(@Nonnull byte[] commandBytes) {
+            return new String(commandBytes).split(":")[0];
+        }
+
+        @Override
+        protected Object applyCommand(@Nonnull byte[] commandBytes) {
+            String[] keyAndValue = new String(commandBytes).split(":");
+            List<String> list = values.computeIfAbsent(keyAndValue[0], k -> new ArrayList<>());
+            list.add(keyAndValue[1]);
+            return list.size();
+        }
+
+        @Override
+        protected void doApplySnapshot(@Nonnull InputStream input) {
+        }
+
+        @Override
+        public void generateSnapshot(@Nonnull OutputStream output) {
+        }
+
+    }
+
+    private static class MockPartitionedStateMachine extends MockStateMachine implements PartitionedSnapshotStateMachine {
+
+        private final Map<Integer, String> partitions = new ConcurrentHashMap<>();
+
+        MockPartitionedStateMachine(int partitionCount) {
+            super(partitionCount);
+        }
+
+        @Override
+        public int getSnapshotPartitionCount() {
+            return 2;
+        }
+
+        @Override
+        public void generateSnapshot(int partition, @Nonnull OutputStream output) throws IOException {
+            output.write(("p" + partition).getBytes());
+        }
+
+        @Override
+        public void applySnapshot(int partition, @Nonnull InputStream input) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int b;
+            while ((b = input.read()) != -1) {
+                output.write(b);
+            }
+            partitions.put(partition, new String(output.toByteArray()));
+        }
+
+    }
+
+    private static class MockStateMachineContext implements StateMachineContext {
+
+        private final boolean shouldGenerateSnapshot;
+        private volatile int lastIncludedIndex = 0;
+        private final Map<Integer, Object> results = new ConcurrentHashMap<>();
+
+        MockStateMachineContext(boolean shouldGenerateSnapshot) {
+            this.shouldGenerateSnapshot = shouldGenerateSnapshot;
+        }
+
+        @Override
+        public boolean shouldGenerateSnapshot(int firstLogIndex, int lastApplied) {
+            return shouldGenerateSnapshot;
+        }
+
+        @Override
+        public void generateSnapshot(int lastIncludedIndex) {
+            this.lastIncludedIndex = lastIncludedIndex;
+        }
+
+        @Override
+        public void applied(int index, @Nullable Object result) {
+            results.put(index, result);
+        }
+
+        @Override
+        public void appliedUpTo(int lastApplied) {
+        }
+
+    }
+
+}
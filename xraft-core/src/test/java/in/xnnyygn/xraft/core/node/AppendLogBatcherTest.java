@@ -0,0 +1,191 @@
+package in.xnnyygn.xraft.core.node;
+
+import com.google.common.util.concurrent.FutureCallback;
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
+import in.xnnyygn.xraft.core.schedule.HashedWheelScheduler;
+import in.xnnyygn.xraft.core.schedule.NullScheduledFuture;
+import in.xnnyygn.xraft.core.schedule.NullScheduler;
+import in.xnnyygn.xraft.core.support.DirectTaskExecutor;
+import in.xnnyygn.xraft.core.support.ListeningTaskExecutor;
+import in.xnnyygn.xraft.core.support.TaskExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AppendLogBatcherTest {
+
+    private static final FutureCallback<Object> CALLBACK = new FutureCallback<Object>() {
+        @Override
+        public void onSuccess(Object result) {
+        }
+
+        @Override
+        public void onFailure(@Nonnull Throwable t) {
+            throw new AssertionError(t);
+        }
+    };
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @Test
+    public void testAddNoLinger() {
+        AppendLogBatcher batcher = new AppendLogBatcher(new DirectTaskExecutor(true), new NullScheduler(), CALLBACK,
+                (commands, futures) -> batchSizes.add(commands.size()), 10, 1024, 1000);
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        Assert.assertEquals(2, batchSizes.size());
+        Assert.assertEquals(1, (int) batchSizes.get(0));
+        Assert.assertEquals(0, batcher.getLinger());
+    }
+
+    @Test
+    public void testBatchAndAdaptLinger() {
+        QueueTaskExecutor taskExecutor = new QueueTaskExecutor();
+        CapturingScheduler scheduler = new CapturingScheduler();
+        AppendLogBatcher batcher = new AppendLogBatcher(taskExecutor, scheduler, CALLBACK,
+                (commands, futures) -> batchSizes.add(commands.size()), 10, 1024, 1000);
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        taskExecutor.runAll();
+        Assert.assertEquals(1, batchSizes.size());
+        Assert.assertEquals(3, (int) batchSizes.get(0));
+        Assert.assertTrue(batcher.getLinger() > 0);
+
+        // linger
+        batcher.add(new byte[1], new CompletableFuture<>());
+        Assert.assertEquals(batcher.getLinger(), scheduler.delay);
+        Assert.assertTrue(taskExecutor.tasks.isEmpty());
+        scheduler.task.run();
+        taskExecutor.runAll();
+        Assert.assertEquals(2, batchSizes.size());
+        Assert.assertEquals(1, (int) batchSizes.get(1));
+        Assert.assertEquals(0, batcher.getLinger());
+    }
+
+    @Test
+    public void testBatchFullWhenLingering() {
+        QueueTaskExecutor taskExecutor = new QueueTaskExecutor();
+        CapturingScheduler scheduler = new CapturingScheduler();
+        AppendLogBatcher batcher = new AppendLogBatcher(taskExecutor, scheduler, CALLBACK,
+                (commands, futures) -> batchSizes.add(commands.size()), 2, 1024, 1000);
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        taskExecutor.runAll();
+        Assert.assertTrue(batcher.getLinger() > 0);
+        batcher.add(new byte[1], new CompletableFuture<>());
+        Assert.assertTrue(taskExecutor.tasks.isEmpty());
+        batcher.add(new byte[1], new CompletableFuture<>()); // full
+        Assert.assertEquals(1, taskExecutor.tasks.size());
+        taskExecutor.runAll();
+        Assert.assertEquals(2, batchSizes.size());
+        Assert.assertEquals(2, (int) batchSizes.get(1));
+    }
+
+    @Test
+    public void testBatchLimit() {
+        QueueTaskExecutor taskExecutor = new QueueTaskExecutor();
+        AppendLogBatcher batcher = new AppendLogBatcher(taskExecutor, new NullScheduler(), CALLBACK,
+                (commands, futures) -> batchSizes.add(commands.size()), 3, 10, 0);
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        batcher.add(new byte[20], new CompletableFuture<>());
+        batcher.add(new byte[1], new CompletableFuture<>());
+        taskExecutor.runAll();
+        Assert.assertEquals(3, batchSizes.size());
+        Assert.assertEquals(3, (int) batchSizes.get(0));
+        Assert.assertEquals(2, (int) batchSizes.get(1)); // bytes
+        Assert.assertEquals(1, (int) batchSizes.get(2));
+        Assert.assertEquals(0, batcher.getLinger());
+    }
+
+    @Test
+    public void testLingerOnHashedWheelScheduler() throws InterruptedException {
+        NodeConfig config = new NodeConfig();
+        config.setSchedulerTickDuration(1000);
+        HashedWheelScheduler scheduler = new HashedWheelScheduler(config);
+        TaskExecutor taskExecutor = new ListeningTaskExecutor(Executors.newSingleThreadExecutor());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch flushLatch = new CountDownLatch(2);
+        AppendLogBatcher batcher = new AppendLogBatcher(taskExecutor, scheduler, CALLBACK, (commands, futures) -> {
+            batchSizes.add(commands.size());
+            flushLatch.countDown();
+        }, 10, 1024, 1000);
+        try {
+            // block task executor to batch commands
+            CountDownLatch blockLatch = new CountDownLatch(1);
+            taskExecutor.submit(() -> {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            batcher.add(new byte[1], new CompletableFuture<>());
+            batcher.add(new byte[1], new CompletableFuture<>());
+            blockLatch.countDown();
+            while (batchSizes.isEmpty()) {
+                Thread.sleep(1);
+            }
+            Assert.assertTrue(batcher.getLinger() > 0);
+
+            // linger shorter than one tick, flushed without waiting for tick
+            batcher.add(new byte[1], new CompletableFuture<>());
+            Assert.assertTrue(flushLatch.await(500, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(Arrays.asList(2, 1), batchSizes);
+        } finally {
+            taskExecutor.shutdown();
+            scheduler.stop();
+        }
+    }
+
+    private static class QueueTaskExecutor extends DirectTaskExecutor {
+
+        private final LinkedList<Runnable> tasks = new LinkedList<>();
+
+        QueueTaskExecutor() {
+            super(true);
+        }
+
+        @Override
+        public void submit(@Nonnull Runnable task, @Nonnull Collection<FutureCallback<Object>> callbacks) {
+            tasks.add(() -> super.submit(task, callbacks));
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.removeFirst().run();
+            }
+        }
+
+    }
+
+    private static class CapturingScheduler extends NullScheduler {
+
+        private Runnable task;
+        private long delay;
+
+        @Nonnull
+        @Override
+        public ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+            this.task = task;
+            this.delay = delay;
+            return new NullScheduledFuture();
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package in.xnnyygn.xraft.core.node;
+
+import in.xnnyygn.xraft.core.schedule.NullScheduledFuture;
+import in.xnnyygn.xraft.core.schedule.NullScheduler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AppendLogLimiterTest {
+
+    private final List<CompletableFuture<AppendLogResult>> appliedFutures = new ArrayList<>();
+
+    private void assertRejected(CompletableFuture<AppendLogResult> future) {
+        try {
+            future.join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof AppendLogRejectedException);
+        }
+    }
+
+    @Test
+    public void testRejectEntries() {
+        AppendLogLimiter limiter = new AppendLogLimiter(new NullScheduler(), 2, 0, 0);
+        CompletableFuture<AppendLogResult> future1 = new CompletableFuture<>();
+        limiter.admit(1, future1, appliedFutures::add);
+        limiter.admit(1, new CompletableFuture<>(), appliedFutures::add);
+        CompletableFuture<AppendLogResult> future3 = new CompletableFuture<>();
+        limiter.admit(1, future3, appliedFutures::add);
+        Assert.assertEquals(2, appliedFutures.size());
+        assertRejected(future3);
+        appliedFutures.get(0).complete(new AppendLogResult(1, null));
+        Assert.assertTrue(future1.isDone());
+        limiter.admit(1, new CompletableFuture<>(), appliedFutures::add);
+        Assert.assertEquals(3, appliedFutures.size());
+        AppendLogMetrics metrics = limiter.getMetrics();
+        Assert.assertEquals(2, metrics.getPendingEntries());
+        Assert.assertEquals(2, metrics.getPendingBytes());
+        Assert.assertEquals(1, metrics.getRejectedEntries());
+    }
+
+    @Test
+    public void testRejectBytes() {
+        AppendLogLimiter limiter = new AppendLogLimiter(new NullScheduler(), 0, 10, 0);
+        limiter.admit(20, new CompletableFuture<>(), appliedFutures::add); // nothing pending
+        CompletableFuture<AppendLogResult> future = new CompletableFuture<>();
+        limiter.admit(1, future, appliedFutures::add);
+        Assert.assertEquals(1, appliedFutures.size());
+        assertRejected(future);
+    }
+
+    @Test
+    public void testWait() {
+        CapturingScheduler scheduler = new CapturingScheduler();
+        AppendLogLimiter limiter = new AppendLogLimiter(scheduler, 1, 0, 1000);
+        CompletableFuture<AppendLogResult> future1 = new CompletableFuture<>();
+        limiter.admit(1, future1, appliedFutures::add);
+        CompletableFuture<AppendLogResult> future2 = new CompletableFuture<>();
+        limiter.admit(1, future2, appliedFutures::add);
+        Assert.assertEquals(1, appliedFutures.size());
+        Assert.assertEquals(1, limiter.getMetrics().getWaitingEntries());
+        Assert.assertEquals(1000, scheduler.delay);
+        appliedFutures.get(0).complete(new AppendLogResult(1, null));
+        Assert.assertEquals(2, appliedFutures.size());
+        Assert.assertEquals(0, limiter.getMetrics().getWaitingEntries());
+        scheduler.task.run(); // timeout after admitted
+        Assert.assertFalse(future2.isDone());
+    }
+
+    @Test
+    public void testCancelNotReleased() {
+        AppendLogLimiter limiter = new AppendLogLimiter(new NullScheduler(), 1, 0, 0);
+        CompletableFuture<AppendLogResult> future1 = new CompletableFuture<>();
+        limiter.admit(1, future1, appliedFutures::add);
+        future1.cancel(false);
+        Assert.assertEquals(1, limiter.getMetrics().getPendingEntries());
+        CompletableFuture<AppendLogResult> future2 = new CompletableFuture<>();
+        limiter.admit(1, future2, appliedFutures::add);
+        assertRejected(future2);
+
+        // released after applied
+        appliedFutures.get(0).complete(new AppendLogResult(1, null));
+        Assert.assertEquals(0, limiter.getMetrics().getPendingEntries());
+    }
+
+    @Test
+    public void testFailed() {
+        AppendLogLimiter limiter = new AppendLogLimiter(new NullScheduler(), 1, 0, 0);
+        CompletableFuture<AppendLogResult> future = new CompletableFuture<>();
+        limiter.admit(1, future, appliedFutures::add);
+        appliedFutures.get(0).completeExceptionally(new IllegalStateException());
+        Assert.assertTrue(future.isCompletedExceptionally());
+        Assert.assertEquals(0, limiter.getMetrics().getPendingEntries());
+    }
+
+    @Test
+    public void testWaitTimeout() {
+        CapturingScheduler scheduler = new CapturingScheduler();
+        AppendLogLimiter limiter = new AppendLogLimiter(scheduler, 1, 0, 1000);
+        limiter.admit(1, new CompletableFuture<>(), appliedFutures::add);
+        CompletableFuture<AppendLogResult> future = new CompletableFuture<>();
+        limiter.admit(1, future, appliedFutures::add);
+        scheduler.task.run();
+        assertRejected(future);
+        AppendLogMetrics metrics = limiter.getMetrics();
+        Assert.assertEquals(0, metrics.getWaitingEntries());
+        Assert.assertEquals(1, metrics.getRejectedEntries());
+    }
+
+    @Test
+    public void testWaitQueueFull() {
+        AppendLogLimiter limiter = new AppendLogLimiter(new CapturingScheduler(), 1, 0, 1000);
+        limiter.admit(1, new CompletableFuture<>(), appliedFutures::add);
+        limiter.admit(1, new CompletableFuture<>(), appliedFutures::add); // wait
+        CompletableFuture<AppendLogResult> future = new CompletableFuture<>();
+        limiter.admit(1, future, appliedFutures::add);
+        assertRejected(future);
+    }
+
+    private static class CapturingScheduler extends NullScheduler {
+
+        private Runnable task;
+        private long delay;
+
+        @Nonnull
+        @Override
+        public ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+            this.task = task;
+            this.delay = delay;
+            return new NullScheduledFuture();
+        }
+
+    }
+
+}
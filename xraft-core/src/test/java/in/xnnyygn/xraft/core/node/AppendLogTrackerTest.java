@@ -0,0 +1,55 @@
+package in.xnnyygn.xraft.core.node;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+public class AppendLogTrackerTest {
+
+    @Test
+    public void testComplete() {
+        AppendLogTracker tracker = new AppendLogTracker();
+        CompletableFuture<AppendLogResult> future = new CompletableFuture<>();
+        tracker.add(2, future);
+        tracker.applied(1, "foo");
+        Assert.assertFalse(future.isDone());
+        tracker.applied(2, "bar");
+        AppendLogResult result = future.join();
+        Assert.assertEquals(2, result.getIndex());
+        Assert.assertEquals("bar", result.getResult());
+        Assert.assertEquals(0, tracker.size());
+    }
+
+    @Test
+    public void testAppliedUpTo() {
+        AppendLogTracker tracker = new AppendLogTracker();
+        CompletableFuture<AppendLogResult> future1 = new CompletableFuture<>();
+        CompletableFuture<AppendLogResult> future2 = new CompletableFuture<>();
+        CompletableFuture<AppendLogResult> future3 = new CompletableFuture<>();
+        tracker.add(1, future1);
+        tracker.add(2, future2);
+        tracker.add(3, future3);
+        tracker.applied(1, "foo");
+        tracker.appliedUpTo(2);
+        Assert.assertEquals("foo", future1.join().getResult());
+        Assert.assertNull(future2.join().getResult());
+        Assert.assertFalse(future3.isDone());
+        Assert.assertEquals(1, tracker.size());
+    }
+
+    @Test
+    public void testFailAll() {
+        AppendLogTracker tracker = new AppendLogTracker();
+        CompletableFuture<AppendLogResult> future1 = new CompletableFuture<>();
+        CompletableFuture<AppendLogResult> future2 = new CompletableFuture<>();
+        tracker.add(1, future1);
+        tracker.add(2, future2);
+        tracker.failAll(new IllegalStateException());
+        Assert.assertTrue(future1.isCompletedExceptionally());
+        Assert.assertTrue(future2.isCompletedExceptionally());
+        Assert.assertEquals(0, tracker.size());
+        tracker.applied(1, null);
+    }
+
+}
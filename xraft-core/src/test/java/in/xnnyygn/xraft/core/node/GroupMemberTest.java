@@ -17,4 +17,66 @@ public class GroupMemberTest {
         Assert.assertTrue(member.shouldReplicate(1000));
     }
 
+    @Test
+    public void testShouldPipeline() {
+        GroupMember member = new GroupMember(new NodeEndpoint("A", "localhost", 2333));
+        member.setReplicatingState(new ReplicatingState(10));
+        member.replicateNow();
+        Assert.assertFalse(member.shouldPipeline(12, 2)); // probing
+        member.advanceReplicatingState(10);
+        member.replicateNow();
+        member.advanceNextIndexOptimistically(11);
+        Assert.assertEquals(12, member.getNextIndex());
+        Assert.assertFalse(member.shouldPipeline(12, 2)); // all sent
+        Assert.assertTrue(member.shouldPipeline(13, 2));
+        member.replicateNow();
+        Assert.assertFalse(member.shouldPipeline(13, 2)); // window full
+    }
+
+    @Test
+    public void testBackOffWhenPipelining() {
+        GroupMember member = new GroupMember(new NodeEndpoint("A", "localhost", 2333));
+        member.setReplicatingState(new ReplicatingState(10));
+        member.advanceReplicatingState(9);
+        member.advanceNextIndexOptimistically(20);
+        member.replicateNow();
+        member.replicateNow();
+        Assert.assertTrue(member.backOffNextIndex(15));
+        Assert.assertEquals(15, member.getNextIndex());
+        Assert.assertFalse(member.isReplicating());
+        Assert.assertFalse(member.shouldPipeline(30, 2));
+    }
+
+    @Test
+    public void testHasEntriesOrCommitIndexToSend() {
+        GroupMember member = new GroupMember(new NodeEndpoint("A", "localhost", 2333));
+        member.setReplicatingState(new ReplicatingState(10));
+        Assert.assertTrue(member.hasEntriesOrCommitIndexToSend(11, 0));
+        Assert.assertFalse(member.hasEntriesOrCommitIndexToSend(10, 0));
+        Assert.assertTrue(member.hasEntriesOrCommitIndexToSend(10, 5));
+        member.setCommitIndexSent(5);
+        Assert.assertFalse(member.hasEntriesOrCommitIndexToSend(10, 5));
+    }
+
+    @Test
+    public void testIsIdle() {
+        GroupMember member = new GroupMember(new NodeEndpoint("A", "localhost", 2333));
+        member.setReplicatingState(new ReplicatingState(10));
+        Assert.assertTrue(member.isIdle(500));
+        member.replicateNow();
+        Assert.assertFalse(member.isIdle(500));
+    }
+
+    @Test
+    public void testResetReplicating() {
+        GroupMember member = new GroupMember(new NodeEndpoint("A", "localhost", 2333));
+        member.setReplicatingState(new ReplicatingState(10));
+        member.advanceReplicatingState(9);
+        member.advanceNextIndexOptimistically(20);
+        member.replicateNow();
+        member.resetReplicating();
+        Assert.assertEquals(10, member.getNextIndex());
+        Assert.assertFalse(member.isReplicating());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package in.xnnyygn.xraft.core.node;
+
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
+import in.xnnyygn.xraft.core.node.role.RoleName;
+import in.xnnyygn.xraft.core.rpc.nio.NioConnector;
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class NodeBuilderTest {
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static NodeConfig createEventLoopConfig() {
+        NodeConfig config = new NodeConfig();
+        config.setEventLoopMode(true);
+        return config;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxInflightAppendEntriesTooLarge() {
+        NodeConfig config = new NodeConfig();
+        config.setMaxInflightAppendEntries(NioConnector.MAX_PENDING_APPEND_ENTRIES_RPC + 1);
+        new NodeBuilder(new NodeEndpoint("A", "localhost", 2333))
+                .setConfig(config)
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEventLoopModeWorkerGroupMoreThanOneThread() throws InterruptedException {
+        NioEventLoopGroup workerGroup = new NioEventLoopGroup(2);
+        try {
+            new NodeBuilder(new NodeEndpoint("A", "localhost", 2333))
+                    .setConfig(createEventLoopConfig())
+                    .setWorkerNioEventLoopGroup(workerGroup)
+                    .build();
+        } finally {
+            workerGroup.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void testEventLoopModeRpcHandledInLoop() throws Exception {
+        List<NodeEndpoint> endpoints = Arrays.asList(
+                new NodeEndpoint("A", "localhost", findFreePort()),
+                new NodeEndpoint("B", "localhost", findFreePort())
+        );
+
+        // A never starts election by itself
+        NodeConfig configA = createEventLoopConfig();
+        configA.setMinElectionTimeout(60000);
+        configA.setMaxElectionTimeout(60001);
+        NioEventLoopGroup workerGroup = new NioEventLoopGroup(1);
+        EventLoop eventLoop = workerGroup.next();
+        NodeImpl nodeA = (NodeImpl) new NodeBuilder(endpoints, NodeId.of("A"))
+                .setConfig(configA)
+                .setWorkerNioEventLoopGroup(workerGroup)
+                .build();
+        NodeImpl nodeB = (NodeImpl) new NodeBuilder(endpoints, NodeId.of("B")).build();
+
+        // A becomes follower of term 1 after receiving request vote rpc from B
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean inEventLoop = new AtomicBoolean(false);
+        nodeA.addNodeRoleListener(state -> {
+            if (state.getRoleName() == RoleName.FOLLOWER && state.getTerm() == 1) {
+                inEventLoop.set(eventLoop.inEventLoop());
+                latch.countDown();
+            }
+        });
+        try {
+            nodeA.start();
+            nodeB.start();
+            nodeB.electionTimeout();
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(inEventLoop.get());
+        } finally {
+            nodeB.stop();
+            nodeA.stop();
+            workerGroup.shutdownGracefully().sync();
+        }
+    }
+
+}
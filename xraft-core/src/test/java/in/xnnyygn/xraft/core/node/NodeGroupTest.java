@@ -206,4 +206,66 @@ public class NodeGroupTest {
         group.addNode(new NodeEndpoint("B", "localhost", 2334), 10, 0, false);
         Assert.assertFalse(group.isStandalone());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIsStandaloneWithLearner() {
+        NodeGroup group = new NodeGroup(Arrays.asList(
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334, true)
+        ), NodeId.of("A"));
+        Assert.assertTrue(group.isStandalone());
+    }
+
+    // (A, self, major), (B, peer, major, 5), (C, peer, learner, 10), (D, peer, learner, 10)
+    @Test
+    public void testLearner() {
+        NodeGroup group = new NodeGroup(Arrays.asList(
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335, true),
+                new NodeEndpoint("D", "localhost", 2336, true)
+        ), NodeId.of("A"));
+        Assert.assertEquals(2, group.getCountOfMajor());
+        Assert.assertFalse(group.isMemberOfMajor(NodeId.of("C")));
+        Assert.assertTrue(group.findMember(NodeId.of("C")).isLearner());
+        Assert.assertEquals(1, group.listEndpointOfMajorExceptSelf().size());
+        Assert.assertEquals(3, group.listReplicationTarget().size());
+        group.resetReplicatingStates(1);
+        group.findMember(NodeId.of("B")).advanceReplicatingState(5);
+        group.findMember(NodeId.of("C")).advanceReplicatingState(10);
+        group.findMember(NodeId.of("D")).advanceReplicatingState(10);
+        Assert.assertEquals(5, group.getMatchIndexOfMajor());
+    }
+
+    @Test
+    public void testListEndpointOfMember() {
+        NodeGroup group = new NodeGroup(Arrays.asList(
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335, true),
+                new NodeEndpoint("D", "localhost", 2336, true)
+        ), NodeId.of("A"));
+        group.downgrade(NodeId.of("D"));
+        Set<NodeEndpoint> endpoints = group.listEndpointOfMember();
+        Assert.assertEquals(3, endpoints.size());
+        Assert.assertTrue(endpoints.stream().anyMatch(e -> e.getId().equals(NodeId.of("C")) && e.isLearner()));
+    }
+
+    @Test
+    public void testGetLeaseStartOfMajor() {
+        NodeGroup group = new NodeGroup(new NodeEndpoint("A", "localhost", 2333));
+        group.addNode(new NodeEndpoint("B", "localhost", 2334), 1, 0, true).ackRpcSentAt(100);
+        group.addNode(new NodeEndpoint("C", "localhost", 2335), 1, 0, true).ackRpcSentAt(200);
+        group.addNode(new NodeEndpoint("D", "localhost", 2336), 1, 0, true);
+        group.addNode(new NodeEndpoint("E", "localhost", 2337), 1, 0, false).ackRpcSentAt(300);
+        Assert.assertEquals(100, group.getLeaseStartOfMajor(1000));
+    }
+
+    @Test
+    public void testGetLeaseStartOfMajorNotAcked() {
+        NodeGroup group = new NodeGroup(new NodeEndpoint("A", "localhost", 2333));
+        group.addNode(new NodeEndpoint("B", "localhost", 2334), 1, 0, true);
+        group.addNode(new NodeEndpoint("C", "localhost", 2335), 1, 0, true);
+        Assert.assertEquals(0, group.getLeaseStartOfMajor(1000));
+    }
+}
@@ -5,6 +5,8 @@ import in.xnnyygn.xraft.core.log.entry.*;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryBatchRemovedEvent;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryCommittedEvent;
 import in.xnnyygn.xraft.core.log.event.GroupConfigEntryFromLeaderAppendEvent;
+import in.xnnyygn.xraft.core.log.statemachine.EmptyStateMachine;
+import in.xnnyygn.xraft.core.log.statemachine.StateMachineContext;
 import in.xnnyygn.xraft.core.node.config.NodeConfig;
 import in.xnnyygn.xraft.core.node.role.RoleName;
 import in.xnnyygn.xraft.core.node.role.RoleState;
@@ -14,6 +16,9 @@ import in.xnnyygn.xraft.core.node.task.GroupConfigChangeTaskResult;
 import in.xnnyygn.xraft.core.rpc.ConnectorAdapter;
 import in.xnnyygn.xraft.core.rpc.MockConnector;
 import in.xnnyygn.xraft.core.rpc.message.*;
+import in.xnnyygn.xraft.core.node.role.FollowerNodeRole;
+import in.xnnyygn.xraft.core.schedule.ElectionTimeout;
+import in.xnnyygn.xraft.core.schedule.HashedWheelScheduler;
 import in.xnnyygn.xraft.core.schedule.NullScheduler;
 import in.xnnyygn.xraft.core.support.DirectTaskExecutor;
 import in.xnnyygn.xraft.core.support.ListeningTaskExecutor;
@@ -25,18 +30,61 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class NodeImplTest {
 
+    // run one-shot tasks only
+    private static class OneShotScheduler extends NullScheduler {
+
+        private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "one-shot-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        @Nonnull
+        @Override
+        public ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+            return scheduledExecutorService.schedule(task, delay, unit);
+        }
+
+    }
+
+    private static class ManualScheduler extends NullScheduler {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Nonnull
+        @Override
+        public ScheduledFuture<?> schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+            tasks.add(task);
+            return super.schedule(task, delay, unit);
+        }
+
+        void runTasks() {
+            List<Runnable> tasksToRun = new ArrayList<>(tasks);
+            tasks.clear();
+            tasksToRun.forEach(Runnable::run);
+        }
+
+    }
+
     private static class WaitableConnector extends ConnectorAdapter {
 
         private boolean sent = false;
@@ -353,6 +401,95 @@ public class NodeImplTest {
         Assert.assertEquals(3, mockConnector.getMessageCount());
     }
 
+    @Test
+    public void testAppendLogApplied() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
+                .build();
+        node.start();
+        node.electionTimeout(); // become leader, no-op log 1
+        CompletableFuture<AppendLogResult> future = node.appendLog("test".getBytes());
+        Assert.assertTrue(future.isDone());
+        AppendLogResult result = future.join();
+        Assert.assertEquals(2, result.getIndex());
+        Assert.assertNull(result.getResult());
+    }
+
+    @Test
+    public void testAppendLogStateMachineNotReportingResult() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
+                .build();
+        node.registerStateMachine(new EmptyStateMachine() {
+
+            private int lastApplied = 0;
+
+            @Override
+            public int getLastApplied() {
+                return lastApplied;
+            }
+
+            @Override
+            public void applyBatch(StateMachineContext context, int firstIndex, @Nonnull List<byte[]> commands, int firstLogIndex) {
+                lastApplied = firstIndex + commands.size() - 1;
+            }
+
+        });
+        node.start();
+        node.electionTimeout(); // become leader, no-op log 1
+        CompletableFuture<AppendLogResult> future = node.appendLog("test".getBytes());
+        Assert.assertTrue(future.isDone());
+        AppendLogResult result = future.join();
+        Assert.assertEquals(2, result.getIndex());
+        Assert.assertNull(result.getResult());
+    }
+
+    @Test
+    public void testAppendLogStepDown() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader
+        CompletableFuture<AppendLogResult> future = node.appendLog("test".getBytes());
+        Assert.assertFalse(future.isDone());
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 2, false),
+                NodeId.of("B"), createAppendEntriesRpc(1)));
+        Assert.assertEquals(RoleName.FOLLOWER, node.getRoleState().getRoleName());
+        try {
+            future.join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof NotLeaderException);
+        }
+    }
+
+    @Test
+    public void testAppendLogRejected() {
+        NodeConfig config = new NodeConfig();
+        config.setMaxPendingAppendEntries(1);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).setConfig(config).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader
+        CompletableFuture<AppendLogResult> future1 = node.appendLog("test".getBytes());
+        CompletableFuture<AppendLogResult> future2 = node.appendLog("test".getBytes());
+        Assert.assertFalse(future1.isDone());
+        Assert.assertTrue(future2.isCompletedExceptionally());
+        Assert.assertEquals(2, node.getContext().log().getNextIndex() - 1);
+        AppendLogMetrics metrics = node.getAppendLogMetrics();
+        Assert.assertEquals(1, metrics.getPendingEntries());
+        Assert.assertEquals(1, metrics.getRejectedEntries());
+    }
+
     @Test(expected = NotLeaderException.class)
     public void testAddNodeWhenFollower() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
@@ -434,15 +571,14 @@ public class NodeImplTest {
         node.electionTimeout();
         node.processRequestVoteResult(new RequestVoteResult(1, true)).get();
 
-        Future<GroupConfigChangeTaskReference> future = cachedThreadTaskExecutor.submit(() -> node.addNode(new NodeEndpoint("D", "localhost", 2336)));
+        // return immediately
+        GroupConfigChangeTaskReference reference = node.addNode(new NodeEndpoint("D", "localhost", 2336));
         connector.awaitAppendEntriesRpc();
 
         // catch up
         node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
                 new AppendEntriesResult("", 1, true),
                 NodeId.of("D"), createAppendEntriesRpc(1)));
-
-        GroupConfigChangeTaskReference reference = future.get();
         connector.awaitAppendEntriesRpc();
 
         // send replication to B, C, D
@@ -458,10 +594,62 @@ public class NodeImplTest {
         checkWithinTaskExecutor(node, () -> Assert.assertEquals(4, node.getContext().group().getCountOfMajor()));
     }
 
+    @Test
+    public void testAddNodeConcurrently() throws Throwable {
+        WaitableConnector connector = new WaitableConnector();
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setConnector(connector)
+                .setTaskExecutor(taskExecutor)
+                .setGroupConfigChangeTaskExecutor(groupConfigChangeTaskExecutor)
+                .build();
+        node.start();
+        node.electionTimeout();
+        node.processRequestVoteResult(new RequestVoteResult(1, true)).get();
+
+        // catch up concurrently
+        GroupConfigChangeTaskReference reference1 = node.addNode(new NodeEndpoint("D", "localhost", 2336));
+        connector.awaitAppendEntriesRpc();
+        GroupConfigChangeTaskReference reference2 = node.addNode(new NodeEndpoint("E", "localhost", 2337));
+        connector.awaitAppendEntriesRpc();
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("D"), createAppendEntriesRpc(1))).get();
+        connector.awaitAppendEntriesRpc();
+
+        // E caught up and queued behind D
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("E"), createAppendEntriesRpc(2))).get();
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("B"), createAppendEntriesRpc(2))).get();
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("C"), createAppendEntriesRpc(2))).get();
+        Assert.assertEquals(GroupConfigChangeTaskResult.OK, reference1.getResult(1000L));
+        while (node.getContext().taskExecutor().submit(() -> node.getContext().log().getNextIndex()).get() < 4) {
+            Thread.sleep(1);
+        }
+
+        // group config of E
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("B"), createAppendEntriesRpc(3))).get();
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("C"), createAppendEntriesRpc(3))).get();
+        Assert.assertEquals(GroupConfigChangeTaskResult.OK, reference2.getResult(1000L));
+        checkWithinTaskExecutor(node, () -> Assert.assertEquals(5, node.getContext().group().getCountOfMajor()));
+    }
+
     @Test
     public void testAddNodeCannotCatchUp() throws TimeoutException, InterruptedException, ExecutionException {
         NodeConfig config = new NodeConfig();
-        config.setNewNodeMaxRound(1);
+        config.setNewNodeAdvanceTimeout(0);
 
         WaitableConnector connector = new WaitableConnector();
         NodeImpl node = (NodeImpl) newNodeBuilder(
@@ -482,8 +670,8 @@ public class NodeImplTest {
         connector.awaitAppendEntriesRpc();
         // cannot catch up
         node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
-                new AppendEntriesResult("", 1, true),
-                NodeId.of("D"), createAppendEntriesRpc(0)));
+                new AppendEntriesResult("", 1, false),
+                NodeId.of("D"), createAppendEntriesRpc(1)));
 
         Assert.assertEquals(GroupConfigChangeTaskResult.TIMEOUT, future.get().getResult(1000L));
     }
@@ -500,6 +688,7 @@ public class NodeImplTest {
                 new NodeEndpoint("C", "localhost", 2335))
                 .setConfig(config)
                 .setConnector(connector)
+                .setScheduler(new OneShotScheduler())
                 .setTaskExecutor(taskExecutor)
                 .setGroupConfigChangeTaskExecutor(groupConfigChangeTaskExecutor)
                 .build();
@@ -507,21 +696,21 @@ public class NodeImplTest {
         node.electionTimeout();
         connector.reset();
         node.processRequestVoteResult(new RequestVoteResult(1, true)).get();
-        cachedThreadTaskExecutor.submit(() -> node.addNode(new NodeEndpoint("D", "localhost", 2337)));
+        node.addNode(new NodeEndpoint("D", "localhost", 2337));
         connector.awaitAppendEntriesRpc();
         node.processAppendEntriesResult(new AppendEntriesResultMessage(
                 new AppendEntriesResult("", 1, true),
                 NodeId.of("D"), createAppendEntriesRpc(1))).get();
         connector.awaitAppendEntriesRpc();
-        Future<GroupConfigChangeTaskReference> future2 = cachedThreadTaskExecutor.submit(() -> node.addNode(new NodeEndpoint("E", "localhost", 2337)));
+        GroupConfigChangeTaskReference reference2 = node.addNode(new NodeEndpoint("E", "localhost", 2337));
         connector.awaitAppendEntriesRpc();
         node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
                 new AppendEntriesResult("", 1, true),
                 NodeId.of("E"), createAppendEntriesRpc(2)));
 
-        Assert.assertEquals(GroupConfigChangeTaskResult.TIMEOUT, future2.get().getResult(1000L));
+        // queued and expired
+        Assert.assertEquals(GroupConfigChangeTaskResult.TIMEOUT, reference2.getResult(1000L));
         node.cancelGroupConfigChangeTask();
-        future2.cancel(true);
     }
 
     @Test(expected = NotLeaderException.class)
@@ -643,6 +832,7 @@ public class NodeImplTest {
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
                 .setConfig(config)
+                .setScheduler(new OneShotScheduler())
                 .setTaskExecutor(taskExecutor)
                 .setGroupConfigChangeTaskExecutor(groupConfigChangeTaskExecutor)
                 .build();
@@ -650,11 +840,54 @@ public class NodeImplTest {
         node.electionTimeout();
         node.processRequestVoteResult(new RequestVoteResult(1, true)).get();
         node.removeNode(NodeId.of("B"));
-        GroupConfigChangeTaskReference reference = node.removeNode(NodeId.of("B"));
+
+        // queued and expired
+        GroupConfigChangeTaskReference reference = node.removeNode(NodeId.of("C"));
         Assert.assertEquals(GroupConfigChangeTaskResult.TIMEOUT, reference.getResult(1000L));
         node.cancelGroupConfigChangeTask();
     }
 
+    @Test
+    public void testRemoveNodeQueued() throws Throwable {
+        WaitableConnector connector = new WaitableConnector();
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335),
+                new NodeEndpoint("D", "localhost", 2336))
+                .setConnector(connector)
+                .setTaskExecutor(taskExecutor)
+                .setGroupConfigChangeTaskExecutor(groupConfigChangeTaskExecutor)
+                .build();
+        node.start();
+        node.electionTimeout();
+        node.processRequestVoteResult(new RequestVoteResult(1, true)).get();
+        node.processRequestVoteResult(new RequestVoteResult(1, true)).get();
+        GroupConfigChangeTaskReference reference1 = node.removeNode(NodeId.of("D"));
+        connector.awaitAppendEntriesRpc();
+
+        // queued behind removal of D instead of failing
+        GroupConfigChangeTaskReference reference2 = node.removeNode(NodeId.of("C"));
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("B"), createAppendEntriesRpc(2))).get();
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("C"), createAppendEntriesRpc(2))).get();
+        Assert.assertEquals(GroupConfigChangeTaskResult.OK, reference1.getResult(1000L));
+        while (node.getContext().taskExecutor().submit(() -> node.getContext().log().getNextIndex()).get() < 4) {
+            Thread.sleep(1);
+        }
+
+        // group config without C
+        node.processAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("B"), createAppendEntriesRpc(3))).get();
+        Assert.assertEquals(GroupConfigChangeTaskResult.OK, reference2.getResult(1000L));
+        checkWithinTaskExecutor(node, () -> Assert.assertEquals(2, node.getContext().group().getCountOfMajor()));
+    }
+
     @Test
     public void testOnReceiveRequestVoteRpcNotMajor() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
@@ -738,99 +971,137 @@ public class NodeImplTest {
     }
 
     @Test
-    public void testOnReceiveRequestVoteRpcLargerTermButNotVote() {
+    public void testOnReceiveRequestVoteRpcWithinLease() {
+        NodeConfig config = new NodeConfig();
+        config.setLeaseRead(true);
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
                 .setStore(new MemoryNodeStore(1, null))
                 .build();
-        node.getContext().log().appendEntry(1);
         node.start();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
         RequestVoteRpc rpc = new RequestVoteRpc();
         rpc.setTerm(2);
         rpc.setCandidateId(NodeId.of("C"));
-        rpc.setLastLogIndex(0);
-        rpc.setLastLogTerm(0);
+        rpc.setLastLogIndex(1);
+        rpc.setLastLogTerm(2);
         node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
         MockConnector mockConnector = (MockConnector) node.getContext().connector();
         RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
-        Assert.assertEquals(2, result.getTerm());
+        Assert.assertEquals(1, result.getTerm());
         Assert.assertFalse(result.isVoteGranted());
+        Assert.assertEquals(1, node.getRoleState().getTerm());
     }
 
     @Test
-    public void testOnReceiveRequestVoteRpcFollower() {
+    public void testElectionTimeoutPreVote() {
+        NodeConfig config = new NodeConfig();
+        config.setPreVote(true);
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
                 .setStore(new MemoryNodeStore(1, null))
                 .build();
         node.start();
-        RequestVoteRpc rpc = new RequestVoteRpc();
-        rpc.setTerm(1);
-        rpc.setCandidateId(NodeId.of("C"));
-        rpc.setLastLogIndex(0);
-        rpc.setLastLogTerm(0);
-        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        node.electionTimeout();
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(1, state.getTerm());
         MockConnector mockConnector = (MockConnector) node.getContext().connector();
-        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
-        Assert.assertEquals(1, result.getTerm());
-        Assert.assertTrue(result.isVoteGranted());
-        Assert.assertEquals(NodeId.of("C"), node.getRoleState().getVotedFor());
+        PreVoteRpc rpc = (PreVoteRpc) mockConnector.getRpc();
+        Assert.assertEquals(2, rpc.getTerm());
+        Assert.assertEquals(NodeId.of("A"), rpc.getCandidateId());
+
+        // start election after pre voted by major nodes
+        node.onReceivePreVoteResult(new PreVoteResult(1, true));
+        state = node.getRoleState();
+        Assert.assertEquals(RoleName.CANDIDATE, state.getRoleName());
+        Assert.assertEquals(2, state.getTerm());
+        Assert.assertTrue(mockConnector.getRpc() instanceof RequestVoteRpc);
     }
 
     @Test
-    public void testOnReceiveRequestVoteRpcFollowerVoted() {
+    public void testOnReceivePreVoteResultNoPreVote() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
-                .setStore(new MemoryNodeStore(1, NodeId.of("C")))
+                .setStore(new MemoryNodeStore(1, null))
                 .build();
         node.start();
-        RequestVoteRpc rpc = new RequestVoteRpc();
-        rpc.setTerm(1);
-        rpc.setCandidateId(NodeId.of("C"));
-        rpc.setLastLogIndex(0);
-        rpc.setLastLogTerm(0);
-        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
-        MockConnector mockConnector = (MockConnector) node.getContext().connector();
-        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
-        Assert.assertEquals(1, result.getTerm());
-        Assert.assertTrue(result.isVoteGranted());
-        Assert.assertEquals(NodeId.of("C"), node.getRoleState().getVotedFor());
+        node.onReceivePreVoteResult(new PreVoteResult(1, true));
+        Assert.assertEquals(RoleName.FOLLOWER, node.getRoleState().getRoleName());
     }
 
     @Test
-    public void testOnReceiveRequestVoteRpcFollowerNotVote() {
+    public void testOnReceivePreVoteResultOfPreviousTerm() {
+        NodeConfig config = new NodeConfig();
+        config.setPreVote(true);
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
                 .setStore(new MemoryNodeStore(1, null))
                 .build();
-        node.getContext().log().appendEntry(1);
         node.start();
-        RequestVoteRpc rpc = new RequestVoteRpc();
-        rpc.setTerm(1);
-        rpc.setCandidateId(NodeId.of("C"));
-        rpc.setLastLogIndex(0);
-        rpc.setLastLogTerm(0);
-        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        node.electionTimeout(); // pre vote for term 2
+
+        // B becomes leader in term 2, then lost
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(2);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        node.electionTimeout(); // pre vote for term 3
+
+        // late result of pre vote for term 2
+        node.onReceivePreVoteResult(new PreVoteResult(1, true));
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(2, state.getTerm());
+
+        node.onReceivePreVoteResult(new PreVoteResult(2, true));
+        Assert.assertEquals(RoleName.CANDIDATE, node.getRoleState().getRoleName());
+    }
+
+    @Test
+    public void testOnReceivePreVoteResultAfterElectionStarted() {
+        NodeConfig config = new NodeConfig();
+        config.setPreVote(true);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        node.electionTimeout(); // pre vote for term 2
+        node.onReceivePreVoteResult(new PreVoteResult(1, true)); // become candidate
         MockConnector mockConnector = (MockConnector) node.getContext().connector();
-        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
-        Assert.assertEquals(1, result.getTerm());
-        Assert.assertFalse(result.isVoteGranted());
+        mockConnector.clearMessage();
+        node.onReceivePreVoteResult(new PreVoteResult(1, true));
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.CANDIDATE, state.getRoleName());
+        Assert.assertEquals(2, state.getTerm());
+        Assert.assertEquals(0, mockConnector.getMessageCount());
     }
 
     @Test
-    public void testOnReceiveRequestVoteRpcCandidate() {
+    public void testOnReceivePreVoteRpc() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
@@ -839,21 +1110,23 @@ public class NodeImplTest {
                 .setStore(new MemoryNodeStore(1, null))
                 .build();
         node.start();
-        node.electionTimeout();
-        RequestVoteRpc rpc = new RequestVoteRpc();
+        PreVoteRpc rpc = new PreVoteRpc();
         rpc.setTerm(2);
         rpc.setCandidateId(NodeId.of("C"));
-        rpc.setLastLogIndex(0);
-        rpc.setLastLogTerm(0);
-        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        node.onReceivePreVoteRpc(new PreVoteRpcMessage(rpc, NodeId.of("C"), null));
         MockConnector mockConnector = (MockConnector) node.getContext().connector();
-        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
-        Assert.assertEquals(2, result.getTerm());
-        Assert.assertFalse(result.isVoteGranted());
+        PreVoteResult result = (PreVoteResult) mockConnector.getResult();
+        Assert.assertEquals(1, result.getTerm());
+        Assert.assertTrue(result.isVoteGranted());
+
+        // term and vote not changed
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(1, state.getTerm());
+        Assert.assertNull(state.getVotedFor());
     }
 
     @Test
-    public void testOnReceiveRequestVoteRpcLeader() {
+    public void testOnReceivePreVoteRpcLeaderAlive() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
@@ -862,165 +1135,267 @@ public class NodeImplTest {
                 .setStore(new MemoryNodeStore(1, null))
                 .build();
         node.start();
-        node.electionTimeout();
-        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true));
-        RequestVoteRpc rpc = new RequestVoteRpc();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        PreVoteRpc rpc = new PreVoteRpc();
         rpc.setTerm(2);
         rpc.setCandidateId(NodeId.of("C"));
-        rpc.setLastLogIndex(0);
-        rpc.setLastLogTerm(0);
-        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        node.onReceivePreVoteRpc(new PreVoteRpcMessage(rpc, NodeId.of("C"), null));
         MockConnector mockConnector = (MockConnector) node.getContext().connector();
-        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
-        Assert.assertEquals(2, result.getTerm());
+        PreVoteResult result = (PreVoteResult) mockConnector.getResult();
         Assert.assertFalse(result.isVoteGranted());
     }
 
     @Test
-    public void testOnReceiveRequestVoteResult() {
+    public void testElectionTimeoutLearner() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
-                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("A", "localhost", 2333, true),
                 new NodeEndpoint("B", "localhost", 2334),
-                new NodeEndpoint("C", "localhost", 2335)
-        ).build();
+                new NodeEndpoint("C", "localhost", 2335))
+                .build();
         node.start();
         node.electionTimeout();
-
-        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
-
-        // role state
         RoleState state = node.getRoleState();
-        Assert.assertEquals(RoleName.LEADER, state.getRoleName());
-        Assert.assertEquals(1, state.getTerm());
-
-        // replication state set
-        Assert.assertTrue(node.getContext().group().findMember(NodeId.of("B")).isReplicationStateSet());
-        Assert.assertTrue(node.getContext().group().findMember(NodeId.of("C")).isReplicationStateSet());
-
-        // no-op log
-        EntryMeta lastEntryMeta = node.getContext().log().getLastEntryMeta();
-        Assert.assertEquals(Entry.KIND_NO_OP, lastEntryMeta.getKind());
-        Assert.assertEquals(1, lastEntryMeta.getIndex());
-        Assert.assertEquals(1, lastEntryMeta.getTerm());
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(0, state.getTerm());
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        Assert.assertEquals(0, mockConnector.getMessageCount());
     }
 
     @Test
-    public void testOnReceiveRequestVoteResultNotGranted() {
+    public void testOnReceiveRequestVoteRpcLearner() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
-                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("A", "localhost", 2333, true),
                 new NodeEndpoint("B", "localhost", 2334),
-                new NodeEndpoint("C", "localhost", 2335)
-        ).build();
+                new NodeEndpoint("C", "localhost", 2335))
+                .build();
         node.start();
-        node.electionTimeout();
-
-        node.onReceiveRequestVoteResult(new RequestVoteResult(1, false)); // do nothing
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(1);
+        rpc.setCandidateId(NodeId.of("B"));
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
+        Assert.assertFalse(result.isVoteGranted());
     }
 
     @Test
-    public void testOnReceiveRequestVoteResultLargerTerm() {
+    public void testOnReceiveAppendEntriesResultLearner() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
-                new NodeEndpoint("C", "localhost", 2335)
-        ).build();
+                new NodeEndpoint("C", "localhost", 2335, true))
+                .build();
         node.start();
-        node.electionTimeout(); // become candidate
+        node.electionTimeout();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteRpc requestVoteRpc = (RequestVoteRpc) mockConnector.getRpc();
+        node.onReceiveRequestVoteResult(new RequestVoteResult(requestVoteRpc.getTerm(), true));
+        Assert.assertEquals(RoleName.LEADER, node.getRoleState().getRoleName());
 
-        node.onReceiveRequestVoteResult(new RequestVoteResult(2, false));
-        RoleState state = node.getRoleState();
-        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
-        Assert.assertEquals(2, state.getTerm());
+        // learner does not commit
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true), NodeId.of("C"), createAppendEntriesRpc(1)));
+        Assert.assertEquals(1, node.getContext().group().findMember(NodeId.of("C")).getMatchIndex());
+        Assert.assertEquals(0, node.getContext().log().getCommitIndex());
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true), NodeId.of("B"), createAppendEntriesRpc(1)));
+        Assert.assertEquals(1, node.getContext().log().getCommitIndex());
     }
 
     @Test
-    public void testOnReceiveRequestVoteResultWhenLeader() {
-        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
+    public void testReplicateLogStandaloneWithLearner() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334, true))
                 .build();
         node.start();
         node.electionTimeout(); // become leader
-
-        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // do nothing
+        Assert.assertEquals(RoleName.LEADER, node.getRoleState().getRoleName());
+        node.replicateLog();
+        Assert.assertEquals(1, node.getContext().log().getCommitIndex());
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        Assert.assertEquals(NodeId.of("B"), mockConnector.getDestinationNodeId());
+        Assert.assertTrue(mockConnector.getRpc() instanceof AppendEntriesRpc);
     }
 
     @Test
-    public void testOnReceiveRequestVoteResultWhenFollower() {
-        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
-                .setStore(new MemoryNodeStore(1, null))
+    public void testTransferLeadership() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
                 .build();
         node.start();
+        node.electionTimeout();
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
+        CompletableFuture<Void> future = node.transferLeadership(NodeId.of("B"));
+        try {
+            node.appendLog(new byte[0]);
+            Assert.fail();
+        } catch (NotLeaderException e) {
+            Assert.assertEquals(NodeId.of("B"), e.getLeaderEndpoint().getId());
+        }
+
+        // B caught up
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true), NodeId.of("B"), createAppendEntriesRpc(1)));
+        MockConnector.Message message = mockConnector.getMessages().get(0);
+        Assert.assertEquals(NodeId.of("B"), message.getDestinationNodeId());
+        TimeoutNowRpc timeoutNowRpc = (TimeoutNowRpc) message.getRpc();
+        Assert.assertEquals(1, timeoutNowRpc.getTerm());
+        Assert.assertEquals(NodeId.of("A"), timeoutNowRpc.getLeaderId());
+        Assert.assertFalse(future.isDone());
+
+        // B elected
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(2);
+        rpc.setCandidateId(NodeId.of("B"));
+        rpc.setLastLogIndex(1);
+        rpc.setLastLogTerm(1);
+        rpc.setLeadershipTransfer(true);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("B"), null));
+        Assert.assertEquals(RoleName.FOLLOWER, node.getRoleNameAndLeaderId().getRoleName());
+        Assert.assertTrue(future.isDone());
+        Assert.assertFalse(future.isCompletedExceptionally());
+    }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransferLeadershipToSelf() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334))
+                .build();
+        node.start();
+        node.electionTimeout();
         node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
+        node.transferLeadership(NodeId.of("A"));
     }
 
     @Test
-    public void testOnReceiveRequestVoteResultLessThanHalfOfMajorCount() {
+    public void testTransferLeadershipUnknownNode() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
-                new NodeEndpoint("B", "localhost", 2333),
-                new NodeEndpoint("C", "localhost", 2333),
-                new NodeEndpoint("D", "localhost", 2333),
-                new NodeEndpoint("E", "localhost", 2333)
-        ).setStore(new MemoryNodeStore(1, null))
+                new NodeEndpoint("B", "localhost", 2334))
                 .build();
         node.start();
         node.electionTimeout();
-
         node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
+        CompletableFuture<Void> future = node.transferLeadership(NodeId.of("D"));
+        Assert.assertTrue(future.isCompletedExceptionally());
+        node.appendLog(new byte[0]);
+    }
+
+    @Test
+    public void testOnReceiveTimeoutNowRpc() {
+        NodeConfig config = new NodeConfig();
+        config.setPreVote(true);
+        config.setLeaseRead(true);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .setConfig(config)
+                .build();
+        node.start();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        TimeoutNowRpc rpc = new TimeoutNowRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveTimeoutNowRpc(new TimeoutNowRpcMessage(rpc, NodeId.of("B"), null));
         RoleState state = node.getRoleState();
         Assert.assertEquals(RoleName.CANDIDATE, state.getRoleName());
-        Assert.assertEquals(2, state.getVotesCount());
+        Assert.assertEquals(2, state.getTerm());
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteRpc requestVoteRpc = (RequestVoteRpc) mockConnector.getRpc();
+        Assert.assertTrue(requestVoteRpc.isLeadershipTransfer());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesRpcSmallerTerm() {
+    public void testOnReceiveTimeoutNowRpcNotFromLeader() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
-                .setStore(new MemoryNodeStore(2, null))
+                .setStore(new MemoryNodeStore(1, null))
                 .build();
         node.start();
-        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        TimeoutNowRpc rpc = new TimeoutNowRpc();
         rpc.setTerm(1);
-        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
-        MockConnector connector = (MockConnector) node.getContext().connector();
-        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
-        Assert.assertEquals(2, result.getTerm());
-        Assert.assertFalse(result.isSuccess());
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveTimeoutNowRpc(new TimeoutNowRpcMessage(rpc, NodeId.of("B"), null));
+        Assert.assertEquals(RoleName.FOLLOWER, node.getRoleState().getRoleName());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesRpcLargerTerm() {
+    public void testOnReceiveRequestVoteRpcLeadershipTransferWithinLease() {
+        NodeConfig config = new NodeConfig();
+        config.setLeaseRead(true);
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
                 new NodeEndpoint("C", "localhost", 2335))
                 .setStore(new MemoryNodeStore(1, null))
+                .setConfig(config)
                 .build();
         node.start();
-        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        RequestVoteRpc rpc = new RequestVoteRpc();
         rpc.setTerm(2);
-        rpc.setLeaderId(NodeId.of("B"));
-        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
-        MockConnector connector = (MockConnector) node.getContext().connector();
-        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
-        Assert.assertEquals(2, result.getTerm());
-        Assert.assertTrue(result.isSuccess());
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLeadershipTransfer(true);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
+        Assert.assertTrue(result.isVoteGranted());
+    }
 
-        RoleState state = node.getRoleState();
-        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
-        Assert.assertEquals(NodeId.of("B"), state.getLeaderId());
+    @Test
+    public void testOnReceiveRequestVoteRpcLargerTermButNotVote() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1);
+        node.start();
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(2);
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLastLogIndex(0);
+        rpc.setLastLogTerm(0);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertFalse(result.isVoteGranted());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesRpcFollower() {
+    public void testOnReceiveRequestVoteRpcFollower() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
@@ -1029,23 +1404,67 @@ public class NodeImplTest {
                 .setStore(new MemoryNodeStore(1, null))
                 .build();
         node.start();
-        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        RequestVoteRpc rpc = new RequestVoteRpc();
         rpc.setTerm(1);
-        rpc.setLeaderId(NodeId.of("B"));
-        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
-        MockConnector connector = (MockConnector) node.getContext().connector();
-        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLastLogIndex(0);
+        rpc.setLastLogTerm(0);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
         Assert.assertEquals(1, result.getTerm());
-        Assert.assertTrue(result.isSuccess());
+        Assert.assertTrue(result.isVoteGranted());
+        Assert.assertEquals(NodeId.of("C"), node.getRoleState().getVotedFor());
+    }
 
-        RoleState state = node.getRoleState();
-        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
-        Assert.assertEquals(1, state.getTerm());
-        Assert.assertEquals(NodeId.of("B"), state.getLeaderId());
+    @Test
+    public void testOnReceiveRequestVoteRpcFollowerVoted() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, NodeId.of("C")))
+                .build();
+        node.start();
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(1);
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLastLogIndex(0);
+        rpc.setLastLogTerm(0);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
+        Assert.assertEquals(1, result.getTerm());
+        Assert.assertTrue(result.isVoteGranted());
+        Assert.assertEquals(NodeId.of("C"), node.getRoleState().getVotedFor());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesRpcCandidate() {
+    public void testOnReceiveRequestVoteRpcFollowerNotVote() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1);
+        node.start();
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(1);
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLastLogIndex(0);
+        rpc.setLastLogTerm(0);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
+        Assert.assertEquals(1, result.getTerm());
+        Assert.assertFalse(result.isVoteGranted());
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteRpcCandidate() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
@@ -1055,23 +1474,20 @@ public class NodeImplTest {
                 .build();
         node.start();
         node.electionTimeout();
-        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        RequestVoteRpc rpc = new RequestVoteRpc();
         rpc.setTerm(2);
-        rpc.setLeaderId(NodeId.of("B"));
-        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
-        MockConnector connector = (MockConnector) node.getContext().connector();
-        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLastLogIndex(0);
+        rpc.setLastLogTerm(0);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
         Assert.assertEquals(2, result.getTerm());
-        Assert.assertTrue(result.isSuccess());
-
-        RoleState state = node.getRoleState();
-        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
-        Assert.assertEquals(2, state.getTerm());
-        Assert.assertEquals(NodeId.of("B"), state.getLeaderId());
+        Assert.assertFalse(result.isVoteGranted());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesRpcLeader() {
+    public void testOnReceiveRequestVoteRpcLeader() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
@@ -1082,22 +1498,733 @@ public class NodeImplTest {
         node.start();
         node.electionTimeout();
         node.onReceiveRequestVoteResult(new RequestVoteResult(2, true));
-        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        RequestVoteRpc rpc = new RequestVoteRpc();
         rpc.setTerm(2);
-        rpc.setLeaderId(NodeId.of("B"));
-        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
-        MockConnector connector = (MockConnector) node.getContext().connector();
-        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
-        Assert.assertEquals(2, result.getTerm());
-        Assert.assertFalse(result.isSuccess());
-
+        rpc.setCandidateId(NodeId.of("C"));
+        rpc.setLastLogIndex(0);
+        rpc.setLastLogTerm(0);
+        node.onReceiveRequestVoteRpc(new RequestVoteRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        RequestVoteResult result = (RequestVoteResult) mockConnector.getResult();
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertFalse(result.isVoteGranted());
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteResult() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout();
+
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
+
+        // role state
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.LEADER, state.getRoleName());
+        Assert.assertEquals(1, state.getTerm());
+
+        // replication state set
+        Assert.assertTrue(node.getContext().group().findMember(NodeId.of("B")).isReplicationStateSet());
+        Assert.assertTrue(node.getContext().group().findMember(NodeId.of("C")).isReplicationStateSet());
+
+        // no-op log
+        EntryMeta lastEntryMeta = node.getContext().log().getLastEntryMeta();
+        Assert.assertEquals(Entry.KIND_NO_OP, lastEntryMeta.getKind());
+        Assert.assertEquals(1, lastEntryMeta.getIndex());
+        Assert.assertEquals(1, lastEntryMeta.getTerm());
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteResultNotGranted() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout();
+
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, false)); // do nothing
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteResultLargerTerm() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, false));
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(2, state.getTerm());
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteResultWhenLeader() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
+                .build();
+        node.start();
+        node.electionTimeout(); // become leader
+
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // do nothing
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteResultWhenFollower() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
+    }
+
+    @Test
+    public void testOnReceiveRequestVoteResultLessThanHalfOfMajorCount() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2333),
+                new NodeEndpoint("C", "localhost", 2333),
+                new NodeEndpoint("D", "localhost", 2333),
+                new NodeEndpoint("E", "localhost", 2333)
+        ).setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        node.electionTimeout();
+
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true));
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.CANDIDATE, state.getRoleName());
+        Assert.assertEquals(2, state.getVotesCount());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcSmallerTerm() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(2, null))
+                .build();
+        node.start();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(1);
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector connector = (MockConnector) node.getContext().connector();
+        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcLargerTerm() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(2);
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector connector = (MockConnector) node.getContext().connector();
+        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertTrue(result.isSuccess());
+
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(NodeId.of("B"), state.getLeaderId());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcFollower() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector connector = (MockConnector) node.getContext().connector();
+        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        Assert.assertEquals(1, result.getTerm());
+        Assert.assertTrue(result.isSuccess());
+
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(1, state.getTerm());
+        Assert.assertEquals(NodeId.of("B"), state.getLeaderId());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcFollowerResetElectionTimeout() throws InterruptedException {
+        NodeConfig config = new NodeConfig();
+        config.setSchedulerTickDuration(10);
+        HashedWheelScheduler scheduler = new HashedWheelScheduler(config);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setScheduler(scheduler)
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        ElectionTimeout electionTimeout = ((FollowerNodeRole) node.getRole()).getElectionTimeout();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        Assert.assertSame(electionTimeout, ((FollowerNodeRole) node.getRole()).getElectionTimeout());
+        Assert.assertEquals(NodeId.of("B"), node.getRoleState().getLeaderId());
+        scheduler.stop();
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcFollowerConflictHint() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().appendEntry(1); // 2
+        node.start();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        rpc.setPrevLogIndex(5);
+        rpc.setPrevLogTerm(1);
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector connector = (MockConnector) node.getContext().connector();
+        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(0, result.getConflictTerm());
+        Assert.assertEquals(3, result.getConflictIndex());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcCandidate() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        node.electionTimeout();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(2);
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector connector = (MockConnector) node.getContext().connector();
+        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertTrue(result.isSuccess());
+
+        RoleState state = node.getRoleState();
+        Assert.assertEquals(RoleName.FOLLOWER, state.getRoleName());
+        Assert.assertEquals(2, state.getTerm());
+        Assert.assertEquals(NodeId.of("B"), state.getLeaderId());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesRpcLeader() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        node.electionTimeout();
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true));
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setTerm(2);
+        rpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(rpc, NodeId.of("B"), null));
+        MockConnector connector = (MockConnector) node.getContext().connector();
+        AppendEntriesResult result = (AppendEntriesResult) connector.getResult();
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertFalse(result.isSuccess());
+
         RoleState state = node.getRoleState();
         Assert.assertEquals(RoleName.LEADER, state.getRoleName());
         Assert.assertEquals(2, state.getTerm());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesResultPeerCatchUp() {
+    public void testOnReceiveAppendEntriesResultPeerCatchUp() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader
+        GroupMember member = node.getContext().group().findMember(NodeId.of("B"));
+        member.replicateNow();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("B"), createAppendEntriesRpc(1)));
+        Assert.assertEquals(1, member.getMatchIndex());
+
+        // send new commit index immediately
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        AppendEntriesRpc rpc = mockConnector.getMessages().stream()
+                .filter(m -> NodeId.of("B").equals(m.getDestinationNodeId()))
+                .map(m -> (AppendEntriesRpc) m.getRpc())
+                .findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(1, rpc.getLeaderCommit());
+        Assert.assertTrue(rpc.getEntries().isEmpty());
+
+        // nothing to send after commit index sent
+        mockConnector.clearMessage();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true),
+                NodeId.of("B"), rpc));
+        Assert.assertFalse(member.isReplicating());
+        Assert.assertEquals(0, mockConnector.getMessageCount());
+    }
+
+    @Test
+    public void testReplicateLogSkipHeartbeatWhenNotIdle() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        GroupMember member = node.getContext().group().findMember(NodeId.of("B"));
+        member.advanceReplicatingState(1);
+        member.replicateNow();
+        member.stopReplicating();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        node.replicateLog();
+        Assert.assertEquals(1, mockConnector.getMessageCount());
+        Assert.assertEquals(NodeId.of("C"), mockConnector.getLastMessage().getDestinationNodeId());
+    }
+
+    @Test
+    public void testReadIndexWhenFollower() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        try {
+            node.readIndex();
+            Assert.fail();
+        } catch (NotLeaderException e) {
+            Assert.assertEquals(RoleName.FOLLOWER, e.getRoleName());
+        }
+    }
+
+    @Test
+    public void testReadIndexStandalone() throws ExecutionException, InterruptedException {
+        NodeImpl node = (NodeImpl) newNodeBuilder(NodeId.of("A"), new NodeEndpoint("A", "localhost", 2333))
+                .build();
+        node.start();
+        node.electionTimeout(); // become leader, no-op 1
+        CompletableFuture<Integer> future = node.readIndex();
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(1, (int) future.get());
+        Assert.assertEquals(1, node.getContext().log().getCommitIndex());
+        Assert.assertEquals(2, node.getContext().log().getNextIndex()); // no log appended
+    }
+
+    @Test
+    public void testReadIndex() throws ExecutionException, InterruptedException {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        CompletableFuture<Integer> future = node.readIndex();
+        Assert.assertEquals(2, mockConnector.getMessageCount());
+        AppendEntriesRpc rpc = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        Assert.assertEquals(1, rpc.getReadIndexRound());
+        Assert.assertFalse(future.isDone());
+
+        // confirmed by B and wait for no-op log committed
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc.getMessageId(), 1, true),
+                NodeId.of("B"), rpc));
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(1, (int) future.get());
+        Assert.assertEquals(2, node.getContext().log().getNextIndex()); // no log appended
+    }
+
+    @Test
+    public void testReadIndexConfirmedByFailedResult() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        CompletableFuture<Integer> future = node.readIndex();
+        AppendEntriesRpc rpc = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc.getMessageId(), 1, false),
+                NodeId.of("B"), rpc));
+        Assert.assertTrue(node.getContext().group().isReadIndexRoundAckedByMajor(1));
+        Assert.assertFalse(future.isDone()); // no-op log not committed
+    }
+
+    @Test
+    public void testReadIndexBatch() throws ExecutionException, InterruptedException {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        CompletableFuture<Integer> future1 = node.readIndex();
+        AppendEntriesRpc rpc1 = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        mockConnector.clearMessage();
+
+        // round in flight
+        CompletableFuture<Integer> future2 = node.readIndex();
+        CompletableFuture<Integer> future3 = node.readIndex();
+        Assert.assertEquals(0, mockConnector.getMessageCount());
+
+        // round 1 confirmed, start round 2 for pending reads
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc1.getMessageId(), 1, true),
+                NodeId.of("B"), rpc1));
+        Assert.assertTrue(future1.isDone());
+        Assert.assertFalse(future2.isDone());
+        AppendEntriesRpc rpc2 = (AppendEntriesRpc) mockConnector.getMessages().stream()
+                .filter(m -> NodeId.of("B").equals(m.getDestinationNodeId()))
+                .reduce((m1, m2) -> m2).get().getRpc();
+        Assert.assertEquals(2, rpc2.getReadIndexRound());
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc2.getMessageId(), 1, true),
+                NodeId.of("B"), rpc2));
+        Assert.assertEquals(1, (int) future2.get());
+        Assert.assertEquals(1, (int) future3.get());
+    }
+
+    @Test
+    public void testReadIndexFailWhenStepDown() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        CompletableFuture<Integer> future = node.readIndex();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 2, false),
+                NodeId.of("B"), createAppendEntriesRpc(1)));
+        Assert.assertTrue(future.isCompletedExceptionally());
+        try {
+            future.join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof NotLeaderException);
+        }
+    }
+
+    @Test
+    public void testReadIndexLease() throws ExecutionException, InterruptedException {
+        NodeConfig config = new NodeConfig();
+        config.setLeaseRead(true);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).setConfig(config).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+
+        // no lease, fall back to round
+        CompletableFuture<Integer> future1 = node.readIndex();
+        AppendEntriesRpc rpc = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        Assert.assertTrue(rpc.getSentAt() > 0);
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc.getMessageId(), 1, true),
+                NodeId.of("B"), rpc));
+        Assert.assertEquals(1, (int) future1.get());
+
+        // within lease
+        mockConnector.clearMessage();
+        CompletableFuture<Integer> future2 = node.readIndex();
+        Assert.assertEquals(1, (int) future2.get());
+        Assert.assertEquals(0, mockConnector.getMessageCount());
+    }
+
+    @Test
+    public void testReadIndexLeaseAfterLeadershipTransferTimeout() throws ExecutionException, InterruptedException {
+        NodeConfig config = new NodeConfig();
+        config.setLeaseRead(true);
+        ManualScheduler scheduler = new ManualScheduler();
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).setConfig(config).setScheduler(scheduler).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+
+        // renew lease by round
+        CompletableFuture<Integer> future1 = node.readIndex();
+        AppendEntriesRpc rpc = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc.getMessageId(), 1, true),
+                NodeId.of("B"), rpc));
+        Assert.assertEquals(1, (int) future1.get());
+
+        // B caught up, timeout now rpc sent to B, then transfer timeout
+        mockConnector.clearMessage();
+        CompletableFuture<Void> transferFuture = node.transferLeadership(NodeId.of("B"));
+        Assert.assertTrue(mockConnector.getRpc() instanceof TimeoutNowRpc);
+        scheduler.runTasks();
+        Assert.assertTrue(transferFuture.isCompletedExceptionally());
+
+        // B may be elected, lease is not valid, confirm in round
+        mockConnector.clearMessage();
+        CompletableFuture<Integer> future2 = node.readIndex();
+        Assert.assertFalse(future2.isDone());
+    }
+
+    @Test
+    public void testReadIndexLeaseExpired() {
+        NodeConfig config = new NodeConfig();
+        config.setLeaseRead(true);
+        config.setLeaseClockDrift(config.getMinElectionTimeout());
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).setConfig(config).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        node.readIndex();
+        AppendEntriesRpc rpc = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(rpc.getMessageId(), 1, true),
+                NodeId.of("B"), rpc));
+
+        // lease lasts 0 ms, fall back to round
+        CompletableFuture<Integer> future = node.readIndex();
+        Assert.assertFalse(future.isDone());
+    }
+
+    @Test
+    public void testReadIndexFollower() throws ExecutionException, InterruptedException {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+
+        CompletableFuture<Integer> future = node.readIndex();
+        Assert.assertEquals(NodeId.of("B"), mockConnector.getDestinationNodeId());
+        ReadIndexRpc rpc = (ReadIndexRpc) mockConnector.getRpc();
+        Assert.assertEquals(1, rpc.getTerm());
+        node.onReceiveReadIndexResult(new ReadIndexResult(rpc.getMessageId(), 1, true, 1));
+        Assert.assertFalse(future.isDone());
+
+        // wait for log 1 committed
+        appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        appendEntriesRpc.setEntries(Collections.singletonList(new NoOpEntry(1, 1)));
+        appendEntriesRpc.setLeaderCommit(1);
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        Assert.assertEquals(1, (int) future.get());
+    }
+
+    @Test
+    public void testReadIndexFollowerTimeout() throws InterruptedException {
+        NodeConfig config = new NodeConfig();
+        config.setForwardedReadTimeout(50);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
+                .setScheduler(new OneShotScheduler())
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+
+        // result lost
+        CompletableFuture<Integer> future = node.readIndex();
+        ReadIndexRpc rpc = (ReadIndexRpc) mockConnector.getRpc();
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        } catch (TimeoutException e) {
+            Assert.fail("forwarded read not expired");
+        }
+
+        // late result is ignored
+        node.onReceiveReadIndexResult(new ReadIndexResult(rpc.getMessageId(), 1, true, 1));
+        Assert.assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testReadIndexFollowerLeaderChanged() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        AppendEntriesRpc appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(1);
+        appendEntriesRpc.setLeaderId(NodeId.of("B"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("B"), null));
+        CompletableFuture<Integer> future = node.readIndex();
+
+        // C becomes leader
+        appendEntriesRpc = new AppendEntriesRpc();
+        appendEntriesRpc.setTerm(2);
+        appendEntriesRpc.setLeaderId(NodeId.of("C"));
+        node.onReceiveAppendEntriesRpc(new AppendEntriesRpcMessage(appendEntriesRpc, NodeId.of("C"), null));
+        Assert.assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testOnReceiveReadIndexRpc() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335)
+        ).build();
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader, no-op 1
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        ReadIndexRpc rpc = new ReadIndexRpc();
+        rpc.setMessageId("r1");
+        rpc.setTerm(1);
+        node.onReceiveReadIndexRpc(new ReadIndexRpcMessage(rpc, NodeId.of("C"), null));
+        AppendEntriesRpc appendEntriesRpc = (AppendEntriesRpc) mockConnector.getMessages().get(0).getRpc();
+        Assert.assertEquals(1, appendEntriesRpc.getReadIndexRound());
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult(appendEntriesRpc.getMessageId(), 1, true),
+                NodeId.of("B"), appendEntriesRpc));
+        ReadIndexResult result = (ReadIndexResult) mockConnector.getMessages().stream()
+                .filter(m -> m.getResult() instanceof ReadIndexResult)
+                .findFirst().get().getResult();
+        Assert.assertEquals("r1", result.getRpcMessageId());
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(1, result.getReadIndex());
+    }
+
+    @Test
+    public void testOnReceiveReadIndexRpcNotLeader() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        ReadIndexRpc rpc = new ReadIndexRpc();
+        rpc.setMessageId("r1");
+        rpc.setTerm(1);
+        node.onReceiveReadIndexRpc(new ReadIndexRpcMessage(rpc, NodeId.of("C"), null));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        ReadIndexResult result = (ReadIndexResult) mockConnector.getResult();
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(1, result.getTerm());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesResultPeerNotCatchUp() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
@@ -1111,34 +2238,65 @@ public class NodeImplTest {
         member.replicateNow();
         node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
                 new AppendEntriesResult("", 1, true),
-                NodeId.of("B"), createAppendEntriesRpc(1)));
-        Assert.assertFalse(member.isReplicating());
-        Assert.assertEquals(1, member.getMatchIndex());
+                NodeId.of("B"), createAppendEntriesRpc(0)));
+        Assert.assertTrue(member.isReplicating());
+        Assert.assertEquals(0, member.getMatchIndex());
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        Assert.assertEquals(2, mockConnector.getMessageCount());
+        MockConnector.Message message = mockConnector.getLastMessage();
+        Assert.assertTrue(message.getRpc() instanceof AppendEntriesRpc);
+        Assert.assertEquals(NodeId.of("B"), message.getDestinationNodeId());
     }
 
     @Test
-    public void testOnReceiveAppendEntriesResultPeerNotCatchUp() {
+    public void testOnReceiveAppendEntriesResultPipelining() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
                 NodeId.of("A"),
                 new NodeEndpoint("A", "localhost", 2333),
                 new NodeEndpoint("B", "localhost", 2334),
-                new NodeEndpoint("C", "localhost", 2335)
-        ).build();
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().appendEntry(1); // 2
         node.start();
         node.electionTimeout(); // become candidate
-        node.onReceiveRequestVoteResult(new RequestVoteResult(1, true)); // become leader
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true)); // become leader, no-op 3
         GroupMember member = node.getContext().group().findMember(NodeId.of("B"));
         member.replicateNow();
         node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
-                new AppendEntriesResult("", 1, true),
-                NodeId.of("B"), createAppendEntriesRpc(0)));
-        Assert.assertTrue(member.isReplicating());
-        Assert.assertEquals(0, member.getMatchIndex());
+                new AppendEntriesResult("", 2, true),
+                NodeId.of("B"), createAppendEntriesRpc(3)));
         MockConnector mockConnector = (MockConnector) node.getContext().connector();
-        Assert.assertEquals(2, mockConnector.getMessageCount());
-        MockConnector.Message message = mockConnector.getLastMessage();
-        Assert.assertTrue(message.getRpc() instanceof AppendEntriesRpc);
-        Assert.assertEquals(NodeId.of("B"), message.getDestinationNodeId());
+        Assert.assertTrue(mockConnector.getMessages().stream()
+                .anyMatch(m -> NodeId.of("B").equals(m.getDestinationNodeId()) && ((AppendEntriesRpc) m.getRpc()).getLeaderCommit() == 3));
+        mockConnector.clearMessage();
+        node.getContext().log().appendEntry(2, new byte[0]); // 4
+        node.replicateLog();
+        Assert.assertEquals(5, member.getNextIndex());
+        node.getContext().log().appendEntry(2, new byte[0]); // 5
+        node.replicateLog(); // send before result of previous rpc
+        Assert.assertEquals(6, member.getNextIndex());
+        List<AppendEntriesRpc> rpcs = mockConnector.getMessages().stream()
+                .filter(m -> NodeId.of("B").equals(m.getDestinationNodeId()) && m.getRpc() instanceof AppendEntriesRpc)
+                .map(m -> (AppendEntriesRpc) m.getRpc())
+                .collect(Collectors.toList());
+        Assert.assertEquals(2, rpcs.size());
+        Assert.assertEquals(3, rpcs.get(0).getPrevLogIndex());
+        Assert.assertEquals(4, rpcs.get(1).getPrevLogIndex());
+
+        // rejected, rewind and ignore result of the following rpc
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 2, false),
+                NodeId.of("B"), rpcs.get(0)));
+        Assert.assertEquals(3, member.getNextIndex());
+        mockConnector.clearMessage();
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 2, false),
+                NodeId.of("B"), rpcs.get(1)));
+        Assert.assertEquals(3, member.getNextIndex());
+        Assert.assertTrue(member.isReplicating());
+        Assert.assertEquals(0, mockConnector.getMessageCount());
     }
 
     @Test
@@ -1182,6 +2340,83 @@ public class NodeImplTest {
         Assert.assertEquals(0, member.getMatchIndex());
     }
 
+    @Test
+    public void testOnReceiveAppendEntriesResultBackOffByConflictIndex() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(3, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().appendEntry(1); // 2
+        node.getContext().log().appendEntry(3); // 3
+        node.getContext().log().appendEntry(3); // 4
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(4, true)); // become leader
+        GroupMember member = node.getContext().group().findMember(NodeId.of("B"));
+        member.replicateNow();
+        Assert.assertEquals(5, member.getNextIndex());
+        // follower: (1, 1), (2, 1), (3, 2), (4, 2)
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 4, false, 2, 3),
+                NodeId.of("B"), createAppendEntriesRpc(4)));
+        Assert.assertEquals(3, member.getNextIndex());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesResultBackOffByConflictTerm() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(3, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().appendEntry(1); // 2
+        node.getContext().log().appendEntry(3); // 3
+        node.getContext().log().appendEntry(3); // 4
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(4, true)); // become leader
+        GroupMember member = node.getContext().group().findMember(NodeId.of("B"));
+        member.replicateNow();
+        // follower: (1, 1), (2, 1), (3, 1), (4, 1)
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 4, false, 1, 1),
+                NodeId.of("B"), createAppendEntriesRpc(4)));
+        Assert.assertEquals(3, member.getNextIndex());
+    }
+
+    @Test
+    public void testOnReceiveAppendEntriesResultBackOffHintEqualsToNextIndex() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(3, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().appendEntry(1); // 2
+        node.getContext().log().appendEntry(3); // 3
+        node.getContext().log().appendEntry(3); // 4
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(4, true)); // become leader
+        GroupMember member = node.getContext().group().findMember(NodeId.of("B"));
+        member.replicateNow();
+        Assert.assertEquals(5, member.getNextIndex());
+        node.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 4, false, 0, 5),
+                NodeId.of("B"), createAppendEntriesRpc(4)));
+        Assert.assertTrue(member.isReplicating());
+        Assert.assertEquals(4, member.getNextIndex());
+    }
+
     @Test
     public void testOnReceiveAppendEntriesResultBackOffFailed() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
@@ -1414,6 +2649,293 @@ public class NodeImplTest {
         Assert.assertTrue(mockConnector.getRpc() instanceof InstallSnapshotRpc);
     }
 
+    @Test
+    public void testReplicateLogTransferSnapshotFromFollower() {
+        NodeConfig config = new NodeConfig();
+        config.setSnapshotTransferFromFollower(true);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true)); // become leader
+        node.getContext().group().findMember(NodeId.of("B")).advanceReplicatingState(2);
+        node.getContext().group().findMember(NodeId.of("C")).setReplicatingState(new ReplicatingState(1));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        node.replicateLog();
+        MockConnector.Message message = mockConnector.getMessages().stream()
+                .filter(m -> m.getRpc() instanceof TransferSnapshotRpc)
+                .findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(NodeId.of("B"), message.getDestinationNodeId());
+        TransferSnapshotRpc rpc = (TransferSnapshotRpc) message.getRpc();
+        Assert.assertEquals(NodeId.of("C"), rpc.getTarget().getId());
+        Assert.assertEquals(NodeId.of("A"), rpc.getLeaderId());
+        Assert.assertEquals(1, rpc.getMinLastIndex());
+    }
+
+    @Test
+    public void testReplicateLogTransferSnapshotInFlight() {
+        NodeConfig config = new NodeConfig();
+        config.setSnapshotTransferFromFollower(true);
+        config.setLogReplicationReadTimeout(0);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true)); // become leader
+        node.getContext().group().findMember(NodeId.of("B")).advanceReplicatingState(2);
+        node.getContext().group().findMember(NodeId.of("C")).setReplicatingState(new ReplicatingState(1));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        node.replicateLog(); // direct B to transfer snapshot to C
+        mockConnector.clearMessage();
+
+        // no response within read timeout
+        node.replicateLog();
+        Assert.assertTrue(mockConnector.getMessages().stream().noneMatch(m ->
+                m.getRpc() instanceof TransferSnapshotRpc || m.getRpc() instanceof InstallSnapshotRpc));
+
+        // transfer done
+        node.onReceiveTransferSnapshotResult(new TransferSnapshotResult(2, NodeId.of("C"), true, 1));
+        Assert.assertEquals(NodeId.of("C"), mockConnector.getDestinationNodeId());
+        Assert.assertTrue(mockConnector.getRpc() instanceof AppendEntriesRpc);
+    }
+
+    @Test
+    public void testReplicateLogTransferSnapshotTimeout() {
+        NodeConfig config = new NodeConfig();
+        config.setSnapshotTransferFromFollower(true);
+        config.setSnapshotTransferTimeout(0);
+        config.setLogReplicationReadTimeout(0);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setConfig(config)
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true)); // become leader
+        node.getContext().group().findMember(NodeId.of("B")).advanceReplicatingState(2);
+        node.getContext().group().findMember(NodeId.of("C")).setReplicatingState(new ReplicatingState(1));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        node.replicateLog(); // direct B to transfer snapshot to C
+        mockConnector.clearMessage();
+        node.replicateLog();
+        MockConnector.Message message = mockConnector.getMessages().stream()
+                .filter(m -> m.getRpc() instanceof InstallSnapshotRpc)
+                .findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(NodeId.of("C"), message.getDestinationNodeId());
+    }
+
+    @Test
+    public void testReplicateLogNoFollowerToTransferSnapshot() {
+        NodeConfig config = new NodeConfig();
+        config.setSnapshotTransferFromFollower(true);
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334))
+                .setConfig(config)
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        node.electionTimeout(); // become candidate
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true)); // become leader
+        node.getContext().group().findMember(NodeId.of("B")).setReplicatingState(new ReplicatingState(1));
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        mockConnector.clearMessage();
+        node.replicateLog();
+        Assert.assertEquals(NodeId.of("B"), mockConnector.getDestinationNodeId());
+        Assert.assertTrue(mockConnector.getRpc() instanceof InstallSnapshotRpc);
+    }
+
+    @Test
+    public void testOnReceiveTransferSnapshotRpc() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        TransferSnapshotRpc rpc = new TransferSnapshotRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        rpc.setTarget(new NodeEndpoint("C", "localhost", 2335));
+        rpc.setMinLastIndex(1);
+        TransferSnapshotRpcMessage rpcMessage = new TransferSnapshotRpcMessage(rpc, NodeId.of("B"), null);
+        node.onReceiveTransferSnapshotRpc(rpcMessage);
+        Assert.assertEquals(NodeId.of("C"), mockConnector.getDestinationNodeId());
+        InstallSnapshotRpc installSnapshotRpc = (InstallSnapshotRpc) mockConnector.getRpc();
+        Assert.assertEquals(1, installSnapshotRpc.getTerm());
+        Assert.assertEquals(NodeId.of("B"), installSnapshotRpc.getLeaderId());
+        Assert.assertEquals(1, installSnapshotRpc.getLastIndex());
+        Assert.assertTrue(installSnapshotRpc.isDone());
+
+        // target node installed snapshot
+        node.onReceiveInstallSnapshotResult(new InstallSnapshotResultMessage(
+                new InstallSnapshotResult(1), NodeId.of("C"), installSnapshotRpc));
+        Assert.assertEquals(NodeId.of("B"), mockConnector.getDestinationNodeId());
+        TransferSnapshotResult result = (TransferSnapshotResult) mockConnector.getResult();
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(NodeId.of("C"), result.getTargetId());
+        Assert.assertEquals(1, result.getLastIndex());
+    }
+
+    @Test
+    public void testOnReceiveTransferSnapshotRpcDuplicate() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        TransferSnapshotRpc rpc = new TransferSnapshotRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        rpc.setTarget(new NodeEndpoint("C", "localhost", 2335));
+        rpc.setMinLastIndex(1);
+        node.onReceiveTransferSnapshotRpc(new TransferSnapshotRpcMessage(rpc, NodeId.of("B"), null));
+        InstallSnapshotRpc installSnapshotRpc = (InstallSnapshotRpc) mockConnector.getRpc();
+        mockConnector.clearMessage();
+
+        // leader directs again during transfer
+        node.onReceiveTransferSnapshotRpc(new TransferSnapshotRpcMessage(rpc, NodeId.of("B"), null));
+        Assert.assertEquals(0, mockConnector.getMessageCount());
+
+        // result of first transfer
+        node.onReceiveInstallSnapshotResult(new InstallSnapshotResultMessage(
+                new InstallSnapshotResult(1), NodeId.of("C"), installSnapshotRpc));
+        Assert.assertEquals(1, mockConnector.getMessageCount());
+        Assert.assertTrue(((TransferSnapshotResult) mockConnector.getResult()).isSuccess());
+    }
+
+    @Test
+    public void testOnReceiveTransferSnapshotRpcTermChanged() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.getContext().log().appendEntry(1); // 1
+        node.getContext().log().advanceCommitIndex(1, 1);
+        node.getContext().log().generateSnapshot(1, Collections.emptySet());
+        node.start();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        TransferSnapshotRpc rpc = new TransferSnapshotRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        rpc.setTarget(new NodeEndpoint("C", "localhost", 2335));
+        rpc.setMinLastIndex(1);
+        node.onReceiveTransferSnapshotRpc(new TransferSnapshotRpcMessage(rpc, NodeId.of("B"), null));
+        InstallSnapshotRpc installSnapshotRpc = (InstallSnapshotRpc) mockConnector.getRpc();
+        node.electionTimeout(); // become candidate, transfer dropped
+        mockConnector.clearMessage();
+        node.onReceiveInstallSnapshotResult(new InstallSnapshotResultMessage(
+                new InstallSnapshotResult(1), NodeId.of("C"), installSnapshotRpc));
+        Assert.assertEquals(0, mockConnector.getMessageCount());
+    }
+
+    @Test
+    public void testOnReceiveTransferSnapshotRpcOlderSnapshot() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        node.start();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        TransferSnapshotRpc rpc = new TransferSnapshotRpc();
+        rpc.setTerm(1);
+        rpc.setLeaderId(NodeId.of("B"));
+        rpc.setTarget(new NodeEndpoint("C", "localhost", 2335));
+        rpc.setMinLastIndex(1);
+        node.onReceiveTransferSnapshotRpc(new TransferSnapshotRpcMessage(rpc, NodeId.of("B"), null));
+        Assert.assertEquals(NodeId.of("B"), mockConnector.getDestinationNodeId());
+        TransferSnapshotResult result = (TransferSnapshotResult) mockConnector.getResult();
+        Assert.assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void testOnReceiveTransferSnapshotResult() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        node.start();
+        node.electionTimeout();
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true));
+        mockConnector.clearMessage();
+        node.onReceiveTransferSnapshotResult(new TransferSnapshotResult(2, NodeId.of("C"), true, 0));
+        Assert.assertEquals(NodeId.of("C"), mockConnector.getDestinationNodeId());
+        AppendEntriesRpc rpc = (AppendEntriesRpc) mockConnector.getRpc();
+        Assert.assertEquals(0, rpc.getPrevLogIndex());
+    }
+
+    @Test
+    public void testOnReceiveTransferSnapshotResultFailed() {
+        NodeImpl node = (NodeImpl) newNodeBuilder(
+                NodeId.of("A"),
+                new NodeEndpoint("A", "localhost", 2333),
+                new NodeEndpoint("B", "localhost", 2334),
+                new NodeEndpoint("C", "localhost", 2335))
+                .setStore(new MemoryNodeStore(1, null))
+                .build();
+        MockConnector mockConnector = (MockConnector) node.getContext().connector();
+        node.start();
+        node.electionTimeout();
+        node.onReceiveRequestVoteResult(new RequestVoteResult(2, true));
+        mockConnector.clearMessage();
+        node.onReceiveTransferSnapshotResult(new TransferSnapshotResult(2, NodeId.of("C"), false, 0));
+        Assert.assertEquals(NodeId.of("C"), mockConnector.getDestinationNodeId());
+        Assert.assertTrue(mockConnector.getRpc() instanceof InstallSnapshotRpc);
+    }
+
     @Test
     public void testOnGroupConfigEntryFromLeaderAppend() {
         NodeImpl node = (NodeImpl) newNodeBuilder(
@@ -0,0 +1,103 @@
+package in.xnnyygn.xraft.core.node;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ReadIndexTrackerTest {
+
+    @Test
+    public void testAdd() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        Assert.assertTrue(tracker.add(new CompletableFuture<>()));
+        Assert.assertTrue(tracker.add(new CompletableFuture<>()));
+        tracker.startRound(0);
+        Assert.assertFalse(tracker.add(new CompletableFuture<>()));
+    }
+
+    @Test
+    public void testStartRound() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        tracker.reset(5);
+        tracker.add(new CompletableFuture<>());
+        Assert.assertEquals(1, tracker.startRound(3));
+        Assert.assertEquals(1, tracker.getRound());
+        Assert.assertEquals(1, tracker.getInflightRound());
+        Assert.assertFalse(tracker.confirmRound());
+        Assert.assertEquals(0, tracker.getInflightRound());
+        Assert.assertTrue(tracker.pollReadable(4).isEmpty());
+        List<ReadIndexTracker.Batch> batches = tracker.pollReadable(5);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(5, batches.get(0).getReadIndex());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStartRoundNoPendingRead() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        tracker.startRound(0);
+    }
+
+    @Test
+    public void testConfirmRoundPendingReads() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        CompletableFuture<Integer> future1 = new CompletableFuture<>();
+        CompletableFuture<Integer> future2 = new CompletableFuture<>();
+        tracker.add(future1);
+        tracker.startRound(1);
+        tracker.add(future2);
+        Assert.assertTrue(tracker.confirmRound());
+        Assert.assertEquals(2, tracker.startRound(2));
+        tracker.confirmRound();
+        List<ReadIndexTracker.Batch> batches = tracker.pollReadable(2);
+        Assert.assertEquals(2, batches.size());
+        batches.forEach(ReadIndexTracker.Batch::complete);
+        Assert.assertEquals(1, (int) future1.join());
+        Assert.assertEquals(2, (int) future2.join());
+    }
+
+    @Test
+    public void testConfirmRoundFollowerRead() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        tracker.reset(5);
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        Assert.assertTrue(tracker.addFromFollower(future));
+        tracker.startRound(3);
+        Assert.assertFalse(tracker.confirmRound());
+        // completed before commit index reaches read index
+        Assert.assertEquals(5, (int) future.join());
+        Assert.assertTrue(tracker.pollReadable(5).isEmpty());
+    }
+
+    @Test
+    public void testConfirmFromFollower() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        tracker.reset(5);
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        tracker.confirmFromFollower(future, 3);
+        Assert.assertEquals(5, (int) future.join());
+    }
+
+    @Test
+    public void testFailAll() {
+        ReadIndexTracker tracker = new ReadIndexTracker();
+        CompletableFuture<Integer> future1 = new CompletableFuture<>();
+        CompletableFuture<Integer> future2 = new CompletableFuture<>();
+        CompletableFuture<Integer> future3 = new CompletableFuture<>();
+        tracker.add(future1);
+        tracker.startRound(1);
+        tracker.confirmRound();
+        tracker.add(future2);
+        tracker.startRound(1);
+        tracker.add(future3);
+        tracker.failAll(new IllegalStateException());
+        Assert.assertTrue(future1.isCompletedExceptionally());
+        Assert.assertTrue(future2.isCompletedExceptionally());
+        Assert.assertTrue(future3.isCompletedExceptionally());
+        Assert.assertEquals(0, tracker.getInflightRound());
+        Assert.assertTrue(tracker.pollReadable(1).isEmpty());
+        Assert.assertEquals(2, tracker.getRound());
+    }
+
+}
@@ -26,6 +26,19 @@ public class DefaultNodeConfigLoaderTest {
         Assert.assertEquals(10, config.getMaxReplicationEntries());
     }
 
+    @Test
+    public void testLoadLongValue() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Properties p = new Properties();
+        p.setProperty("snapshot.threshold.bytes", "4294967296");
+        p.store(output, "");
+
+        DefaultNodeConfigLoader loader = new DefaultNodeConfigLoader();
+        NodeConfig config = loader.load(new ByteArrayInputStream(output.toByteArray()));
+        Assert.assertEquals(4294967296L, config.getSnapshotByteThreshold());
+    }
+
     @Test
     public void testLoadIllegalValue() throws IOException {
         ByteArrayOutputStream output = new ByteArrayOutputStream();
@@ -24,6 +24,33 @@ public class LeaderNodeRoleTest {
         Assert.assertEquals(1, state.getTerm());
     }
 
+    @Test
+    public void testRenewLease() {
+        LeaderNodeRole role = new LeaderNodeRole(1, LogReplicationTask.NONE);
+        Assert.assertFalse(role.isLeaseValid(100));
+        role.renewLease(100, 200);
+        Assert.assertTrue(role.isLeaseValid(150));
+        Assert.assertFalse(role.isLeaseValid(200));
+
+        // not shortened
+        role.renewLease(50, 150);
+        Assert.assertTrue(role.isLeaseValid(180));
+    }
+
+    @Test
+    public void testExpireLease() {
+        LeaderNodeRole role = new LeaderNodeRole(1, LogReplicationTask.NONE);
+        role.renewLease(100, 200);
+        role.expireLease(150);
+        Assert.assertFalse(role.isLeaseValid(160));
+
+        // lease started before expired
+        role.renewLease(120, 300);
+        Assert.assertFalse(role.isLeaseValid(160));
+        role.renewLease(160, 300);
+        Assert.assertTrue(role.isLeaseValid(170));
+    }
+
     @Test
     public void testStateEquals() {
         LeaderNodeRole role1 = new LeaderNodeRole(1, LogReplicationTask.NONE);
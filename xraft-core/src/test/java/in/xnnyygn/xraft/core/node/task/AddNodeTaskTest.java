@@ -2,6 +2,10 @@ package in.xnnyygn.xraft.core.node.task;
 
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.node.config.NodeConfig;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResult;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResultMessage;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesRpc;
 import in.xnnyygn.xraft.core.support.ListeningTaskExecutor;
 import in.xnnyygn.xraft.core.support.TaskExecutor;
 import org.junit.AfterClass;
@@ -38,6 +42,39 @@ public class AddNodeTaskTest {
         Assert.assertEquals(GroupConfigChangeTaskResult.OK, future.get());
     }
 
+    @Test
+    public void testIndexesOfCatchUpTask() throws InterruptedException, ExecutionException {
+        NodeEndpoint endpoint = new NodeEndpoint("D", "localhost", 2336);
+        WaitableNewNodeCatchUpTaskContext catchUpTaskContext = new WaitableNewNodeCatchUpTaskContext();
+        NewNodeCatchUpTask catchUpTask = new NewNodeCatchUpTask(catchUpTaskContext, endpoint, new NodeConfig());
+        catchUpTask.start();
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setPrevLogIndex(2);
+        catchUpTask.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true), NodeId.of("D"), rpc), 3);
+        Assert.assertTrue(catchUpTask.getFuture().isDone());
+
+        // log appended when task in queue
+        catchUpTask.followLog(4);
+        rpc.setPrevLogIndex(3);
+        catchUpTask.onReceiveAppendEntriesResult(new AppendEntriesResultMessage(
+                new AppendEntriesResult("", 1, true), NodeId.of("D"), rpc), 4);
+
+        WaitableGroupConfigChangeTaskContext taskContext = new WaitableGroupConfigChangeTaskContext();
+        AddNodeTask task = new AddNodeTask(taskContext, endpoint, catchUpTask);
+        Future<GroupConfigChangeTaskResult> future = taskExecutor.submit(task);
+        taskContext.awaitLogAppended();
+        Assert.assertEquals(4, taskContext.getNextIndex());
+        Assert.assertEquals(3, taskContext.getMatchIndex());
+        task.onLogCommitted();
+        Assert.assertEquals(GroupConfigChangeTaskResult.OK, future.get());
+
+        // catch up task cancelled
+        int replicateCount = catchUpTaskContext.getReplicateCount();
+        catchUpTask.followLog(5);
+        Assert.assertEquals(replicateCount, catchUpTaskContext.getReplicateCount());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testOnLogCommittedLogNotAppended() {
         AddNodeTask task = new AddNodeTask(
@@ -6,13 +6,10 @@ import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResult;
 import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResultMessage;
 import in.xnnyygn.xraft.core.rpc.message.AppendEntriesRpc;
-import in.xnnyygn.xraft.core.support.SingleThreadTaskExecutor;
-import in.xnnyygn.xraft.core.support.TaskExecutor;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
 public class NewNodeCatchUpTaskGroupTest {
 
@@ -63,9 +60,7 @@ public class NewNodeCatchUpTaskGroupTest {
                 new NodeConfig()
         );
         group.add(task);
-        TaskExecutor taskExecutor = new SingleThreadTaskExecutor();
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         AppendEntriesRpc rpc = new AppendEntriesRpc();
         rpc.setPrevLogIndex(1);
         Assert.assertTrue(group.onReceiveAppendEntriesResult(
@@ -76,8 +71,7 @@ public class NewNodeCatchUpTaskGroupTest {
                 ),
                 2
         ));
-        future.get();
-        taskExecutor.shutdown();
+        Assert.assertEquals(NewNodeCatchUpTaskResult.State.OK, task.getFuture().get().getState());
     }
 
     @Test
@@ -4,25 +4,13 @@ import in.xnnyygn.xraft.core.node.config.NodeConfig;
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
 import in.xnnyygn.xraft.core.node.NodeId;
 import in.xnnyygn.xraft.core.rpc.message.*;
-import in.xnnyygn.xraft.core.support.SingleThreadTaskExecutor;
-import in.xnnyygn.xraft.core.support.TaskExecutor;
-import org.junit.AfterClass;
 import org.junit.Assert;
-import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
 public class NewNodeCatchUpTaskTest {
 
-    private static TaskExecutor taskExecutor;
-
-    @BeforeClass
-    public static void beforeClass() {
-        taskExecutor = new SingleThreadTaskExecutor();
-    }
-
     @Test
     public void testNoResponseWithinTimeout() throws Exception {
         NodeConfig config = new NodeConfig();
@@ -32,7 +20,10 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 config
         );
-        NewNodeCatchUpTaskResult result = task.call();
+        task.start();
+        Thread.sleep(2);
+        task.checkReadTimeout();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.TIMEOUT, result.getState());
     }
 
@@ -44,8 +35,7 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 new NodeConfig()
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         task.onReceiveAppendEntriesResult(
                 new AppendEntriesResultMessage(
                         new AppendEntriesResult("", 1, false),
@@ -54,7 +44,7 @@ public class NewNodeCatchUpTaskTest {
                 ),
                 1
         );
-        NewNodeCatchUpTaskResult result = future.get();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.REPLICATION_FAILED, result.getState());
     }
 
@@ -68,8 +58,7 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 config
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         task.onReceiveAppendEntriesResult(
                 new AppendEntriesResultMessage(
                         new AppendEntriesResult("", 1, false),
@@ -78,7 +67,7 @@ public class NewNodeCatchUpTaskTest {
                 ),
                 2
         );
-        NewNodeCatchUpTaskResult result = future.get();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.TIMEOUT, result.getState());
     }
 
@@ -89,35 +78,73 @@ public class NewNodeCatchUpTaskTest {
     }
 
     @Test
-    public void testExceedMaxRound() throws ExecutionException, InterruptedException {
+    public void testStreaming() throws ExecutionException, InterruptedException {
         WaitableNewNodeCatchUpTaskContext taskContext = new WaitableNewNodeCatchUpTaskContext();
-        NodeConfig config = new NodeConfig();
-        config.setNewNodeMaxRound(2);
         NewNodeCatchUpTask task = new NewNodeCatchUpTask(
                 taskContext,
                 new NodeEndpoint("D", "localhost", 2336),
-                config
+                new NodeConfig()
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
+        // no round limit
+        for (int i = 1; i < 20; i++) {
+            task.onReceiveAppendEntriesResult(
+                    new AppendEntriesResultMessage(
+                            new AppendEntriesResult("", 1, true),
+                            NodeId.of("D"),
+                            createAppendEntriesRpc(i)
+                    ),
+                    21
+            );
+        }
+        Assert.assertFalse(task.getFuture().isDone());
+        Assert.assertEquals(20, taskContext.getReplicateCount());
         task.onReceiveAppendEntriesResult(
                 new AppendEntriesResultMessage(
                         new AppendEntriesResult("", 1, true),
                         NodeId.of("D"),
-                        createAppendEntriesRpc(1)
+                        createAppendEntriesRpc(20)
                 ),
-                10
+                21
+        );
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
+        Assert.assertEquals(NewNodeCatchUpTaskResult.State.OK, result.getState());
+        Assert.assertEquals(21, result.getNextIndex());
+    }
+
+    @Test
+    public void testReadTimeoutRescheduled() {
+        WaitableNewNodeCatchUpTaskContext taskContext = new WaitableNewNodeCatchUpTaskContext();
+        NewNodeCatchUpTask task = new NewNodeCatchUpTask(
+                taskContext,
+                new NodeEndpoint("D", "localhost", 2336),
+                new NodeConfig()
         );
+        task.start();
+        taskContext.runScheduledTask();
+        Assert.assertFalse(task.getFuture().isDone());
+    }
+
+    @Test
+    public void testCancel() throws ExecutionException, InterruptedException {
+        NewNodeCatchUpTask task = new NewNodeCatchUpTask(
+                new WaitableNewNodeCatchUpTaskContext(),
+                new NodeEndpoint("D", "localhost", 2336),
+                new NodeConfig()
+        );
+        task.start();
+        task.cancel();
+        Assert.assertEquals(NewNodeCatchUpTaskResult.State.CANCELLED, task.getFuture().get().getState());
+
+        // ignore result after done
         task.onReceiveAppendEntriesResult(
                 new AppendEntriesResultMessage(
                         new AppendEntriesResult("", 1, true),
                         NodeId.of("D"),
-                        createAppendEntriesRpc(2)
+                        createAppendEntriesRpc(1)
                 ),
-                10
+                2
         );
-        NewNodeCatchUpTaskResult result = future.get();
-        Assert.assertEquals(NewNodeCatchUpTaskResult.State.TIMEOUT, result.getState());
     }
 
     @Test
@@ -128,8 +155,7 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 new NodeConfig()
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         task.onReceiveAppendEntriesResult(
                 new AppendEntriesResultMessage(
                         new AppendEntriesResult("", 1, true),
@@ -146,12 +172,57 @@ public class NewNodeCatchUpTaskTest {
                 ),
                 3
         );
-        NewNodeCatchUpTaskResult result = future.get();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.OK, result.getState());
         Assert.assertEquals(3, result.getNextIndex());
         Assert.assertEquals(2, result.getMatchIndex());
     }
 
+    @Test
+    public void testFollowLogAfterCatchUp() throws ExecutionException, InterruptedException {
+        WaitableNewNodeCatchUpTaskContext taskContext = new WaitableNewNodeCatchUpTaskContext();
+        NewNodeCatchUpTask task = new NewNodeCatchUpTask(
+                taskContext,
+                new NodeEndpoint("D", "localhost", 2336),
+                new NodeConfig()
+        );
+        task.start();
+        task.onReceiveAppendEntriesResult(
+                new AppendEntriesResultMessage(
+                        new AppendEntriesResult("", 1, true),
+                        NodeId.of("D"),
+                        createAppendEntriesRpc(1)
+                ),
+                2
+        );
+        Assert.assertEquals(2, task.getFuture().get().getNextIndex());
+        Assert.assertEquals(1, taskContext.getReplicateCount());
+
+        // nothing to replicate
+        task.followLog(2);
+        Assert.assertEquals(1, taskContext.getReplicateCount());
+
+        // replicate once until result received
+        task.followLog(3);
+        task.followLog(3);
+        Assert.assertEquals(2, taskContext.getReplicateCount());
+        task.onReceiveAppendEntriesResult(
+                new AppendEntriesResultMessage(
+                        new AppendEntriesResult("", 1, true),
+                        NodeId.of("D"),
+                        createAppendEntriesRpc(2)
+                ),
+                3
+        );
+        Assert.assertEquals(3, task.getNextIndex());
+        Assert.assertEquals(2, task.getMatchIndex());
+
+        // no more replication after cancelled
+        task.cancel();
+        task.followLog(4);
+        Assert.assertEquals(2, taskContext.getReplicateCount());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testInstallSnapshotIllegalState() {
         NewNodeCatchUpTask task = new NewNodeCatchUpTask(
@@ -174,8 +245,7 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 new NodeConfig()
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         InstallSnapshotRpc rpc = new InstallSnapshotRpc();
         rpc.setLastIndex(2);
         rpc.setData(new byte[0]);
@@ -185,7 +255,7 @@ public class NewNodeCatchUpTaskTest {
                 NodeId.of("D"),
                 rpc
         ), 3);
-        NewNodeCatchUpTaskResult result = future.get();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.OK, result.getState());
         Assert.assertEquals(2, result.getMatchIndex());
         Assert.assertEquals(3, result.getNextIndex());
@@ -200,8 +270,7 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 new NodeConfig()
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         InstallSnapshotRpc rpc = new InstallSnapshotRpc();
         rpc.setLastIndex(2);
         rpc.setData(new byte[0]);
@@ -216,7 +285,7 @@ public class NewNodeCatchUpTaskTest {
                 NodeId.of("D"),
                 rpc
         ), 3);
-        NewNodeCatchUpTaskResult result = future.get();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.OK, result.getState());
         Assert.assertEquals(2, result.getMatchIndex());
         Assert.assertEquals(3, result.getNextIndex());
@@ -231,8 +300,7 @@ public class NewNodeCatchUpTaskTest {
                 new NodeEndpoint("D", "localhost", 2336),
                 new NodeConfig()
         );
-        Future<NewNodeCatchUpTaskResult> future = taskExecutor.submit(task);
-        taskContext.awaitReplicateLog();
+        task.start();
         InstallSnapshotRpc installSnapshotRpc = new InstallSnapshotRpc();
         installSnapshotRpc.setLastIndex(2);
         installSnapshotRpc.setData(new byte[0]);
@@ -249,7 +317,7 @@ public class NewNodeCatchUpTaskTest {
                 NodeId.of("D"),
                 appendEntriesRpc
         ), 4);
-        NewNodeCatchUpTaskResult result = future.get();
+        NewNodeCatchUpTaskResult result = task.getFuture().get();
         Assert.assertEquals(NewNodeCatchUpTaskResult.State.OK, result.getState());
         Assert.assertEquals(3, result.getMatchIndex());
         Assert.assertEquals(4, result.getNextIndex());
@@ -272,9 +340,4 @@ public class NewNodeCatchUpTaskTest {
         );
     }
 
-    @AfterClass
-    public static void afterClass() throws InterruptedException {
-        taskExecutor.shutdown();
-    }
-
 }
\ No newline at end of file
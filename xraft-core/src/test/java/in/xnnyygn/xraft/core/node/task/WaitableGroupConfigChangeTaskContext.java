@@ -6,9 +6,13 @@ import in.xnnyygn.xraft.core.node.NodeId;
 class WaitableGroupConfigChangeTaskContext implements GroupConfigChangeTaskContext {
 
     private boolean logAppended = false;
+    private int nextIndex;
+    private int matchIndex;
 
     @Override
     public synchronized void addNode(NodeEndpoint endpoint, int nextIndex, int matchIndex) {
+        this.nextIndex = nextIndex;
+        this.matchIndex = matchIndex;
         logAppended = true;
         notify();
     }
@@ -34,4 +38,12 @@ class WaitableGroupConfigChangeTaskContext implements GroupConfigChangeTaskConte
         logAppended = true;
     }
 
+    synchronized int getNextIndex() {
+        return nextIndex;
+    }
+
+    synchronized int getMatchIndex() {
+        return matchIndex;
+    }
+
 }
@@ -1,29 +1,43 @@
 package in.xnnyygn.xraft.core.node.task;
 
 import in.xnnyygn.xraft.core.node.NodeEndpoint;
+import in.xnnyygn.xraft.core.schedule.NullScheduledFuture;
+
+import java.util.concurrent.ScheduledFuture;
 
 public class WaitableNewNodeCatchUpTaskContext implements NewNodeCatchUpTaskContext {
 
     private boolean replicated = false;
+    private int replicateCount = 0;
+    private Runnable scheduledTask;
 
     @Override
     public synchronized void replicateLog(NodeEndpoint endpoint) {
         replicated = true;
+        replicateCount++;
         notify();
     }
 
     @Override
     public synchronized void doReplicateLog(NodeEndpoint endpoint, int nextIndex) {
         replicated = true;
+        replicateCount++;
         notify();
     }
 
     @Override
     public synchronized void sendInstallSnapshot(NodeEndpoint endpoint, int offset) {
         replicated = true;
+        replicateCount++;
         notify();
     }
 
+    @Override
+    public synchronized ScheduledFuture<?> schedule(Runnable task, long delay) {
+        scheduledTask = task;
+        return new NullScheduledFuture();
+    }
+
     @Override
     public void done(NewNodeCatchUpTask task) {
 
@@ -36,4 +50,16 @@ public class WaitableNewNodeCatchUpTaskContext implements NewNodeCatchUpTaskCont
         replicated = false;
     }
 
+    synchronized int getReplicateCount() {
+        return replicateCount;
+    }
+
+    void runScheduledTask() {
+        Runnable task;
+        synchronized (this) {
+            task = scheduledTask;
+        }
+        task.run();
+    }
+
 }
@@ -0,0 +1,96 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResult;
+import in.xnnyygn.xraft.core.rpc.message.RequestVoteRpc;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DecoderTest {
+
+    private ByteBuf encode(Object... messages) {
+        EmbeddedChannel channel = new EmbeddedChannel(new Encoder());
+        ByteBuf buffer = Unpooled.buffer();
+        for (Object message : messages) {
+            Assert.assertTrue(channel.writeOutbound(message));
+            ByteBuf encoded = channel.readOutbound();
+            buffer.writeBytes(encoded);
+            encoded.release();
+        }
+        return buffer;
+    }
+
+    private RequestVoteRpc createRequestVoteRpc() {
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        rpc.setTerm(2);
+        rpc.setCandidateId(NodeId.of("A"));
+        rpc.setLastLogIndex(3);
+        rpc.setLastLogTerm(1);
+        rpc.setLeadershipTransfer(true);
+        return rpc;
+    }
+
+    private void assertRequestVoteRpc(Object message) {
+        Assert.assertTrue(message instanceof RequestVoteRpc);
+        RequestVoteRpc rpc = (RequestVoteRpc) message;
+        Assert.assertEquals(2, rpc.getTerm());
+        Assert.assertEquals(NodeId.of("A"), rpc.getCandidateId());
+        Assert.assertEquals(3, rpc.getLastLogIndex());
+        Assert.assertEquals(1, rpc.getLastLogTerm());
+        Assert.assertTrue(rpc.isLeadershipTransfer());
+    }
+
+    @Test
+    public void testDecode() {
+        EmbeddedChannel channel = new EmbeddedChannel(new Decoder());
+        Assert.assertTrue(channel.writeInbound(encode(createRequestVoteRpc())));
+        assertRequestVoteRpc(channel.readInbound());
+        Assert.assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testDecodeGroupMessage() {
+        EmbeddedChannel channel = new EmbeddedChannel(new Decoder());
+        Assert.assertTrue(channel.writeInbound(encode(new GroupMessage("g1", createRequestVoteRpc()))));
+        GroupMessage groupMessage = channel.readInbound();
+        Assert.assertEquals("g1", groupMessage.getGroupId());
+        assertRequestVoteRpc(groupMessage.getMessage());
+        Assert.assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testDecodeGroupMessageFollowedByMessage() {
+        EmbeddedChannel channel = new EmbeddedChannel(new Decoder());
+        Assert.assertTrue(channel.writeInbound(encode(
+                new GroupMessage("g1", new AppendEntriesResult("m1", 1, true)),
+                new AppendEntriesResult("m2", 2, false, 1, 2)
+        )));
+        GroupMessage groupMessage = channel.readInbound();
+        Assert.assertEquals("g1", groupMessage.getGroupId());
+        Assert.assertEquals("m1", ((AppendEntriesResult) groupMessage.getMessage()).getRpcMessageId());
+
+        // group id applies to next message only
+        AppendEntriesResult result = channel.readInbound();
+        Assert.assertEquals("m2", result.getRpcMessageId());
+        Assert.assertEquals(2, result.getTerm());
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(1, result.getConflictTerm());
+        Assert.assertEquals(2, result.getConflictIndex());
+    }
+
+    @Test
+    public void testDecodeGroupMessageInFragments() {
+        EmbeddedChannel channel = new EmbeddedChannel(new Decoder());
+        ByteBuf buffer = encode(new GroupMessage("g1", createRequestVoteRpc()));
+        // split in the middle of group id frame
+        Assert.assertFalse(channel.writeInbound(buffer.readRetainedSlice(6)));
+        Assert.assertTrue(channel.writeInbound(buffer));
+        GroupMessage groupMessage = channel.readInbound();
+        Assert.assertEquals("g1", groupMessage.getGroupId());
+        assertRequestVoteRpc(groupMessage.getMessage());
+    }
+
+}
@@ -0,0 +1,82 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResult;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResultMessage;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesRpc;
+import in.xnnyygn.xraft.core.rpc.message.RequestVoteRpc;
+import in.xnnyygn.xraft.core.rpc.message.RequestVoteRpcMessage;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class FromRemoteHandlerTest {
+
+    private final Map<String, MessageHandler> groupHandlers = new HashMap<>();
+    private MockMessageHandler handler1;
+    private MockMessageHandler handler2;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        handler1 = new MockMessageHandler();
+        handler2 = new MockMessageHandler();
+        groupHandlers.put("g1", handler1);
+        groupHandlers.put("g2", handler2);
+        channel = new EmbeddedChannel(new FromRemoteHandler(null, groupHandlers, new InboundChannelGroup()));
+        channel.writeInbound(NodeId.of("B"));
+    }
+
+    @Test
+    public void testChannelReadGroupMessage() {
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        channel.writeInbound(new GroupMessage("g2", rpc));
+        Assert.assertTrue(handler1.getMessages().isEmpty());
+        RequestVoteRpcMessage rpcMessage = (RequestVoteRpcMessage) handler2.getLastMessage();
+        Assert.assertSame(rpc, rpcMessage.get());
+        Assert.assertEquals(NodeId.of("B"), rpcMessage.getSourceNodeId());
+    }
+
+    @Test
+    public void testChannelReadUnknownGroup() {
+        channel.writeInbound(new GroupMessage("g3", new RequestVoteRpc()));
+        Assert.assertTrue(handler1.getMessages().isEmpty());
+        Assert.assertTrue(handler2.getMessages().isEmpty());
+        Assert.assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testChannelReadMessageWithoutGroup() {
+        channel.writeInbound(new RequestVoteRpc());
+        Assert.assertTrue(handler1.getMessages().isEmpty());
+        Assert.assertTrue(handler2.getMessages().isEmpty());
+    }
+
+    @Test
+    public void testChannelReadGroupUnregistered() {
+        groupHandlers.remove("g1");
+        channel.writeInbound(new GroupMessage("g1", new RequestVoteRpc()));
+        Assert.assertTrue(handler1.getMessages().isEmpty());
+    }
+
+    @Test
+    public void testMatchResultInGroup() {
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setMessageId("m1");
+        channel.writeOutbound(new GroupMessage("g1", rpc));
+
+        // result with the same message id in other group is not matched
+        channel.writeInbound(new GroupMessage("g2", new AppendEntriesResult("m1", 1, true)));
+        Assert.assertTrue(handler2.getMessages().isEmpty());
+
+        channel.writeInbound(new GroupMessage("g1", new AppendEntriesResult("m1", 1, true)));
+        AppendEntriesResultMessage resultMessage = (AppendEntriesResultMessage) handler1.getLastMessage();
+        Assert.assertSame(rpc, resultMessage.getRpc());
+    }
+
+}
@@ -0,0 +1,59 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import in.xnnyygn.xraft.core.node.NodeId;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResult;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesResultMessage;
+import in.xnnyygn.xraft.core.rpc.message.AppendEntriesRpc;
+import in.xnnyygn.xraft.core.rpc.message.RequestVoteRpc;
+import in.xnnyygn.xraft.core.rpc.message.RequestVoteRpcMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageDispatcherTest {
+
+    private AppendEntriesRpc createAppendEntriesRpc(String messageId) {
+        AppendEntriesRpc rpc = new AppendEntriesRpc();
+        rpc.setMessageId(messageId);
+        return rpc;
+    }
+
+    @Test
+    public void testDispatchRpc() {
+        MockMessageHandler handler = new MockMessageHandler();
+        MessageDispatcher dispatcher = new MessageDispatcher(handler, NodeId.of("B"), null);
+        RequestVoteRpc rpc = new RequestVoteRpc();
+        dispatcher.dispatch(rpc);
+        RequestVoteRpcMessage rpcMessage = (RequestVoteRpcMessage) handler.getLastMessage();
+        Assert.assertSame(rpc, rpcMessage.get());
+        Assert.assertEquals(NodeId.of("B"), rpcMessage.getSourceNodeId());
+    }
+
+    @Test
+    public void testDispatchAppendEntriesResult() {
+        MockMessageHandler handler = new MockMessageHandler();
+        MessageDispatcher dispatcher = new MessageDispatcher(handler, NodeId.of("B"), null);
+        AppendEntriesRpc rpc1 = createAppendEntriesRpc("m1");
+        AppendEntriesRpc rpc2 = createAppendEntriesRpc("m2");
+        dispatcher.recordWrite(rpc1);
+        dispatcher.recordWrite(rpc2);
+
+        // result of rpc1 lost
+        dispatcher.dispatch(new AppendEntriesResult("m2", 1, true));
+        AppendEntriesResultMessage resultMessage = (AppendEntriesResultMessage) handler.getLastMessage();
+        Assert.assertSame(rpc2, resultMessage.getRpc());
+        Assert.assertEquals(NodeId.of("B"), resultMessage.getSourceNodeId());
+
+        // rpc sent before matched one removed
+        dispatcher.dispatch(new AppendEntriesResult("m1", 1, true));
+        Assert.assertEquals(1, handler.getMessages().size());
+    }
+
+    @Test
+    public void testDispatchAppendEntriesResultUnknownRpc() {
+        MockMessageHandler handler = new MockMessageHandler();
+        MessageDispatcher dispatcher = new MessageDispatcher(handler, NodeId.of("B"), null);
+        dispatcher.dispatch(new AppendEntriesResult("m1", 1, true));
+        Assert.assertTrue(handler.getMessages().isEmpty());
+    }
+
+}
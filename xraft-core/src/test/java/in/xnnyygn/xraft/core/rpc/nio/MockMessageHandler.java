@@ -0,0 +1,89 @@
+package in.xnnyygn.xraft.core.rpc.nio;
+
+import in.xnnyygn.xraft.core.rpc.MessageHandler;
+import in.xnnyygn.xraft.core.rpc.message.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message handler recording messages received.
+ */
+class MockMessageHandler implements MessageHandler {
+
+    private final List<Object> messages = new ArrayList<>();
+
+    List<Object> getMessages() {
+        return messages;
+    }
+
+    Object getLastMessage() {
+        return messages.isEmpty() ? null : messages.get(messages.size() - 1);
+    }
+
+    @Override
+    public void onReceiveRequestVoteRpc(RequestVoteRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceiveRequestVoteResult(RequestVoteResult result) {
+        messages.add(result);
+    }
+
+    @Override
+    public void onReceivePreVoteRpc(PreVoteRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceivePreVoteResult(PreVoteResult result) {
+        messages.add(result);
+    }
+
+    @Override
+    public void onReceiveAppendEntriesRpc(AppendEntriesRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceiveAppendEntriesResult(AppendEntriesResultMessage resultMessage) {
+        messages.add(resultMessage);
+    }
+
+    @Override
+    public void onReceiveInstallSnapshotRpc(InstallSnapshotRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceiveInstallSnapshotResult(InstallSnapshotResultMessage resultMessage) {
+        messages.add(resultMessage);
+    }
+
+    @Override
+    public void onReceiveTransferSnapshotRpc(TransferSnapshotRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceiveTransferSnapshotResult(TransferSnapshotResult result) {
+        messages.add(result);
+    }
+
+    @Override
+    public void onReceiveTimeoutNowRpc(TimeoutNowRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceiveReadIndexRpc(ReadIndexRpcMessage rpcMessage) {
+        messages.add(rpcMessage);
+    }
+
+    @Override
+    public void onReceiveReadIndexResult(ReadIndexResult result) {
+        messages.add(result);
+    }
+
+}
@@ -0,0 +1,147 @@
+package in.xnnyygn.xraft.core.schedule;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        timer.stop();
+    }
+
+    @Test
+    public void testNewTimeout() throws InterruptedException, ExecutionException, TimeoutException {
+        AtomicInteger count = new AtomicInteger(0);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(count::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        timeout.get(1, TimeUnit.SECONDS);
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertEquals(1, count.get());
+        Assert.assertTrue(timeout.isDone());
+        Assert.assertFalse(timeout.reset(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNewTimeoutLongerThanWheel() throws InterruptedException, ExecutionException, TimeoutException {
+        // 8 ticks of 10ms per round
+        long start = System.nanoTime();
+        timer.newTimeout(() -> {
+        }, 200, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testCancel() throws InterruptedException, ExecutionException, TimeoutException {
+        AtomicInteger count = new AtomicInteger(0);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(count::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(timeout.cancel(false));
+        Assert.assertTrue(timeout.isCancelled());
+        Thread.sleep(60);
+        Assert.assertEquals(0, count.get());
+        timeout.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReset() throws InterruptedException, ExecutionException, TimeoutException {
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> {
+        }, 200, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(20);
+            Assert.assertTrue(timeout.reset(200, TimeUnit.MILLISECONDS));
+        }
+        timeout.get(2, TimeUnit.SECONDS);
+        // last reset after 100ms
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void testResetEarlier() throws InterruptedException, ExecutionException, TimeoutException {
+        // one round of wheel is longer than 5s, bucket of initial deadline is not visited before it
+        HashedWheelTimer timer = new HashedWheelTimer("test-timer-2", 10, TimeUnit.MILLISECONDS, 512);
+        try {
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> {
+            }, 3, TimeUnit.SECONDS);
+            Thread.sleep(30); // placed in bucket
+            Assert.assertTrue(timeout.reset(20, TimeUnit.MILLISECONDS));
+            timeout.get(1, TimeUnit.SECONDS);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testResetEarlierThenLater() throws InterruptedException, ExecutionException, TimeoutException {
+        long start = System.nanoTime();
+        AtomicInteger count = new AtomicInteger(0);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(count::incrementAndGet, 1, TimeUnit.SECONDS);
+        Thread.sleep(30);
+        Assert.assertTrue(timeout.reset(500, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(timeout.reset(100, TimeUnit.MILLISECONDS));
+        Thread.sleep(30);
+        Assert.assertTrue(timeout.reset(200, TimeUnit.MILLISECONDS));
+        timeout.get(1, TimeUnit.SECONDS);
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(260));
+        Thread.sleep(50);
+        // fired once even if queued more than once
+        Assert.assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testStop() throws InterruptedException, ExecutionException, TimeoutException {
+        HashedWheelTimer.Timeout timeout1 = timer.newTimeout(() -> {
+        }, 1, TimeUnit.MINUTES);
+        Thread.sleep(30); // placed in bucket
+        HashedWheelTimer.Timeout timeout2 = timer.newTimeout(() -> {
+        }, 1, TimeUnit.MINUTES);
+        timer.stop();
+        Assert.assertTrue(timeout1.isCancelled());
+        Assert.assertTrue(timeout2.isCancelled());
+        try {
+            timeout1.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (CancellationException ignored) {
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNewTimeoutAfterStop() throws InterruptedException {
+        timer.stop();
+        timer.newTimeout(() -> {
+        }, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testPeriodic() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 0, 20, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assert.assertFalse(timeout.isDone());
+        Assert.assertTrue(timeout.cancel(false));
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testTaskFailed() throws InterruptedException, ExecutionException, TimeoutException {
+        timer.newTimeout(() -> {
+            throw new IllegalStateException();
+        }, 10, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,57 @@
+package in.xnnyygn.xraft.core.support;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+public class EventLoopTaskExecutorTest {
+
+    private EventLoop eventLoop;
+
+    @Before
+    public void setUp() {
+        eventLoop = new DefaultEventLoop();
+    }
+
+    @After
+    public void tearDown() {
+        eventLoop.shutdownGracefully();
+    }
+
+    @Test
+    public void testSubmit() throws InterruptedException, ExecutionException {
+        EventLoopTaskExecutor taskExecutor = new EventLoopTaskExecutor(eventLoop);
+        Future<Boolean> future = taskExecutor.submit(() -> eventLoop.inEventLoop());
+        Assert.assertTrue(future.get());
+    }
+
+    @Test
+    public void testSubmitInEventLoop() throws InterruptedException, ExecutionException {
+        EventLoopTaskExecutor taskExecutor = new EventLoopTaskExecutor(eventLoop);
+        List<String> steps = new ArrayList<>();
+        eventLoop.submit(() -> {
+            taskExecutor.submit(() -> {
+                // nested task runs after current one
+                taskExecutor.submit(() -> steps.add("nested"));
+                steps.add("outer");
+            });
+            // task submitted in event loop runs inline
+            steps.add("after outer");
+        }).get();
+        eventLoop.submit(() -> {
+        }).get();
+        Assert.assertEquals(3, steps.size());
+        Assert.assertEquals("outer", steps.get(0));
+        Assert.assertEquals("after outer", steps.get(1));
+        Assert.assertEquals("nested", steps.get(2));
+    }
+
+}
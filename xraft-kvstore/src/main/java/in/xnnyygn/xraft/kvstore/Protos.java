@@ -1593,16 +1593,6 @@ public final class Protos {
       // @@protoc_insertion_point(interface_extends:SetCommand)
       com.google.protobuf.MessageOrBuilder {
 
-    /**
-     * <code>string request_id = 1;</code>
-     */
-    java.lang.String getRequestId();
-    /**
-     * <code>string request_id = 1;</code>
-     */
-    com.google.protobuf.ByteString
-        getRequestIdBytes();
-
     /**
      * <code>string key = 2;</code>
      */
@@ -1631,7 +1621,6 @@ public final class Protos {
       super(builder);
     }
     private SetCommand() {
-      requestId_ = "";
       key_ = "";
       value_ = com.google.protobuf.ByteString.EMPTY;
     }
@@ -1660,12 +1649,6 @@ public final class Protos {
             case 0:
               done = true;
               break;
-            case 10: {
-              java.lang.String s = input.readStringRequireUtf8();
-
-              requestId_ = s;
-              break;
-            }
             case 18: {
               java.lang.String s = input.readStringRequireUtf8();
 
@@ -1709,40 +1692,6 @@ public final class Protos {
               in.xnnyygn.xraft.kvstore.Protos.SetCommand.class, in.xnnyygn.xraft.kvstore.Protos.SetCommand.Builder.class);
     }
 
-    public static final int REQUEST_ID_FIELD_NUMBER = 1;
-    private volatile java.lang.Object requestId_;
-    /**
-     * <code>string request_id = 1;</code>
-     */
-    public java.lang.String getRequestId() {
-      java.lang.Object ref = requestId_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        requestId_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string request_id = 1;</code>
-     */
-    public com.google.protobuf.ByteString
-        getRequestIdBytes() {
-      java.lang.Object ref = requestId_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        requestId_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
     public static final int KEY_FIELD_NUMBER = 2;
     private volatile java.lang.Object key_;
     /**
@@ -1800,9 +1749,6 @@ public final class Protos {
     @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      if (!getRequestIdBytes().isEmpty()) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, requestId_);
-      }
       if (!getKeyBytes().isEmpty()) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 2, key_);
       }
@@ -1818,9 +1764,6 @@ public final class Protos {
       if (size != -1) return size;
 
       size = 0;
-      if (!getRequestIdBytes().isEmpty()) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, requestId_);
-      }
       if (!getKeyBytes().isEmpty()) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, key_);
       }
@@ -1844,8 +1787,6 @@ public final class Protos {
       in.xnnyygn.xraft.kvstore.Protos.SetCommand other = (in.xnnyygn.xraft.kvstore.Protos.SetCommand) obj;
 
       boolean result = true;
-      result = result && getRequestId()
-          .equals(other.getRequestId());
       result = result && getKey()
           .equals(other.getKey());
       result = result && getValue()
@@ -1861,8 +1802,6 @@ public final class Protos {
       }
       int hash = 41;
       hash = (19 * hash) + getDescriptor().hashCode();
-      hash = (37 * hash) + REQUEST_ID_FIELD_NUMBER;
-      hash = (53 * hash) + getRequestId().hashCode();
       hash = (37 * hash) + KEY_FIELD_NUMBER;
       hash = (53 * hash) + getKey().hashCode();
       hash = (37 * hash) + VALUE_FIELD_NUMBER;
@@ -2000,8 +1939,6 @@ public final class Protos {
       @java.lang.Override
       public Builder clear() {
         super.clear();
-        requestId_ = "";
-
         key_ = "";
 
         value_ = com.google.protobuf.ByteString.EMPTY;
@@ -2032,7 +1969,6 @@ public final class Protos {
       @java.lang.Override
       public in.xnnyygn.xraft.kvstore.Protos.SetCommand buildPartial() {
         in.xnnyygn.xraft.kvstore.Protos.SetCommand result = new in.xnnyygn.xraft.kvstore.Protos.SetCommand(this);
-        result.requestId_ = requestId_;
         result.key_ = key_;
         result.value_ = value_;
         onBuilt();
@@ -2083,10 +2019,6 @@ public final class Protos {
 
       public Builder mergeFrom(in.xnnyygn.xraft.kvstore.Protos.SetCommand other) {
         if (other == in.xnnyygn.xraft.kvstore.Protos.SetCommand.getDefaultInstance()) return this;
-        if (!other.getRequestId().isEmpty()) {
-          requestId_ = other.requestId_;
-          onChanged();
-        }
         if (!other.getKey().isEmpty()) {
           key_ = other.key_;
           onChanged();
@@ -2123,75 +2055,6 @@ public final class Protos {
         return this;
       }
 
-      private java.lang.Object requestId_ = "";
-      /**
-       * <code>string request_id = 1;</code>
-       */
-      public java.lang.String getRequestId() {
-        java.lang.Object ref = requestId_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          requestId_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string request_id = 1;</code>
-       */
-      public com.google.protobuf.ByteString
-          getRequestIdBytes() {
-        java.lang.Object ref = requestId_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          requestId_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string request_id = 1;</code>
-       */
-      public Builder setRequestId(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  
-        requestId_ = value;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string request_id = 1;</code>
-       */
-      public Builder clearRequestId() {
-        
-        requestId_ = getDefaultInstance().getRequestId();
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string request_id = 1;</code>
-       */
-      public Builder setRequestIdBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  checkByteStringIsUtf8(value);
-        
-        requestId_ = value;
-        onChanged();
-        return this;
-      }
-
       private java.lang.Object key_ = "";
       /**
        * <code>string key = 2;</code>
@@ -6194,17 +6057,16 @@ public final class Protos {
     java.lang.String[] descriptorData = {
       "\n\027src/proto/kvstore.proto\"\035\n\010Redirect\022\021\n" +
       "\tleader_id\030\001 \001(\t\"\t\n\007Success\".\n\007Failure\022\022" +
-      "\n\nerror_code\030\001 \001(\005\022\017\n\007message\030\002 \001(\t\"<\n\nS" +
-      "etCommand\022\022\n\nrequest_id\030\001 \001(\t\022\013\n\003key\030\002 \001" +
-      "(\t\022\r\n\005value\030\003 \001(\014\"\031\n\nGetCommand\022\013\n\003key\030\001" +
-      " \001(\t\"2\n\022GetCommandResponse\022\r\n\005found\030\001 \001(" +
-      "\010\022\r\n\005value\030\002 \001(\014\"S\n\tEntryList\022!\n\007entries" +
-      "\030\001 \003(\0132\020.EntryList.Entry\032#\n\005Entry\022\013\n\003key" +
-      "\030\001 \001(\t\022\r\n\005value\030\002 \001(\014\"=\n\016AddNodeCommand\022" +
-      "\017\n\007node_id\030\001 \001(\t\022\014\n\004host\030\002 \001(\t\022\014\n\004port\030\003" +
-      " \001(\005\"$\n\021RemoveNodeCommand\022\017\n\007node_id\030\001 \001" +
-      "(\tB\"\n\030in.xnnyygn.xraft.kvstoreB\006Protosb\006" +
-      "proto3"
+      "\n\nerror_code\030\001 \001(\005\022\017\n\007message\030\002 \001(\t\".\n\nS" +
+      "etCommand\022\013\n\003key\030\002 \001(\t\022\r\n\005value\030\003 \001(\014J\004\010" +
+      "\001\020\002\"\031\n\nGetCommand\022\013\n\003key\030\001 \001(\t\"2\n\022GetCom" +
+      "mandResponse\022\r\n\005found\030\001 \001(\010\022\r\n\005value\030\002 \001" +
+      "(\014\"S\n\tEntryList\022!\n\007entries\030\001 \003(\0132\020.Entry" +
+      "List.Entry\032#\n\005Entry\022\013\n\003key\030\001 \001(\t\022\r\n\005valu" +
+      "e\030\002 \001(\014\"=\n\016AddNodeCommand\022\017\n\007node_id\030\001 \001" +
+      "(\t\022\014\n\004host\030\002 \001(\t\022\014\n\004port\030\003 \001(\005\"$\n\021Remove" +
+      "NodeCommand\022\017\n\007node_id\030\001 \001(\tB\"\n\030in.xnnyy" +
+      "gn.xraft.kvstoreB\006Protosb\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -6241,7 +6103,7 @@ public final class Protos {
     internal_static_SetCommand_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_SetCommand_descriptor,
-        new java.lang.String[] { "RequestId", "Key", "Value", });
+        new java.lang.String[] { "Key", "Value", });
     internal_static_GetCommand_descriptor =
       getDescriptor().getMessageTypes().get(4);
     internal_static_GetCommand_fieldAccessorTable = new
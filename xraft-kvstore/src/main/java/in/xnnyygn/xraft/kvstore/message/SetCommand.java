@@ -4,20 +4,12 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import in.xnnyygn.xraft.kvstore.Protos;
 
-import java.util.UUID;
-
 public class SetCommand {
 
-    private final String requestId;
     private final String key;
     private final byte[] value;
 
     public SetCommand(String key, byte[] value) {
-        this(UUID.randomUUID().toString(), key, value);
-    }
-
-    public SetCommand(String requestId, String key, byte[] value) {
-        this.requestId = requestId;
         this.key = key;
         this.value = value;
     }
@@ -26,7 +18,6 @@ public class SetCommand {
         try {
             Protos.SetCommand protoCommand = Protos.SetCommand.parseFrom(bytes);
             return new SetCommand(
-                    protoCommand.getRequestId(),
                     protoCommand.getKey(),
                     protoCommand.getValue().toByteArray()
             );
@@ -35,10 +26,6 @@ public class SetCommand {
         }
     }
 
-    public String getRequestId() {
-        return requestId;
-    }
-
     public String getKey() {
         return key;
     }
@@ -49,7 +36,6 @@ public class SetCommand {
 
     public byte[] toBytes() {
         return Protos.SetCommand.newBuilder()
-                .setRequestId(this.requestId)
                 .setKey(this.key)
                 .setValue(ByteString.copyFrom(this.value)).build().toByteArray();
     }
@@ -58,7 +44,6 @@ public class SetCommand {
     public String toString() {
         return "SetCommand{" +
                 "key='" + key + '\'' +
-                ", requestId='" + requestId + '\'' +
                 '}';
     }
 
@@ -0,0 +1,38 @@
+package in.xnnyygn.xraft.kvstore.server;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keys changed since last drain.
+ * <p>
+ * Keys are added in state machine thread and drained in node thread when generating snapshot.
+ * Adding and draining share one lock, so a key is either in the set drained or in the next one.
+ * </p>
+ */
+@ThreadSafe
+class ChangedKeys {
+
+    @GuardedBy("this")
+    private Set<String> keys = new HashSet<>();
+
+    synchronized void add(@Nonnull String key) {
+        keys.add(key);
+    }
+
+    /**
+     * Remove and get all keys.
+     *
+     * @return keys changed since last drain
+     */
+    @Nonnull
+    synchronized Set<String> drain() {
+        Set<String> drained = keys;
+        keys = new HashSet<>();
+        return drained;
+    }
+
+}
@@ -2,8 +2,13 @@ package in.xnnyygn.xraft.kvstore.server;
 
 import com.google.protobuf.ByteString;
 import in.xnnyygn.xraft.core.log.statemachine.AbstractSingleThreadStateMachine;
+import in.xnnyygn.xraft.core.log.statemachine.DeltaSnapshotStateMachine;
+import in.xnnyygn.xraft.core.node.AppendLogRejectedException;
+import in.xnnyygn.xraft.core.node.AppendLogResult;
 import in.xnnyygn.xraft.core.node.task.GroupConfigChangeTaskReference;
 import in.xnnyygn.xraft.core.node.Node;
+import in.xnnyygn.xraft.core.node.NodeEndpoint;
+import in.xnnyygn.xraft.core.node.NotLeaderException;
 import in.xnnyygn.xraft.core.node.role.RoleName;
 import in.xnnyygn.xraft.core.node.role.RoleNameAndLeaderId;
 import in.xnnyygn.xraft.core.service.AddNodeCommand;
@@ -19,15 +24,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 public class Service {
 
     private static final Logger logger = LoggerFactory.getLogger(Service.class);
     private final Node node;
-    private final ConcurrentMap<String, CommandRequest<?>> pendingCommands = new ConcurrentHashMap<>();
     private Map<String, byte[]> map = new HashMap<>();
 
     public Service(Node node) {
@@ -87,17 +91,57 @@ public class Service {
 
         SetCommand command = commandRequest.getCommand();
         logger.debug("set {}", command.getKey());
-        this.pendingCommands.put(command.getRequestId(), commandRequest);
-        commandRequest.addCloseListener(() -> pendingCommands.remove(command.getRequestId()));
-        this.node.appendLog(command.toBytes());
+        CompletableFuture<AppendLogResult> future;
+        try {
+            future = this.node.appendLog(command.toBytes());
+        } catch (NotLeaderException e) {
+            // leadership transferring
+            commandRequest.reply(toRedirect(e));
+            return;
+        }
+        // completed in state machine thread after log applied
+        future.whenComplete((result, cause) -> {
+            if (cause == null) {
+                commandRequest.reply(Success.INSTANCE);
+            } else if (cause instanceof NotLeaderException) {
+                commandRequest.reply(toRedirect((NotLeaderException) cause));
+            } else if (cause instanceof AppendLogRejectedException) {
+                // too many requests in flight, client should retry later
+                commandRequest.reply(new Failure(102, "busy"));
+            } else {
+                logger.warn("failed to append log", cause);
+                commandRequest.reply(new Failure(100, "error"));
+            }
+        });
     }
 
     public void get(CommandRequest<GetCommand> commandRequest) {
+        // served by leader or follower
         String key = commandRequest.getCommand().getKey();
         logger.debug("get {}", key);
-        byte[] value = this.map.get(key);
-        // TODO view from node state machine
-        commandRequest.reply(new GetCommandResponse(value));
+        CompletableFuture<Integer> future;
+        try {
+            future = node.readIndex();
+        } catch (NotLeaderException e) {
+            commandRequest.reply(toRedirect(e));
+            return;
+        }
+        // completed in state machine thread after read index applied
+        future.whenComplete((readIndex, cause) -> {
+            if (cause == null) {
+                commandRequest.reply(new GetCommandResponse(map.get(key)));
+            } else if (cause instanceof NotLeaderException) {
+                commandRequest.reply(toRedirect((NotLeaderException) cause));
+            } else {
+                logger.warn("failed to get read index", cause);
+                commandRequest.reply(new Failure(100, "error"));
+            }
+        });
+    }
+
+    private Redirect toRedirect(NotLeaderException e) {
+        NodeEndpoint leaderEndpoint = e.getLeaderEndpoint();
+        return new Redirect(leaderEndpoint != null ? leaderEndpoint.getId() : null);
     }
 
     private Redirect checkLeadership() {
@@ -130,31 +174,48 @@ public class Service {
         return map;
     }
 
-    private class StateMachineImpl extends AbstractSingleThreadStateMachine {
+    static Map<String, byte[]> subMap(Map<String, byte[]> map, Set<String> keys) {
+        Map<String, byte[]> subMap = new HashMap<>();
+        for (String key : keys) {
+            byte[] value = map.get(key);
+            if (value != null) {
+                subMap.put(key, value);
+            }
+        }
+        return subMap;
+    }
+
+    private class StateMachineImpl extends AbstractSingleThreadStateMachine implements DeltaSnapshotStateMachine {
+
+        /**
+         * Keys changed since last snapshot generated or applied.
+         */
+        private final ChangedKeys changedKeys = new ChangedKeys();
 
         @Override
-        protected void applyCommand(@Nonnull byte[] commandBytes) {
+        protected Object applyCommand(@Nonnull byte[] commandBytes) {
             SetCommand command = SetCommand.fromBytes(commandBytes);
             map.put(command.getKey(), command.getValue());
-            CommandRequest<?> commandRequest = pendingCommands.remove(command.getRequestId());
-            if (commandRequest != null) {
-                commandRequest.reply(Success.INSTANCE);
-            }
+            changedKeys.add(command.getKey());
+            return null;
         }
 
         @Override
         protected void doApplySnapshot(@Nonnull InputStream input) throws IOException {
             map = fromSnapshot(input);
+            changedKeys.drain();
         }
 
         @Override
-        public boolean shouldGenerateSnapshot(int firstLogIndex, int lastApplied) {
-            return lastApplied - firstLogIndex > 1;
+        public void generateSnapshot(@Nonnull OutputStream output) throws IOException {
+            changedKeys.drain();
+            toSnapshot(map, output);
         }
 
         @Override
-        public void generateSnapshot(@Nonnull OutputStream output) throws IOException {
-            toSnapshot(map, output);
+        public void generateDeltaSnapshot(@Nonnull OutputStream output) throws IOException {
+            // entry list in protobuf is mergeable, later entries override earlier ones in fromSnapshot
+            toSnapshot(subMap(map, changedKeys.drain()), output);
         }
 
     }
@@ -0,0 +1,39 @@
+package in.xnnyygn.xraft.kvstore.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class ChangedKeysTest {
+
+    @Test
+    public void testDrain() {
+        ChangedKeys changedKeys = new ChangedKeys();
+        changedKeys.add("foo");
+        changedKeys.add("bar");
+        Assert.assertEquals(2, changedKeys.drain().size());
+        Assert.assertTrue(changedKeys.drain().isEmpty());
+    }
+
+    @Test
+    public void testDrainConcurrently() throws InterruptedException {
+        ChangedKeys changedKeys = new ChangedKeys();
+        int count = 100000;
+        Thread adder = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                changedKeys.add(String.valueOf(i));
+            }
+        });
+        adder.start();
+        Set<String> drained = new HashSet<>();
+        while (adder.isAlive()) {
+            drained.addAll(changedKeys.drain());
+        }
+        adder.join();
+        drained.addAll(changedKeys.drain());
+        Assert.assertEquals(count, drained.size());
+    }
+
+}
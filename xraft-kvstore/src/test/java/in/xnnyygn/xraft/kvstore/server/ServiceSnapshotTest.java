@@ -1,5 +1,6 @@
 package in.xnnyygn.xraft.kvstore.server;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -25,4 +26,23 @@ public class ServiceSnapshotTest {
         Assert.assertArrayEquals("b".getBytes(), map2.get("bar"));
     }
 
+    @Test
+    public void testDelta() throws IOException {
+        Map<String, byte[]> map = new HashMap<>();
+        map.put("foo", "a".getBytes());
+        map.put("bar", "b".getBytes());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Service.toSnapshot(map, output);
+        map.put("foo", "c".getBytes());
+        map.put("baz", "d".getBytes());
+        Service.toSnapshot(Service.subMap(map, ImmutableSet.of("foo", "baz")), output);
+
+        Map<String, byte[]> map2 = Service.fromSnapshot(new ByteArrayInputStream(output.toByteArray()));
+        Assert.assertEquals(3, map2.size());
+        Assert.assertArrayEquals("c".getBytes(), map2.get("foo"));
+        Assert.assertArrayEquals("b".getBytes(), map2.get("bar"));
+        Assert.assertArrayEquals("d".getBytes(), map2.get("baz"));
+    }
+
 }
\ No newline at end of file